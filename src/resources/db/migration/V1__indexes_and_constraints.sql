@@ -0,0 +1,69 @@
+-- Indexes and unique constraints for the lookups every screen runs.
+-- Each batch is separated by GO and the whole script runs in one transaction.
+
+-- Enrollments: fold duplicate (class_id, student_id) rows into the oldest one,
+-- moving their attendance rows over before the duplicate is deleted.
+SELECT e.enrollment_id AS duplicate_id, k.keep_id
+INTO #enrollment_duplicates
+FROM dbo.Enrollments e
+JOIN (SELECT class_id, student_id, MIN(enrollment_id) AS keep_id
+      FROM dbo.Enrollments
+      GROUP BY class_id, student_id
+      HAVING COUNT(*) > 1) k
+  ON e.class_id = k.class_id AND e.student_id = k.student_id
+WHERE e.enrollment_id <> k.keep_id;
+
+UPDATE a SET enrollment_id = d.keep_id
+FROM dbo.Attendance a
+JOIN #enrollment_duplicates d ON a.enrollment_id = d.duplicate_id;
+
+DELETE e
+FROM dbo.Enrollments e
+JOIN #enrollment_duplicates d ON e.enrollment_id = d.duplicate_id;
+
+DROP TABLE #enrollment_duplicates;
+GO
+
+-- Attendance: keep the most recent row for each enrollment and day.
+WITH ranked AS (
+    SELECT ROW_NUMBER() OVER (PARTITION BY enrollment_id, [date] ORDER BY attendance_id DESC) AS rn
+    FROM dbo.Attendance
+)
+DELETE FROM ranked WHERE rn > 1;
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'UX_Attendance_Enrollment_Date' AND object_id = OBJECT_ID(N'dbo.Attendance'))
+    CREATE UNIQUE NONCLUSTERED INDEX [UX_Attendance_Enrollment_Date] ON [dbo].[Attendance]
+    ([enrollment_id] ASC, [date] ASC)
+    INCLUDE ([status]);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'UX_Enrollments_Class_Student' AND object_id = OBJECT_ID(N'dbo.Enrollments'))
+    CREATE UNIQUE NONCLUSTERED INDEX [UX_Enrollments_Class_Student] ON [dbo].[Enrollments]
+    ([class_id] ASC, [student_id] ASC);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'IX_Enrollments_Student' AND object_id = OBJECT_ID(N'dbo.Enrollments'))
+    CREATE NONCLUSTERED INDEX [IX_Enrollments_Student] ON [dbo].[Enrollments]
+    ([student_id] ASC)
+    INCLUDE ([class_id]);
+GO
+
+-- Classes are looked up by teacher, and by course/program/section when saving attendance.
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'IX_Classes_Teacher_Course' AND object_id = OBJECT_ID(N'dbo.Classes'))
+    CREATE NONCLUSTERED INDEX [IX_Classes_Teacher_Course] ON [dbo].[Classes]
+    ([teacher_id] ASC, [course_name] ASC, [section] ASC, [program] ASC);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'IX_Classes_Course_Program_Section' AND object_id = OBJECT_ID(N'dbo.Classes'))
+    CREATE NONCLUSTERED INDEX [IX_Classes_Course_Program_Section] ON [dbo].[Classes]
+    ([course_name] ASC, [program] ASC, [section] ASC)
+    INCLUDE ([teacher_id]);
+GO
+
+-- Notifications are always read newest first for one recipient.
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'IX_Notifications_Recipient_DateSent' AND object_id = OBJECT_ID(N'dbo.Notifications'))
+    CREATE NONCLUSTERED INDEX [IX_Notifications_Recipient_DateSent] ON [dbo].[Notifications]
+    ([recipient_user_id] ASC, [date_sent] DESC)
+    INCLUDE ([sender_user_id], [notification_type], [is_read]);
+GO
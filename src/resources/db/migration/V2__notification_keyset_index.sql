@@ -0,0 +1,12 @@
+-- Notification feeds page with a seek on (date_sent, notification_id), both descending.
+-- Replaces the V1 index so the tie-breaker on notification_id is in the key order too.
+
+IF EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'IX_Notifications_Recipient_DateSent' AND object_id = OBJECT_ID(N'dbo.Notifications'))
+    DROP INDEX [IX_Notifications_Recipient_DateSent] ON [dbo].[Notifications];
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'IX_Notifications_Recipient_Keyset' AND object_id = OBJECT_ID(N'dbo.Notifications'))
+    CREATE NONCLUSTERED INDEX [IX_Notifications_Recipient_Keyset] ON [dbo].[Notifications]
+    ([recipient_user_id] ASC, [date_sent] DESC, [notification_id] DESC)
+    INCLUDE ([sender_user_id], [notification_type], [is_read]);
+GO
@@ -0,0 +1,34 @@
+-- Attendance counts per enrollment, so summary screens read one row per enrollment
+-- instead of counting Attendance rows. Every attendance write refreshes the counters
+-- of the enrollments it touched in the same transaction; see AttendanceCounters.
+-- Deleting an enrollment deletes its counters.
+
+IF OBJECT_ID(N'dbo.AttendanceCounters', N'U') IS NULL
+    CREATE TABLE [dbo].[AttendanceCounters](
+        [enrollment_id] [int] NOT NULL,
+        [present_count] [int] NOT NULL DEFAULT 0,
+        [absent_count] [int] NOT NULL DEFAULT 0,
+        [late_count] [int] NOT NULL DEFAULT 0,
+        [excused_count] [int] NOT NULL DEFAULT 0,
+        [pending_count] [int] NOT NULL DEFAULT 0,
+        [last_date] [date] NULL,
+        CONSTRAINT [PK_AttendanceCounters] PRIMARY KEY CLUSTERED ([enrollment_id] ASC),
+        CONSTRAINT [FK_AttendanceCounters_Enrollment] FOREIGN KEY ([enrollment_id])
+            REFERENCES [dbo].[Enrollments] ([enrollment_id]) ON DELETE CASCADE
+    );
+GO
+
+DELETE FROM [dbo].[AttendanceCounters];
+
+INSERT INTO [dbo].[AttendanceCounters]
+    (enrollment_id, present_count, absent_count, late_count, excused_count, pending_count, last_date)
+SELECT enrollment_id,
+       SUM(CASE WHEN status = 'Present' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Absent' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Late' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Excused' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Pending' THEN 1 ELSE 0 END),
+       MAX([date])
+FROM [dbo].[Attendance]
+GROUP BY enrollment_id;
+GO
@@ -0,0 +1,33 @@
+-- Attendance counts per enrollment and month, for the monthly breakdown of the individual
+-- report. Kept in step with Attendance by the same writes that refresh AttendanceCounters;
+-- month_start is the first day of the month.
+
+IF OBJECT_ID(N'dbo.AttendanceMonthlyCounters', N'U') IS NULL
+    CREATE TABLE [dbo].[AttendanceMonthlyCounters](
+        [enrollment_id] [int] NOT NULL,
+        [month_start] [date] NOT NULL,
+        [present_count] [int] NOT NULL DEFAULT 0,
+        [absent_count] [int] NOT NULL DEFAULT 0,
+        [late_count] [int] NOT NULL DEFAULT 0,
+        [excused_count] [int] NOT NULL DEFAULT 0,
+        [pending_count] [int] NOT NULL DEFAULT 0,
+        CONSTRAINT [PK_AttendanceMonthlyCounters] PRIMARY KEY CLUSTERED ([enrollment_id] ASC, [month_start] ASC),
+        CONSTRAINT [FK_AttendanceMonthlyCounters_Enrollment] FOREIGN KEY ([enrollment_id])
+            REFERENCES [dbo].[Enrollments] ([enrollment_id]) ON DELETE CASCADE
+    );
+GO
+
+DELETE FROM [dbo].[AttendanceMonthlyCounters];
+
+INSERT INTO [dbo].[AttendanceMonthlyCounters]
+    (enrollment_id, month_start, present_count, absent_count, late_count, excused_count, pending_count)
+SELECT enrollment_id,
+       DATEADD(DAY, 1 - DAY([date]), [date]),
+       SUM(CASE WHEN status = 'Present' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Absent' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Late' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Excused' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Pending' THEN 1 ELSE 0 END)
+FROM [dbo].[Attendance]
+GROUP BY enrollment_id, DATEADD(DAY, 1 - DAY([date]), [date]);
+GO
@@ -0,0 +1,14 @@
+-- The admin account screens page through Users with a seek on (role, sort column, user_id).
+-- Student year level and program filters seek on Students before joining back to Users.
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'IX_Users_Role_Username' AND object_id = OBJECT_ID(N'dbo.Users'))
+    CREATE NONCLUSTERED INDEX [IX_Users_Role_Username] ON [dbo].[Users]
+    ([role] ASC, [username] ASC)
+    INCLUDE ([email], [created_by_admin_id], [date_created]);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'IX_Students_YearLevel_Program' AND object_id = OBJECT_ID(N'dbo.Students'))
+    CREATE NONCLUSTERED INDEX [IX_Students_YearLevel_Program] ON [dbo].[Students]
+    ([year_level] ASC, [program] ASC)
+    INCLUDE ([user_id]);
+GO
@@ -0,0 +1,6 @@
+-- A table type for passing a list of ids to a single statement as a table-valued parameter,
+-- so bulk enrollment and unenrollment run as one set-based statement.
+
+IF TYPE_ID(N'dbo.IdList') IS NULL
+    CREATE TYPE [dbo].[IdList] AS TABLE ([id] [int] NOT NULL PRIMARY KEY);
+GO
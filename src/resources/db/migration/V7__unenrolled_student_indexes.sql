@@ -0,0 +1,15 @@
+-- The enroll-students pickers page through the students of a program and section that are
+-- not in a class: a seek on (program, section) in student_id order, with the NOT EXISTS probe
+-- answered by UX_Enrollments_Class_Student. Name prefix searches seek on last_name.
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'IX_Students_Program_Section' AND object_id = OBJECT_ID(N'dbo.Students'))
+    CREATE NONCLUSTERED INDEX [IX_Students_Program_Section] ON [dbo].[Students]
+    ([program] ASC, [section] ASC)
+    INCLUDE ([user_id], [year_level], [first_name], [middle_name], [last_name]);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'IX_Students_LastName' AND object_id = OBJECT_ID(N'dbo.Students'))
+    CREATE NONCLUSTERED INDEX [IX_Students_LastName] ON [dbo].[Students]
+    ([last_name] ASC)
+    INCLUDE ([user_id], [first_name], [program], [section], [year_level]);
+GO
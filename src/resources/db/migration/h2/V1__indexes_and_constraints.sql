@@ -0,0 +1,21 @@
+-- H2 version of ../V1__indexes_and_constraints.sql for the embedded profile.
+-- The embedded database is created empty from AttendanceDB.sql, so there are no
+-- duplicate rows to fold before the unique indexes are created.
+
+CREATE UNIQUE INDEX IF NOT EXISTS UX_Attendance_Enrollment_Date ON Attendance (enrollment_id, date);
+GO
+
+CREATE UNIQUE INDEX IF NOT EXISTS UX_Enrollments_Class_Student ON Enrollments (class_id, student_id);
+GO
+
+CREATE INDEX IF NOT EXISTS IX_Enrollments_Student ON Enrollments (student_id, class_id);
+GO
+
+CREATE INDEX IF NOT EXISTS IX_Classes_Teacher_Course ON Classes (teacher_id, course_name, section, program);
+GO
+
+CREATE INDEX IF NOT EXISTS IX_Classes_Course_Program_Section ON Classes (course_name, program, section, teacher_id);
+GO
+
+CREATE INDEX IF NOT EXISTS IX_Notifications_Recipient_DateSent ON Notifications (recipient_user_id, date_sent DESC);
+GO
@@ -0,0 +1,7 @@
+-- H2 version of ../V2__notification_keyset_index.sql for the embedded profile.
+
+DROP INDEX IF EXISTS IX_Notifications_Recipient_DateSent;
+GO
+
+CREATE INDEX IF NOT EXISTS IX_Notifications_Recipient_Keyset ON Notifications (recipient_user_id, date_sent DESC, notification_id DESC);
+GO
@@ -0,0 +1,30 @@
+-- H2 version of ../V3__attendance_counters.sql for the embedded profile.
+
+CREATE TABLE IF NOT EXISTS AttendanceCounters (
+    enrollment_id INT NOT NULL PRIMARY KEY,
+    present_count INT NOT NULL DEFAULT 0,
+    absent_count INT NOT NULL DEFAULT 0,
+    late_count INT NOT NULL DEFAULT 0,
+    excused_count INT NOT NULL DEFAULT 0,
+    pending_count INT NOT NULL DEFAULT 0,
+    last_date DATE NULL,
+    CONSTRAINT FK_AttendanceCounters_Enrollment FOREIGN KEY (enrollment_id)
+        REFERENCES Enrollments (enrollment_id) ON DELETE CASCADE
+);
+GO
+
+DELETE FROM AttendanceCounters;
+GO
+
+INSERT INTO AttendanceCounters
+    (enrollment_id, present_count, absent_count, late_count, excused_count, pending_count, last_date)
+SELECT enrollment_id,
+       SUM(CASE WHEN status = 'Present' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Absent' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Late' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Excused' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Pending' THEN 1 ELSE 0 END),
+       MAX(date)
+FROM Attendance
+GROUP BY enrollment_id;
+GO
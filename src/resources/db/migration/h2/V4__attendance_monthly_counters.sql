@@ -0,0 +1,31 @@
+-- H2 version of ../V4__attendance_monthly_counters.sql for the embedded profile.
+
+CREATE TABLE IF NOT EXISTS AttendanceMonthlyCounters (
+    enrollment_id INT NOT NULL,
+    month_start DATE NOT NULL,
+    present_count INT NOT NULL DEFAULT 0,
+    absent_count INT NOT NULL DEFAULT 0,
+    late_count INT NOT NULL DEFAULT 0,
+    excused_count INT NOT NULL DEFAULT 0,
+    pending_count INT NOT NULL DEFAULT 0,
+    CONSTRAINT PK_AttendanceMonthlyCounters PRIMARY KEY (enrollment_id, month_start),
+    CONSTRAINT FK_AttendanceMonthlyCounters_Enrollment FOREIGN KEY (enrollment_id)
+        REFERENCES Enrollments (enrollment_id) ON DELETE CASCADE
+);
+GO
+
+DELETE FROM AttendanceMonthlyCounters;
+GO
+
+INSERT INTO AttendanceMonthlyCounters
+    (enrollment_id, month_start, present_count, absent_count, late_count, excused_count, pending_count)
+SELECT enrollment_id,
+       DATEADD(DAY, 1 - DAY(date), date),
+       SUM(CASE WHEN status = 'Present' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Absent' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Late' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Excused' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'Pending' THEN 1 ELSE 0 END)
+FROM Attendance
+GROUP BY enrollment_id, DATEADD(DAY, 1 - DAY(date), date);
+GO
@@ -0,0 +1,7 @@
+-- H2 version of ../V5__user_directory_indexes.sql for the embedded profile.
+
+CREATE INDEX IF NOT EXISTS IX_Users_Role_Username ON Users (role, username);
+GO
+
+CREATE INDEX IF NOT EXISTS IX_Students_YearLevel_Program ON Students (year_level, program, user_id);
+GO
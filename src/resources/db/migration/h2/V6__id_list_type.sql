@@ -0,0 +1,3 @@
+-- H2 version of ../V6__id_list_type.sql for the embedded profile.
+-- H2 has no table types: id lists are bound as arrays and read with TABLE(id INT = ?),
+-- so there is nothing to create.
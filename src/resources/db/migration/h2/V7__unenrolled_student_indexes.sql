@@ -0,0 +1,7 @@
+-- H2 version of ../V7__unenrolled_student_indexes.sql for the embedded profile.
+
+CREATE INDEX IF NOT EXISTS IX_Students_Program_Section ON Students (program, section, student_id);
+GO
+
+CREATE INDEX IF NOT EXISTS IX_Students_LastName ON Students (last_name);
+GO
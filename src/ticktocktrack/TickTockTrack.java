@@ -2,6 +2,8 @@ package ticktocktrack;
 
 import ticktocktrack.gui.HomePage;
 import ticktocktrack.database.DatabaseConnection;
+import ticktocktrack.database.FlightRecording;
+import ticktocktrack.database.SchemaMigrator;
 import javafx.stage.Stage;
 
 /**
@@ -21,14 +23,21 @@ public class TickTockTrack {
     /**
      * The main method that starts the TickTockTrack application.
      * <p>
-     * This method initializes the database connection and launches the GUI by calling the {@link HomePage#main(String[])} method.
+     * This method starts a flight recording if one was requested through {@link FlightRecording},
+     * initializes the database connection, applies pending schema migrations through
+     * {@link SchemaMigrator#migrate()}, and launches the GUI by calling the {@link HomePage#main(String[])} method.
      * </p>
      *
      * @param args command-line arguments passed to the application
      */
     public static void main(String[] args) {
+        FlightRecording.startIfRequested();
+
         // Initialize database connection
         dbConnection = new DatabaseConnection();
+
+        // Apply any pending schema migrations before the first screen queries the database
+        SchemaMigrator.migrate();
        
         // Now launch the GUI
         HomePage.main(args);
@@ -0,0 +1,413 @@
+package ticktocktrack.benchmark;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import ticktocktrack.database.DatabaseAttendance;
+import ticktocktrack.database.DatabaseConnection;
+import ticktocktrack.database.DatabaseProfile;
+import ticktocktrack.database.LatencyHistogram;
+import ticktocktrack.database.QueryMetrics;
+import ticktocktrack.database.QueryStatistics;
+import ticktocktrack.database.SchemaMigrator;
+import ticktocktrack.database.StudentNotificationDAO;
+import ticktocktrack.logic.Session;
+import ticktocktrack.logic.Student;
+import ticktocktrack.logic.UsersModel;
+
+/**
+ * Simulates the morning rush, when every teacher saves attendance within a few minutes.
+ * <p>
+ * Each simulated teacher runs on its own virtual thread and, for every class it teaches,
+ * loads the roster the way the Mark Attendance screen does and then saves it with one of
+ * two flows:
+ * </p>
+ * <ul>
+ *   <li>{@code perStudent}: {@link DatabaseAttendance#saveAttendance} and
+ *       {@link StudentNotificationDAO#sendAttendanceNotification} for each student</li>
+ *   <li>{@code roster}: one {@link DatabaseAttendance#saveRoster} for the class, as the
+ *       screen does today</li>
+ * </ul>
+ * All teachers start together, optionally spread over a ramp-up window, and each round
+ * saves a new school day. The report gives throughput, latency percentiles per operation,
+ * deadlocks, lock timeouts and, on SQL Server, lock waits from {@code sys.dm_os_wait_stats}.
+ * <p>
+ * Settings are read from system properties with the prefix {@code ticktocktrack.loadtest.}:
+ * {@code students} (default 5000, one teacher per 50), {@code days} of seeded history
+ * (default 5), {@code teachers} to simulate (default all), {@code rounds} (default 1),
+ * {@code rampUpMillis} and {@code thinkMillis} between students (default 0),
+ * {@code flows} (default {@code perStudent,roster}), {@code label} naming the version
+ * under test, and {@code csv}, a file the summary is appended to so runs of different
+ * versions can be compared.
+ * </p>
+ * Like {@link DaoBenchmarks} it deletes all data before seeding, so on the SQL Server
+ * profile it only runs with {@code -Dticktocktrack.loadtest.allowDestructive=true}.
+ */
+public class AttendanceLoadTest {
+
+    private static final String PREFIX = "ticktocktrack.loadtest.";
+    private static final String[] STATUSES = { "Present", "Present", "Present", "Present", "Late", "Absent" };
+
+    /** CSV columns, kept stable so files from different versions line up. */
+    private static final String CSV_HEADER = "label,timestamp,profile,flow,teachers,classes,saves,wall_ms,saves_per_s,"
+            + "roster_p50_us,roster_p99_us,save_p50_us,save_p95_us,save_p99_us,save_max_us,class_p50_us,class_p99_us,"
+            + "deadlocks,lock_timeouts,errors,notification_errors,lock_waits,lock_wait_ms";
+
+    private final BenchmarkDataset data;
+    private final int teacherCount;
+    private final long rampUpMillis;
+    private final long thinkMillis;
+    private final Map<String, Integer> enrollmentIds = new HashMap<>();
+
+    private Map<String, LatencyHistogram> latencies;
+    private final LongAdder saves = new LongAdder();
+    private final LongAdder deadlocks = new LongAdder();
+    private final LongAdder lockTimeouts = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    private AttendanceLoadTest(BenchmarkDataset data, int teacherCount, long rampUpMillis, long thinkMillis) {
+        this.data = data;
+        this.teacherCount = teacherCount;
+        this.rampUpMillis = rampUpMillis;
+        this.thinkMillis = thinkMillis;
+    }
+
+    /**
+     * Seeds the database and runs each flow in turn.
+     *
+     * @param args not used; see the class documentation for settings
+     * @throws Exception if seeding fails
+     */
+    public static void main(String[] args) throws Exception {
+        if (!DatabaseProfile.current().isEmbedded() && !Boolean.getBoolean(PREFIX + "allowDestructive")) {
+            System.err.println("The load test deletes all data before seeding. Run it with -Dticktocktrack.db.profile=embedded, "
+                    + "or set -D" + PREFIX + "allowDestructive=true to use a scratch SQL Server database.");
+            System.exit(1);
+        }
+
+        DatabaseConnection.setLogConnections(false);
+        SchemaMigrator.migrate();
+        BenchmarkDataset data = new BenchmarkDataset(Integer.getInteger(PREFIX + "students", 5000),
+                Integer.getInteger(PREFIX + "days", 5));
+        long start = System.currentTimeMillis();
+        data.seed();
+        System.out.println("# seeded " + data.getSize() + " students in " + (System.currentTimeMillis() - start) + " ms");
+
+        Map<Integer, List<BenchmarkDataset.ClassRow>> byTeacher = classesByTeacher(data);
+        int teachers = Math.min(byTeacher.size(), Integer.getInteger(PREFIX + "teachers", byTeacher.size()));
+        AttendanceLoadTest test = new AttendanceLoadTest(data, teachers,
+                Long.getLong(PREFIX + "rampUpMillis", 0L), Long.getLong(PREFIX + "thinkMillis", 0L));
+        test.loadEnrollmentIds();
+
+        String label = System.getProperty(PREFIX + "label", "unlabelled");
+        String csv = System.getProperty(PREFIX + "csv");
+        int rounds = Integer.getInteger(PREFIX + "rounds", 1);
+        int nextDay = data.getDays();
+        for (String flow : System.getProperty(PREFIX + "flows", "perStudent,roster").split(",")) {
+            flow = flow.trim();
+            if (!flow.equals("perStudent") && !flow.equals("roster")) {
+                System.err.println("Unknown flow " + flow + "; expected perStudent or roster.");
+                System.exit(2);
+            }
+            Summary summary = test.run(flow, byTeacher, nextDay, rounds);
+            nextDay += rounds;
+            System.out.println(summary.report);
+            if (csv != null) {
+                appendCsv(Paths.get(csv), label, summary);
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Runs one flow for the given number of rounds, one school day per round.
+     */
+    private Summary run(String flow, Map<Integer, List<BenchmarkDataset.ClassRow>> byTeacher, int firstDay, int rounds)
+            throws Exception {
+        latencies = new LinkedHashMap<>();
+        for (String op : new String[] { "roster", "saveAttendance", "sendAttendanceNotification", "saveRoster", "class" }) {
+            latencies.put(op, new LatencyHistogram());
+        }
+        saves.reset();
+        deadlocks.reset();
+        lockTimeouts.reset();
+        errors.reset();
+        long notificationErrorsBefore = notificationErrors();
+        long[] lockWaitsBefore = lockWaits();
+
+        List<Map.Entry<Integer, List<BenchmarkDataset.ClassRow>>> teachers = new ArrayList<>(byTeacher.entrySet())
+                .subList(0, teacherCount);
+        int classes = 0;
+        for (Map.Entry<Integer, List<BenchmarkDataset.ClassRow>> teacher : teachers) {
+            classes += teacher.getValue().size();
+        }
+
+        long wallNanos = 0;
+        for (int round = 0; round < rounds; round++) {
+            String date = data.getDate(firstDay + round);
+            CountDownLatch go = new CountDownLatch(1);
+            long start;
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (Map.Entry<Integer, List<BenchmarkDataset.ClassRow>> teacher : teachers) {
+                    executor.submit(() -> {
+                        try {
+                            go.await();
+                            simulateTeacher(flow, teacher.getValue(), date);
+                        } catch (Exception e) {
+                            errors.increment();
+                            System.err.println("Simulated teacher failed: " + e);
+                        }
+                    });
+                }
+                start = System.nanoTime();
+                go.countDown();
+            }
+            wallNanos += System.nanoTime() - start;
+        }
+
+        long[] lockWaitsAfter = lockWaits();
+        return summarize(flow, teachers.size(), classes, wallNanos, notificationErrors() - notificationErrorsBefore,
+                lockWaitsBefore == null || lockWaitsAfter == null ? null
+                        : new long[] { lockWaitsAfter[0] - lockWaitsBefore[0], lockWaitsAfter[1] - lockWaitsBefore[1] });
+    }
+
+    /**
+     * One teacher saving attendance for each of their classes, on a virtual thread.
+     */
+    private void simulateTeacher(String flow, List<BenchmarkDataset.ClassRow> classes, String date) throws Exception {
+        BenchmarkDataset.ClassRow first = classes.get(0);
+        UsersModel teacher = new UsersModel(first.teacherUserId, "teacher" + first.teacherId, "", "Teacher");
+        teacher.setTeacherId(first.teacherId);
+        Session.setThreadUser(teacher);
+        Random random = new Random(first.teacherId * 31L + date.hashCode());
+        try {
+            if (rampUpMillis > 0) {
+                Thread.sleep(random.nextLong(rampUpMillis));
+            }
+            for (BenchmarkDataset.ClassRow c : classes) {
+                long classStart = System.nanoTime();
+                long start = classStart;
+                List<Student> roster = DatabaseAttendance.getStudentsEnrolledWithAttendance(c.courseName, c.program,
+                        c.section, date);
+                latencies.get("roster").record(System.nanoTime() - start);
+                for (Student student : roster) {
+                    student.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+                    student.setReason("");
+                }
+
+                if (flow.equals("roster")) {
+                    start = System.nanoTime();
+                    try {
+                        DatabaseAttendance.saveRoster(c.courseName, c.program, c.section, date, roster);
+                        saves.add(roster.size());
+                    } catch (SQLException e) {
+                        classify(e);
+                    }
+                    latencies.get("saveRoster").record(System.nanoTime() - start);
+                } else {
+                    for (Student student : roster) {
+                        think();
+                        start = System.nanoTime();
+                        try {
+                            DatabaseAttendance.saveAttendance(student.getStudentId(), date, student.getStatus(), "",
+                                    c.program, c.courseName, c.section);
+                            saves.increment();
+                        } catch (SQLException e) {
+                            classify(e);
+                            continue;
+                        } finally {
+                            latencies.get("saveAttendance").record(System.nanoTime() - start);
+                        }
+                        start = System.nanoTime();
+                        StudentNotificationDAO.sendAttendanceNotification(student.getStudentId(), student.getStatus(),
+                                enrollmentIds.getOrDefault(c.classId + ":" + student.getStudentId(), 0),
+                                LocalDate.parse(date), c.courseName);
+                        latencies.get("sendAttendanceNotification").record(System.nanoTime() - start);
+                    }
+                }
+                latencies.get("class").record(System.nanoTime() - classStart);
+            }
+        } finally {
+            Session.clearThreadUser();
+        }
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkMillis > 0) {
+            Thread.sleep(thinkMillis);
+        }
+    }
+
+    /**
+     * Counts a failed save as a deadlock, a lock timeout or another error. Deadlock
+     * victims are SQL state 40001 (SQL Server error 1205); lock timeouts are SQL Server
+     * error 1222 and H2 error 50200.
+     */
+    private void classify(SQLException e) {
+        for (SQLException ex = e; ex != null; ex = ex.getNextException()) {
+            if ("40001".equals(ex.getSQLState()) || ex.getErrorCode() == 1205) {
+                deadlocks.increment();
+                return;
+            }
+            if (ex.getErrorCode() == 1222 || ex.getErrorCode() == 50200) {
+                lockTimeouts.increment();
+                return;
+            }
+        }
+        errors.increment();
+    }
+
+    /**
+     * The notification DAO logs and swallows its errors, so they are taken from the
+     * query metrics, which count every statement that threw.
+     */
+    private static long notificationErrors() {
+        for (QueryStatistics query : QueryMetrics.getInstance().getQueries()) {
+            if (query.getName().equals("StudentNotificationDAO.sendAttendanceNotification")) {
+                return query.getErrors();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Reads the server's cumulative lock waits.
+     *
+     * @return {waits, wait time in ms}, or null where the database does not expose them
+     */
+    private static long[] lockWaits() {
+        if (DatabaseProfile.current().isEmbedded()) {
+            return null;
+        }
+        try (Connection conn = DatabaseConnection.getPooledConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT SUM(waiting_tasks_count), SUM(wait_time_ms) "
+                     + "FROM sys.dm_os_wait_stats WHERE wait_type LIKE 'LCK[_]M[_]%'")) {
+            return rs.next() ? new long[] { rs.getLong(1), rs.getLong(2) } : null;
+        } catch (SQLException e) {
+            System.err.println("Lock wait statistics unavailable (needs VIEW SERVER STATE): " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void loadEnrollmentIds() throws SQLException {
+        try (Connection conn = DatabaseConnection.getPooledConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT class_id, student_id, enrollment_id FROM Enrollments")) {
+            while (rs.next()) {
+                enrollmentIds.put(rs.getInt(1) + ":" + rs.getInt(2), rs.getInt(3));
+            }
+        }
+    }
+
+    private static Map<Integer, List<BenchmarkDataset.ClassRow>> classesByTeacher(BenchmarkDataset data) {
+        Map<Integer, List<BenchmarkDataset.ClassRow>> byTeacher = new LinkedHashMap<>();
+        for (BenchmarkDataset.ClassRow c : data.getClasses()) {
+            byTeacher.computeIfAbsent(c.teacherId, k -> new ArrayList<>()).add(c);
+        }
+        return byTeacher;
+    }
+
+    private Summary summarize(String flow, int teachers, int classes, long wallNanos, long notificationErrors,
+                              long[] lockWaits) {
+        Summary s = new Summary();
+        s.flow = flow;
+        s.teachers = teachers;
+        s.classes = classes;
+        s.saves = saves.sum();
+        s.wallMillis = wallNanos / 1_000_000;
+        s.savesPerSecond = wallNanos == 0 ? 0 : s.saves * 1e9 / wallNanos;
+        s.deadlocks = deadlocks.sum();
+        s.lockTimeouts = lockTimeouts.sum();
+        s.errors = errors.sum();
+        s.notificationErrors = notificationErrors;
+        s.lockWaits = lockWaits;
+        s.latencies = latencies;
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "# flow %s: %d teachers, %d classes, %d saves in %,d ms (%.1f saves/s)%n",
+                flow, teachers, classes, s.saves, s.wallMillis, s.savesPerSecond));
+        sb.append(String.format(Locale.ROOT, "%-28s %9s %10s %10s %10s %10s %10s%n",
+                "Operation", "Count", "Mean us", "p50 us", "p95 us", "p99 us", "Max us"));
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            if (h.getCount() == 0) {
+                continue;
+            }
+            sb.append(String.format(Locale.ROOT, "%-28s %9d %10.1f %10.1f %10.1f %10.1f %10.1f%n", entry.getKey(),
+                    h.getCount(), h.getMeanNanos() / 1e3, h.getPercentileNanos(0.50) / 1e3,
+                    h.getPercentileNanos(0.95) / 1e3, h.getPercentileNanos(0.99) / 1e3, h.getMaxNanos() / 1e3));
+        }
+        sb.append(String.format(Locale.ROOT, "deadlocks %d, lock timeouts %d, other errors %d, notification errors %d, "
+                + "lock waits %s%n", s.deadlocks, s.lockTimeouts, s.errors, s.notificationErrors,
+                lockWaits == null ? "n/a" : lockWaits[0] + " (" + lockWaits[1] + " ms)"));
+        s.report = sb.toString();
+        return s;
+    }
+
+    private static void appendCsv(Path file, String label, Summary s) throws IOException {
+        boolean exists = Files.exists(file);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (!exists) {
+                out.println(CSV_HEADER);
+            }
+            LatencyHistogram roster = s.latencies.get("roster");
+            LatencyHistogram save = s.latencies.get(s.flow.equals("roster") ? "saveRoster" : "saveAttendance");
+            LatencyHistogram perClass = s.latencies.get("class");
+            out.println(String.format(Locale.ROOT,
+                    "%s,%s,%s,%s,%d,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%d,%d,%d,%d,%s,%s",
+                    label, LocalDateTime.now(), DatabaseProfile.current(), s.flow, s.teachers, s.classes, s.saves,
+                    s.wallMillis, s.savesPerSecond,
+                    roster.getPercentileNanos(0.50) / 1e3, roster.getPercentileNanos(0.99) / 1e3,
+                    save.getPercentileNanos(0.50) / 1e3, save.getPercentileNanos(0.95) / 1e3,
+                    save.getPercentileNanos(0.99) / 1e3, save.getMaxNanos() / 1e3,
+                    perClass.getPercentileNanos(0.50) / 1e3, perClass.getPercentileNanos(0.99) / 1e3,
+                    s.deadlocks, s.lockTimeouts, s.errors, s.notificationErrors,
+                    s.lockWaits == null ? "" : String.valueOf(s.lockWaits[0]),
+                    s.lockWaits == null ? "" : String.valueOf(s.lockWaits[1])));
+        }
+        System.out.println("# results appended to " + file.toAbsolutePath());
+    }
+
+    /**
+     * The results of one flow.
+     */
+    private static final class Summary {
+        String flow;
+        int teachers;
+        int classes;
+        long saves;
+        long wallMillis;
+        double savesPerSecond;
+        long deadlocks;
+        long lockTimeouts;
+        long errors;
+        long notificationErrors;
+        long[] lockWaits;
+        Map<String, LatencyHistogram> latencies;
+        String report;
+    }
+}
@@ -0,0 +1,328 @@
+package ticktocktrack.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import ticktocktrack.database.AttendanceCounters;
+import ticktocktrack.database.DatabaseConnection;
+import ticktocktrack.database.DatabaseRegistrationManager;
+import ticktocktrack.database.UserIdentityCache;
+import ticktocktrack.database.UserSearch;
+
+/**
+ * Fills the database with a reproducible synthetic school for benchmarking.
+ * <p>
+ * The size is the number of students. For every 50 students there is one teacher
+ * with 4 classes; every student is enrolled in 5 classes and has attendance for
+ * {@code days} school days in each of them, and every student has 20 notifications.
+ * The same size and seed always produce the same data.
+ * </p>
+ * Seeding deletes all existing rows first, so it must only run against a scratch database.
+ */
+public class BenchmarkDataset {
+
+    private static final String[] STATUSES = { "Present", "Present", "Present", "Late", "Absent", "Excused" };
+    private static final String[] PROGRAMS = { "BSIT", "BSCS", "BSIS" };
+    private static final int STUDENTS_PER_TEACHER = 50;
+    private static final int CLASSES_PER_TEACHER = 4;
+    private static final int CLASSES_PER_STUDENT = 5;
+    private static final int NOTIFICATIONS_PER_STUDENT = 20;
+    private static final int BATCH_SIZE = 1000;
+
+    /** A seeded class. */
+    public static final class ClassRow {
+        public final int classId;
+        public final int teacherId;
+        public final int teacherUserId;
+        public final String courseName;
+        public final String section;
+        public final String program;
+
+        ClassRow(int classId, int teacherId, int teacherUserId, String courseName, String section, String program) {
+            this.classId = classId;
+            this.teacherId = teacherId;
+            this.teacherUserId = teacherUserId;
+            this.courseName = courseName;
+            this.section = section;
+            this.program = program;
+        }
+    }
+
+    /** A seeded enrollment of a student in a class. */
+    public static final class EnrollmentRow {
+        public final int studentId;
+        public final int studentUserId;
+        public final ClassRow classRow;
+
+        EnrollmentRow(int studentId, int studentUserId, ClassRow classRow) {
+            this.studentId = studentId;
+            this.studentUserId = studentUserId;
+            this.classRow = classRow;
+        }
+    }
+
+    private final int size;
+    private final int days;
+    private final LocalDate firstDay;
+    private final List<ClassRow> classes = new ArrayList<>();
+    private final List<EnrollmentRow> enrollments = new ArrayList<>();
+
+    /**
+     * Creates a dataset description; call {@link #seed()} to write it.
+     *
+     * @param size the number of students
+     * @param days the number of school days with attendance
+     */
+    public BenchmarkDataset(int size, int days) {
+        this.size = size;
+        this.days = days;
+        this.firstDay = LocalDate.of(2025, 1, 6);
+    }
+
+    /** @return the number of students */
+    public int getSize() {
+        return size;
+    }
+
+    /** @return the seeded classes */
+    public List<ClassRow> getClasses() {
+        return classes;
+    }
+
+    /** @return the seeded enrollments */
+    public List<EnrollmentRow> getEnrollments() {
+        return enrollments;
+    }
+
+    /**
+     * Returns the date of a seeded school day.
+     *
+     * @param day the day index, from 0 to {@code days - 1}
+     * @return the date as "YYYY-MM-DD"
+     */
+    public String getDate(int day) {
+        return firstDay.plusDays(day).toString();
+    }
+
+    /** @return the number of seeded school days */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Deletes all rows and writes the dataset.
+     *
+     * @throws SQLException if seeding fails
+     */
+    public void seed() throws SQLException {
+        Random random = new Random(size);
+        classes.clear();
+        enrollments.clear();
+
+        try (Connection conn = DatabaseConnection.getPooledConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                clear(conn);
+
+                int teachers = Math.max(1, size / STUDENTS_PER_TEACHER);
+                String passwordHash = DatabaseRegistrationManager.hashPassword("password");
+                insertUsers(conn, "bench_teacher", "Teacher", teachers, passwordHash);
+                insertUsers(conn, "bench_student", "Student", size, passwordHash);
+                conn.commit();
+
+                try (PreparedStatement ps = conn.prepareStatement(
+                        "INSERT INTO Teachers (user_id, first_name, last_name) " +
+                        "SELECT user_id, 'Teacher', username FROM Users WHERE role = 'Teacher'");
+                     PreparedStatement ps2 = conn.prepareStatement(
+                        "INSERT INTO Students (user_id, last_name, first_name, middle_name, year_level, section, program) " +
+                        "SELECT user_id, username, 'Student', 'B', '1', 'S1', 'BSIT' FROM Users WHERE role = 'Student'")) {
+                    ps.executeUpdate();
+                    ps2.executeUpdate();
+                }
+                conn.commit();
+
+                Map<Integer, Integer> teacherUserIds = loadIdMap(conn, "SELECT teacher_id, user_id FROM Teachers ORDER BY teacher_id");
+                Map<Integer, Integer> studentUserIds = loadIdMap(conn, "SELECT student_id, user_id FROM Students ORDER BY student_id");
+
+                insertClasses(conn, teacherUserIds);
+                conn.commit();
+                insertEnrollments(conn, studentUserIds, random);
+                conn.commit();
+                insertAttendance(conn, random);
+                conn.commit();
+                insertNotifications(conn, studentUserIds, teacherUserIds, random);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        // Attendance was bulk inserted, bypassing the per-enrollment counters
+        AttendanceCounters.rebuild();
+        UserIdentityCache.invalidateAll();
+        UserSearch.invalidate();
+    }
+
+    private static void clear(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM Attendance");
+            stmt.executeUpdate("DELETE FROM Notifications");
+            stmt.executeUpdate("DELETE FROM Enrollments");
+            stmt.executeUpdate("DELETE FROM Classes");
+            stmt.executeUpdate("DELETE FROM Students");
+            stmt.executeUpdate("DELETE FROM Teachers");
+            stmt.executeUpdate("UPDATE Users SET created_by_admin_id = NULL");
+            stmt.executeUpdate("DELETE FROM Admins");
+            stmt.executeUpdate("DELETE FROM Users");
+        }
+    }
+
+    private static void insertUsers(Connection conn, String prefix, String role, int count, String passwordHash)
+            throws SQLException {
+        String sql = "INSERT INTO Users (username, email, password_hash, role, date_created) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 8, 0));
+            for (int i = 0; i < count; i++) {
+                String username = String.format("%s%06d", prefix, i);
+                ps.setString(1, username);
+                ps.setString(2, username + "@bench.local");
+                ps.setString(3, passwordHash);
+                ps.setString(4, role);
+                ps.setTimestamp(5, now);
+                addBatch(ps, i);
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private void insertClasses(Connection conn, Map<Integer, Integer> teacherUserIds) throws SQLException {
+        String sql = "INSERT INTO Classes (teacher_id, course_name, section, program) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int i = 0;
+            for (Integer teacherId : teacherUserIds.keySet()) {
+                for (int c = 0; c < CLASSES_PER_TEACHER; c++) {
+                    ps.setInt(1, teacherId);
+                    ps.setString(2, "Course " + (i % 40));
+                    ps.setString(3, "S" + (i / 40 + 1));
+                    ps.setString(4, PROGRAMS[i % PROGRAMS.length]);
+                    addBatch(ps, i++);
+                }
+            }
+            ps.executeBatch();
+        }
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT class_id, teacher_id, course_name, section, program FROM Classes ORDER BY class_id")) {
+            while (rs.next()) {
+                int teacherId = rs.getInt("teacher_id");
+                classes.add(new ClassRow(rs.getInt("class_id"), teacherId, teacherUserIds.get(teacherId),
+                        rs.getString("course_name"), rs.getString("section"), rs.getString("program")));
+            }
+        }
+    }
+
+    private void insertEnrollments(Connection conn, Map<Integer, Integer> studentUserIds, Random random)
+            throws SQLException {
+        String sql = "INSERT INTO Enrollments (student_id, class_id) VALUES (?, ?)";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int i = 0;
+            for (Map.Entry<Integer, Integer> student : studentUserIds.entrySet()) {
+                int perStudent = Math.min(CLASSES_PER_STUDENT, classes.size());
+                int first = random.nextInt(classes.size());
+                for (int c = 0; c < perStudent; c++) {
+                    ClassRow classRow = classes.get((first + c) % classes.size());
+                    ps.setInt(1, student.getKey());
+                    ps.setInt(2, classRow.classId);
+                    addBatch(ps, i++);
+                    enrollments.add(new EnrollmentRow(student.getKey(), student.getValue(), classRow));
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private void insertAttendance(Connection conn, Random random) throws SQLException {
+        String sql = "INSERT INTO Attendance (enrollment_id, date, status, reason, approval_status) " +
+                     "VALUES (?, ?, ?, ?, 'Pending')";
+        Map<Integer, List<Integer>> enrollmentIds = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT enrollment_id, student_id FROM Enrollments ORDER BY enrollment_id")) {
+            while (rs.next()) {
+                enrollmentIds.computeIfAbsent(rs.getInt("student_id"), k -> new ArrayList<>()).add(rs.getInt("enrollment_id"));
+            }
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int i = 0;
+            for (List<Integer> ids : enrollmentIds.values()) {
+                for (int enrollmentId : ids) {
+                    for (int d = 0; d < days; d++) {
+                        String status = STATUSES[random.nextInt(STATUSES.length)];
+                        ps.setInt(1, enrollmentId);
+                        ps.setDate(2, java.sql.Date.valueOf(firstDay.plusDays(d)));
+                        ps.setString(3, status);
+                        ps.setString(4, status.equals("Excused") ? "Medical" : "");
+                        addBatch(ps, i++);
+                    }
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static void insertNotifications(Connection conn, Map<Integer, Integer> studentUserIds,
+            Map<Integer, Integer> teacherUserIds, Random random) throws SQLException {
+        String sql = "INSERT INTO Notifications (sender_user_id, recipient_user_id, message, notification_type, date_sent, is_read) " +
+                     "VALUES (?, ?, ?, ?, ?, ?)";
+        List<Integer> senders = new ArrayList<>(teacherUserIds.values());
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 8, 0);
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int i = 0;
+            for (int recipient : studentUserIds.values()) {
+                for (int n = 0; n < NOTIFICATIONS_PER_STUDENT; n++) {
+                    ps.setInt(1, senders.get(random.nextInt(senders.size())));
+                    ps.setInt(2, recipient);
+                    ps.setString(3, "You have been marked Absent in Course " + n + ".");
+                    ps.setString(4, "Attendance");
+                    // Several notifications share a timestamp, as they do when a roster is saved
+                    ps.setTimestamp(5, Timestamp.valueOf(start.plusMinutes(n / 3 * 90L)));
+                    ps.setBoolean(6, random.nextBoolean());
+                    addBatch(ps, i++);
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static Map<Integer, Integer> loadIdMap(Connection conn, String sql) throws SQLException {
+        Map<Integer, Integer> ids = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.put(rs.getInt(1), rs.getInt(2));
+            }
+        }
+        return ids;
+    }
+
+    private static void addBatch(PreparedStatement ps, int index) throws SQLException {
+        ps.addBatch();
+        if ((index + 1) % BATCH_SIZE == 0) {
+            ps.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package ticktocktrack.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A small benchmark harness in the style of JMH, for code that has no build tool to pull
+ * JMH in.
+ * <p>
+ * Each benchmark runs for {@code warmupIterations} untimed iterations and then for
+ * {@code iterations} timed ones, each iteration calling the operation repeatedly for
+ * {@code iterationMillis}. Every call is timed individually, so the result reports
+ * latency percentiles as well as throughput. Unlike JMH the benchmarks share one JVM,
+ * so compare numbers from the same run or from runs with the same settings.
+ * </p>
+ * Standard output is silenced while an operation runs, because the DAOs log every
+ * connection they open and printing would dominate the timings.
+ */
+public class BenchmarkRunner {
+
+    /**
+     * An operation to benchmark.
+     */
+    @FunctionalInterface
+    public interface Operation {
+
+        /**
+         * Runs the operation once.
+         *
+         * @return any value derived from the result, so the work cannot be optimized away
+         * @throws Exception if the operation fails; the benchmark is then aborted
+         */
+        Object run() throws Exception;
+    }
+
+    /**
+     * The measurements of one benchmark.
+     */
+    public static final class Result {
+        private final String name;
+        private final int dataSize;
+        private final long operations;
+        private final double opsPerSecond;
+        private final double opsPerSecondError;
+        private final double meanMicros;
+        private final double p50Micros;
+        private final double p90Micros;
+        private final double p99Micros;
+        private final double maxMicros;
+
+        Result(String name, int dataSize, long operations, double opsPerSecond, double opsPerSecondError,
+               double meanMicros, double p50Micros, double p90Micros, double p99Micros, double maxMicros) {
+            this.name = name;
+            this.dataSize = dataSize;
+            this.operations = operations;
+            this.opsPerSecond = opsPerSecond;
+            this.opsPerSecondError = opsPerSecondError;
+            this.meanMicros = meanMicros;
+            this.p50Micros = p50Micros;
+            this.p90Micros = p90Micros;
+            this.p99Micros = p99Micros;
+            this.maxMicros = maxMicros;
+        }
+
+        /** @return the benchmark name */
+        public String getName() {
+            return name;
+        }
+
+        /** @return the data size the benchmark ran against */
+        public int getDataSize() {
+            return dataSize;
+        }
+
+        /** @return the mean throughput over the measurement iterations */
+        public double getOpsPerSecond() {
+            return opsPerSecond;
+        }
+
+        /** @return the 99th percentile latency in microseconds */
+        public double getP99Micros() {
+            return p99Micros;
+        }
+
+        /**
+         * Formats the result as one row of the console table.
+         *
+         * @return the formatted row
+         */
+        public String toTableRow() {
+            return String.format(Locale.ROOT, "%-56s %8d %10d %12.1f +- %-9.1f %10.1f %10.1f %10.1f %10.1f %10.1f",
+                    name, dataSize, operations, opsPerSecond, opsPerSecondError,
+                    meanMicros, p50Micros, p90Micros, p99Micros, maxMicros);
+        }
+
+        /**
+         * Formats the result as one CSV line matching {@link #CSV_HEADER}.
+         *
+         * @return the CSV line
+         */
+        public String toCsv() {
+            return String.format(Locale.ROOT, "%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                    name, dataSize, operations, opsPerSecond, opsPerSecondError,
+                    meanMicros, p50Micros, p90Micros, p99Micros, maxMicros);
+        }
+    }
+
+    /** Column headings of {@link Result#toTableRow()}. */
+    public static final String TABLE_HEADER = String.format(Locale.ROOT,
+            "%-56s %8s %10s %25s %10s %10s %10s %10s %10s",
+            "Benchmark", "Size", "Ops", "Throughput (ops/s)", "Mean us", "p50 us", "p90 us", "p99 us", "Max us");
+
+    /** Column headings of {@link Result#toCsv()}. */
+    public static final String CSV_HEADER =
+            "benchmark,size,operations,ops_per_s,ops_per_s_error,mean_us,p50_us,p90_us,p99_us,max_us";
+
+    private final int warmupIterations;
+    private final int iterations;
+    private final long iterationMillis;
+
+    /** Keeps results reachable so the JIT cannot drop the benchmarked calls. */
+    private volatile Object sink;
+
+    /**
+     * Creates a runner.
+     *
+     * @param warmupIterations untimed iterations before measuring
+     * @param iterations       timed iterations
+     * @param iterationMillis  how long each iteration keeps calling the operation
+     */
+    public BenchmarkRunner(int warmupIterations, int iterations, long iterationMillis) {
+        if (iterations < 1 || iterationMillis < 1 || warmupIterations < 0) {
+            throw new IllegalArgumentException("Invalid benchmark settings");
+        }
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+        this.iterationMillis = iterationMillis;
+    }
+
+    /**
+     * Runs one benchmark.
+     *
+     * @param name      the benchmark name shown in the report
+     * @param dataSize  the data size the operation runs against
+     * @param operation the operation to time
+     * @return the measurements
+     * @throws Exception if the operation fails
+     */
+    public Result run(String name, int dataSize, Operation operation) throws Exception {
+        for (int i = 0; i < warmupIterations; i++) {
+            iterate(operation, null);
+        }
+
+        LatencyRecorder latencies = new LatencyRecorder();
+        double[] throughput = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            int before = latencies.size();
+            long elapsedNanos = iterate(operation, latencies);
+            throughput[i] = (latencies.size() - before) * 1e9 / elapsedNanos;
+        }
+
+        long[] sorted = latencies.toSortedArray();
+        double mean = Arrays.stream(throughput).average().orElse(0);
+        double variance = 0;
+        for (double t : throughput) {
+            variance += (t - mean) * (t - mean);
+        }
+        double stdDev = iterations > 1 ? Math.sqrt(variance / (iterations - 1)) : 0;
+
+        return new Result(name, dataSize, sorted.length, mean, stdDev,
+                Arrays.stream(sorted).average().orElse(0) / 1_000.0,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                sorted.length > 0 ? sorted[sorted.length - 1] / 1_000.0 : 0);
+    }
+
+    /**
+     * Calls the operation until the iteration time is up.
+     *
+     * @return the elapsed time of the iteration in nanoseconds
+     */
+    private long iterate(Operation operation, LatencyRecorder latencies) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + iterationMillis * 1_000_000L;
+        long now = start;
+        do {
+            long opStart = now;
+            sink = operation.run();
+            now = System.nanoTime();
+            if (latencies != null) {
+                latencies.record(now - opStart);
+            }
+        } while (now < deadline);
+        return now - start;
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000.0;
+    }
+
+    /**
+     * Collects latencies in nanoseconds without boxing.
+     */
+    private static final class LatencyRecorder {
+        private final List<long[]> chunks = new ArrayList<>();
+        private long[] current = new long[4096];
+        private int position;
+        private int size;
+
+        void record(long nanos) {
+            if (position == current.length) {
+                chunks.add(current);
+                current = new long[current.length];
+                position = 0;
+            }
+            current[position++] = nanos;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long[] toSortedArray() {
+            long[] all = new long[size];
+            int offset = 0;
+            for (long[] chunk : chunks) {
+                System.arraycopy(chunk, 0, all, offset, chunk.length);
+                offset += chunk.length;
+            }
+            System.arraycopy(current, 0, all, offset, position);
+            Arrays.sort(all);
+            return all;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package ticktocktrack.benchmark;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import ticktocktrack.database.DatabaseAttendance;
+import ticktocktrack.database.DatabaseAttendanceSummary;
+import ticktocktrack.database.DatabaseConnection;
+import ticktocktrack.database.DatabaseProfile;
+import ticktocktrack.database.DatabaseRegistrationManager;
+import ticktocktrack.database.SchemaMigrator;
+import ticktocktrack.database.StudentNotificationDAO;
+import ticktocktrack.database.UserDAO;
+import ticktocktrack.logic.Notification;
+
+/**
+ * Benchmarks the DAO methods behind the busiest screens against seeded data of several sizes.
+ * <p>
+ * Run it on the embedded profile, from the repository root with the H2 driver on the classpath:
+ * </p>
+ * <pre>
+ * java -Dticktocktrack.db.profile=embedded -cp ... ticktocktrack.benchmark.DaoBenchmarks
+ * </pre>
+ * Settings are read from system properties:
+ * <ul>
+ *   <li>{@code ticktocktrack.benchmark.sizes}: comma-separated student counts, default {@code 100,1000,10000}</li>
+ *   <li>{@code ticktocktrack.benchmark.days}: school days of attendance per enrollment, default 20</li>
+ *   <li>{@code ticktocktrack.benchmark.warmupIterations}, {@code .iterations}, {@code .iterationMillis}:
+ *       default 3, 5 and 1000</li>
+ *   <li>{@code ticktocktrack.benchmark.filter}: only run benchmarks whose name contains this text</li>
+ *   <li>{@code ticktocktrack.benchmark.csv}: file to append the results to as CSV</li>
+ * </ul>
+ * Seeding deletes every row in the database, so on the SQL Server profile the benchmarks only
+ * run with {@code -Dticktocktrack.benchmark.allowDestructive=true}, against a scratch database
+ * selected with {@code -Dticktocktrack.db.url}.
+ */
+public class DaoBenchmarks {
+
+    private static final String PREFIX = "ticktocktrack.benchmark.";
+
+    /**
+     * Seeds each data size in turn and runs every benchmark against it.
+     *
+     * @param args not used; see the class documentation for settings
+     * @throws Exception if seeding or a benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        if (!DatabaseProfile.current().isEmbedded() && !Boolean.getBoolean(PREFIX + "allowDestructive")) {
+            System.err.println("Benchmarks delete all data before seeding. Run them with -Dticktocktrack.db.profile=embedded, "
+                    + "or set -D" + PREFIX + "allowDestructive=true to use a scratch SQL Server database.");
+            System.exit(1);
+        }
+
+        DatabaseConnection.setLogConnections(false);
+        int days = Integer.getInteger(PREFIX + "days", 20);
+        String filter = System.getProperty(PREFIX + "filter", "");
+        BenchmarkRunner runner = new BenchmarkRunner(
+                Integer.getInteger(PREFIX + "warmupIterations", 3),
+                Integer.getInteger(PREFIX + "iterations", 5),
+                Long.getLong(PREFIX + "iterationMillis", 1000L));
+
+        SchemaMigrator.migrate();
+
+        List<BenchmarkRunner.Result> results = new ArrayList<>();
+        System.out.println(BenchmarkRunner.TABLE_HEADER);
+        for (String sizeText : System.getProperty(PREFIX + "sizes", "100,1000,10000").split(",")) {
+            BenchmarkDataset data = new BenchmarkDataset(Integer.parseInt(sizeText.trim()), days);
+            long start = System.currentTimeMillis();
+            data.seed();
+            System.out.println("# seeded " + data.getSize() + " students in " + (System.currentTimeMillis() - start) + " ms");
+
+            for (Benchmark benchmark : benchmarks(data)) {
+                if (!benchmark.name.contains(filter)) {
+                    continue;
+                }
+                BenchmarkRunner.Result result = runner.run(benchmark.name, data.getSize(), benchmark.operation);
+                System.out.println(result.toTableRow());
+                results.add(result);
+            }
+        }
+
+        String csv = System.getProperty(PREFIX + "csv");
+        if (csv != null) {
+            writeCsv(Paths.get(csv), results);
+        }
+        System.exit(0);
+    }
+
+    private static final class Benchmark {
+        final String name;
+        final BenchmarkRunner.Operation operation;
+
+        Benchmark(String name, BenchmarkRunner.Operation operation) {
+            this.name = name;
+            this.operation = operation;
+        }
+    }
+
+    /**
+     * The benchmarks, each picking its keys from the seeded data with a fixed seed so
+     * every run issues the same sequence of calls.
+     */
+    private static List<Benchmark> benchmarks(BenchmarkDataset data) {
+        List<Benchmark> list = new ArrayList<>();
+        List<BenchmarkDataset.EnrollmentRow> enrollments = data.getEnrollments();
+        List<BenchmarkDataset.ClassRow> classes = data.getClasses();
+
+        Random saveRandom = new Random(1);
+        list.add(new Benchmark("DatabaseAttendance.saveAttendance", () -> {
+            BenchmarkDataset.EnrollmentRow e = enrollments.get(saveRandom.nextInt(enrollments.size()));
+            return DatabaseAttendance.saveAttendance(e.studentId, data.getDate(saveRandom.nextInt(data.getDays())),
+                    saveRandom.nextBoolean() ? "Present" : "Late", "",
+                    e.classRow.program, e.classRow.courseName, e.classRow.section);
+        }));
+
+        Random rosterRandom = new Random(2);
+        list.add(new Benchmark("DatabaseAttendance.fetchStudentsWithAttendanceForDate", () -> {
+            BenchmarkDataset.ClassRow c = classes.get(rosterRandom.nextInt(classes.size()));
+            return DatabaseAttendance.fetchStudentsWithAttendanceForDate(c.teacherUserId, c.courseName, c.section,
+                    data.getDate(rosterRandom.nextInt(data.getDays()))).size();
+        }));
+
+        Random statsRandom = new Random(3);
+        list.add(new Benchmark("DatabaseAttendanceSummary.getClassAttendanceStats", () -> {
+            BenchmarkDataset.ClassRow c = classes.get(statsRandom.nextInt(classes.size()));
+            return DatabaseAttendanceSummary.getClassAttendanceStats(c.courseName, c.section, c.program, c.teacherId).size();
+        }));
+
+        Random countRandom = new Random(4);
+        list.add(new Benchmark("DatabaseAttendanceSummary.countAbsences", () -> {
+            BenchmarkDataset.EnrollmentRow e = enrollments.get(countRandom.nextInt(enrollments.size()));
+            BenchmarkDataset.ClassRow c = e.classRow;
+            return DatabaseAttendanceSummary.countAbsences(e.studentId, c.courseName, c.section, c.program, c.teacherId);
+        }));
+
+        list.add(new Benchmark("UserDAO.manageStudents", () -> UserDAO.manageStudents().size()));
+
+        Random pageRandom = new Random(5);
+        list.add(new Benchmark("StudentNotificationDAO.getNotificationsForUserAfter", () -> {
+            // Walks a student's whole feed page by page, as scrolling the notification pane does
+            int userId = enrollments.get(pageRandom.nextInt(enrollments.size())).studentUserId;
+            int total = 0;
+            List<Notification> page = StudentNotificationDAO.getNotificationsForUserAfter(userId, null, 0, 5);
+            while (!page.isEmpty()) {
+                total += page.size();
+                Notification last = page.get(page.size() - 1);
+                page = StudentNotificationDAO.getNotificationsForUserAfter(userId, last.getDateSent(),
+                        last.getNotificationId(), 5);
+            }
+            return total;
+        }));
+
+        Random hashRandom = new Random(6);
+        list.add(new Benchmark("DatabaseRegistrationManager.hashPassword", () ->
+                DatabaseRegistrationManager.hashPassword("password" + hashRandom.nextInt(1000))));
+        return list;
+    }
+
+    private static void writeCsv(Path file, List<BenchmarkRunner.Result> results) throws IOException {
+        boolean exists = Files.exists(file);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (!exists) {
+                out.println(BenchmarkRunner.CSV_HEADER);
+            }
+            for (BenchmarkRunner.Result result : results) {
+                out.println(result.toCsv());
+            }
+        }
+        System.out.println("# results appended to " + file.toAbsolutePath());
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * Benchmarks for the database and logic layers of the TickTockTrack system,
+ * run against a seeded database to measure throughput and latency.
+ *
+ * @author OogaBooga
+ * @version 1.0
+ */
+package ticktocktrack.benchmark;
@@ -0,0 +1,93 @@
+package ticktocktrack.database;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs calls to the static DAO methods of this package off the calling thread.
+ * <p>
+ * Every call is executed on its own virtual thread, so a slow query only parks a
+ * cheap virtual thread instead of the JavaFX Application Thread. The number of
+ * statements actually in flight is still bounded by the {@link ConnectionPool}.
+ * </p>
+ * <pre>
+ * AsyncDatabase.supply(() -&gt; UserDAO.manageStudents())
+ *         .thenAccept(students -&gt; ...);
+ * </pre>
+ * GUI code should apply the results with {@code ticktocktrack.gui.FxAsync}, which
+ * hops back onto the JavaFX Application Thread.
+ */
+public final class AsyncDatabase {
+
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ticktocktrack-db-", 0).factory());
+
+    /**
+     * A database call that produces a value and may throw {@link SQLException}.
+     *
+     * @param <T> the type of the value produced
+     */
+    @FunctionalInterface
+    public interface SqlSupplier<T> {
+
+        /**
+         * Runs the call.
+         *
+         * @return the value produced by the call
+         * @throws SQLException if the call fails
+         */
+        T get() throws SQLException;
+    }
+
+    /**
+     * A database call that produces no value and may throw {@link SQLException}.
+     */
+    @FunctionalInterface
+    public interface SqlRunnable {
+
+        /**
+         * Runs the call.
+         *
+         * @throws SQLException if the call fails
+         */
+        void run() throws SQLException;
+    }
+
+    private AsyncDatabase() {
+        // Static helper
+    }
+
+    /**
+     * Runs a database call on a virtual thread.
+     *
+     * @param <T>  the type of the value produced
+     * @param call the call to run, typically a DAO method reference or lambda
+     * @return a future completed with the call's result, or completed exceptionally
+     *         with a {@link CompletionException} wrapping the failure
+     */
+    public static <T> CompletableFuture<T> supply(SqlSupplier<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.get();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * Runs a database call that produces no value on a virtual thread.
+     *
+     * @param call the call to run
+     * @return a future completed when the call finishes
+     */
+    public static CompletableFuture<Void> run(SqlRunnable call) {
+        return supply(() -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,153 @@
+package ticktocktrack.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import ticktocktrack.logic.AttendanceBitmap;
+
+/**
+ * Holds the application's {@link AttendanceBitmap}: the attendance history of every
+ * enrollment, loaded once from the database and kept up to date by the attendance writes
+ * made in this process.
+ * <p>
+ * The bitmap is loaded in the background the first time {@link #getIfLoaded()} is called;
+ * until it is ready callers get null and should fall back to their query. Writes made by
+ * other clients are picked up when the bitmap is reloaded after {@code ttlSeconds}, in the
+ * background, while the old bitmap keeps serving reads. Settings are read from system
+ * properties, for example {@code -Dticktocktrack.analytics.ttlSeconds=300}; set
+ * {@code ticktocktrack.analytics.enabled=false} to never load it.
+ * </p>
+ * Code that writes Attendance must call {@link #recordWrite(int, LocalDate, String)} after
+ * committing, and code that changes attendance or enrollments in bulk must call
+ * {@link #invalidate()}.
+ */
+public class AttendanceAnalytics {
+
+    private static final BackgroundCache<AttendanceBitmap> CACHE =
+            new BackgroundCache<>("ticktocktrack.analytics.", "attendance analytics", AttendanceAnalytics::load);
+
+    private AttendanceAnalytics() {
+        // Static helper
+    }
+
+    /**
+     * Returns the loaded bitmap, starting a background load if there is none yet or the
+     * loaded one has expired.
+     *
+     * @return the bitmap, or null if it is disabled or not loaded yet
+     */
+    public static AttendanceBitmap getIfLoaded() {
+        return CACHE.getIfLoaded();
+    }
+
+    /**
+     * Returns the bitmap, loading it on the calling thread if none is loaded. Meant for
+     * reports and command-line tools that cannot fall back to a query.
+     *
+     * @return the bitmap
+     * @throws SQLException if loading fails
+     */
+    public static AttendanceBitmap get() throws SQLException {
+        return CACHE.get();
+    }
+
+    /**
+     * Applies a committed attendance write to the loaded bitmap. If the bitmap cannot hold
+     * it, for example because the enrollment is newer than the bitmap, the bitmap is dropped
+     * and loaded again on next use.
+     *
+     * @param enrollmentId the enrollment whose attendance was written
+     * @param date         the attendance date
+     * @param status       the status that was saved
+     */
+    public static void recordWrite(int enrollmentId, LocalDate date, String status) {
+        CACHE.apply(bitmap -> bitmap.set(enrollmentId, date, status));
+    }
+
+    /**
+     * Drops the loaded bitmap and any load in progress, so the next use loads it again.
+     */
+    public static void invalidate() {
+        CACHE.invalidate();
+    }
+
+    /**
+     * Reads every enrollment and attendance row into a new bitmap.
+     *
+     * @return the loaded bitmap
+     * @throws SQLException if a query fails
+     */
+    static AttendanceBitmap load() throws SQLException {
+        DatabaseConnection dbConn = new DatabaseConnection();
+        try {
+            dbConn.connectToSQLServer();
+            Connection conn = dbConn.getConnection();
+
+            LocalDate origin = null;
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT MIN(date) FROM Attendance")) {
+                if (rs.next() && rs.getDate(1) != null) {
+                    origin = rs.getDate(1).toLocalDate();
+                }
+            }
+            if (origin == null) {
+                origin = LocalDate.now().withDayOfYear(1);
+            }
+            AttendanceBitmap loaded = new AttendanceBitmap(origin);
+
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT enrollment_id, class_id, student_id FROM Enrollments")) {
+                ps.setFetchSize(BackgroundCache.FETCH_SIZE);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        loaded.addEnrollment(rs.getInt(1), rs.getInt(2), rs.getInt(3));
+                    }
+                }
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT enrollment_id, date, status FROM Attendance")) {
+                ps.setFetchSize(BackgroundCache.FETCH_SIZE);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        loaded.set(rs.getInt(1), rs.getDate(2).toLocalDate(), rs.getString(3));
+                    }
+                }
+            }
+            return loaded;
+        } finally {
+            dbConn.closeConnection();
+        }
+    }
+
+    /**
+     * Loads the bitmap and prints its size and the institution's standing summary.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        try {
+            long start = System.nanoTime();
+            AttendanceBitmap loaded = get();
+            long loadMillis = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            int[] standing = loaded.standingSummary(0);
+            long summaryMicros = (System.nanoTime() - start) / 1_000;
+
+            System.out.println("Loaded " + loaded.size() + " enrollments since " + loaded.getOrigin()
+                    + " in " + loadMillis + " ms, about " + loaded.estimatedBytes() / 1024 + " KiB.");
+            System.out.println("Good " + standing[0] + ", Warning " + standing[1] + ", Critical " + standing[2]
+                    + " (" + summaryMicros + " us)");
+            System.exit(0);
+        } catch (SQLException e) {
+            System.err.println("Error loading attendance analytics: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package ticktocktrack.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.TreeSet;
+
+/**
+ * Maintains the AttendanceCounters table, which holds the number of Present, Absent, Late,
+ * Excused and Pending attendance rows of every enrollment and the date of its latest row,
+ * and the AttendanceMonthlyCounters table, which holds the same counts per enrollment and
+ * calendar month.
+ * <p>
+ * Summary screens read these counters instead of counting Attendance rows, so their cost
+ * grows with the number of enrollments and months shown rather than with the attendance
+ * history. Every statement that writes Attendance must keep the counters in step inside
+ * its own transaction: call {@link #lock(Connection, Collection)} before writing the
+ * attendance rows and {@link #refresh(Connection, Collection, LocalDate)} after. A refresh
+ * only recounts the month of the date that was written. Locking first makes concurrent
+ * writers for the same enrollment take turns, so each refresh sees the rows committed by
+ * the writer before it. Counters are recounted from the enrollment's rows rather than
+ * adjusted by deltas, so a refresh also repairs a counter that had drifted.
+ * </p>
+ * The tables are created and filled by migrations {@code V3__attendance_counters.sql} and
+ * {@code V4__attendance_monthly_counters.sql}. After
+ * loading attendance outside these methods, for example with a bulk insert, run
+ * {@link #rebuild()}, or {@code java ticktocktrack.database.AttendanceCounters}.
+ */
+public class AttendanceCounters {
+
+    /**
+     * Creates the counter row of an enrollment if it is missing and locks it until the
+     * transaction ends. The no-op update on an existing row is what takes the lock.
+     */
+    private static final String LOCK_SQL =
+            "MERGE INTO AttendanceCounters " + DatabaseProfile.current().mergeLockHint() + "AS t " +
+            "USING (VALUES (?)) AS s (enrollment_id) " +
+            "ON t.enrollment_id = s.enrollment_id " +
+            "WHEN MATCHED THEN UPDATE SET pending_count = t.pending_count " +
+            "WHEN NOT MATCHED THEN INSERT (enrollment_id) VALUES (s.enrollment_id);";
+
+    /**
+     * Recounts the attendance rows of an enrollment into its counter row.
+     */
+    private static final String REFRESH_SQL =
+            "MERGE INTO AttendanceCounters " + DatabaseProfile.current().mergeLockHint() + "AS t " +
+            "USING (SELECT e.enrollment_id, " +
+            "COALESCE(SUM(CASE WHEN a.status = 'Present' THEN 1 ELSE 0 END), 0) AS present_count, " +
+            "COALESCE(SUM(CASE WHEN a.status = 'Absent' THEN 1 ELSE 0 END), 0) AS absent_count, " +
+            "COALESCE(SUM(CASE WHEN a.status = 'Late' THEN 1 ELSE 0 END), 0) AS late_count, " +
+            "COALESCE(SUM(CASE WHEN a.status = 'Excused' THEN 1 ELSE 0 END), 0) AS excused_count, " +
+            "COALESCE(SUM(CASE WHEN a.status = 'Pending' THEN 1 ELSE 0 END), 0) AS pending_count, " +
+            "MAX(a.date) AS last_date " +
+            "FROM Enrollments e LEFT JOIN Attendance a ON a.enrollment_id = e.enrollment_id " +
+            "WHERE e.enrollment_id = ? GROUP BY e.enrollment_id) AS s " +
+            "ON t.enrollment_id = s.enrollment_id " +
+            "WHEN MATCHED THEN UPDATE SET present_count = s.present_count, absent_count = s.absent_count, " +
+            "late_count = s.late_count, excused_count = s.excused_count, pending_count = s.pending_count, " +
+            "last_date = s.last_date " +
+            "WHEN NOT MATCHED THEN INSERT " +
+            "(enrollment_id, present_count, absent_count, late_count, excused_count, pending_count, last_date) " +
+            "VALUES (s.enrollment_id, s.present_count, s.absent_count, s.late_count, s.excused_count, " +
+            "s.pending_count, s.last_date);";
+
+    /**
+     * Recounts the attendance rows of an enrollment in one month into its monthly row. The
+     * date range keeps the count on the (enrollment_id, date) index.
+     */
+    private static final String MONTHLY_REFRESH_SQL =
+            "MERGE INTO AttendanceMonthlyCounters " + DatabaseProfile.current().mergeLockHint() + "AS t " +
+            "USING (SELECT a.enrollment_id, CAST(? AS DATE) AS month_start, " +
+            "SUM(CASE WHEN a.status = 'Present' THEN 1 ELSE 0 END) AS present_count, " +
+            "SUM(CASE WHEN a.status = 'Absent' THEN 1 ELSE 0 END) AS absent_count, " +
+            "SUM(CASE WHEN a.status = 'Late' THEN 1 ELSE 0 END) AS late_count, " +
+            "SUM(CASE WHEN a.status = 'Excused' THEN 1 ELSE 0 END) AS excused_count, " +
+            "SUM(CASE WHEN a.status = 'Pending' THEN 1 ELSE 0 END) AS pending_count " +
+            "FROM Attendance a " +
+            "WHERE a.enrollment_id = ? AND a.date >= ? AND a.date < ? GROUP BY a.enrollment_id) AS s " +
+            "ON t.enrollment_id = s.enrollment_id AND t.month_start = s.month_start " +
+            "WHEN MATCHED THEN UPDATE SET present_count = s.present_count, absent_count = s.absent_count, " +
+            "late_count = s.late_count, excused_count = s.excused_count, pending_count = s.pending_count " +
+            "WHEN NOT MATCHED THEN INSERT " +
+            "(enrollment_id, month_start, present_count, absent_count, late_count, excused_count, pending_count) " +
+            "VALUES (s.enrollment_id, s.month_start, s.present_count, s.absent_count, s.late_count, " +
+            "s.excused_count, s.pending_count);";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO AttendanceCounters " +
+            "(enrollment_id, present_count, absent_count, late_count, excused_count, pending_count, last_date) " +
+            "SELECT enrollment_id, " +
+            "SUM(CASE WHEN status = 'Present' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN status = 'Absent' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN status = 'Late' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN status = 'Excused' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN status = 'Pending' THEN 1 ELSE 0 END), " +
+            "MAX(date) " +
+            "FROM Attendance GROUP BY enrollment_id";
+
+    private static final String MONTHLY_REBUILD_SQL =
+            "INSERT INTO AttendanceMonthlyCounters " +
+            "(enrollment_id, month_start, present_count, absent_count, late_count, excused_count, pending_count) " +
+            "SELECT enrollment_id, DATEADD(DAY, 1 - DAY(date), date), " +
+            "SUM(CASE WHEN status = 'Present' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN status = 'Absent' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN status = 'Late' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN status = 'Excused' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN status = 'Pending' THEN 1 ELSE 0 END) " +
+            "FROM Attendance GROUP BY enrollment_id, DATEADD(DAY, 1 - DAY(date), date)";
+
+    private AttendanceCounters() {
+    }
+
+    /**
+     * Returns the AttendanceCounters column that counts an attendance status.
+     *
+     * @param status the attendance status, e.g. Present
+     * @return the column name, or null if the status has no counter
+     */
+    static String columnFor(String status) {
+        if (status == null) {
+            return null;
+        }
+        switch (status) {
+            case "Present":
+                return "present_count";
+            case "Absent":
+                return "absent_count";
+            case "Late":
+                return "late_count";
+            case "Excused":
+                return "excused_count";
+            case "Pending":
+                return "pending_count";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Locks the counter row of an enrollment for the caller's transaction.
+     *
+     * @param conn         the open connection, with auto-commit off
+     * @param enrollmentId the enrollment whose attendance is about to be written
+     * @throws SQLException if the statement fails
+     */
+    static void lock(Connection conn, int enrollmentId) throws SQLException {
+        lock(conn, Collections.singleton(enrollmentId));
+    }
+
+    /**
+     * Locks the counter rows of the given enrollments for the caller's transaction, in
+     * ascending id order so that two writers locking overlapping sets cannot deadlock.
+     *
+     * @param conn          the open connection, with auto-commit off
+     * @param enrollmentIds the enrollments whose attendance is about to be written
+     * @throws SQLException if the statement fails
+     */
+    static void lock(Connection conn, Collection<Integer> enrollmentIds) throws SQLException {
+        executeForEach(conn, LOCK_SQL, enrollmentIds);
+    }
+
+    /**
+     * Recounts the counters of an enrollment from its attendance rows.
+     *
+     * @param conn         the open connection, in the transaction that wrote the rows
+     * @param enrollmentId the enrollment whose attendance was written
+     * @param date         the date of the attendance row that was written
+     * @throws SQLException if the statement fails
+     */
+    static void refresh(Connection conn, int enrollmentId, LocalDate date) throws SQLException {
+        refresh(conn, Collections.singleton(enrollmentId), date);
+    }
+
+    /**
+     * Recounts the counters of the given enrollments from their attendance rows.
+     *
+     * @param conn          the open connection, in the transaction that wrote the rows
+     * @param enrollmentIds the enrollments whose attendance was written
+     * @param date          the date of the attendance rows that were written
+     * @throws SQLException if the statement fails
+     */
+    static void refresh(Connection conn, Collection<Integer> enrollmentIds, LocalDate date) throws SQLException {
+        executeForEach(conn, REFRESH_SQL, enrollmentIds);
+        refreshMonth(conn, enrollmentIds, date);
+    }
+
+    private static void refreshMonth(Connection conn, Collection<Integer> enrollmentIds, LocalDate date) throws SQLException {
+        if (enrollmentIds.isEmpty()) {
+            return;
+        }
+        LocalDate monthStart = date.withDayOfMonth(1);
+        java.sql.Date from = java.sql.Date.valueOf(monthStart);
+        java.sql.Date to = java.sql.Date.valueOf(monthStart.plusMonths(1));
+        try (PreparedStatement ps = conn.prepareStatement(MONTHLY_REFRESH_SQL)) {
+            ps.setDate(1, from);
+            ps.setDate(3, from);
+            ps.setDate(4, to);
+            if (enrollmentIds.size() == 1) {
+                ps.setInt(2, enrollmentIds.iterator().next());
+                ps.executeUpdate();
+                return;
+            }
+            for (int enrollmentId : new TreeSet<>(enrollmentIds)) {
+                ps.setInt(2, enrollmentId);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static void executeForEach(Connection conn, String sql, Collection<Integer> enrollmentIds) throws SQLException {
+        if (enrollmentIds.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (enrollmentIds.size() == 1) {
+                ps.setInt(1, enrollmentIds.iterator().next());
+                ps.executeUpdate();
+                return;
+            }
+            for (int enrollmentId : new TreeSet<>(enrollmentIds)) {
+                ps.setInt(1, enrollmentId);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * Recounts every counter, including the monthly ones, from the Attendance table in one
+     * transaction.
+     *
+     * @return the number of enrollments with attendance
+     * @throws SQLException if the rebuild fails; the previous counters are kept in that case
+     */
+    public static int rebuild() throws SQLException {
+        DatabaseConnection dbConn = new DatabaseConnection();
+        try {
+            dbConn.connectToSQLServer();
+            Connection conn = dbConn.getConnection();
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM AttendanceCounters");
+                int rows = stmt.executeUpdate(REBUILD_SQL);
+                stmt.executeUpdate("DELETE FROM AttendanceMonthlyCounters");
+                stmt.executeUpdate(MONTHLY_REBUILD_SQL);
+                conn.commit();
+                AttendanceAnalytics.invalidate();
+                return rows;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+        } finally {
+            dbConn.closeConnection();
+        }
+    }
+
+    /**
+     * Rebuilds the counters from the command line.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        SchemaMigrator.migrate();
+        try {
+            long start = System.nanoTime();
+            int rows = rebuild();
+            System.out.println("Rebuilt attendance counters for " + rows + " enrollments in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        } catch (SQLException e) {
+            System.err.println("Error rebuilding attendance counters: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package ticktocktrack.database;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds a value loaded from the database in the background and refreshed after a TTL,
+ * such as {@link AttendanceAnalytics}' bitmap or {@link UserSearch}'s index.
+ * <p>
+ * The value is loaded the first time {@link #getIfLoaded()} is called; until it is ready
+ * callers get null and should fall back to a query. Once the TTL has passed it is loaded
+ * again in the background, while the old value keeps serving reads. Changes committed in
+ * this process are applied to the value with {@link #apply(Change)}, including to a load
+ * in progress. Settings are read from system properties under the given prefix:
+ * {@code enabled} (default true) and {@code ttlSeconds} (default 300).
+ * </p>
+ *
+ * @param <T> the type of the loaded value; it must be safe to read and update from
+ *            several threads
+ */
+final class BackgroundCache<T> {
+
+    /** Fetch size for the full-table reads that load a value. */
+    static final int FETCH_SIZE = 10_000;
+
+    /** Reads a new value from the database. */
+    @FunctionalInterface
+    interface Loader<T> {
+        T load() throws SQLException;
+    }
+
+    /** A committed change to apply to the value. */
+    @FunctionalInterface
+    interface Change<T> {
+        /**
+         * Applies the change.
+         *
+         * @param value the loaded value
+         * @return false if the value cannot hold the change and must be loaded again
+         */
+        boolean applyTo(T value);
+    }
+
+    private final String description;
+    private final Loader<T> loader;
+    private final boolean enabled;
+    private final long ttlMillis;
+
+    private final Object lock = new Object();
+
+    private T value;
+
+    /** When the last load finished or failed, or 0 if the next use must load. */
+    private long loadedAt;
+
+    /** Whether a load is running; changes made meanwhile are queued in {@link #pending}. */
+    private boolean loading;
+    private final List<Change<T>> pending = new ArrayList<>();
+
+    /** Bumped on every invalidation, so a load that started before it is thrown away. */
+    private long generation;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param propertyPrefix the prefix of the settings' system properties, for example
+     *                       {@code ticktocktrack.search.}
+     * @param description    what is loaded, for error messages
+     * @param loader         reads a new value
+     */
+    BackgroundCache(String propertyPrefix, String description, Loader<T> loader) {
+        this.description = description;
+        this.loader = loader;
+        this.enabled = Boolean.parseBoolean(System.getProperty(propertyPrefix + "enabled", "true"));
+        this.ttlMillis = Long.getLong(propertyPrefix + "ttlSeconds", 300) * 1000;
+    }
+
+    /**
+     * Returns the loaded value, starting a background load if there is none yet or the
+     * loaded one has expired.
+     *
+     * @return the value, or null if the cache is disabled or not loaded yet
+     */
+    T getIfLoaded() {
+        if (!enabled) {
+            return null;
+        }
+        synchronized (lock) {
+            if (!loading && (loadedAt == 0 || System.currentTimeMillis() - loadedAt > ttlMillis)) {
+                startLoad();
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Returns the value, loading it on the calling thread if none is loaded. Meant for
+     * reports and command-line tools that cannot fall back to a query.
+     *
+     * @return the value
+     * @throws SQLException if loading fails
+     */
+    T get() throws SQLException {
+        long startGeneration;
+        synchronized (lock) {
+            if (value != null) {
+                return value;
+            }
+            startGeneration = generation;
+            loading = true;
+        }
+        T loaded;
+        try {
+            loaded = loader.load();
+        } catch (SQLException e) {
+            synchronized (lock) {
+                loading = false;
+                pending.clear();
+            }
+            throw e;
+        }
+        publish(loaded, startGeneration);
+        synchronized (lock) {
+            return value != null ? value : loaded;
+        }
+    }
+
+    /**
+     * Applies a committed change to the loaded value, and to the load in progress if any.
+     * If the value cannot hold the change it is dropped and loaded again on next use.
+     *
+     * @param change the change
+     */
+    void apply(Change<T> change) {
+        synchronized (lock) {
+            if (loading) {
+                pending.add(change);
+            }
+            if (value != null && !change.applyTo(value)) {
+                if (loading) {
+                    value = null; // the load in progress picks the change up
+                } else {
+                    invalidate();
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the loaded value and any load in progress, so the next use loads it again.
+     */
+    void invalidate() {
+        synchronized (lock) {
+            generation++;
+            value = null;
+            loadedAt = 0;
+            loading = false;
+            pending.clear();
+        }
+    }
+
+    /** Starts a background load; callers hold {@link #lock}. */
+    private void startLoad() {
+        long startGeneration = generation;
+        loading = true;
+        AsyncDatabase.run(() -> publish(loader.load(), startGeneration)).exceptionally(e -> {
+            System.err.println("Error loading " + description + ": " + e.getCause().getMessage());
+            synchronized (lock) {
+                if (generation == startGeneration) {
+                    loading = false;
+                    pending.clear();
+                    loadedAt = System.currentTimeMillis(); // retry after the TTL, not on every call
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Applies the changes queued during a load and makes the loaded value current, unless
+     * the cache was invalidated or another load finished first.
+     */
+    private void publish(T loaded, long startGeneration) {
+        synchronized (lock) {
+            if (generation != startGeneration || !loading) {
+                return;
+            }
+            loading = false;
+            for (Change<T> change : pending) {
+                if (!change.applyTo(loaded)) {
+                    pending.clear();
+                    invalidate();
+                    return;
+                }
+            }
+            pending.clear();
+            value = loaded;
+            loadedAt = System.currentTimeMillis();
+        }
+    }
+}
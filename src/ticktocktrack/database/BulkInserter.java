@@ -0,0 +1,162 @@
+package ticktocktrack.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import com.microsoft.sqlserver.jdbc.ISQLServerConnection;
+
+/**
+ * Inserts large numbers of rows through one prepared INSERT, in batches.
+ * <p>
+ * Rows are sent every {@code batchSize} rows and committed every {@code commitEvery}
+ * rows, so a long load neither holds one huge transaction nor pays for a commit per row.
+ * On SQL Server the driver is switched to the bulk copy API for the batches, which
+ * streams rows like {@code BULK INSERT} instead of executing the statement once per row;
+ * the previous setting is restored on {@link #close()}. The driver copies with default
+ * options, which skip foreign key and check constraints and leave them marked not trusted,
+ * so this suits loading generated data; imports into live tables use {@link CheckedBulkCopy}.
+ * </p>
+ * <pre>
+ * try (BulkInserter insert = new BulkInserter(conn, "INSERT INTO Enrollments (student_id, class_id) VALUES (?, ?)")) {
+ *     insert.add(studentId, classId);
+ * }
+ * </pre>
+ * The connection is put into manual commit mode while the inserter is open. To insert
+ * into several tables in one transaction, turn off auto-commit first and pass a
+ * {@code commitEvery} of zero: the inserter then never commits, and the caller commits or
+ * rolls back once all inserters are closed.
+ */
+public class BulkInserter implements AutoCloseable {
+
+    /** Rows sent to the database per batch unless stated otherwise. */
+    public static final int DEFAULT_BATCH_SIZE = 5_000;
+
+    /** Rows per transaction unless stated otherwise. */
+    public static final int DEFAULT_COMMIT_EVERY = 50_000;
+
+    private final Connection conn;
+    private final PreparedStatement ps;
+    private final int batchSize;
+    private final int commitEvery;
+    private final boolean autoCommit;
+    private final Boolean previousBulkCopy;
+    private long rows;
+    private int pendingInBatch;
+    private long uncommitted;
+
+    /**
+     * Opens an inserter with the default batch and commit sizes.
+     *
+     * @param conn the connection to insert through
+     * @param sql  an INSERT whose values are all parameters
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public BulkInserter(Connection conn, String sql) throws SQLException {
+        this(conn, sql, DEFAULT_BATCH_SIZE, DEFAULT_COMMIT_EVERY);
+    }
+
+    /**
+     * Opens an inserter.
+     *
+     * @param conn        the connection to insert through
+     * @param sql         an INSERT whose values are all parameters
+     * @param batchSize   rows per batch
+     * @param commitEvery rows per transaction, or 0 to leave committing to the caller
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public BulkInserter(Connection conn, String sql, int batchSize, int commitEvery) throws SQLException {
+        this.conn = conn;
+        this.batchSize = batchSize;
+        this.commitEvery = commitEvery;
+        this.autoCommit = conn.getAutoCommit();
+        this.previousBulkCopy = enableBulkCopy(conn);
+        conn.setAutoCommit(false);
+        this.ps = conn.prepareStatement(sql);
+    }
+
+    /**
+     * Adds one row. Values are bound in parameter order; null binds SQL NULL.
+     *
+     * @param values the row's values
+     * @throws SQLException if sending a full batch fails
+     */
+    public void add(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                ps.setNull(i + 1, Types.NULL);
+            } else {
+                ps.setObject(i + 1, values[i]);
+            }
+        }
+        ps.addBatch();
+        rows++;
+        uncommitted++;
+        if (++pendingInBatch >= batchSize) {
+            flush();
+        }
+        if (commitEvery > 0 && uncommitted >= commitEvery) {
+            flush();
+            conn.commit();
+            uncommitted = 0;
+        }
+    }
+
+    /**
+     * Returns the number of rows added so far.
+     *
+     * @return the row count
+     */
+    public long getRowCount() {
+        return rows;
+    }
+
+    private void flush() throws SQLException {
+        if (pendingInBatch > 0) {
+            ps.executeBatch();
+            pendingInBatch = 0;
+        }
+    }
+
+    /**
+     * Sends and commits the remaining rows, then restores the connection settings.
+     * If sending fails the open transaction is rolled back. When the caller commits,
+     * the remaining rows are only sent.
+     *
+     * @throws SQLException if the last batch or commit fails
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+            if (commitEvery > 0) {
+                conn.commit();
+            }
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            ps.close();
+            conn.setAutoCommit(autoCommit);
+            if (previousBulkCopy != null) {
+                conn.unwrap(ISQLServerConnection.class).setUseBulkCopyForBatchInsert(previousBulkCopy);
+            }
+        }
+    }
+
+    /**
+     * Turns on bulk copy for batch inserts when connected to SQL Server.
+     *
+     * @return the previous setting, or null if the connection is not to SQL Server
+     */
+    private static Boolean enableBulkCopy(Connection conn) throws SQLException {
+        if (!conn.isWrapperFor(ISQLServerConnection.class)) {
+            return null;
+        }
+        ISQLServerConnection sqlServer = conn.unwrap(ISQLServerConnection.class);
+        boolean previous = sqlServer.getUseBulkCopyForBatchInsert();
+        sqlServer.setUseBulkCopyForBatchInsert(true);
+        return previous;
+    }
+}
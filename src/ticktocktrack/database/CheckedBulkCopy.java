@@ -0,0 +1,141 @@
+package ticktocktrack.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.microsoft.sqlserver.jdbc.ISQLServerBulkData;
+import com.microsoft.sqlserver.jdbc.ISQLServerConnection;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopy;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions;
+
+/**
+ * Writes rows to a live SQL Server table with the {@link SQLServerBulkCopy} API, with
+ * constraint checking on.
+ * <p>
+ * {@link BulkInserter} switches the driver to bulk copy for batch inserts, which uses the
+ * default bulk copy options: foreign keys and check constraints are not checked, and SQL
+ * Server then marks them as not trusted, so the optimizer stops relying on them until they
+ * are checked again with {@code ALTER TABLE ... WITH CHECK CHECK CONSTRAINT ALL}. That is
+ * acceptable for generated benchmark data but not for production tables, so imports write
+ * through this class instead. Checking constraints costs a lookup per row in each
+ * referenced table, which is small next to sending the rows.
+ * </p>
+ * The rows are written in the connection's current transaction.
+ */
+final class CheckedBulkCopy {
+
+    private CheckedBulkCopy() {
+        // Static helper
+    }
+
+    /**
+     * Returns whether the connection is to SQL Server, and so can bulk copy.
+     *
+     * @param conn the connection
+     * @return true for a SQL Server connection
+     * @throws SQLException if the connection cannot be inspected
+     */
+    static boolean isAvailable(Connection conn) throws SQLException {
+        return conn.isWrapperFor(ISQLServerConnection.class);
+    }
+
+    /**
+     * Writes rows into the named columns of a table, checking constraints and keeping nulls.
+     *
+     * @param conn    a SQL Server connection; see {@link #isAvailable(Connection)}
+     * @param table   the destination table
+     * @param columns the destination columns, in the order of each row's values
+     * @param types   the {@link Types} of the columns
+     * @param rows    the rows to write
+     * @throws SQLException if the copy fails, including on a constraint violation
+     */
+    static void write(Connection conn, String table, String[] columns, int[] types, List<Object[]> rows)
+            throws SQLException {
+        SQLServerBulkCopyOptions options = new SQLServerBulkCopyOptions();
+        options.setCheckConstraints(true);
+        options.setKeepNulls(true);
+        options.setBatchSize(rows.size());
+
+        try (SQLServerBulkCopy copy = new SQLServerBulkCopy(conn.unwrap(ISQLServerConnection.class))) {
+            copy.setBulkCopyOptions(options);
+            copy.setDestinationTableName(table);
+            for (int i = 0; i < columns.length; i++) {
+                copy.addColumnMapping(i + 1, columns[i]);
+            }
+            copy.writeToServer(new RowData(columns, types, rows));
+        }
+    }
+
+    /** Presents a list of rows to the bulk copy API. */
+    private static final class RowData implements ISQLServerBulkData {
+        private static final long serialVersionUID = 1L;
+
+        // ISQLServerBulkData is Serializable, but the rows are only handed to the driver in
+        // this process and never serialized
+        private final transient String[] columns;
+        private final transient int[] types;
+        private final transient List<Object[]> rows;
+        private int next;
+
+        RowData(String[] columns, int[] types, List<Object[]> rows) {
+            this.columns = columns;
+            this.types = types;
+            this.rows = rows;
+        }
+
+        @Override
+        public Set<Integer> getColumnOrdinals() {
+            Set<Integer> ordinals = new LinkedHashSet<>();
+            for (int i = 1; i <= columns.length; i++) {
+                ordinals.add(i);
+            }
+            return ordinals;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columns[column - 1];
+        }
+
+        @Override
+        public int getColumnType(int column) {
+            return types[column - 1];
+        }
+
+        @Override
+        public int getPrecision(int column) {
+            switch (types[column - 1]) {
+                case Types.NVARCHAR:
+                case Types.VARCHAR:
+                    return 4000;
+                case Types.TIMESTAMP:
+                    return 23;
+                default:
+                    return 0;
+            }
+        }
+
+        @Override
+        public int getScale(int column) {
+            return types[column - 1] == Types.TIMESTAMP ? 3 : 0;
+        }
+
+        @Override
+        public Object[] getRowData() {
+            return rows.get(next - 1);
+        }
+
+        @Override
+        public boolean next() {
+            if (next == rows.size()) {
+                return false;
+            }
+            next++;
+            return true;
+        }
+    }
+}
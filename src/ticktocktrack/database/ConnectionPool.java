@@ -0,0 +1,400 @@
+package ticktocktrack.database;
+
+import java.lang.ref.Cleaner;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of physical JDBC connections shared by every DAO in the application.
+ * <p>
+ * Callers receive a lightweight proxy around a pooled physical connection. Calling
+ * {@link Connection#close()} on the proxy returns the physical connection to the pool
+ * instead of closing it, so the existing {@code try (Connection conn = ...)} and
+ * {@link DatabaseConnection#closeConnection()} idioms keep working unchanged.
+ * </p>
+ * <p>
+ * The pool keeps between {@code minSize} and {@code maxSize} physical connections,
+ * evicts connections that sit idle longer than {@code idleTimeoutMs}, validates
+ * connections that have been idle before handing them out, and reports connections
+ * held longer than {@code leakDetectionThresholdMs} together with the stack trace of
+ * the code that borrowed them. Settings are read from system properties, for example
+ * {@code -Dticktocktrack.db.pool.maxSize=20}.
+ * </p>
+ */
+public class ConnectionPool {
+
+    private static final String PROPERTY_PREFIX = "ticktocktrack.db.pool.";
+
+    /**
+     * Connections idle for less than this are handed out without a validation round trip.
+     */
+    private static final long VALIDATION_BYPASS_MS = 500;
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final String url;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMs;
+    private final long connectionTimeoutMs;
+    private final int validationTimeoutSeconds;
+    private final long leakDetectionThresholdMs;
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<Lease> leased = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a pool for the given JDBC URL using settings from system properties.
+     *
+     * @param url the JDBC URL used to open physical connections
+     */
+    public ConnectionPool(String url) {
+        this(url,
+             Integer.getInteger(PROPERTY_PREFIX + "minSize", 2),
+             Integer.getInteger(PROPERTY_PREFIX + "maxSize", 10),
+             Long.getLong(PROPERTY_PREFIX + "idleTimeoutMs", 300_000L),
+             Long.getLong(PROPERTY_PREFIX + "connectionTimeoutMs", 30_000L),
+             Integer.getInteger(PROPERTY_PREFIX + "validationTimeoutSeconds", 2),
+             Long.getLong(PROPERTY_PREFIX + "leakDetectionThresholdMs", 60_000L));
+    }
+
+    /**
+     * Creates a pool with explicit settings.
+     *
+     * @param url                      the JDBC URL used to open physical connections
+     * @param minSize                  connections kept open even when idle
+     * @param maxSize                  upper bound on open connections
+     * @param idleTimeoutMs            idle time after which surplus connections are closed
+     * @param connectionTimeoutMs      how long a caller waits for a free connection
+     * @param validationTimeoutSeconds timeout passed to {@link Connection#isValid(int)}
+     * @param leakDetectionThresholdMs lease time after which a leak is reported; 0 disables
+     */
+    public ConnectionPool(String url, int minSize, int maxSize, long idleTimeoutMs,
+                          long connectionTimeoutMs, int validationTimeoutSeconds,
+                          long leakDetectionThresholdMs) {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.connectionTimeoutMs = connectionTimeoutMs;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ticktocktrack-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1_000L, Math.min(idleTimeoutMs, 30_000L) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new physical connection if none is idle
+     * and the pool has not reached its maximum size.
+     *
+     * @return a pooled connection; closing it returns it to the pool
+     * @throws SQLException if no connection becomes available within the connection timeout
+     *                      or a new physical connection cannot be opened
+     */
+    public Connection getConnection() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool has been shut down.");
+        }
+
+        try {
+            if (!permits.tryAcquire(connectionTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + connectionTimeoutMs + " ms waiting for a database connection ("
+                        + leased.size() + " in use, max " + maxSize + ").");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    return lease(pooled);
+                }
+                discard(pooled);
+            }
+            return lease(open());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of connections currently borrowed.
+     *
+     * @return connections in use
+     */
+    public int getActiveCount() {
+        return leased.size();
+    }
+
+    /**
+     * Returns the number of open connections waiting in the pool.
+     *
+     * @return idle connections
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Returns a read-only view of the stack traces of connections currently borrowed,
+     * useful when diagnosing pool exhaustion.
+     *
+     * @return borrow-site stack traces of leased connections
+     */
+    public Set<Throwable> getLeaseOrigins() {
+        Set<Throwable> origins = ConcurrentHashMap.newKeySet();
+        for (Lease lease : leased) {
+            origins.add(lease.origin);
+        }
+        return Collections.unmodifiableSet(origins);
+    }
+
+    /**
+     * Closes every idle connection and stops the housekeeping thread.
+     * Connections still borrowed are closed when they are returned.
+     */
+    public void shutdown() {
+        shutdown = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url);
+        totalConnections.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.lastReturned < VALIDATION_BYPASS_MS) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection lease(PooledConnection pooled) {
+        Lease lease = new Lease(pooled, new Throwable("Connection borrowed here"));
+        leased.add(lease);
+        Connection proxy = (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new LeaseHandler(lease));
+        lease.cleanable = CLEANER.register(proxy, lease::reclaim);
+        return proxy;
+    }
+
+    private void release(Lease lease) {
+        leased.remove(lease);
+        PooledConnection pooled = lease.pooled;
+        boolean reusable = !shutdown;
+        try {
+            if (reusable && !pooled.physical.isClosed()) {
+                if (!pooled.physical.getAutoCommit()) {
+                    pooled.physical.rollback();
+                    pooled.physical.setAutoCommit(true);
+                }
+                pooled.physical.clearWarnings();
+            } else {
+                reusable = false;
+            }
+        } catch (SQLException e) {
+            reusable = false;
+        }
+
+        if (reusable) {
+            pooled.lastReturned = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } else {
+            discard(pooled);
+        }
+        permits.release();
+    }
+
+    private void discard(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Failed to close pooled connection: " + e.getMessage());
+        }
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        // Evict surplus connections that have been idle too long, oldest first.
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext() && totalConnections.get() > minSize) {
+            PooledConnection pooled = it.next();
+            if (now - pooled.lastReturned > idleTimeoutMs && idle.remove(pooled)) {
+                discard(pooled);
+            }
+        }
+
+        // Top the pool back up to its minimum size.
+        while (!shutdown && totalConnections.get() < minSize && permits.tryAcquire()) {
+            try {
+                PooledConnection pooled = open();
+                pooled.lastReturned = now;
+                idle.offerLast(pooled);
+            } catch (SQLException e) {
+                System.err.println("Failed to pre-open pooled connection: " + e.getMessage());
+                break;
+            } finally {
+                permits.release();
+            }
+        }
+
+        if (leakDetectionThresholdMs > 0) {
+            for (Lease lease : leased) {
+                if (now - lease.borrowedAt > leakDetectionThresholdMs && lease.leakReported.compareAndSet(false, true)) {
+                    System.err.println("Possible connection leak: connection held for " + (now - lease.borrowedAt)
+                            + " ms by thread " + lease.threadName + ".");
+                    lease.origin.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    private static final class PooledConnection {
+        private final Connection physical;
+        private volatile long lastReturned = System.currentTimeMillis();
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+    }
+
+    /**
+     * One borrow of a pooled connection, from {@link #getConnection()} until the proxy is closed.
+     */
+    private final class Lease {
+        private final PooledConnection pooled;
+        private final Throwable origin;
+        private final long borrowedAt = System.currentTimeMillis();
+        private final String threadName = Thread.currentThread().getName();
+        private final AtomicBoolean returned = new AtomicBoolean();
+        private final AtomicBoolean leakReported = new AtomicBoolean();
+        private Cleaner.Cleanable cleanable;
+
+        private Lease(PooledConnection pooled, Throwable origin) {
+            this.pooled = pooled;
+            this.origin = origin;
+        }
+
+        private boolean giveBack() {
+            if (returned.compareAndSet(false, true)) {
+                release(this);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Runs when a proxy is garbage collected without having been closed.
+         */
+        private void reclaim() {
+            if (giveBack()) {
+                System.err.println("Connection was never closed and has been reclaimed by the pool.");
+                origin.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Forwards calls to the physical connection, turning {@code close()} into a return to the pool.
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final Lease lease;
+
+        private LeaseHandler(Lease lease) {
+            this.lease = lease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (lease.returned.get()) {
+                        return null;
+                    }
+                    lease.giveBack();
+                    lease.cleanable.clean();
+                    return null;
+                case "isClosed":
+                    return lease.returned.get() || lease.pooled.physical.isClosed();
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + lease.pooled.physical + "]";
+                default:
+                    break;
+            }
+
+            if (lease.returned.get()) {
+                throw new SQLException("Connection has already been returned to the pool.");
+            }
+            try {
+                return method.invoke(lease.pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
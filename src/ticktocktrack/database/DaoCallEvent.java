@@ -0,0 +1,39 @@
+package ticktocktrack.database;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for one statement run by a DAO method, from its first
+ * execution until it is closed, so the duration includes reading the rows.
+ * <p>
+ * Emitted by the statements of connections instrumented by {@link QueryMetrics}.
+ * </p>
+ */
+@Name("ticktocktrack.DaoCall")
+@Label("DAO Call")
+@Category({ "TickTockTrack", "Database" })
+@Description("A statement run by a DAO method, from its first execution until it is closed")
+@StackTrace(false)
+class DaoCallEvent extends jdk.jfr.Event {
+
+    @Label("DAO Class")
+    String daoClass;
+
+    @Label("DAO Method")
+    String daoMethod;
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Rows")
+    @Description("Rows read from result sets plus rows reported by updates")
+    long rows;
+
+    @Label("Executions")
+    @Description("Times the statement was executed, more than one for a reused prepared statement")
+    int executions;
+}
@@ -1,8 +1,12 @@
 package ticktocktrack.database;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import ticktocktrack.logic.CourseInfo;
 import ticktocktrack.logic.Session;
@@ -17,6 +21,36 @@ import ticktocktrack.logic.UsersModel;
  * attendance tracking functionality for teachers and students.
  */
 public class DatabaseAttendance {
+
+    /**
+     * Inserts or updates the attendance row for an enrollment and date in one statement.
+     * HOLDLOCK keeps two concurrent saves for the same key from both taking the insert branch;
+     * the unique index on (enrollment_id, date) guarantees a single row per key.
+     * The hint is left out on the embedded profile, see {@link DatabaseProfile#mergeLockHint()}.
+     */
+    private static final String UPSERT_BODY =
+            "MERGE INTO Attendance " + DatabaseProfile.current().mergeLockHint() + "AS t " +
+            "USING (VALUES (?, CAST(? AS DATE), ?, ?)) AS s (enrollment_id, date, status, reason) " +
+            "ON t.enrollment_id = s.enrollment_id AND t.date = s.date " +
+            "WHEN MATCHED THEN UPDATE SET status = s.status, reason = s.reason " +
+            "WHEN NOT MATCHED THEN INSERT (enrollment_id, date, status, reason, approval_status) " +
+            "VALUES (s.enrollment_id, s.date, s.status, s.reason, 'Pending')";
+
+    /**
+     * The upsert as a complete statement; SQL Server requires a MERGE to end with a semicolon.
+     */
+    private static final String UPSERT_SQL = UPSERT_BODY + ";";
+
+    /**
+     * Same as {@link #UPSERT_SQL} but also returns the id of the affected row.
+     */
+    private static final String UPSERT_RETURNING_ID_SQL = UPSERT_BODY + " OUTPUT inserted.attendance_id;";
+
+    /**
+     * Reads the id of an upserted row where the database has no OUTPUT clause.
+     */
+    private static final String SELECT_ATTENDANCE_ID_SQL =
+            "SELECT attendance_id FROM Attendance WHERE enrollment_id = ? AND date = CAST(? AS DATE)";
     
 	
 	public static String getAttendanceStatus(int studentId, String course, String program, String section, String date) {
@@ -124,7 +158,7 @@ public class DatabaseAttendance {
                      "LEFT JOIN Attendance a ON e.enrollment_id = a.enrollment_id AND a.date = ? " +
                      "WHERE u.user_id = ? " +
                      "AND cl.section = ? " +
-                     "AND cl.course_id = (SELECT course_id FROM Courses WHERE course_name = ?) " +
+                     "AND cl.course_name = ? " +
                      "ORDER BY s.last_name, s.first_name";
 
         try {
@@ -220,6 +254,74 @@ public class DatabaseAttendance {
         return students;
     }
 
+    /**
+     * Retrieves students enrolled in a specific course, program, and section taught by the logged-in teacher,
+     * together with their attendance status and reason for the given date, in a single query.
+     * Students without an attendance record for that date get the status "Pending" and an empty reason.
+     *
+     * @param courseName the course name
+     * @param program the program name
+     * @param section the section name
+     * @param date the date string (e.g. "YYYY-MM-DD")
+     * @return list of Student objects with date, status and reason populated
+     */
+    public static List<Student> getStudentsEnrolledWithAttendance(String courseName, String program, String section, String date) {
+        List<Student> students = new ArrayList<>();
+        DatabaseConnection dbConn = new DatabaseConnection();
+
+        // Get the logged-in teacher's ID
+        UsersModel currentUser = Session.getCurrentUser();
+        Integer teacherId = currentUser != null ? currentUser.getTeacherId() : null;
+
+        if (teacherId == null) {
+            System.err.println("No teacher is currently logged in.");
+            return students; // Return empty list
+        }
+
+        String sql = "SELECT s.student_id, s.last_name, s.first_name, s.middle_name, " +
+                     "COALESCE(a.status, 'Pending') AS status, COALESCE(a.reason, '') AS reason " +
+                     "FROM Students s " +
+                     "JOIN Enrollments e ON s.student_id = e.student_id " +
+                     "JOIN Classes c ON e.class_id = c.class_id " +
+                     "LEFT JOIN Attendance a ON a.enrollment_id = e.enrollment_id AND a.date = ? " +
+                     "WHERE c.course_name = ? " +
+                     "AND c.program = ? " +
+                     "AND c.section = ? " +
+                     "AND c.teacher_id = ? " +
+                     "ORDER BY s.last_name, s.first_name";
+
+        try {
+            dbConn.connectToSQLServer();
+            try (Connection conn = dbConn.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setString(1, date);
+                pstmt.setString(2, courseName);
+                pstmt.setString(3, program);
+                pstmt.setString(4, section);
+                pstmt.setInt(5, teacherId);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        int studentId = rs.getInt("student_id");
+                        String lastName = rs.getString("last_name");
+                        String firstName = rs.getString("first_name");
+                        String middleName = rs.getString("middle_name");
+                        String status = rs.getString("status");
+                        String reason = rs.getString("reason");
+
+                        students.add(new Student(studentId, lastName, firstName, middleName, date, status, reason));
+                    }
+                }
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        } finally {
+            dbConn.closeConnection();
+        }
+
+        return students;
+    }
 
 
     /**
@@ -260,53 +362,137 @@ public class DatabaseAttendance {
                 }
             }
 
-            // Check for existing attendance
-            String checkSql = "SELECT attendance_id FROM Attendance WHERE enrollment_id = ? AND date = ?";
-            try (PreparedStatement psCheck = conn.prepareStatement(checkSql)) {
-                psCheck.setInt(1, enrollmentId);
-                psCheck.setString(2, date);
-                try (ResultSet rsCheck = psCheck.executeQuery()) {
-                    if (rsCheck.next()) {
-                        // Update
-                        attendanceId = rsCheck.getInt("attendance_id");
-                        String updateSql = "UPDATE Attendance SET status = ?, reason = ? WHERE attendance_id = ?";
-                        try (PreparedStatement psUpdate = conn.prepareStatement(updateSql)) {
-                            psUpdate.setString(1, status);
-                            psUpdate.setString(2, reason);
-                            psUpdate.setInt(3, attendanceId);
-                            psUpdate.executeUpdate();
-                        }
-                    } else {
-                        // Insert and retrieve generated key
-                        String insertSql = "INSERT INTO Attendance (enrollment_id, date, status, reason, approval_status) " +
-                                           "VALUES (?, ?, ?, ?, ?)";
-                        try (PreparedStatement psInsert = conn.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
-                            psInsert.setInt(1, enrollmentId);
-                            psInsert.setString(2, date);
-                            psInsert.setString(3, status);
-                            psInsert.setString(4, reason);
-                            psInsert.setString(5, "Pending");
-
-                            int rowsAffected = psInsert.executeUpdate();
-                            if (rowsAffected == 0) {
-                                throw new SQLException("Inserting attendance failed, no rows affected.");
-                            }
-
-                            try (ResultSet generatedKeys = psInsert.getGeneratedKeys()) {
-                                if (generatedKeys.next()) {
-                                    attendanceId = generatedKeys.getInt(1);
-                                } else {
-                                    throw new SQLException("Inserting attendance failed, no ID obtained.");
-                                }
-                            }
+            AttendanceCounters.lock(conn, enrollmentId);
+            attendanceId = upsertAttendance(conn, enrollmentId, date, status, reason);
+            AttendanceCounters.refresh(conn, enrollmentId, LocalDate.parse(date));
+
+            conn.commit(); // commit all changes
+            AttendanceAnalytics.recordWrite(enrollmentId, LocalDate.parse(date), status);
+            return attendanceId;
+
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            throw ex;
+        } finally {
+            dbConn.closeConnection();
+        }
+    }
+
+    /**
+     * Saves attendance for a whole class roster in a single transaction and notifies each student.
+     * <p>
+     * Enrollment ids for the class are resolved with one query, every row is upserted through a
+     * batched MERGE, the saved ids are read back with one more query and the notifications are sent
+     * as a batch, so the number of round trips does not grow with the size of the roster. The
+     * passed {@link Student} objects are only read, once each, before the transaction starts.
+     * </p>
+     *
+     * @param courseName the course name of the class
+     * @param program    the program of the class
+     * @param section    the section of the class
+     * @param date       the attendance date string (e.g. "YYYY-MM-DD")
+     * @param students   the roster with each student's status and reason
+     * @return a map of student id to the attendance id saved for that student
+     * @throws SQLException if any student is not enrolled in the class or the save fails;
+     *                      nothing is written in that case
+     */
+    public static Map<Integer, Integer> saveRoster(String courseName, String program, String section,
+            String date, List<Student> students) throws SQLException {
+        Map<Integer, Integer> attendanceIds = new LinkedHashMap<>();
+        if (students == null || students.isEmpty()) {
+            return attendanceIds;
+        }
+
+        // The status already saved for the date tells the notification whether the absence was excused
+        String enrollmentSql = "SELECT e.student_id, e.enrollment_id, s.user_id, a.status " +
+                               "FROM Enrollments e " +
+                               "JOIN Classes c ON e.class_id = c.class_id " +
+                               "JOIN Students s ON e.student_id = s.student_id " +
+                               "LEFT JOIN Attendance a ON a.enrollment_id = e.enrollment_id AND a.date = CAST(? AS DATE) " +
+                               "WHERE c.course_name = ? AND c.program = ? AND c.section = ?";
+        String savedSql = "SELECT a.enrollment_id, a.attendance_id " +
+                          "FROM Attendance a " +
+                          "JOIN Enrollments e ON a.enrollment_id = e.enrollment_id " +
+                          "JOIN Classes c ON e.class_id = c.class_id " +
+                          "WHERE c.course_name = ? AND c.program = ? AND c.section = ? AND a.date = ?";
+
+        List<RosterEntry> entries = new ArrayList<>(students.size());
+        for (Student student : students) {
+            entries.add(new RosterEntry(student.getStudentId(), student.getStatus(), student.getReason()));
+        }
+        // Resolved before the transaction: on a cache miss this borrows its own connection
+        String senderDisplayName = StudentNotificationDAO.currentSenderDisplayName();
+
+        DatabaseConnection dbConn = new DatabaseConnection();
+        try {
+            dbConn.connectToSQLServer();
+            Connection conn = dbConn.getConnection();
+            conn.setAutoCommit(false);
+
+            try {
+                // Resolve every enrollment of the class in one query
+                Map<Integer, RosterEntry> enrollmentByStudent = new HashMap<>();
+                try (PreparedStatement ps = conn.prepareStatement(enrollmentSql)) {
+                    ps.setString(1, date);
+                    ps.setString(2, courseName.trim());
+                    ps.setString(3, program.trim());
+                    ps.setString(4, section.trim());
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            RosterEntry enrollment = new RosterEntry(rs.getInt("student_id"), null, null);
+                            enrollment.enrollmentId = rs.getInt("enrollment_id");
+                            enrollment.userId = rs.getInt("user_id");
+                            enrollment.alreadyExcused = "Excused".equalsIgnoreCase(rs.getString("status"));
+                            enrollmentByStudent.putIfAbsent(enrollment.studentId, enrollment);
                         }
                     }
                 }
-            }
 
-            conn.commit(); // commit all changes
-            return attendanceId;
+                List<Integer> enrollmentIds = new ArrayList<>(entries.size());
+                for (RosterEntry entry : entries) {
+                    RosterEntry enrollment = enrollmentByStudent.get(entry.studentId);
+                    if (enrollment == null) {
+                        throw new SQLException("Enrollment not found for studentId " + entry.studentId +
+                                               ", course " + courseName + ", program " + program + ", section " + section);
+                    }
+                    entry.enrollmentId = enrollment.enrollmentId;
+                    entry.userId = enrollment.userId;
+                    entry.alreadyExcused = enrollment.alreadyExcused;
+                    enrollmentIds.add(entry.enrollmentId);
+                }
+                AttendanceCounters.lock(conn, enrollmentIds);
+
+                try (PreparedStatement psUpsert = conn.prepareStatement(UPSERT_SQL)) {
+                    for (RosterEntry entry : entries) {
+                        psUpsert.setInt(1, entry.enrollmentId);
+                        psUpsert.setString(2, date);
+                        psUpsert.setString(3, entry.status);
+                        psUpsert.setString(4, entry.reason);
+                        psUpsert.addBatch();
+                    }
+                    psUpsert.executeBatch();
+                }
+                AttendanceCounters.refresh(conn, enrollmentIds, LocalDate.parse(date));
+
+                // Batched statements do not return generated keys, so read the ids back once
+                Map<Integer, Integer> saved = loadAttendanceIds(conn, savedSql, courseName, program, section, date);
 
+                for (RosterEntry entry : entries) {
+                    attendanceIds.put(entry.studentId, saved.get(entry.enrollmentId));
+                }
+
+                StudentNotificationDAO.insertAttendanceNotifications(conn, senderDisplayName, entries,
+                        LocalDate.parse(date), courseName);
+
+                conn.commit();
+                for (RosterEntry entry : entries) {
+                    AttendanceAnalytics.recordWrite(entry.enrollmentId, LocalDate.parse(date), entry.status);
+                }
+                return attendanceIds;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
         } catch (SQLException ex) {
             ex.printStackTrace();
             throw ex;
@@ -315,6 +501,93 @@ public class DatabaseAttendance {
         }
     }
 
+    /**
+     * One student of a roster being saved: the status and reason read from the caller's
+     * {@link Student}, and the enrollment details resolved for it in the transaction.
+     */
+    static final class RosterEntry {
+        final int studentId;
+        final String status;
+        final String reason;
+        int enrollmentId;
+        int userId;
+        /** Whether the row already saved for the date was Excused. */
+        boolean alreadyExcused;
+
+        RosterEntry(int studentId, String status, String reason) {
+            this.studentId = studentId;
+            this.status = status;
+            this.reason = reason;
+        }
+    }
+
+    /**
+     * Loads the attendance ids recorded for a class on a date, keyed by enrollment id.
+     */
+    private static Map<Integer, Integer> loadAttendanceIds(Connection conn, String sql, String courseName,
+            String program, String section, String date) throws SQLException {
+        Map<Integer, Integer> ids = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, courseName.trim());
+            ps.setString(2, program.trim());
+            ps.setString(3, section.trim());
+            ps.setString(4, date);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.put(rs.getInt("enrollment_id"), rs.getInt("attendance_id"));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Inserts or updates the attendance row for an enrollment on a date with a single MERGE,
+     * using the caller's connection and transaction.
+     *
+     * @param conn         the open connection to use
+     * @param enrollmentId the enrollment the row belongs to
+     * @param date         the attendance date string (e.g. "YYYY-MM-DD")
+     * @param status       attendance status (e.g. Present, Absent, Late, Excused)
+     * @param reason       optional reason for the attendance status
+     * @return the id of the inserted or updated attendance row
+     * @throws SQLException if the statement fails or returns no id
+     */
+    static int upsertAttendance(Connection conn, int enrollmentId, String date, String status, String reason) throws SQLException {
+        if (!DatabaseProfile.current().supportsOutputClause()) {
+            try (PreparedStatement ps = conn.prepareStatement(UPSERT_SQL)) {
+                ps.setInt(1, enrollmentId);
+                ps.setString(2, date);
+                ps.setString(3, status);
+                ps.setString(4, reason);
+                ps.executeUpdate();
+            }
+            try (PreparedStatement ps = conn.prepareStatement(SELECT_ATTENDANCE_ID_SQL)) {
+                ps.setInt(1, enrollmentId);
+                ps.setString(2, date);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getInt(1);
+                    }
+                }
+            }
+            throw new SQLException("Saving attendance failed, no ID obtained.");
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(UPSERT_RETURNING_ID_SQL)) {
+            ps.setInt(1, enrollmentId);
+            ps.setString(2, date);
+            ps.setString(3, status);
+            ps.setString(4, reason);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        }
+        throw new SQLException("Saving attendance failed, no ID obtained.");
+    }
+
     /**
      * Updates the attendance status of a student for a specific date, course, program, and section.
      *
@@ -352,19 +625,26 @@ public class DatabaseAttendance {
                 }
             }
 
+            AttendanceCounters.lock(conn, enrollmentId);
+
             // Update attendance
             String updateSql = "UPDATE Attendance SET status = ? WHERE enrollment_id = ? AND date = ?";
+            int rowsUpdated;
             try (PreparedStatement psUpdate = conn.prepareStatement(updateSql)) {
                 psUpdate.setString(1, status);
                 psUpdate.setInt(2, enrollmentId);
                 psUpdate.setString(3, date);
-                int rowsUpdated = psUpdate.executeUpdate();
+                rowsUpdated = psUpdate.executeUpdate();
                 if (rowsUpdated == 0) {
                     System.out.println("No attendance record found to update.");
                 }
             }
+            AttendanceCounters.refresh(conn, enrollmentId, LocalDate.parse(date));
 
             conn.commit();
+            if (rowsUpdated > 0) {
+                AttendanceAnalytics.recordWrite(enrollmentId, LocalDate.parse(date), status);
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         } finally {
@@ -5,9 +5,13 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 
+import ticktocktrack.logic.AttendanceBitmap;
+import ticktocktrack.logic.AttendanceStats;
 import ticktocktrack.logic.Student;
 
 /**
@@ -63,6 +67,77 @@ public class DatabaseAttendanceSummary {
         return students;
     }
 
+    /**
+     * Retrieves every student enrolled in a class taught by a teacher together with their
+     * present, absent, late and excused counts, using a single grouped query.
+     * <p>
+     * Students without any attendance rows are included with all counts set to zero.
+     * </p>
+     *
+     * @param courseName The name of the course.
+     * @param section    The section of the course.
+     * @param program    The program the course belongs to.
+     * @param teacherId  The ID of the teacher teaching the course.
+     * @return The enrolled students mapped to their attendance counts, ordered by last and first name.
+     */
+    public static Map<Student, AttendanceStats> getClassAttendanceStats(String courseName, String section, String program, int teacherId) {
+        Map<Student, AttendanceStats> stats = new LinkedHashMap<>();
+        String query = "SELECT e.enrollment_id, s.student_id, u.username, s.first_name, s.middle_name, s.last_name, u.email, s.year_level, " +
+                       "COALESCE(SUM(ac.present_count), 0) AS present_count, " +
+                       "COALESCE(SUM(ac.absent_count), 0) AS absent_count, " +
+                       "COALESCE(SUM(ac.late_count), 0) AS late_count, " +
+                       "COALESCE(SUM(ac.excused_count), 0) AS excused_count " +
+                       "FROM Students s " +
+                       "JOIN Users u ON s.user_id = u.user_id " +
+                       "JOIN Enrollments e ON s.student_id = e.student_id " +
+                       "JOIN Classes c ON e.class_id = c.class_id " +
+                       "LEFT JOIN AttendanceCounters ac ON ac.enrollment_id = e.enrollment_id " +
+                       "WHERE c.course_name = ? AND c.section = ? AND c.program = ? AND c.teacher_id = ? " +
+                       "GROUP BY e.enrollment_id, s.student_id, u.username, s.first_name, s.middle_name, s.last_name, u.email, s.year_level " +
+                       "ORDER BY s.last_name, s.first_name";
+
+        // Counts come from the in-memory bitmap once it is loaded, otherwise from the counters
+        AttendanceBitmap bitmap = AttendanceAnalytics.getIfLoaded();
+        DatabaseConnection dbConn = new DatabaseConnection();
+        try {
+            dbConn.connectToSQLServer();
+            try (Connection conn = dbConn.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(query)) {
+                pstmt.setString(1, courseName);
+                pstmt.setString(2, section);
+                pstmt.setString(3, program);
+                pstmt.setInt(4, teacherId);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Student student = new Student();
+                        student.setStudentId(rs.getInt("student_id"));
+                        student.setUsername(rs.getString("username"));
+                        student.setFirstName(rs.getString("first_name"));
+                        student.setMiddleName(rs.getString("middle_name"));
+                        student.setLastName(rs.getString("last_name"));
+                        student.setEmail(rs.getString("email"));
+                        student.setYearLevel(rs.getString("year_level"));
+
+                        int enrollmentId = rs.getInt("enrollment_id");
+                        if (bitmap != null && bitmap.hasEnrollment(enrollmentId)) {
+                            stats.put(student, bitmap.stats(enrollmentId));
+                        } else {
+                            stats.put(student, new AttendanceStats(
+                                    rs.getInt("present_count"),
+                                    rs.getInt("absent_count"),
+                                    rs.getInt("late_count"),
+                                    rs.getInt("excused_count")));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching attendance stats for teacher's class: " + e.getMessage());
+        }
+        return stats;
+    }
+
     /**
      * Counts the number of absences for a specific student in a class.
      *
@@ -75,10 +150,10 @@ public class DatabaseAttendanceSummary {
      */
     public static int countAbsences(int studentId, String courseName, String section, String program, int teacherId) {
         int absenceCount = 0;
-        String sql = "SELECT COUNT(*) AS absence_count FROM Attendance a " +
-                     "JOIN Enrollments e ON a.enrollment_id = e.enrollment_id " +
+        String sql = "SELECT COALESCE(SUM(ac.absent_count), 0) AS absence_count FROM AttendanceCounters ac " +
+                     "JOIN Enrollments e ON ac.enrollment_id = e.enrollment_id " +
                      "JOIN Classes c ON e.class_id = c.class_id " +
-                     "WHERE e.student_id = ? AND a.status = 'Absent' " +
+                     "WHERE e.student_id = ? " +
                      "AND c.course_name = ? AND c.section = ? AND c.program = ? AND c.teacher_id = ?";
 
         DatabaseConnection dbConn = new DatabaseConnection();
@@ -117,10 +192,10 @@ public class DatabaseAttendanceSummary {
      */
     public static int countPresent(int studentId, String courseName, String section, String program, int teacherId) {
         int presentCount = 0;
-        String query = "SELECT COUNT(*) AS present_count FROM Attendance a " +
-                       "JOIN Enrollments e ON a.enrollment_id = e.enrollment_id " +
+        String query = "SELECT COALESCE(SUM(ac.present_count), 0) AS present_count FROM AttendanceCounters ac " +
+                       "JOIN Enrollments e ON ac.enrollment_id = e.enrollment_id " +
                        "JOIN Classes c ON e.class_id = c.class_id " +
-                       "WHERE e.student_id = ? AND a.status = 'Present' " +
+                       "WHERE e.student_id = ? " +
                        "AND c.course_name = ? AND c.section = ? AND c.program = ? AND c.teacher_id = ?";
 
         DatabaseConnection dbConn = new DatabaseConnection();
@@ -159,10 +234,10 @@ public class DatabaseAttendanceSummary {
      */
     public static int countExcused(int studentId, String courseName, String section, String program, int teacherId) {
         int excusedCount = 0;
-        String query = "SELECT COUNT(*) AS excused_count FROM Attendance a " +
-                       "JOIN Enrollments e ON a.enrollment_id = e.enrollment_id " +
+        String query = "SELECT COALESCE(SUM(ac.excused_count), 0) AS excused_count FROM AttendanceCounters ac " +
+                       "JOIN Enrollments e ON ac.enrollment_id = e.enrollment_id " +
                        "JOIN Classes c ON e.class_id = c.class_id " +
-                       "WHERE e.student_id = ? AND a.status = 'Excused' " +
+                       "WHERE e.student_id = ? " +
                        "AND c.course_name = ? AND c.section = ? AND c.program = ? AND c.teacher_id = ?";
 
         DatabaseConnection dbConn = new DatabaseConnection();
@@ -201,10 +276,10 @@ public class DatabaseAttendanceSummary {
      */
     public static int countLate(int studentId, String courseName, String section, String program, int teacherId) {
         int lateCount = 0;
-        String query = "SELECT COUNT(*) AS late_count FROM Attendance a " +
-                       "JOIN Enrollments e ON a.enrollment_id = e.enrollment_id " +
+        String query = "SELECT COALESCE(SUM(ac.late_count), 0) AS late_count FROM AttendanceCounters ac " +
+                       "JOIN Enrollments e ON ac.enrollment_id = e.enrollment_id " +
                        "JOIN Classes c ON e.class_id = c.class_id " +
-                       "WHERE e.student_id = ? AND a.status = 'Late' " +
+                       "WHERE e.student_id = ? " +
                        "AND c.course_name = ? AND c.section = ? AND c.program = ? AND c.teacher_id = ?";
 
         DatabaseConnection dbConn = new DatabaseConnection();
@@ -1,18 +1,83 @@
 package ticktocktrack.database;
 
+import java.io.IOException;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
  * Provides a utility for managing database connections to a SQL Server.
  * This class includes methods to connect, close, and retrieve the active connection.
+ * The database connected to is chosen by {@link DatabaseProfile}.
+ * <p>
+ * Connections are borrowed from a shared {@link ConnectionPool}; closing a connection
+ * returns it to the pool rather than ending the session with the server. Every query
+ * run on a borrowed connection is timed by {@link QueryMetrics}.
+ * </p>
  */
 public class DatabaseConnection {
 
-    private static final String URL = "jdbc:sqlserver://localhost:1433;databaseName=AttendanceDB;encrypt=false;trustServerCertificate=true;integratedSecurity=true;";
+    /**
+     * Whether connecting and closing print a line to standard output; on unless
+     * {@code -Dticktocktrack.db.logConnections=false} is set.
+     */
+    private static volatile boolean logConnections =
+            Boolean.parseBoolean(System.getProperty("ticktocktrack.db.logConnections", "true"));
+
     private Connection conn;
 
+    /**
+     * Lazily creates the application-wide pool on first use, for the database selected
+     * by the current {@link DatabaseProfile}.
+     */
+    private static class PoolHolder {
+        private static final ConnectionPool POOL = createPool(DatabaseProfile.current());
+    }
+
+    private static ConnectionPool createPool(DatabaseProfile profile) {
+        if (profile.isEmbedded()) {
+            try {
+                EmbeddedDatabase.bootstrap(profile.getUrl());
+            } catch (SQLException | IOException e) {
+                System.err.println("Failed to create the embedded database: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+        return new ConnectionPool(profile.getUrl());
+    }
+
+    /**
+     * Returns the application-wide connection pool.
+     *
+     * @return the shared {@link ConnectionPool}
+     */
+    public static ConnectionPool getPool() {
+        return PoolHolder.POOL;
+    }
+
+    /**
+     * Borrows a connection from the shared pool. The caller must close it to return it.
+     * Unless disabled, the connection is instrumented by {@link QueryMetrics}.
+     *
+     * @return a pooled {@link Connection}
+     * @throws SQLException if no connection could be obtained.
+     */
+    public static Connection getPooledConnection() throws SQLException {
+        if (!QueryMetrics.isEnabled()) {
+            return getPool().getConnection();
+        }
+        return QueryMetrics.borrow(getPool());
+    }
+
+    /**
+     * Turns the "Connection successful." and "Connection closed successfully." lines on or off,
+     * for example so a benchmark that opens thousands of connections is not timing its prints.
+     *
+     * @param enabled true to print them
+     */
+    public static void setLogConnections(boolean enabled) {
+        logConnections = enabled;
+    }
+
     /**
      * Establishes a connection to the SQL Server database.
      * 
@@ -21,8 +86,10 @@ public class DatabaseConnection {
     public void connectToSQLServer() throws SQLException {
         if (conn == null || conn.isClosed()) {
             try {
-                conn = DriverManager.getConnection(URL);
-                System.out.println("Connection successful.");
+                conn = getPooledConnection();
+                if (logConnections) {
+                    System.out.println("Connection successful.");
+                }
             } catch (SQLException e) {
                 System.err.println("Failed to connect to the database: " + e.getMessage());
                 throw e; // Rethrow the exception to be handled by the caller
@@ -39,7 +106,9 @@ public class DatabaseConnection {
             try {
                 if (!conn.isClosed()) {
                     conn.close();
-                    System.out.println("Connection closed successfully.");
+                    if (logConnections) {
+                        System.out.println("Connection closed successfully.");
+                    }
                 }
             } catch (SQLException e) {
                 System.err.println("Failed to close the connection: " + e.getMessage());
@@ -147,14 +147,22 @@ public class DatabaseDashboard {
             dbConn.connectToSQLServer();
             Connection conn = dbConn.getConnection();
 
-            String sql = 
-                "SELECT COUNT(*) " +
-                "FROM Attendance a " +
-                "JOIN Enrollments e ON a.enrollment_id = e.enrollment_id " +
-                "WHERE e.student_id = ? AND a.status = ?";
+            // Read the per-enrollment counters; statuses without a counter are counted directly
+            String column = AttendanceCounters.columnFor(status);
+            String sql = column != null
+                ? "SELECT COALESCE(SUM(ac." + column + "), 0) " +
+                  "FROM AttendanceCounters ac " +
+                  "JOIN Enrollments e ON ac.enrollment_id = e.enrollment_id " +
+                  "WHERE e.student_id = ?"
+                : "SELECT COUNT(*) " +
+                  "FROM Attendance a " +
+                  "JOIN Enrollments e ON a.enrollment_id = e.enrollment_id " +
+                  "WHERE e.student_id = ? AND a.status = ?";
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
                 pstmt.setInt(1, studentId);
-                pstmt.setString(2, status);
+                if (column == null) {
+                    pstmt.setString(2, status);
+                }
                 ResultSet rs = pstmt.executeQuery();
                 if (rs.next()) {
                     count = rs.getInt(1);
@@ -0,0 +1,194 @@
+package ticktocktrack.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+import com.microsoft.sqlserver.jdbc.SQLServerDataTable;
+import com.microsoft.sqlserver.jdbc.SQLServerPreparedStatement;
+
+/**
+ * Enrolls and unenrolls many students in a class with one set-based statement each,
+ * instead of one statement per student.
+ * <p>
+ * A list of students is sent as a single parameter: a table-valued parameter of type
+ * {@code dbo.IdList} on SQL Server (created by migration {@code V6__id_list_type.sql}),
+ * or an array on the embedded H2 database. Each statement returns the students it
+ * actually changed, through an OUTPUT clause on SQL Server and a data change delta table
+ * on H2, so enrolling a 300-student cohort is one round trip that also reports who was
+ * already enrolled.
+ * </p>
+ * Unenrolling a student also deletes their attendance in the class, because the
+ * attendance rows and counters cascade from the enrollment.
+ */
+public class DatabaseEnrollment {
+
+    /** Table type of the SQL Server id list parameter; see {@code V6__id_list_type.sql}. */
+    private static final String ID_LIST_TYPE = "dbo.IdList";
+
+    private static final String NOT_ENROLLED =
+            "NOT EXISTS (SELECT 1 FROM Enrollments e WHERE e.class_id = ? AND e.student_id = ";
+
+    private DatabaseEnrollment() {
+        // Static helper
+    }
+
+    /**
+     * Enrolls the given students in a class. Students already enrolled, and ids that are
+     * not students, are skipped.
+     *
+     * @param classId    the class to enroll in
+     * @param studentIds the students to enroll
+     * @return the ids of the students that were enrolled, or null if the statement failed
+     */
+    public static List<Integer> enrollStudents(int classId, Collection<Integer> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String sql = returningStudentIds("INSERT INTO Enrollments (class_id, student_id)",
+                "SELECT ?, ids.id FROM " + idListSource() + " AS ids " +
+                "WHERE EXISTS (SELECT 1 FROM Students s WHERE s.student_id = ids.id) " +
+                "AND " + NOT_ENROLLED + "ids.id)", true);
+        return execute(sql, "enrolling students in class " + classId, ps -> {
+            ps.setInt(1, classId);
+            bindIdList(ps, 2, studentIds);
+            ps.setInt(3, classId);
+        });
+    }
+
+    /**
+     * Enrolls every student of a program, section and year level in a class. Students
+     * already enrolled are skipped.
+     *
+     * @param classId   the class to enroll in
+     * @param program   the students' program, or null for any
+     * @param section   the students' section, or null for any
+     * @param yearLevel the students' year level, or null for any
+     * @return the ids of the students that were enrolled, or null if the statement failed
+     */
+    public static List<Integer> enrollCohort(int classId, String program, String section, String yearLevel) {
+        List<String> filters = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        addFilter(filters, values, "s.program", program);
+        addFilter(filters, values, "s.section", section);
+        addFilter(filters, values, "s.year_level", yearLevel);
+        filters.add(NOT_ENROLLED + "s.student_id)");
+
+        String sql = returningStudentIds("INSERT INTO Enrollments (class_id, student_id)",
+                "SELECT ?, s.student_id FROM Students s WHERE " + String.join(" AND ", filters), true);
+        return execute(sql, "enrolling a cohort in class " + classId, ps -> {
+            int index = 1;
+            ps.setInt(index++, classId);
+            for (String value : values) {
+                ps.setString(index++, value);
+            }
+            ps.setInt(index, classId);
+        });
+    }
+
+    /**
+     * Unenrolls the given students from a class, deleting their attendance in it. Students
+     * not enrolled in the class are skipped.
+     *
+     * @param classId    the class to unenroll from
+     * @param studentIds the students to unenroll
+     * @return the ids of the students that were unenrolled, or null if the statement failed
+     */
+    public static List<Integer> unenrollStudents(int classId, Collection<Integer> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String sql = returningStudentIds("DELETE FROM Enrollments",
+                "WHERE class_id = ? AND student_id IN (SELECT ids.id FROM " + idListSource() + " AS ids)", false);
+        return execute(sql, "unenrolling students from class " + classId, ps -> {
+            ps.setInt(1, classId);
+            bindIdList(ps, 2, studentIds);
+        });
+    }
+
+    /** Binds the parameters of a prepared statement. */
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+
+    /**
+     * Runs an INSERT or DELETE that returns the student_id of each changed row, and tells
+     * {@link AttendanceAnalytics} that enrollments changed.
+     */
+    private static List<Integer> execute(String sql, String action, Binder binder) {
+        List<Integer> changed = new ArrayList<>();
+        DatabaseConnection dbConn = new DatabaseConnection();
+        try {
+            dbConn.connectToSQLServer();
+            Connection conn = dbConn.getConnection();
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                binder.bind(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        changed.add(rs.getInt(1));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error " + action + ": " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        } finally {
+            dbConn.closeConnection();
+        }
+        if (!changed.isEmpty()) {
+            AttendanceAnalytics.invalidate();
+        }
+        return changed;
+    }
+
+    /**
+     * Makes an INSERT or DELETE return the student_id of every row it changes as a result
+     * set: with an OUTPUT clause on SQL Server, and by selecting from the statement's
+     * data change delta table on H2.
+     *
+     * @param head   the statement up to where an OUTPUT clause goes
+     * @param tail   the rest of the statement
+     * @param insert true for an INSERT, false for a DELETE
+     */
+    private static String returningStudentIds(String head, String tail, boolean insert) {
+        if (DatabaseProfile.current().supportsOutputClause()) {
+            return head + " OUTPUT " + (insert ? "inserted" : "deleted") + ".student_id " + tail;
+        }
+        return "SELECT student_id FROM " + (insert ? "FINAL" : "OLD") + " TABLE (" + head + " " + tail + ")";
+    }
+
+    /** Returns the table expression that reads the id list parameter as rows with an {@code id} column. */
+    private static String idListSource() {
+        return DatabaseProfile.current().isEmbedded() ? "TABLE(id INT = ?)" : "?";
+    }
+
+    /** Binds a list of ids, without duplicates, as the parameter read by {@link #idListSource()}. */
+    private static void bindIdList(PreparedStatement ps, int index, Collection<Integer> ids) throws SQLException {
+        TreeSet<Integer> distinct = new TreeSet<>(ids);
+        if (DatabaseProfile.current().isEmbedded()) {
+            ps.setObject(index, distinct.toArray(new Integer[0]));
+            return;
+        }
+        SQLServerDataTable table = new SQLServerDataTable();
+        table.addColumnMetadata("id", Types.INTEGER);
+        for (Integer id : distinct) {
+            table.addRow(id);
+        }
+        ps.unwrap(SQLServerPreparedStatement.class).setStructured(index, ID_LIST_TYPE, table);
+    }
+
+    private static void addFilter(List<String> filters, List<String> values, String column, String value) {
+        if (value != null && !value.trim().isEmpty()) {
+            filters.add(column + " = ?");
+            values.add(value.trim());
+        }
+    }
+}
@@ -147,6 +147,7 @@ public class DatabaseIndividualReport {
 
     /**
      * Retrieves attendance summary for each class of a specific student under a specific teacher.
+     * The counts are read from {@link AttendanceCounters}, one row per enrollment.
      * 
      * @param studentId The ID of the student.
      * @param teacherId The ID of the teacher.
@@ -157,13 +158,13 @@ public class DatabaseIndividualReport {
 
         String query =
                 "SELECT c.class_id, c.course_name, " +
-                "COUNT(CASE WHEN a.status = 'Present' THEN 1 END) AS present_count, " +
-                "COUNT(CASE WHEN a.status = 'Absent' THEN 1 END) AS absent_count, " +
-                "COUNT(CASE WHEN a.status = 'Excused' THEN 1 END) AS excused_count, " +
-                "COUNT(CASE WHEN a.status = 'Late' THEN 1 END) AS late_count " +
+                "COALESCE(SUM(ac.present_count), 0) AS present_count, " +
+                "COALESCE(SUM(ac.absent_count), 0) AS absent_count, " +
+                "COALESCE(SUM(ac.excused_count), 0) AS excused_count, " +
+                "COALESCE(SUM(ac.late_count), 0) AS late_count " +
                 "FROM Classes c " +
                 "JOIN Enrollments e ON c.class_id = e.class_id " +
-                "LEFT JOIN Attendance a ON e.enrollment_id = a.enrollment_id " +
+                "LEFT JOIN AttendanceCounters ac ON e.enrollment_id = ac.enrollment_id " +
                 "WHERE e.student_id = ? AND c.teacher_id = ? " +
                 "GROUP BY c.class_id, c.course_name";
 
@@ -198,6 +199,8 @@ public class DatabaseIndividualReport {
 
     /**
      * Retrieves monthly attendance summary for a specific student under a specific teacher.
+     * The counts are read from the per-month rows of {@link AttendanceCounters}, so the cost
+     * does not grow with the length of the student's attendance history.
      * 
      * @param studentId The ID of the student.
      * @param teacherId The ID of the teacher.
@@ -207,17 +210,17 @@ public class DatabaseIndividualReport {
         List<MonthlyAttendanceSummary> summaries = new ArrayList<>();
 
         String query =
-                "SELECT YEAR(a.date) AS year, MONTH(a.date) AS month, " +
-                "COUNT(CASE WHEN a.status = 'Present' THEN 1 END) AS present_count, " +
-                "COUNT(CASE WHEN a.status = 'Absent' THEN 1 END) AS absent_count, " +
-                "COUNT(CASE WHEN a.status = 'Excused' THEN 1 END) AS excused_count, " +
-                "COUNT(CASE WHEN a.status = 'Late' THEN 1 END) AS late_count " +
+                "SELECT YEAR(m.month_start) AS report_year, MONTH(m.month_start) AS report_month, " +
+                "SUM(m.present_count) AS present_count, " +
+                "SUM(m.absent_count) AS absent_count, " +
+                "SUM(m.excused_count) AS excused_count, " +
+                "SUM(m.late_count) AS late_count " +
                 "FROM Enrollments e " +
-                "LEFT JOIN Attendance a ON e.enrollment_id = a.enrollment_id " +
+                "JOIN AttendanceMonthlyCounters m ON e.enrollment_id = m.enrollment_id " +
                 "JOIN Classes c ON e.class_id = c.class_id " +
-                "WHERE e.student_id = ? AND c.teacher_id = ? AND a.date IS NOT NULL " +
-                "GROUP BY YEAR(a.date), MONTH(a.date) " +
-                "ORDER BY YEAR(a.date), MONTH(a.date)";
+                "WHERE e.student_id = ? AND c.teacher_id = ? " +
+                "GROUP BY m.month_start " +
+                "ORDER BY m.month_start";
 
         DatabaseConnection dbConn = new DatabaseConnection();
         try {
@@ -230,8 +233,8 @@ public class DatabaseIndividualReport {
                 try (ResultSet rs = pstmt.executeQuery()) {
                     while (rs.next()) {
                         MonthlyAttendanceSummary summary = new MonthlyAttendanceSummary(
-                                rs.getInt("year"),
-                                rs.getInt("month"),
+                                rs.getInt("report_year"),
+                                rs.getInt("report_month"),
                                 rs.getInt("present_count"),
                                 rs.getInt("absent_count"),
                                 rs.getInt("excused_count"),
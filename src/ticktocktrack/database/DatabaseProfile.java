@@ -0,0 +1,108 @@
+package ticktocktrack.database;
+
+/**
+ * The database the application connects to, chosen at startup.
+ * <p>
+ * The profile is read from the {@code ticktocktrack.db.profile} system property:
+ * </p>
+ * <ul>
+ *   <li>{@code sqlserver} (default) connects to the local SQL Server instance.</li>
+ *   <li>{@code embedded} runs against an in-memory H2 database in SQL Server
+ *       compatibility mode, created from {@code AttendanceDB.sql} by
+ *       {@link EmbeddedDatabase}. The H2 driver must be on the classpath.</li>
+ * </ul>
+ * Either profile's JDBC URL can be replaced with {@code -Dticktocktrack.db.url=...},
+ * for example to point the embedded profile at an H2 file database.
+ */
+public enum DatabaseProfile {
+
+    /** The production SQL Server database. */
+    SQLSERVER("jdbc:sqlserver://localhost:1433;databaseName=AttendanceDB;encrypt=false;trustServerCertificate=true;integratedSecurity=true;",
+              "/resources/db/migration/"),
+
+    /** An embedded H2 database standing in for SQL Server on developer machines. */
+    EMBEDDED("jdbc:h2:mem:AttendanceDB;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+             "/resources/db/migration/h2/");
+
+    private static final DatabaseProfile CURRENT = fromName(System.getProperty("ticktocktrack.db.profile", "sqlserver"));
+
+    private final String defaultUrl;
+    private final String migrationPath;
+
+    DatabaseProfile(String defaultUrl, String migrationPath) {
+        this.defaultUrl = defaultUrl;
+        this.migrationPath = migrationPath;
+    }
+
+    /**
+     * Returns the profile selected for this run.
+     *
+     * @return the current profile
+     */
+    public static DatabaseProfile current() {
+        return CURRENT;
+    }
+
+    /**
+     * Returns the profile with the given name, ignoring case.
+     *
+     * @param name the profile name, e.g. "embedded"
+     * @return the matching profile
+     * @throws IllegalArgumentException if no profile has that name
+     */
+    public static DatabaseProfile fromName(String name) {
+        for (DatabaseProfile profile : values()) {
+            if (profile.name().equalsIgnoreCase(name.trim())) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown database profile: " + name);
+    }
+
+    /**
+     * Returns the JDBC URL to connect to, honouring {@code ticktocktrack.db.url}.
+     *
+     * @return the JDBC URL
+     */
+    public String getUrl() {
+        return System.getProperty("ticktocktrack.db.url", defaultUrl);
+    }
+
+    /**
+     * Returns the classpath folder holding this profile's migration scripts.
+     *
+     * @return the migration folder, ending with a slash
+     */
+    public String getMigrationPath() {
+        return migrationPath;
+    }
+
+    /**
+     * Returns whether this profile runs against the embedded stand-in database.
+     *
+     * @return true for the embedded profile
+     */
+    public boolean isEmbedded() {
+        return this == EMBEDDED;
+    }
+
+    /**
+     * Returns the table hint that makes a MERGE hold its range lock until the end of the
+     * statement, so concurrent upserts of the same key cannot both insert. H2 locks the
+     * rows a MERGE touches on its own and does not accept the hint.
+     *
+     * @return the hint followed by a space, or an empty string
+     */
+    public String mergeLockHint() {
+        return this == SQLSERVER ? "WITH (HOLDLOCK) " : "";
+    }
+
+    /**
+     * Returns whether DML statements may return affected rows with an OUTPUT clause.
+     *
+     * @return true if OUTPUT is supported
+     */
+    public boolean supportsOutputClause() {
+        return this == SQLSERVER;
+    }
+}
@@ -1,13 +1,12 @@
 package ticktocktrack.database;
 
 import java.sql.*;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import ticktocktrack.logic.Session;
-import ticktocktrack.logic.Student;
 
 /**
  * Provides database operations related to class registration,
@@ -167,71 +166,8 @@ public class DatabaseRegisterClass {
      * @return true if enrollment was successful, false otherwise.
      */
     public static boolean enrollStudentInClass(int studentId, int classId) {
-        DatabaseConnection dbConn = new DatabaseConnection();
-        try {
-            dbConn.connectToSQLServer();
-            Connection conn = dbConn.getConnection();
-
-            String sql = "INSERT INTO Enrollments (student_id, class_id) VALUES (?, ?)";
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, studentId);
-            pstmt.setInt(2, classId);
-
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            System.err.println("Error enrolling student: " + e.getMessage());
-            return false;
-        } finally {
-            dbConn.closeConnection();
-        }
-    }
-
-    /**
-     * Retrieves a list of students who are NOT enrolled in the specified class.
-     * 
-     * @param classId The ID of the class.
-     * @return A list of Student objects representing unenrolled students.
-     */
-    public static List<Student> getUnenrolledStudents(int classId) {
-        List<Student> students = new ArrayList<>();
-        DatabaseConnection dbConn = new DatabaseConnection();
-        try {
-            dbConn.connectToSQLServer();
-            Connection conn = dbConn.getConnection();
-
-            String sql = "SELECT s.student_id, s.user_id, u.username, u.email, " +
-                         "s.first_name, s.middle_name, s.last_name, " +
-                         "s.year_level, s.program, s.section " +
-                         "FROM Students s " +
-                         "JOIN Users u ON s.user_id = u.user_id " +
-                         "WHERE s.student_id NOT IN ( " +
-                         "    SELECT e.student_id FROM Enrollments e WHERE e.class_id = ? " +
-                         ")";
-
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, classId);
-
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                Student student = new Student();
-                student.setStudentId(rs.getInt("student_id"));
-                student.setUserId(rs.getInt("user_id"));
-                student.setUsername(rs.getString("username"));
-                student.setEmail(rs.getString("email"));
-                student.setFirstName(rs.getString("first_name"));
-                student.setMiddleName(rs.getString("middle_name"));
-                student.setLastName(rs.getString("last_name"));
-                student.setYearLevel(rs.getString("year_level"));
-                student.setProgram(rs.getString("program"));
-                student.setSection(rs.getString("section"));
-                students.add(student);
-            }
-        } catch (SQLException e) {
-            System.err.println("Error retrieving unenrolled students: " + e.getMessage());
-        } finally {
-            dbConn.closeConnection();
-        }
-        return students;
+        List<Integer> enrolled = DatabaseEnrollment.enrollStudents(classId, Collections.singletonList(studentId));
+        return enrolled != null && !enrolled.isEmpty();
     }
 
 }
@@ -12,16 +12,15 @@ import ticktocktrack.logic.Session;
  * Handles database connections, password hashing, and insertion into related tables.
  */
 public class DatabaseRegistrationManager {
-    private static final String DB_URL = "jdbc:sqlserver://localhost:1433;databaseName=AttendanceDB;encrypt=false;trustServerCertificate=true;integratedSecurity=true;";
 
     /**
-     * Gets a database connection using the configured DB_URL.
+     * Gets a database connection from the shared connection pool.
      * 
-     * @return a Connection to the database
+     * @return a Connection to the database; closing it returns it to the pool
      * @throws SQLException if a database access error occurs
      */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DB_URL);
+        return DatabaseConnection.getPooledConnection();
     }
 
     /**
@@ -167,6 +166,7 @@ public class DatabaseRegistrationManager {
             }
 
             connection.commit();
+            UserSearch.recordUser(userId, username, email, firstName, lastName);
             return true;
 
         } catch (SQLException e) {
@@ -258,6 +258,7 @@ public class DatabaseRegistrationManager {
             }
 
             connection.commit();
+            UserSearch.recordUser(userId, username, email, firstName, lastName);
             return true;
 
         } catch (SQLException e) {
@@ -56,12 +56,14 @@ public class DatabaseStatusAttendance {
     public static AttendanceStats getAttendanceStats(int studentId, String subjectName) {
         AttendanceStats stats = new AttendanceStats(0, 0, 0, 0);
 
-        String sql = "SELECT a.status, COUNT(*) AS count " +
-                     "FROM Attendance a " +
-                     "JOIN Enrollments e ON a.enrollment_id = e.enrollment_id " +
+        String sql = "SELECT COALESCE(SUM(ac.present_count), 0) AS present_count, " +
+                     "COALESCE(SUM(ac.absent_count), 0) AS absent_count, " +
+                     "COALESCE(SUM(ac.late_count), 0) AS late_count, " +
+                     "COALESCE(SUM(ac.excused_count), 0) AS excused_count " +
+                     "FROM AttendanceCounters ac " +
+                     "JOIN Enrollments e ON ac.enrollment_id = e.enrollment_id " +
                      "JOIN Classes c ON e.class_id = c.class_id " +
-                     "WHERE e.student_id = ? AND c.course_name = ? " +
-                     "GROUP BY a.status";
+                     "WHERE e.student_id = ? AND c.course_name = ?";
 
         DatabaseConnection dbConn = new DatabaseConnection();
         try {
@@ -73,24 +75,11 @@ public class DatabaseStatusAttendance {
                 stmt.setString(2, subjectName);
 
                 ResultSet rs = stmt.executeQuery();
-                while (rs.next()) {
-                    String status = rs.getString("status");
-                    int count = rs.getInt("count");
-
-                    switch (status) {
-                        case "Present":
-                            stats.present = count;
-                            break;
-                        case "Absent":
-                            stats.absent = count;
-                            break;
-                        case "Late":
-                            stats.late = count;
-                            break;
-                        case "Excused":
-                            stats.excused = count;
-                            break;
-                    }
+                if (rs.next()) {
+                    stats.present = rs.getInt("present_count");
+                    stats.absent = rs.getInt("absent_count");
+                    stats.late = rs.getInt("late_count");
+                    stats.excused = rs.getInt("excused_count");
                 }
             }
         } catch (SQLException e) {
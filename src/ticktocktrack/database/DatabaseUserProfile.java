@@ -33,6 +33,7 @@ public class DatabaseUserProfile {
                 stmt.setInt(2, userId);
                 stmt.executeUpdate();
                 System.out.println("Profile path updated in database.");
+                UserIdentityCache.invalidate(userId);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -96,6 +97,7 @@ public class DatabaseUserProfile {
                 stmt.setInt(1, userId);
                 stmt.executeUpdate();
                 System.out.println("Profile path removed from database.");
+                UserIdentityCache.invalidate(userId);
             }
         } catch (SQLException e) {
             e.printStackTrace();
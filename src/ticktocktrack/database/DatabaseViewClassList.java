@@ -197,6 +197,8 @@ public class DatabaseViewClassList {
             }
         } catch (SQLException e) {
             System.err.println("Error deleting class: " + e.getMessage());
+        } finally {
+            dbConn.closeConnection();
         }
     }
 
@@ -295,115 +297,162 @@ public class DatabaseViewClassList {
 
     /**
      * Unenrolls a list of students from a specified class taught by a given teacher.
-     * Executes the unenrollment in a single transaction using batch deletion.
+     * The students are removed with one set-based statement, together with their
+     * attendance in the class.
      *
      * @param students   The list of Student objects to be unenrolled from the class.
      * @param courseName The name of the course.
      * @param section    The section of the course.
      * @param program    The program of the course.
      * @param teacherId  The ID of the teacher who teaches the class.
+     * @return the IDs of the students that were unenrolled, or null if the class was not found or the delete failed
      */
-    public static void unenrollStudentsFromClass(List<Student> students, String courseName, String section, String program, int teacherId) {
+    public static List<Integer> unenrollStudentsFromClass(List<Student> students, String courseName, String section, String program, int teacherId) {
         String getClassIdSQL = "SELECT class_id FROM Classes WHERE course_name = ? AND section = ? AND program = ? AND teacher_id = ?";
-        String deleteEnrollmentSQL = "DELETE FROM Enrollments WHERE student_id = ? AND class_id = ?";
 
+        int classId;
         DatabaseConnection dbConn = new DatabaseConnection();
         try {
             dbConn.connectToSQLServer();
             try (Connection conn = dbConn.getConnection();
                  PreparedStatement getClassStmt = conn.prepareStatement(getClassIdSQL)) {
 
-                conn.setAutoCommit(false); // start transaction
-
                 // Get class_id
                 getClassStmt.setString(1, courseName);
                 getClassStmt.setString(2, section);
                 getClassStmt.setString(3, program);
                 getClassStmt.setInt(4, teacherId);
 
-                int classId = -1;
                 try (ResultSet rs = getClassStmt.executeQuery()) {
                     if (rs.next()) {
                         classId = rs.getInt("class_id");
                     } else {
                         System.err.println("Class not found for deletion.");
-                        return;
+                        return null;
                     }
                 }
-
-                try (PreparedStatement deleteStmt = conn.prepareStatement(deleteEnrollmentSQL)) {
-                    for (Student s : students) {
-                        deleteStmt.setInt(1, s.getStudentId());
-                        deleteStmt.setInt(2, classId);
-                        deleteStmt.addBatch();
-                        System.out.println("Queued to unenroll student_id = " + s.getStudentId() + " from class_id = " + classId);
-                    }
-
-                    int[] result = deleteStmt.executeBatch();
-                    conn.commit(); // commit the transaction
-
-                    System.out.println("Unenrollment completed. Deleted rows: " + result.length);
-                } catch (SQLException e) {
-                    conn.rollback(); // rollback if there's an error
-                    System.err.println("Error during batch delete, transaction rolled back: " + e.getMessage());
-                }
             }
         } catch (SQLException e) {
             System.err.println("Database error during unenrollment: " + e.getMessage());
+            return null;
+        }
+
+        List<Integer> studentIds = new ArrayList<>();
+        for (Student s : students) {
+            studentIds.add(s.getStudentId());
+        }
+        List<Integer> unenrolled = DatabaseEnrollment.unenrollStudents(classId, studentIds);
+        if (unenrolled != null) {
+            System.out.println("Unenrollment completed. Deleted rows: " + unenrolled.size());
         }
+        return unenrolled;
     }
     
     /**
-     * Retrieves a list of students who are not enrolled in the class identified by the given classId.
+     * Retrieves one page of the students who are not enrolled in a class, in student ID order.
+     * Filters left null match any value. The search matches students whose last name, first
+     * name or username starts with the text, so it can seek on {@code IX_Students_LastName}.
+     * When the {@link UserSearch} index is loaded and has few matches for the text, the
+     * prefix match is only checked against those users.
      *
-     * @param classId The ID of the class.
-     * @return A List of Student objects representing students who are not currently enrolled in the class.
+     * @param classId   The ID of the class.
+     * @param program   The program to filter by, or null.
+     * @param section   The section to filter by, or null.
+     * @param yearLevel The year level to filter by, or null.
+     * @param search    The search box text, or null.
+     * @param after     The last student of the previous page, or null for the first page.
+     * @param limit     The maximum number of students to return.
+     * @return A List of Student objects; fewer than {@code limit} means there are no more.
      */
-    public static List<Student> getUnenrolledStudentsWithEnrollmentId(int classId) {
+    public static List<Student> findUnenrolledStudents(int classId, String program, String section, String yearLevel,
+            String search, Student after, int limit) {
         List<Student> students = new ArrayList<>();
-        DatabaseConnection dbConn = new DatabaseConnection();
-
-
-        String sql = "SELECT s.student_id, s.user_id, u.username, u.email, " +
+        StringBuilder sql = new StringBuilder(
+                "SELECT s.student_id, s.user_id, u.username, u.email, " +
                 "s.first_name, s.middle_name, s.last_name, " +
                 "s.year_level, s.section, s.program " +
                 "FROM Students s " +
                 "JOIN Users u ON s.user_id = u.user_id " +
-                "WHERE s.student_id NOT IN ( " +
-                "    SELECT student_id FROM Enrollments WHERE class_id = ? " +
-                ")";
+                "WHERE NOT EXISTS ( " +
+                "    SELECT 1 FROM Enrollments e WHERE e.class_id = ? AND e.student_id = s.student_id " +
+                ") ");
+        List<Object> params = new ArrayList<>();
+        params.add(classId);
+
+        if (program != null) {
+            sql.append("AND s.program = ? ");
+            params.add(program);
+        }
+        if (section != null) {
+            sql.append("AND s.section = ? ");
+            params.add(section);
+        }
+        if (yearLevel != null) {
+            sql.append("AND s.year_level = ? ");
+            params.add(yearLevel);
+        }
+        String text = search == null ? "" : search.trim();
+        if (!text.isEmpty()) {
+            int[] matches = UserSearch.matching(text, UserDAO.MAX_INDEXED_MATCHES);
+            if (matches != null) {
+                if (matches.length == 0) {
+                    return students;
+                }
+                // The ids come from the search index, so they are written into the statement
+                sql.append("AND s.user_id IN (");
+                for (int i = 0; i < matches.length; i++) {
+                    sql.append(i == 0 ? "" : ", ").append(matches[i]);
+                }
+                sql.append(") ");
+            }
+            // The index matches the text anywhere, so the prefix rule is applied either way
+            String prefix = UserDAO.escapeLike(text) + "%";
+            sql.append("AND (s.last_name LIKE ? ESCAPE '!' OR s.first_name LIKE ? ESCAPE '!' " +
+                       "OR u.username LIKE ? ESCAPE '!') ");
+            params.add(prefix);
+            params.add(prefix);
+            params.add(prefix);
+        }
+        if (after != null) {
+            sql.append("AND s.student_id > ? ");
+            params.add(after.getStudentId());
+        }
+        sql.append("ORDER BY s.student_id OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY");
+        params.add(limit);
 
+        DatabaseConnection dbConn = new DatabaseConnection();
         try {
             dbConn.connectToSQLServer();
             Connection conn = dbConn.getConnection();
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setInt(1, classId);
-                ResultSet rs = pstmt.executeQuery();
-                while (rs.next()) {
-                    Student s = new Student();
-                    s.setStudentId(rs.getInt("student_id"));
-                    s.setUserId(rs.getInt("user_id"));
-                    s.setUsername(rs.getString("username"));
-                    s.setEmail(rs.getString("email"));
-                    s.setFirstName(rs.getString("first_name"));
-                    s.setMiddleName(rs.getString("middle_name"));
-                    s.setLastName(rs.getString("last_name"));
-                    s.setYearLevel(rs.getString("year_level"));
-                    s.setSection(rs.getString("section"));
-                    s.setProgram(rs.getString("program"));
-
-
-                    students.add(s);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                for (int i = 0; i < params.size(); i++) {
+                    pstmt.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Student s = new Student();
+                        s.setStudentId(rs.getInt("student_id"));
+                        s.setUserId(rs.getInt("user_id"));
+                        s.setUsername(rs.getString("username"));
+                        s.setEmail(rs.getString("email"));
+                        s.setFirstName(rs.getString("first_name"));
+                        s.setMiddleName(rs.getString("middle_name"));
+                        s.setLastName(rs.getString("last_name"));
+                        s.setYearLevel(rs.getString("year_level"));
+                        s.setSection(rs.getString("section"));
+                        s.setProgram(rs.getString("program"));
+                        students.add(s);
+                    }
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error fetching unenrolled students: " + e.getMessage());
+            System.err.println("Error fetching unenrolled students for classId " + classId + ": " + e.getMessage());
         } finally {
             dbConn.closeConnection();
         }
         return students;
     }
-   
+
     /**
      * Retrieves the class ID for a given course name, section, program, and teacher ID.
      *
@@ -515,51 +564,23 @@ public class DatabaseViewClassList {
     }
    
     /**
-     * Enrolls a list of students into a class.
+     * Enrolls a list of students into a class with one set-based statement.
+     * Students who are already enrolled are skipped.
      *
      * @param classId  The ID of the class.
      * @param students The list of Student objects to enroll.
-     * @return true if all students were enrolled successfully; false otherwise or if the input list is null/empty.
+     * @return true if the students are now enrolled; false if the enrollment failed or the input list is null/empty.
      */
     public static boolean enrollStudents(int classId, List<Student> students) {
         if (students == null || students.isEmpty()) {
             return false; // Nothing to enroll
         }
-       
-        DatabaseConnection dbConn = new DatabaseConnection();
-        String insertSql = "INSERT INTO Enrollments (class_id, student_id) VALUES (?, ?)";
-       
-        try {
-            dbConn.connectToSQLServer();
-            Connection conn = dbConn.getConnection();
-            conn.setAutoCommit(false);
-           
-            try (PreparedStatement stmt = conn.prepareStatement(insertSql)) {
-                for (Student s : students) {
-                    stmt.setInt(1, classId);
-                    stmt.setInt(2, s.getStudentId());
-                    stmt.addBatch();
-                }
-                int[] results = stmt.executeBatch();
-                conn.commit();
-                // Check if all inserts were successful (no executeBatch returns 0)
-                for (int res : results) {
-                    if (res == 0) {
-                        return false;
-                    }
-                }
-                return true;
-            } catch (SQLException e) {
-                conn.rollback();
-                System.err.println("Enrollment failed: " + e.getMessage());
-                return false;
-            }
-        } catch (SQLException e) {
-            System.err.println("Database connection error: " + e.getMessage());
-            return false;
-        } finally {
-            dbConn.closeConnection();
+
+        List<Integer> studentIds = new ArrayList<>();
+        for (Student s : students) {
+            studentIds.add(s.getStudentId());
         }
+        return DatabaseEnrollment.enrollStudents(classId, studentIds) != null;
     }
 
 }
@@ -0,0 +1,183 @@
+package ticktocktrack.database;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Creates the schema of the embedded stand-in database from {@code AttendanceDB.sql}.
+ * <p>
+ * {@code AttendanceDB.sql} is the script SQL Server Management Studio generated for the
+ * production database. Rather than keeping a second copy of the schema, the script is
+ * read at startup and each batch is translated for H2: database and session settings
+ * are skipped, and storage options, clustering keywords and bracket quoting are removed.
+ * Tables, defaults, foreign keys, check constraints and indexes are kept.
+ * </p>
+ * The script is looked up in the working directory unless
+ * {@code -Dticktocktrack.db.schemaFile=...} names another location.
+ */
+public class EmbeddedDatabase {
+
+    private static final String SCHEMA_FILE = System.getProperty("ticktocktrack.db.schemaFile", "AttendanceDB.sql");
+
+    /** Batches that only configure the SQL Server instance or session. */
+    private static final Pattern SKIPPED = Pattern.compile(
+            "^(USE|CREATE DATABASE|ALTER DATABASE|SET|IF|EXEC)\\b.*"
+            + "|^ALTER TABLE \\S+ (NO)?CHECK CONSTRAINT .*",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private static final Pattern BLOCK_COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern LINE_COMMENT = Pattern.compile("--[^\\n]*");
+    private static final Pattern STORAGE_OPTIONS = Pattern.compile("\\s*WITH\\s*\\([^)]*\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FILEGROUP = Pattern.compile("\\s*\\b(TEXTIMAGE_ON|ON)\\s+\\[PRIMARY\\]", Pattern.CASE_INSENSITIVE);
+    private static final Pattern INCLUDE = Pattern.compile("\\s*INCLUDE\\s*\\([^)]*\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CLUSTERING = Pattern.compile("\\b(NONCLUSTERED|CLUSTERED)\\b\\s*", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SORT_ORDER = Pattern.compile("\\s+ASC\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CHECKED_ADD = Pattern.compile("\\s+WITH\\s+(NO)?CHECK\\s+ADD\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ADD_DEFAULT = Pattern.compile(
+            "^ALTER TABLE (\\S+)\\s+ADD\\s+DEFAULT\\s*\\((.*)\\)\\s+FOR\\s+(\\S+)$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern MAX_LENGTH = Pattern.compile("\\(max\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern BRACKETED = Pattern.compile("\\[([^\\]]+)\\]");
+
+    private EmbeddedDatabase() {
+        // Static helper
+    }
+
+    /**
+     * Creates the schema in the database at the given URL unless it already has a
+     * {@code Users} table, so a file-backed database is only initialised once.
+     *
+     * @param url the JDBC URL of the embedded database
+     * @throws SQLException if a translated statement fails
+     * @throws IOException  if {@code AttendanceDB.sql} cannot be read
+     */
+    public static void bootstrap(String url) throws SQLException, IOException {
+        try (Connection conn = DriverManager.getConnection(url)) {
+            if (hasTable(conn.getMetaData(), "Users")) {
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+            List<String> statements = translate(readSchema(Paths.get(SCHEMA_FILE)));
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : statements) {
+                    try {
+                        stmt.execute(sql);
+                    } catch (SQLException e) {
+                        throw new SQLException("Embedded schema statement failed: " + sql, e);
+                    }
+                }
+            }
+            System.out.println("Created embedded database schema (" + statements.size() + " statements) in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        }
+    }
+
+    /**
+     * Translates a SQL Server script into H2 statements.
+     *
+     * @param script the script text, with batches separated by {@code GO} lines
+     * @return the statements to run, in script order
+     */
+    static List<String> translate(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder batch = new StringBuilder();
+        for (String line : script.split("\\r?\\n")) {
+            if (line.trim().equalsIgnoreCase("GO")) {
+                addTranslated(statements, batch.toString());
+                batch.setLength(0);
+            } else {
+                batch.append(line).append('\n');
+            }
+        }
+        addTranslated(statements, batch.toString());
+        return statements;
+    }
+
+    private static void addTranslated(List<String> statements, String batch) {
+        String sql = translateBatch(batch);
+        if (sql != null) {
+            statements.add(sql);
+        }
+    }
+
+    /**
+     * Translates one batch, or returns null if it has no H2 equivalent worth running.
+     */
+    static String translateBatch(String batch) {
+        String sql = LINE_COMMENT.matcher(BLOCK_COMMENT.matcher(batch).replaceAll("")).replaceAll("").trim();
+        if (sql.isEmpty() || SKIPPED.matcher(sql).matches()) {
+            return null;
+        }
+
+        sql = sql.replace("[dbo].", "");
+        sql = STORAGE_OPTIONS.matcher(sql).replaceAll("");
+        sql = FILEGROUP.matcher(sql).replaceAll("");
+        sql = INCLUDE.matcher(sql).replaceAll("");
+        sql = CLUSTERING.matcher(sql).replaceAll("");
+        sql = SORT_ORDER.matcher(sql).replaceAll("");
+        sql = CHECKED_ADD.matcher(sql).replaceAll(" ADD");
+        sql = MAX_LENGTH.matcher(sql).replaceAll("");
+        sql = BRACKETED.matcher(sql).replaceAll("$1").trim();
+
+        // SQL Server's "ADD DEFAULT (...) FOR column" is a column default in H2
+        Matcher addDefault = ADD_DEFAULT.matcher(sql);
+        if (addDefault.matches()) {
+            sql = "ALTER TABLE " + addDefault.group(1) + " ALTER COLUMN " + addDefault.group(3)
+                    + " SET DEFAULT " + addDefault.group(2);
+        }
+        return sql;
+    }
+
+    /**
+     * Reads the schema script, which SSMS saves as UTF-16 with a byte order mark.
+     */
+    private static String readSchema(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            throw new IOException("Schema script not found: " + file.toAbsolutePath()
+                    + " (set -Dticktocktrack.db.schemaFile to its location)");
+        }
+
+        byte[] bytes = Files.readAllBytes(file);
+        Charset charset = StandardCharsets.UTF_8;
+        int offset = 0;
+        if (bytes.length >= 2 && (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xFE) {
+            charset = StandardCharsets.UTF_16LE;
+            offset = 2;
+        } else if (bytes.length >= 2 && (bytes[0] & 0xFF) == 0xFE && (bytes[1] & 0xFF) == 0xFF) {
+            charset = StandardCharsets.UTF_16BE;
+            offset = 2;
+        } else if (bytes.length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+            offset = 3;
+        }
+        return new String(bytes, offset, bytes.length - offset, charset);
+    }
+
+    private static boolean hasTable(DatabaseMetaData meta, String name) throws SQLException {
+        for (String candidate : new String[] { name, name.toUpperCase() }) {
+            try (ResultSet rs = meta.getTables(null, null, candidate, new String[] { "TABLE" })) {
+                while (rs.next()) {
+                    // H2 lists its own INFORMATION_SCHEMA.USERS as well
+                    if (!"INFORMATION_SCHEMA".equalsIgnoreCase(rs.getString("TABLE_SCHEM"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,81 @@
+package ticktocktrack.database;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Starts a Java Flight Recorder recording with the settings the application ships in
+ * {@code /resources/jfr/ticktocktrack.jfc}, layered over the JDK's default settings.
+ * <p>
+ * Start the application with {@code -Dticktocktrack.jfr.file=ticktocktrack.jfr} and the
+ * recording is written to that file when the application exits. The file can then be
+ * opened in JDK Mission Control, where the {@code TickTockTrack} category lists every
+ * DAO call and every database call made on the JavaFX thread with its stack trace.
+ * {@code -Dticktocktrack.jfr.maxAgeMinutes} limits how much history is kept, default 30.
+ * </p>
+ */
+public class FlightRecording {
+
+    private static final String PROPERTY_PREFIX = "ticktocktrack.jfr.";
+    private static final String SETTINGS = "/resources/jfr/ticktocktrack.jfc";
+
+    private static Recording recording;
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Starts the recording if {@code ticktocktrack.jfr.file} is set. Does nothing if it
+     * is not set or a recording was already started.
+     */
+    public static synchronized void startIfRequested() {
+        String file = System.getProperty(PROPERTY_PREFIX + "file");
+        if (file == null || recording != null) {
+            return;
+        }
+        try {
+            Path destination = Paths.get(file).toAbsolutePath();
+            Recording r = new Recording(Configuration.getConfiguration("default"));
+            r.setSettings(merge(r, loadSettings()));
+            r.setName("TickTockTrack");
+            r.setToDisk(true);
+            r.setDumpOnExit(true);
+            r.setDestination(destination);
+            r.setMaxAge(Duration.ofMinutes(Long.getLong(PROPERTY_PREFIX + "maxAgeMinutes", 30L)));
+            r.start();
+            recording = r;
+            System.out.println("Flight recording started; it will be written to " + destination + " on exit.");
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            System.err.println("Failed to start the flight recording: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, String> merge(Recording r, Configuration extra) {
+        Map<String, String> settings = new HashMap<>(r.getSettings());
+        settings.putAll(extra.getSettings());
+        return settings;
+    }
+
+    private static Configuration loadSettings() throws IOException, ParseException {
+        try (InputStream in = FlightRecording.class.getResourceAsStream(SETTINGS)) {
+            if (in == null) {
+                throw new IOException("Recording settings not found: " + SETTINGS);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return Configuration.create(reader);
+            }
+        }
+    }
+}
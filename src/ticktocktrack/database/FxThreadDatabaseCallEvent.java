@@ -0,0 +1,28 @@
+package ticktocktrack.database;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for database work done on the JavaFX Application Thread,
+ * where it freezes the UI for its whole duration. The stack trace shows the screen
+ * action that made the call.
+ */
+@Name("ticktocktrack.FxThreadDatabaseCall")
+@Label("Database Call on FX Thread")
+@Category({ "TickTockTrack", "JavaFX" })
+@Description("A statement executed or a connection borrowed on the JavaFX Application Thread")
+class FxThreadDatabaseCallEvent extends jdk.jfr.Event {
+
+    @Label("DAO Class")
+    String daoClass;
+
+    @Label("DAO Method")
+    String daoMethod;
+
+    @Label("SQL")
+    @Description("The statement executed, or empty when borrowing a connection")
+    String sql;
+}
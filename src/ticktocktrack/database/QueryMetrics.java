@@ -0,0 +1,523 @@
+package ticktocktrack.database;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Records how long every query takes, per logical query.
+ * <p>
+ * {@link DatabaseConnection#getPooledConnection()} wraps each connection it hands out,
+ * and the statements and result sets created from it, so the DAOs are measured without
+ * changing them. A query is named after the DAO method that ran it, for example
+ * {@code DatabaseAttendance.saveAttendance}. For each name the metrics keep the number of
+ * calls and errors, the rows read and updated, a histogram of execution times and a
+ * histogram of how long the method waited for its connection.
+ * </p>
+ * <p>
+ * The statistics are published over JMX as {@code ticktocktrack:type=QueryMetrics}
+ * (see {@link QueryMetricsMXBean}) and can be written to a file with
+ * {@link #dumpToFile(String)}, from JConsole or from code. The same wrappers emit the
+ * Java Flight Recorder events {@link DaoCallEvent} and {@link FxThreadDatabaseCallEvent};
+ * see {@link FlightRecording}. Two system properties control the metrics:
+ * </p>
+ * <ul>
+ *   <li>{@code ticktocktrack.db.metrics.enabled}: set to {@code false} to hand out
+ *       unwrapped connections; default {@code true}</li>
+ *   <li>{@code ticktocktrack.db.metrics.dumpFile}: a file the report is written to when
+ *       the application exits</li>
+ * </ul>
+ */
+public class QueryMetrics implements QueryMetricsMXBean {
+
+    private static final String PROPERTY_PREFIX = "ticktocktrack.db.metrics.";
+
+    private static final boolean ENABLED =
+            Boolean.parseBoolean(System.getProperty(PROPERTY_PREFIX + "enabled", "true"));
+
+    /** Classes that run statements on behalf of a DAO and so are not a query's name. */
+    private static final String[] INFRASTRUCTURE = {
+        QueryMetrics.class.getName(), DatabaseConnection.class.getName(), ConnectionPool.class.getName(),
+        BulkInserter.class.getName(), AsyncDatabase.class.getName(),
+        DatabaseRegistrationManager.class.getName()
+    };
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private static final String FX_THREAD_NAME = "JavaFX Application Thread";
+
+    private static final QueryMetrics INSTANCE = create();
+
+    private final Map<String, Stats> queries = new ConcurrentHashMap<>();
+
+    private QueryMetrics() {
+    }
+
+    private static QueryMetrics create() {
+        QueryMetrics metrics = new QueryMetrics();
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("ticktocktrack:type=QueryMetrics");
+            if (!server.isRegistered(name)) {
+                server.registerMBean(metrics, name);
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to register query metrics with JMX: " + e.getMessage());
+        }
+
+        String dumpFile = System.getProperty(PROPERTY_PREFIX + "dumpFile");
+        if (dumpFile != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> metrics.dumpToFile(dumpFile),
+                    "ticktocktrack-query-metrics-dump"));
+        }
+        return metrics;
+    }
+
+    /**
+     * Returns the application-wide metrics.
+     *
+     * @return the shared {@link QueryMetrics}
+     */
+    public static QueryMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Tells whether connections are instrumented.
+     *
+     * @return false if {@code ticktocktrack.db.metrics.enabled} is {@code false}
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Borrows a connection from the pool, records how long that took, and wraps the
+     * connection so that its statements are measured.
+     *
+     * @param pool the pool to borrow from
+     * @return the instrumented connection
+     * @throws SQLException if no connection could be obtained
+     */
+    static Connection borrow(ConnectionPool pool) throws SQLException {
+        String caller = callerName();
+        FxThreadDatabaseCallEvent fxEvent = beginFxEvent();
+        long start = System.nanoTime();
+        Connection conn;
+        try {
+            conn = pool.getConnection();
+        } finally {
+            INSTANCE.stats(caller).acquire.record(System.nanoTime() - start);
+            commitFxEvent(fxEvent, caller, "");
+        }
+        return proxy(Connection.class, new ConnectionHandler(conn));
+    }
+
+    @Override
+    public List<QueryStatistics> getQueries() {
+        List<QueryStatistics> snapshot = new ArrayList<>();
+        for (Map.Entry<String, Stats> entry : queries.entrySet()) {
+            snapshot.add(entry.getValue().snapshot(entry.getKey()));
+        }
+        snapshot.sort(Comparator.comparingDouble(QueryStatistics::getTotalMillis).reversed()
+                .thenComparing(QueryStatistics::getName));
+        return snapshot;
+    }
+
+    @Override
+    public List<QueryStatistics> getTopQueries(int limit) {
+        List<QueryStatistics> all = getQueries();
+        return new ArrayList<>(all.subList(0, Math.max(0, Math.min(limit, all.size()))));
+    }
+
+    /**
+     * Formats the statistics of every query as a table, slowest total time first.
+     *
+     * @return the report
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# Query metrics at ").append(LocalDateTime.now()).append(System.lineSeparator());
+        sb.append(QueryStatistics.REPORT_HEADER).append(System.lineSeparator());
+        for (QueryStatistics query : getQueries()) {
+            sb.append(query.toReportLine()).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String dumpToFile(String path) {
+        Path file = Paths.get(path).toAbsolutePath();
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.print(report());
+            out.println();
+            out.println("# Statements");
+            for (QueryStatistics query : getQueries()) {
+                out.println(query.getName() + ": " + query.getSql());
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write query metrics to " + file + ": " + e.getMessage());
+            return null;
+        }
+        return file.toString();
+    }
+
+    @Override
+    public void reset() {
+        queries.clear();
+    }
+
+    private Stats stats(String name) {
+        return queries.computeIfAbsent(name, n -> new Stats());
+    }
+
+    /**
+     * Names a query after the first application method on the stack that is not part of
+     * the connection plumbing.
+     */
+    private static String callerName() {
+        return WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("ticktocktrack.") && !isInfrastructure(f.getClassName()))
+                .findFirst()
+                .map(f -> simpleName(f.getClassName()) + "." + methodName(f.getMethodName()))
+                .orElse("unknown"));
+    }
+
+    /**
+     * Starts timing database work if it is being done on the JavaFX Application Thread.
+     * The thread is recognised by name so that the data layer keeps working without
+     * JavaFX on the classpath, as in the command-line tools.
+     *
+     * @return the started event, or null if not on the FX thread or the event is disabled
+     */
+    private static FxThreadDatabaseCallEvent beginFxEvent() {
+        if (!FX_THREAD_NAME.equals(Thread.currentThread().getName())) {
+            return null;
+        }
+        FxThreadDatabaseCallEvent event = new FxThreadDatabaseCallEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    private static void commitFxEvent(FxThreadDatabaseCallEvent event, String caller, String sql) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.daoClass = classPart(caller);
+            event.daoMethod = methodPart(caller);
+            event.sql = sql;
+            event.commit();
+        }
+    }
+
+    private static String classPart(String caller) {
+        int dot = caller.indexOf('.');
+        return dot < 0 ? caller : caller.substring(0, dot);
+    }
+
+    private static String methodPart(String caller) {
+        int dot = caller.indexOf('.');
+        return dot < 0 ? "" : caller.substring(dot + 1);
+    }
+
+    private static boolean isInfrastructure(String className) {
+        for (String infrastructure : INFRASTRUCTURE) {
+            if (className.startsWith(infrastructure)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /** Turns {@code lambda$loadData$3} into {@code loadData}. */
+    private static String methodName(String method) {
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', 7);
+            return end > 7 ? method.substring(7, end) : method;
+        }
+        return method;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(QueryMetrics.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * The running totals of one query.
+     */
+    private static final class Stats {
+        private final LatencyHistogram execution = new LatencyHistogram();
+        private final LatencyHistogram acquire = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rowsReturned = new LongAdder();
+        private final LongAdder rowsAffected = new LongAdder();
+        private volatile String sql;
+
+        QueryStatistics snapshot(String name) {
+            return new QueryStatistics(name, sql, execution.getCount(), errors.sum(), rowsReturned.sum(),
+                    rowsAffected.sum(), execution.getMeanNanos() / 1_000.0,
+                    execution.getPercentileNanos(0.50) / 1_000.0, execution.getPercentileNanos(0.95) / 1_000.0,
+                    execution.getPercentileNanos(0.99) / 1_000.0, execution.getMaxNanos() / 1_000.0,
+                    execution.getTotalNanos() / 1_000_000.0, acquire.getCount(), acquire.getMeanNanos() / 1_000.0,
+                    acquire.getPercentileNanos(0.99) / 1_000.0);
+        }
+    }
+
+    /**
+     * Hands out measured statements and keeps the wrapper visible to {@code unwrap}.
+     */
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        /** Statements not closed yet; their events are emitted when the connection closes. */
+        private final List<StatementHandler> open = new ArrayList<>();
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "createStatement":
+                    return proxy(Statement.class, track(new StatementHandler(
+                            (Statement) forward(target, method, args), (Connection) proxy, null)));
+                case "prepareStatement":
+                    return proxy(PreparedStatement.class, track(new StatementHandler(
+                            (Statement) forward(target, method, args), (Connection) proxy, (String) args[0])));
+                case "prepareCall":
+                    return proxy(CallableStatement.class, track(new StatementHandler(
+                            (Statement) forward(target, method, args), (Connection) proxy, (String) args[0])));
+                case "close":
+                    try {
+                        return forward(target, method, args);
+                    } finally {
+                        for (StatementHandler statement : open) {
+                            statement.commitEvent();
+                        }
+                        open.clear();
+                    }
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            return forward(target, method, args);
+        }
+
+        private StatementHandler track(StatementHandler statement) {
+            open.removeIf(StatementHandler::isClosed);
+            open.add(statement);
+            return statement;
+        }
+    }
+
+    /**
+     * Times the {@code execute} methods of a statement and counts the rows they produce.
+     */
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final Connection connection;
+        private final String sql;
+        private final String caller;
+        private final Stats stats;
+        private DaoCallEvent event;
+        private String lastSql;
+        private long rows;
+        private int executions;
+        private boolean closed;
+
+        private StatementHandler(Statement target, Connection connection, String sql) {
+            this.target = target;
+            this.connection = connection;
+            this.sql = sql;
+            this.caller = callerName();
+            this.stats = INSTANCE.stats(caller);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            switch (name) {
+                case "getResultSet":
+                case "getGeneratedKeys":
+                    return countRows((ResultSet) forward(target, method, args));
+                case "getConnection":
+                    return connection;
+                case "close":
+                    try {
+                        return forward(target, method, args);
+                    } finally {
+                        closed = true;
+                        commitEvent();
+                    }
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            return forward(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            if (args != null && args.length > 0 && args[0] instanceof String) {
+                lastSql = (String) args[0];
+            } else {
+                lastSql = sql;
+            }
+            if (lastSql != null) {
+                stats.sql = lastSql;
+            }
+            if (event == null) {
+                event = new DaoCallEvent();
+                event.begin();
+            }
+            executions++;
+
+            Object result;
+            FxThreadDatabaseCallEvent fxEvent = beginFxEvent();
+            long start = System.nanoTime();
+            try {
+                result = forward(target, method, args);
+            } catch (Throwable e) {
+                stats.errors.increment();
+                throw e;
+            } finally {
+                stats.execution.record(System.nanoTime() - start);
+                commitFxEvent(fxEvent, caller, lastSql);
+            }
+
+            if (result instanceof ResultSet) {
+                return countRows((ResultSet) result);
+            }
+            if (result instanceof Integer || result instanceof Long) {
+                addAffected(((Number) result).longValue());
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    addAffected(count);
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    addAffected(count);
+                }
+            }
+            return result;
+        }
+
+        private boolean isClosed() {
+            return closed;
+        }
+
+        private void addAffected(long count) {
+            if (count > 0) {
+                stats.rowsAffected.add(count);
+                rows += count;
+            }
+        }
+
+        /**
+         * Emits the JFR event covering the statement's executions and row reads.
+         */
+        private void commitEvent() {
+            DaoCallEvent e = event;
+            event = null;
+            if (e == null) {
+                return;
+            }
+            e.end();
+            if (e.shouldCommit()) {
+                e.daoClass = classPart(caller);
+                e.daoMethod = methodPart(caller);
+                e.sql = lastSql;
+                e.rows = rows;
+                e.executions = executions;
+                e.commit();
+            }
+            rows = 0;
+            executions = 0;
+        }
+
+        private ResultSet countRows(ResultSet rs) {
+            if (rs == null) {
+                return null;
+            }
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                Object result = forward(rs, method, args);
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    stats.rowsReturned.increment();
+                    rows++;
+                }
+                return result;
+            });
+        }
+    }
+}
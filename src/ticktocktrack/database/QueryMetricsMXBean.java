@@ -0,0 +1,38 @@
+package ticktocktrack.database;
+
+import java.util.List;
+
+/**
+ * The JMX view of {@link QueryMetrics}, registered as {@code ticktocktrack:type=QueryMetrics}
+ * and browsable with JConsole or VisualVM.
+ */
+public interface QueryMetricsMXBean {
+
+    /**
+     * Returns the statistics of every query seen so far, slowest total time first.
+     *
+     * @return the query statistics
+     */
+    List<QueryStatistics> getQueries();
+
+    /**
+     * Returns the queries with the most total execution time.
+     *
+     * @param limit how many queries to return
+     * @return the top queries by total time
+     */
+    List<QueryStatistics> getTopQueries(int limit);
+
+    /**
+     * Writes the report to a file, replacing it if it exists.
+     *
+     * @param path the file to write
+     * @return the absolute path written
+     */
+    String dumpToFile(String path);
+
+    /**
+     * Clears all statistics.
+     */
+    void reset();
+}
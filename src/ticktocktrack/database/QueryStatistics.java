@@ -0,0 +1,161 @@
+package ticktocktrack.database;
+
+import java.beans.ConstructorProperties;
+import java.util.Locale;
+
+/**
+ * A point-in-time copy of the measurements of one logical query, as reported by
+ * {@link QueryMetrics} and over JMX. Times are in microseconds.
+ */
+public class QueryStatistics {
+
+    private final String name;
+    private final String sql;
+    private final long calls;
+    private final long errors;
+    private final long rowsReturned;
+    private final long rowsAffected;
+    private final double meanMicros;
+    private final double p50Micros;
+    private final double p95Micros;
+    private final double p99Micros;
+    private final double maxMicros;
+    private final double totalMillis;
+    private final long acquires;
+    private final double acquireMeanMicros;
+    private final double acquireP99Micros;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param name              the logical query name
+     * @param sql               the statement text most recently run under the name
+     * @param calls             statements executed
+     * @param errors            statements that threw
+     * @param rowsReturned      rows read from result sets
+     * @param rowsAffected      rows reported by updates
+     * @param meanMicros        mean execution time
+     * @param p50Micros         median execution time
+     * @param p95Micros         95th percentile execution time
+     * @param p99Micros         99th percentile execution time
+     * @param maxMicros         longest execution time
+     * @param totalMillis       total execution time in milliseconds
+     * @param acquires          connections borrowed
+     * @param acquireMeanMicros mean time to borrow a connection
+     * @param acquireP99Micros  99th percentile time to borrow a connection
+     */
+    @ConstructorProperties({ "name", "sql", "calls", "errors", "rowsReturned", "rowsAffected", "meanMicros",
+            "p50Micros", "p95Micros", "p99Micros", "maxMicros", "totalMillis", "acquires", "acquireMeanMicros",
+            "acquireP99Micros" })
+    public QueryStatistics(String name, String sql, long calls, long errors, long rowsReturned, long rowsAffected,
+                           double meanMicros, double p50Micros, double p95Micros, double p99Micros, double maxMicros,
+                           double totalMillis, long acquires, double acquireMeanMicros, double acquireP99Micros) {
+        this.name = name;
+        this.sql = sql;
+        this.calls = calls;
+        this.errors = errors;
+        this.rowsReturned = rowsReturned;
+        this.rowsAffected = rowsAffected;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p95Micros = p95Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+        this.totalMillis = totalMillis;
+        this.acquires = acquires;
+        this.acquireMeanMicros = acquireMeanMicros;
+        this.acquireP99Micros = acquireP99Micros;
+    }
+
+    /** @return the logical query name, the DAO class and method that ran it */
+    public String getName() {
+        return name;
+    }
+
+    /** @return the statement text most recently run under the name */
+    public String getSql() {
+        return sql;
+    }
+
+    /** @return statements executed */
+    public long getCalls() {
+        return calls;
+    }
+
+    /** @return statements that threw */
+    public long getErrors() {
+        return errors;
+    }
+
+    /** @return rows read from result sets */
+    public long getRowsReturned() {
+        return rowsReturned;
+    }
+
+    /** @return rows reported by updates */
+    public long getRowsAffected() {
+        return rowsAffected;
+    }
+
+    /** @return mean execution time in microseconds */
+    public double getMeanMicros() {
+        return meanMicros;
+    }
+
+    /** @return median execution time in microseconds */
+    public double getP50Micros() {
+        return p50Micros;
+    }
+
+    /** @return 95th percentile execution time in microseconds */
+    public double getP95Micros() {
+        return p95Micros;
+    }
+
+    /** @return 99th percentile execution time in microseconds */
+    public double getP99Micros() {
+        return p99Micros;
+    }
+
+    /** @return longest execution time in microseconds */
+    public double getMaxMicros() {
+        return maxMicros;
+    }
+
+    /** @return total execution time in milliseconds */
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    /** @return connections borrowed */
+    public long getAcquires() {
+        return acquires;
+    }
+
+    /** @return mean time to borrow a connection in microseconds */
+    public double getAcquireMeanMicros() {
+        return acquireMeanMicros;
+    }
+
+    /** @return 99th percentile time to borrow a connection in microseconds */
+    public double getAcquireP99Micros() {
+        return acquireP99Micros;
+    }
+
+    /** Column headings of {@link #toReportLine()}. */
+    public static final String REPORT_HEADER = String.format(Locale.ROOT,
+            "%-60s %9s %6s %10s %10s %10s %10s %10s %10s %12s %9s %10s",
+            "Query", "Calls", "Errors", "Rows", "Mean us", "p50 us", "p95 us", "p99 us", "Max us", "Total ms",
+            "Acquires", "Acq p99 us");
+
+    /**
+     * Formats the statistics as one line of a report.
+     *
+     * @return the formatted line
+     */
+    public String toReportLine() {
+        return String.format(Locale.ROOT, "%-60s %9d %6d %10d %10.1f %10.1f %10.1f %10.1f %10.1f %12.1f %9d %10.1f",
+                name, calls, errors, rowsReturned + rowsAffected, meanMicros, p50Micros, p95Micros, p99Micros,
+                maxMicros, totalMillis, acquires, acquireP99Micros);
+    }
+}
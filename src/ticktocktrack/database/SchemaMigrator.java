@@ -0,0 +1,203 @@
+package ticktocktrack.database;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Brings the database schema up to date when the application starts.
+ * <p>
+ * Migration scripts live under {@code /resources/db/migration/} and are named
+ * {@code V<version>__<description>.sql}. Each script is applied once, in version order,
+ * inside its own transaction, and recorded in the {@code schema_version} table.
+ * Scripts are split into batches on lines containing only {@code GO}, as in
+ * {@code AttendanceDB.sql}.
+ * </p>
+ * The embedded profile reads H2 versions of the same scripts from
+ * {@code /resources/db/migration/h2/}; see {@link DatabaseProfile#getMigrationPath()}.
+ * To add a migration, put the script in both migration folders and append its file
+ * name to {@link #MIGRATIONS}.
+ */
+public class SchemaMigrator {
+
+    /** Migration scripts in the order they are applied. */
+    private static final String[] MIGRATIONS = {
+        "V1__indexes_and_constraints.sql",
+        "V2__notification_keyset_index.sql",
+        "V3__attendance_counters.sql",
+        "V4__attendance_monthly_counters.sql",
+        "V5__user_directory_indexes.sql",
+        "V6__id_list_type.sql",
+        "V7__unenrolled_student_indexes.sql"
+    };
+
+    private SchemaMigrator() {
+        // Static helper
+    }
+
+    /**
+     * Applies every migration that has not been applied yet.
+     * <p>
+     * Failures are logged and do not stop the application; a failed migration is
+     * rolled back and retried on the next start.
+     * </p>
+     *
+     * @return the number of migrations applied
+     */
+    public static int migrate() {
+        DatabaseConnection dbConn = new DatabaseConnection();
+        try {
+            dbConn.connectToSQLServer();
+            try (Connection conn = dbConn.getConnection()) {
+                return migrate(conn);
+            }
+        } catch (SQLException | IOException e) {
+            System.err.println("Error migrating database schema: " + e.getMessage());
+            e.printStackTrace();
+            return 0;
+        } finally {
+            dbConn.closeConnection();
+        }
+    }
+
+    /**
+     * Applies every migration that has not been applied yet using the given connection.
+     *
+     * @param conn the open connection to migrate
+     * @return the number of migrations applied
+     * @throws SQLException if a migration fails; that migration is rolled back
+     * @throws IOException  if a migration script cannot be read
+     */
+    static int migrate(Connection conn) throws SQLException, IOException {
+        ensureVersionTable(conn);
+        int current = getCurrentVersion(conn);
+        int applied = 0;
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            for (String script : MIGRATIONS) {
+                int version = parseVersion(script);
+                if (version <= current) {
+                    continue;
+                }
+
+                long start = System.currentTimeMillis();
+                try (Statement stmt = conn.createStatement()) {
+                    for (String batch : readBatches(script)) {
+                        stmt.execute(batch);
+                    }
+                    recordVersion(conn, version, script);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw new SQLException("Migration " + script + " failed: " + e.getMessage(), e);
+                }
+
+                System.out.println("Applied migration " + script + " in " + (System.currentTimeMillis() - start) + " ms");
+                current = version;
+                applied++;
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return applied;
+    }
+
+    /**
+     * Creates the {@code schema_version} table if it does not exist yet.
+     */
+    private static void ensureVersionTable(Connection conn) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        for (String name : new String[] { "schema_version", "SCHEMA_VERSION" }) {
+            try (ResultSet rs = meta.getTables(null, null, name, new String[] { "TABLE" })) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE schema_version (" +
+                         "version INT NOT NULL PRIMARY KEY, " +
+                         "script NVARCHAR(200) NOT NULL, " +
+                         "applied_on DATETIME NOT NULL)");
+        }
+    }
+
+    /**
+     * Returns the highest applied migration version, or 0 if none has been applied.
+     */
+    private static int getCurrentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void recordVersion(Connection conn, int version, String script) throws SQLException {
+        String sql = "INSERT INTO schema_version (version, script, applied_on) VALUES (?, ?, ?)";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, version);
+            ps.setString(2, script);
+            ps.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Extracts the version number from a script name such as {@code V12__add_index.sql}.
+     */
+    private static int parseVersion(String script) {
+        int separator = script.indexOf("__");
+        if (!script.startsWith("V") || separator < 2) {
+            throw new IllegalArgumentException("Migration script name must look like V<version>__<description>.sql: " + script);
+        }
+        return Integer.parseInt(script.substring(1, separator));
+    }
+
+    /**
+     * Reads a migration script from the classpath and splits it into batches on {@code GO} lines.
+     */
+    private static List<String> readBatches(String script) throws IOException {
+        String path = DatabaseProfile.current().getMigrationPath() + script;
+        InputStream in = SchemaMigrator.class.getResourceAsStream(path);
+        if (in == null) {
+            throw new IOException("Migration script not found: " + path);
+        }
+
+        List<String> batches = new ArrayList<>();
+        StringBuilder batch = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().equalsIgnoreCase("GO")) {
+                    addBatch(batches, batch);
+                } else {
+                    batch.append(line).append('\n');
+                }
+            }
+        }
+        addBatch(batches, batch);
+        return batches;
+    }
+
+    private static void addBatch(List<String> batches, StringBuilder batch) {
+        String sql = batch.toString().trim();
+        if (!sql.isEmpty()) {
+            batches.add(sql);
+        }
+        batch.setLength(0);
+    }
+}
@@ -0,0 +1,473 @@
+package ticktocktrack.database;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates student accounts in bulk from a CSV file, for onboarding a whole intake at once
+ * instead of registering students one by one.
+ * <p>
+ * The file needs a header row naming its columns: {@code username}, {@code email},
+ * {@code password}, {@code first_name} and {@code last_name} are required, and
+ * {@code middle_name}, {@code year_level}, {@code program} and {@code section} are optional.
+ * Rows are read and imported {@value #CHUNK_SIZE} at a time. For each chunk, the usernames and
+ * emails already taken are found with one query, the passwords are hashed in parallel, and the
+ * Users and Students rows are inserted in one transaction, through the SQL Server bulk copy
+ * API with constraint checking on ({@link CheckedBulkCopy}) when connected to SQL Server.
+ * </p>
+ * Rows that cannot be imported are written to a report with their line number and the
+ * reason; the other rows are imported regardless.
+ */
+public class StudentImport {
+
+    /** Rows imported per transaction; each row binds two parameters in the duplicate check. */
+    private static final int CHUNK_SIZE = 1_000;
+
+    private static final String[] REQUIRED_COLUMNS = { "username", "email", "password", "first_name", "last_name" };
+
+    private static final String[] USER_COLUMNS =
+            { "username", "email", "password_hash", "role", "created_by_admin_id", "date_created" };
+    private static final int[] USER_TYPES =
+            { Types.NVARCHAR, Types.NVARCHAR, Types.NVARCHAR, Types.NVARCHAR, Types.INTEGER, Types.TIMESTAMP };
+
+    private static final String[] STUDENT_COLUMNS =
+            { "user_id", "first_name", "middle_name", "last_name", "year_level", "program", "section" };
+    private static final int[] STUDENT_TYPES =
+            { Types.INTEGER, Types.NVARCHAR, Types.NVARCHAR, Types.NVARCHAR, Types.NVARCHAR, Types.NVARCHAR, Types.NVARCHAR };
+
+    /** The outcome of an import. */
+    public static class Result {
+        private int imported;
+        private int failed;
+
+        /** @return the number of students created */
+        public int getImported() {
+            return imported;
+        }
+
+        /** @return the number of rows written to the report */
+        public int getFailed() {
+            return failed;
+        }
+    }
+
+    /** One data row of the file. */
+    private static final class Row {
+        final int line;
+        final String username;
+        final String email;
+        final String password;
+        final String firstName;
+        final String middleName;
+        final String lastName;
+        final String yearLevel;
+        final String program;
+        final String section;
+        String passwordHash;
+        String error;
+
+        Row(int line, Map<String, Integer> columns, List<String> fields) {
+            this.line = line;
+            this.username = field(columns, fields, "username");
+            this.email = field(columns, fields, "email");
+            this.password = field(columns, fields, "password");
+            this.firstName = field(columns, fields, "first_name");
+            this.middleName = field(columns, fields, "middle_name");
+            this.lastName = field(columns, fields, "last_name");
+            this.yearLevel = field(columns, fields, "year_level");
+            this.program = field(columns, fields, "program");
+            this.section = field(columns, fields, "section");
+        }
+    }
+
+    private StudentImport() {
+        // Static helper
+    }
+
+    /**
+     * Imports the students in a CSV file and writes the rows that failed to a report file.
+     *
+     * @param csvFile          the file to import
+     * @param reportFile       the file to write failed rows to
+     * @param createdByAdminId the admin recorded as creating the accounts, or null
+     * @return the number of students imported and of rows that failed
+     * @throws IOException  if a file cannot be read or written, or the header is invalid
+     * @throws SQLException if the database cannot be reached
+     */
+    public static Result importFile(Path csvFile, Path reportFile, Integer createdByAdminId)
+            throws IOException, SQLException {
+        try (Reader in = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8);
+             Writer report = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+            return importStudents(in, report, createdByAdminId);
+        }
+    }
+
+    /**
+     * Imports the students read from a CSV stream.
+     *
+     * @param csv              the CSV text, starting with the header row
+     * @param report           receives one CSV line per row that was not imported
+     * @param createdByAdminId the admin recorded as creating the accounts, or null
+     * @return the number of students imported and of rows that failed
+     * @throws IOException  if the CSV cannot be read, the report cannot be written, or a
+     *                      required column is missing
+     * @throws SQLException if the database cannot be reached
+     */
+    public static Result importStudents(Reader csv, Writer report, Integer createdByAdminId)
+            throws IOException, SQLException {
+        BufferedReader reader = new BufferedReader(csv);
+        PrintWriter out = new PrintWriter(report);
+        Result result = new Result();
+
+        int[] line = { 1 };
+        List<String> header = readRecord(reader, line);
+        if (header == null) {
+            throw new IOException("The file is empty.");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IOException("The header has no " + column + " column.");
+            }
+        }
+        out.println("line,username,error");
+
+        // Usernames and emails seen earlier in the file, compared the way the database does
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        Timestamp created = new Timestamp(System.currentTimeMillis());
+
+        try (Connection conn = DatabaseConnection.getPooledConnection()) {
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (true) {
+                int recordLine = line[0];
+                List<String> fields = readRecord(reader, line);
+                if (fields != null && !(fields.size() == 1 && fields.get(0).isBlank())) {
+                    Row row = new Row(recordLine, columns, fields);
+                    row.error = validate(row);
+                    String username = row.error == null ? row.username.toLowerCase(Locale.ROOT) : null;
+                    String email = row.error == null ? row.email.toLowerCase(Locale.ROOT) : null;
+                    if (row.error == null && seenUsernames.contains(username)) {
+                        row.error = "Username appears earlier in the file";
+                    }
+                    if (row.error == null && seenEmails.contains(email)) {
+                        row.error = "Email appears earlier in the file";
+                    }
+                    // Only a row that passed both checks reserves its username and email
+                    if (row.error == null) {
+                        seenUsernames.add(username);
+                        seenEmails.add(email);
+                    }
+                    chunk.add(row);
+                }
+                if (chunk.size() == CHUNK_SIZE || (fields == null && !chunk.isEmpty())) {
+                    importChunk(conn, chunk, createdByAdminId, created);
+                    for (Row row : chunk) {
+                        if (row.error == null) {
+                            result.imported++;
+                        } else {
+                            result.failed++;
+                            out.println(row.line + "," + quote(row.username) + "," + quote(row.error));
+                        }
+                    }
+                    chunk.clear();
+                }
+                if (fields == null) {
+                    break;
+                }
+            }
+        } finally {
+            out.flush();
+            if (result.imported > 0) {
+                UserSearch.invalidate();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Marks the rows whose username or email is taken, then inserts the rest in one
+     * transaction. If the transaction fails, for example because another admin took a
+     * username meanwhile, it is tried once more before the rows are marked failed.
+     */
+    private static void importChunk(Connection conn, List<Row> chunk, Integer createdByAdminId, Timestamp created)
+            throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            markTaken(conn, chunk);
+            List<Row> valid = new ArrayList<>();
+            for (Row row : chunk) {
+                if (row.error == null) {
+                    valid.add(row);
+                }
+            }
+            if (valid.isEmpty()) {
+                return;
+            }
+            valid.parallelStream().forEach(row -> row.passwordHash = DatabaseRegistrationManager.hashPassword(row.password));
+
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                insertChunk(conn, valid, createdByAdminId, created);
+                conn.commit();
+                return;
+            } catch (SQLException e) {
+                conn.rollback();
+                if (attempt == 2) {
+                    System.err.println("Error importing students: " + e.getMessage());
+                    for (Row row : valid) {
+                        row.error = "Not saved: " + e.getMessage();
+                    }
+                    return;
+                }
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Finds, in one query, which of the chunk's usernames and emails are already taken. The
+     * two lookups are a UNION rather than an OR so that each can seek its own unique index.
+     */
+    private static void markTaken(Connection conn, List<Row> chunk) throws SQLException {
+        List<Row> pending = new ArrayList<>();
+        for (Row row : chunk) {
+            if (row.error == null) {
+                pending.add(row);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(pending.size(), "?"));
+        String sql = "SELECT username, email FROM Users WHERE username IN (" + placeholders + ") " +
+                     "UNION SELECT username, email FROM Users WHERE email IN (" + placeholders + ")";
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < pending.size(); i++) {
+                ps.setString(i + 1, pending.get(i).username);
+                ps.setString(pending.size() + i + 1, pending.get(i).email);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    takenUsernames.add(rs.getString("username").toLowerCase(Locale.ROOT));
+                    takenEmails.add(rs.getString("email").toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        for (Row row : pending) {
+            if (takenUsernames.contains(row.username.toLowerCase(Locale.ROOT))) {
+                row.error = "Username already taken";
+            } else if (takenEmails.contains(row.email.toLowerCase(Locale.ROOT))) {
+                row.error = "Email already registered";
+            }
+        }
+    }
+
+    /**
+     * Inserts the Users rows, reads back their ids, and inserts the Students rows. On SQL
+     * Server the rows go through {@link CheckedBulkCopy}, so foreign keys stay checked and
+     * trusted; elsewhere they are inserted in batches.
+     */
+    private static void insertChunk(Connection conn, List<Row> rows, Integer createdByAdminId, Timestamp created)
+            throws SQLException {
+        List<Object[]> userRows = new ArrayList<>();
+        for (Row row : rows) {
+            userRows.add(new Object[] { row.username, row.email, row.passwordHash, "Student", createdByAdminId, created });
+        }
+        insert(conn, "Users", USER_COLUMNS, USER_TYPES, userRows);
+
+        Map<String, Integer> userIds = new HashMap<>();
+        String placeholders = String.join(", ", Collections.nCopies(rows.size(), "?"));
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT user_id, username FROM Users WHERE username IN (" + placeholders + ")")) {
+            for (int i = 0; i < rows.size(); i++) {
+                ps.setString(i + 1, rows.get(i).username);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    userIds.put(rs.getString("username").toLowerCase(Locale.ROOT), rs.getInt("user_id"));
+                }
+            }
+        }
+
+        List<Object[]> studentRows = new ArrayList<>();
+        for (Row row : rows) {
+            Integer userId = userIds.get(row.username.toLowerCase(Locale.ROOT));
+            if (userId == null) {
+                throw new SQLException("User " + row.username + " was not found after inserting it");
+            }
+            studentRows.add(new Object[] { userId, row.firstName, row.middleName, row.lastName,
+                    row.yearLevel, row.program, row.section });
+        }
+        insert(conn, "Students", STUDENT_COLUMNS, STUDENT_TYPES, studentRows);
+    }
+
+    /** Inserts rows into a table in the caller's transaction. */
+    private static void insert(Connection conn, String table, String[] columns, int[] types, List<Object[]> rows)
+            throws SQLException {
+        if (CheckedBulkCopy.isAvailable(conn)) {
+            CheckedBulkCopy.write(conn, table, columns, types, rows);
+            return;
+        }
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        try (BulkInserter inserter = new BulkInserter(conn, sql, CHUNK_SIZE, 0)) {
+            for (Object[] row : rows) {
+                inserter.add(row);
+            }
+        }
+    }
+
+    /**
+     * Checks a row against the column sizes and required fields of the Users and Students tables.
+     *
+     * @return the reason the row cannot be imported, or null if it can
+     */
+    private static String validate(Row row) {
+        if (row.username == null || row.email == null || row.password == null
+                || row.firstName == null || row.lastName == null) {
+            return "Username, email, password, first name and last name are required";
+        }
+        if (row.username.length() > 50) {
+            return "Username is longer than 50 characters";
+        }
+        if (row.email.length() > 100 || !row.email.matches("[^@\\s]+@[^@\\s]+\\.[^@\\s]+")) {
+            return "Email is not a valid address";
+        }
+        if (row.firstName.length() > 50 || row.lastName.length() > 50
+                || (row.middleName != null && row.middleName.length() > 50)) {
+            return "Names cannot be longer than 50 characters";
+        }
+        if ((row.yearLevel != null && row.yearLevel.length() > 50)
+                || (row.section != null && row.section.length() > 50)
+                || (row.program != null && row.program.length() > 100)) {
+            return "Year level, section or program is too long";
+        }
+        return null;
+    }
+
+    /** Returns a trimmed field, or null if the column is absent or the field is blank. */
+    private static String field(Map<String, Integer> columns, List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Reads one CSV record. Fields may be quoted with double quotes, in which case they can
+     * contain commas, line breaks and doubled quotes.
+     *
+     * @param line the current line number, advanced past the record
+     * @return the fields, or null at the end of the input
+     */
+    private static List<String> readRecord(BufferedReader reader, int[] line) throws IOException {
+        String text = reader.readLine();
+        if (text == null) {
+            return null;
+        }
+        line[0]++;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; ; i++) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // A quoted field continues on the next line
+                text = reader.readLine();
+                if (text == null) {
+                    break;
+                }
+                line[0]++;
+                field.append('\n');
+                i = -1;
+                continue;
+            }
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Imports a CSV file from the command line, with no admin recorded as the creator.
+     *
+     * @param args the CSV file, and optionally the report file (default: the CSV's name
+     *             followed by {@code -errors.csv})
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: java ticktocktrack.database.StudentImport students.csv [errors.csv]");
+            System.exit(2);
+        }
+        Path csvFile = Paths.get(args[0]);
+        Path reportFile = Paths.get(args.length > 1 ? args[1] : args[0].replaceFirst("(\\.csv)?$", "-errors.csv"));
+        try {
+            long start = System.currentTimeMillis();
+            Result result = importFile(csvFile, reportFile, null);
+            System.out.println("Imported " + result.getImported() + " students in "
+                    + (System.currentTimeMillis() - start) + " ms; " + result.getFailed()
+                    + " rows failed, see " + reportFile + ".");
+            System.exit(result.getFailed() == 0 ? 0 : 1);
+        } catch (IOException | SQLException e) {
+            System.err.println("Error importing students: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
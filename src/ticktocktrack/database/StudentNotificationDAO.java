@@ -120,38 +120,19 @@ public class StudentNotificationDAO {
 	
 	
 	/**
-	 * Retrieves the profile path of a user from the database based on the user ID.
+	 * Retrieves the profile path of a user based on the user ID.
 	 *
-	 * <p>This method queries the `Users` table to fetch the `profile_path` column
-	 * for the specified user ID. If the user exists and has a profile path stored,
-	 * the path is returned. Otherwise, it returns {@code null}.
+	 * <p>The path is read through {@link UserIdentityCache}, so repeated lookups for the
+	 * same sender do not query the `Users` table again. If the user exists and has a
+	 * profile path stored, the path is returned. Otherwise, it returns {@code null}.
 	 * </p>
 	 *
 	 * @param userId the ID of the user whose profile path is to be retrieved
 	 * @return the profile path of the user, or {@code null} if not found or an error occurs
 	 */
 	public static String getUserProfilePath(int userId) {
-	    String profilePath = null;
-	    String sql = "SELECT profile_path FROM Users WHERE user_id = ?";
-
-	    DatabaseConnection dbConn = new DatabaseConnection();
-
-	    try {
-	        dbConn.connectToSQLServer();
-	        try (Connection conn = dbConn.getConnection();
-	             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-	            pstmt.setInt(1, userId);
-	            ResultSet rs = pstmt.executeQuery();
-	            if (rs.next()) {
-	                profilePath = rs.getString("profile_path");
-	            }
-	            rs.close();
-	        }
-	    } catch (SQLException e) {
-	        System.err.println("Error loading profile path for user " + userId + ": " + e.getMessage());
-	    }
-
-	    return profilePath;
+	    UserIdentityCache.UserIdentity user = UserIdentityCache.get(userId);
+	    return user != null ? user.getProfilePath() : null;
 	}
 
     /**
@@ -215,6 +196,64 @@ public class StudentNotificationDAO {
 	    }
 	}
 
+    /**
+     * Returns the current user's name and role as attendance notifications show them. Call it
+     * before opening a transaction, since a cache miss borrows a pooled connection.
+     *
+     * @return A string in the format "Role FullName".
+     */
+    static String currentSenderDisplayName() {
+        return getSenderFullNameAndRole(Session.getCurrentUser().getUserId(), Session.getCurrentUser().getRole());
+    }
+
+    /**
+     * Inserts one attendance notification per roster entry as a single batch on the caller's
+     * connection, so it commits or rolls back together with the attendance rows it describes.
+     * Each entry must have its user id populated.
+     *
+     * @param conn              The open connection whose transaction the inserts join.
+     * @param senderDisplayName The sender's name, from {@link #currentSenderDisplayName()}.
+     * @param entries           The roster entries to notify.
+     * @param attendanceDate    The date of the attendance.
+     * @param course            The course name.
+     * @throws SQLException if the batch insert fails.
+     */
+    static void insertAttendanceNotifications(Connection conn, String senderDisplayName,
+            List<DatabaseAttendance.RosterEntry> entries, LocalDate attendanceDate, String course) throws SQLException {
+        int senderUserId = Session.getCurrentUser().getUserId();
+        String formattedDate = attendanceDate.format(DateTimeFormatter.ofPattern("MMMM d, yyyy"));
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        String sql = "INSERT INTO Notifications (recipient_user_id, sender_user_id, message, notification_type, date_sent, is_read) " +
+                     "VALUES (?, ?, ?, ?, ?, ?)";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (DatabaseAttendance.RosterEntry entry : entries) {
+                String status = entry.status;
+                String message;
+                if ("Absent".equalsIgnoreCase(status)) {
+                    // Check if this absence is already excused
+                    if (entry.alreadyExcused) {
+                        message = senderDisplayName + " marked you as Excused for the course " + course + " on " + formattedDate + ".";
+                    } else {
+                        message = senderDisplayName + " marked you as Absent in " + course + " on " + formattedDate + ". Please submit an excuse letter.";
+                    }
+                } else {
+                    message = senderDisplayName + " marked you as " + status + " in " + course + " on " + formattedDate + ".";
+                }
+
+                pstmt.setInt(1, entry.userId);
+                pstmt.setInt(2, senderUserId);
+                pstmt.setString(3, message);
+                pstmt.setString(4, "Attendance");
+                pstmt.setTimestamp(5, now);
+                pstmt.setBoolean(6, false);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
     /**
      * Checks if an attendance record for a given enrollment and date is already marked as excused.
      *
@@ -255,28 +294,8 @@ public class StudentNotificationDAO {
      * @return The corresponding user_id, or -1 if not found.
      */
     public static int getUserIdByStudentId(int studentId) {
-        String sql = "SELECT user_id FROM Students WHERE student_id = ?";
-        DatabaseConnection dbConn = new DatabaseConnection();
-
-        try {
-            dbConn.connectToSQLServer();
-
-            try (Connection conn = dbConn.getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-                stmt.setInt(1, studentId);
-                ResultSet rs = stmt.executeQuery();
-
-                if (rs.next()) {
-                    return rs.getInt("user_id");
-                }
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error retrieving user_id: " + e.getMessage());
-        }
-
-        return -1;
+        UserIdentityCache.UserIdentity student = UserIdentityCache.getByStudentId(studentId);
+        return student != null ? student.getUserId() : -1;
     }
     
     /**
@@ -287,75 +306,37 @@ public class StudentNotificationDAO {
      * @return A string in the format "Role FullName" or "Role Username".
      */
     private static String getSenderFullNameAndRole(int userId, String role) {
-        DatabaseConnection dbConn = new DatabaseConnection();
-        String fullName = "";
-        String table = ""; 
-        String firstNameCol = "first_name";
-        String lastNameCol = "last_name";
-
-        // Determine which table to query for the sender's name
-        switch (role.toLowerCase()) {
-            case "teacher":
-                table = "Teachers";
-                break;
-            case "admin":
-                table = "Admins";
-                break;
-            case "student":
-                table = "Students";
-                break;
-            default:
-                table = "Users"; // fallback to Users table if no role matched
-        }
-
-        String sql = "";
-
-        if (table.equals("Users")) {
-            // Just get username from Users table
-            sql = "SELECT username FROM Users WHERE user_id = ?";
-        } else {
-            // Get first and last name from the role-specific table joined with Users
-            sql = "SELECT " + firstNameCol + ", " + lastNameCol + " FROM " + table + " WHERE user_id = ?";
-        }
-
-        try {
-            dbConn.connectToSQLServer();
-
-            try (Connection conn = dbConn.getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-                stmt.setInt(1, userId);
-
-                ResultSet rs = stmt.executeQuery();
-                if (rs.next()) {
-                    if (table.equals("Users")) {
-                        fullName = rs.getString("username");
-                    } else {
-                        fullName = rs.getString(firstNameCol) + " " + rs.getString(lastNameCol);
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error fetching sender name: " + e.getMessage());
-        }
-
+        UserIdentityCache.UserIdentity sender = UserIdentityCache.get(userId);
+        String fullName = sender != null ? sender.getFullName() : "";
         return role + " " + fullName; // e.g. "Teacher John Smith"
     }
 
     /**
-     * Retrieves a paginated list of notifications for a specific user, ordered by the date sent in descending order.
+     * Retrieves the next page of notifications for a user, newest first, continuing after a cursor.
+     * <p>
+     * The page is located with a seek on (date_sent, notification_id) rather than by skipping
+     * rows, so every page costs the same no matter how far the user has scrolled, and deleting a
+     * notification does not shift later pages.
+     * Pass the date and id of the last notification of the previous page as the cursor.
+     * </p>
      *
-     * @param userId The user ID for whom notifications are retrieved.
-     * @param offset The number of rows to skip before starting to fetch the notifications.
-     * @param limit The maximum number of notifications to retrieve.
-     * @return A list of Notification objects for the user.
+     * @param userId              The user ID for whom notifications are retrieved.
+     * @param afterDateSent       The date sent of the last notification already loaded, or null for the first page.
+     * @param afterNotificationId The ID of the last notification already loaded; ignored for the first page.
+     * @param limit               The maximum number of notifications to retrieve.
+     * @return A list of Notification objects for the user, ordered by date sent and ID, both descending.
      */
-    public static List<Notification> getNotificationsForUser(int userId, int offset, int limit) {
+    public static List<Notification> getNotificationsForUserAfter(int userId, LocalDateTime afterDateSent,
+            int afterNotificationId, int limit) {
         List<Notification> notifications = new ArrayList<>();
+        // The cursor is cast to DATETIME so it compares exactly with the stored column value
         String sql = "SELECT notification_id, message, notification_type, date_sent, sender_user_id "
                    + "FROM Notifications WHERE recipient_user_id = ? "
-                   + "ORDER BY date_sent DESC "
-                   + "OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+                   + (afterDateSent == null ? "" :
+                      "AND (date_sent < CAST(? AS DATETIME) "
+                    + "OR (date_sent = CAST(? AS DATETIME) AND notification_id < ?)) ")
+                   + "ORDER BY date_sent DESC, notification_id DESC "
+                   + "OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY";
 
         DatabaseConnection dbConn = new DatabaseConnection();
 
@@ -365,9 +346,15 @@ public class StudentNotificationDAO {
             try (Connection conn = dbConn.getConnection();
                  PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-                stmt.setInt(1, userId);
-                stmt.setInt(2, offset);
-                stmt.setInt(3, limit);
+                int index = 1;
+                stmt.setInt(index++, userId);
+                if (afterDateSent != null) {
+                    Timestamp cursor = Timestamp.valueOf(afterDateSent);
+                    stmt.setTimestamp(index++, cursor);
+                    stmt.setTimestamp(index++, cursor);
+                    stmt.setInt(index++, afterNotificationId);
+                }
+                stmt.setInt(index, limit);
 
                 try (ResultSet rs = stmt.executeQuery()) {
                     while (rs.next()) {
@@ -384,13 +371,21 @@ public class StudentNotificationDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("ERROR: Failed to retrieve notifications for userId = " + userId + " � " + e.getMessage());
+            System.err.println("ERROR: Failed to retrieve notifications for userId = " + userId + ": " + e.getMessage());
         } finally {
             dbConn.closeConnection();
         }
 
+        // Load every sender on the page in one query, so rendering the page needs no further lookups
+        List<Integer> senderIds = new ArrayList<>();
+        for (Notification notification : notifications) {
+            senderIds.add(notification.getSenderUserId());
+        }
+        UserIdentityCache.getAll(senderIds);
+
         return notifications;
     }
+
     /**
      * Deletes a notification from the database based on its unique identifier.
      *
@@ -54,8 +54,8 @@ public class TeacherApproval {
 
 	/**
 	 * Approves a student's excuse for an absence on a specific date and course.
-	 * If an attendance record for that date exists, it updates the record to mark the status as 'Excused',
-	 * includes the reason, and sets the approval details. If no record exists, a new attendance record is inserted.
+	 * The attendance record for that date is upserted in a single statement: it is marked 'Excused'
+	 * with the reason and the approval details, whether or not a record already existed.
 	 * After a successful update or insert, a notification is sent to the student.
 	 * @param studentId The ID of the student whose excuse is being approved.
 	 * @param courseName The name of the course for which the excuse is being approved.
@@ -66,6 +66,17 @@ public class TeacherApproval {
 	 */
 
 	public static boolean approveExcuse(int studentId, String courseName, String dateString, String reason, int teacherId) {
+	    // Resolve both identities before borrowing a connection: on a cache miss the cache
+	    // borrows its own, and holding two per approval can exhaust the pool
+	    // Convert teacherId (from Teachers table) to userId (from Users table)
+	    UserIdentityCache.UserIdentity teacher = UserIdentityCache.getByTeacherId(teacherId);
+	    if (teacher == null) {
+	        System.err.println("No user_id found for teacher_id: " + teacherId);
+	        return false;
+	    }
+	    int teacherUserId = teacher.getUserId();
+	    UserIdentityCache.UserIdentity student = UserIdentityCache.getByStudentId(studentId);
+
 	    DatabaseConnection db = new DatabaseConnection();
 	    try {
 	        db.connectToSQLServer();
@@ -73,22 +84,6 @@ public class TeacherApproval {
 
 	        LocalDate attendanceDate = LocalDate.parse(dateString);
 
-	        // Convert teacherId (from Teachers table) to userId (from Users table)
-	        String getUserIdFromTeacher = "SELECT user_id FROM Teachers WHERE teacher_id = ?";
-	        PreparedStatement userIdStmt = conn.prepareStatement(getUserIdFromTeacher);
-	        userIdStmt.setInt(1, teacherId);
-	        ResultSet userIdRs = userIdStmt.executeQuery();
-
-	        int teacherUserId = -1;
-	        if (userIdRs.next()) {
-	            teacherUserId = userIdRs.getInt("user_id");
-	        } else {
-	            System.err.println("No user_id found for teacher_id: " + teacherId);
-	            return false;
-	        }
-	        userIdRs.close();
-	        userIdStmt.close();
-
 	        // Step 2: Get enrollment ID
 	        String enrollmentQuery = "SELECT e.enrollment_id FROM Enrollments e " +
 	                "JOIN Classes c ON e.class_id = c.class_id " +
@@ -104,57 +99,14 @@ public class TeacherApproval {
 	        while (enrollmentRs.next()) {
 	            int enrollmentId = enrollmentRs.getInt("enrollment_id");
 
-	            // Step 3: Check for existing attendance
-	            String attendanceCheck = "SELECT attendance_id FROM Attendance " +
-	                    "WHERE enrollment_id = ? AND date = ?";
-
-	            PreparedStatement attendanceStmt = conn.prepareStatement(attendanceCheck);
-	            attendanceStmt.setInt(1, enrollmentId);
-	            attendanceStmt.setDate(2, java.sql.Date.valueOf(attendanceDate));
-	            ResultSet attendanceRs = attendanceStmt.executeQuery();
-
-	            if (attendanceRs.next()) {
-	                // Update existing attendance
-	                int attendanceId = attendanceRs.getInt("attendance_id");
-	                String updateQuery = "UPDATE Attendance " +
-	                        "SET status = 'Excused', reason = ?, approval_status = 'Approved', " +
-	                        "approved_by = ?, approval_date = ? " +
-	                        "WHERE attendance_id = ?";
-	                
-	                PreparedStatement updateStmt = conn.prepareStatement(updateQuery);
-	                updateStmt.setString(1, reason);
-	                updateStmt.setInt(2, teacherUserId); // Use user_id instead of teacher_id
-	                updateStmt.setDate(3, java.sql.Date.valueOf(LocalDate.now()));
-	                updateStmt.setInt(4, attendanceId);
-	                success = updateStmt.executeUpdate() > 0;
-	                updateStmt.close();
-	            } else {
-	                // Insert new attendance
-	                String insertQuery = "INSERT INTO Attendance " +
-	                        "(enrollment_id, date, status, reason, approval_status, approved_by, approval_date) " +
-	                        "VALUES (?, ?, 'Excused', ?, 'Approved', ?, ?)";
-
-	                PreparedStatement insertStmt = conn.prepareStatement(insertQuery);
-	                insertStmt.setInt(1, enrollmentId);
-	                insertStmt.setDate(2, java.sql.Date.valueOf(attendanceDate));
-	                insertStmt.setString(3, reason);
-	                insertStmt.setInt(4, teacherUserId); // Use user_id instead of teacher_id
-	                insertStmt.setDate(5, java.sql.Date.valueOf(LocalDate.now()));
-	                success = insertStmt.executeUpdate() > 0;
-	                insertStmt.close();
-	            }
-
-	            attendanceStmt.close();
-	            attendanceRs.close();
+	            // Step 3: Upsert the attendance row for the date
+	            success = upsertDecision(conn, enrollmentId, attendanceDate, "Excused", reason,
+	                    "Approved", teacherUserId) > 0; // Use user_id instead of teacher_id
 
 	            // Step 4: Send notification if successful
 	            if (success) {
-	                String getUserIdQuery = "SELECT user_id FROM Students WHERE student_id = ?";
-	                PreparedStatement userStmt = conn.prepareStatement(getUserIdQuery);
-	                userStmt.setInt(1, studentId);
-	                ResultSet userRs = userStmt.executeQuery();
-	                if (userRs.next()) {
-	                    int recipientUserId = userRs.getInt("user_id");
+	                if (student != null) {
+	                    int recipientUserId = student.getUserId();
 	                    String message = "Your excuse on " + attendanceDate + " for " + courseName + " has been approved.";
 	                    String notifyQuery = "INSERT INTO Notifications " +
 	                            "(recipient_user_id, sender_user_id, message, notification_type, date_sent, is_read) " +
@@ -168,8 +120,6 @@ public class TeacherApproval {
 	                    notifyStmt.executeUpdate();
 	                    notifyStmt.close();
 	                }
-	                userRs.close();
-	                userStmt.close();
 	            }
 	        }
 
@@ -189,9 +139,9 @@ public class TeacherApproval {
 	
 	/**
 	 * Rejects a student's excuse for an absence on a specific date and course.
-	 * If an attendance record exists for the specified date, it is updated to mark the status as 'Absent',
-	 * clears the reason, and sets the approval status to 'Rejected'. If no record exists,
-	 * a new 'Absent' attendance record is inserted with rejection details.
+	 * The attendance record for the specified date is upserted in a single statement: it is marked
+	 * 'Absent', its reason is cleared and the approval status is set to 'Rejected', whether or not
+	 * a record already existed.
 	 * A notification is sent to the student informing them of the rejection.
 	 *
 	 * @param studentId   The ID of the student whose excuse is being rejected.
@@ -201,6 +151,16 @@ public class TeacherApproval {
 	 * @return true if the attendance record was successfully inserted or updated and the notification sent; false otherwise.
 	 */
 	public static boolean rejectExcuse(int studentId, String courseName, String dateString, int teacherId) {
+	    // Resolve both identities before borrowing a connection, as in approveExcuse
+	    // Convert teacherId to userId
+	    UserIdentityCache.UserIdentity teacher = UserIdentityCache.getByTeacherId(teacherId);
+	    if (teacher == null) {
+	        System.err.println("No user_id found for teacher_id: " + teacherId);
+	        return false;
+	    }
+	    int teacherUserId = teacher.getUserId();
+	    UserIdentityCache.UserIdentity student = UserIdentityCache.getByStudentId(studentId);
+
 	    DatabaseConnection db = new DatabaseConnection();
 	    boolean success = false;
 
@@ -210,22 +170,6 @@ public class TeacherApproval {
 
 	        LocalDate attendanceDate = LocalDate.parse(dateString);
 
-	        // Convert teacherId to userId
-	        String getUserIdFromTeacher = "SELECT user_id FROM Teachers WHERE teacher_id = ?";
-	        PreparedStatement userIdStmt = conn.prepareStatement(getUserIdFromTeacher);
-	        userIdStmt.setInt(1, teacherId);
-	        ResultSet userIdRs = userIdStmt.executeQuery();
-
-	        int teacherUserId = -1;
-	        if (userIdRs.next()) {
-	            teacherUserId = userIdRs.getInt("user_id");
-	        } else {
-	            System.err.println("No user_id found for teacher_id: " + teacherId);
-	            return false;
-	        }
-	        userIdRs.close();
-	        userIdStmt.close();
-
 	        // Get enrollment ID
 	        String enrollmentQuery = "SELECT e.enrollment_id FROM Enrollments e " +
 	                "JOIN Classes c ON e.class_id = c.class_id " +
@@ -243,69 +187,16 @@ public class TeacherApproval {
 	        while (enrollmentRs.next()) {
 	            int enrollmentId = enrollmentRs.getInt("enrollment_id");
 
-	            String attendanceCheck = "SELECT attendance_id FROM Attendance " +
-	                    "WHERE enrollment_id = ? AND date = ?";
-
-	            PreparedStatement attendanceStmt = conn.prepareStatement(attendanceCheck);
-	            attendanceStmt.setInt(1, enrollmentId);
-	            attendanceStmt.setDate(2, java.sql.Date.valueOf(attendanceDate));
-	            ResultSet attendanceRs = attendanceStmt.executeQuery();
-
-	            if (!attendanceRs.isBeforeFirst()) {
-	                // Insert absent + rejected attendance record
-	                System.out.println("No attendance record found for enrollment " + enrollmentId + " on date " + attendanceDate + ", inserting absent record.");
-
-	                String insertQuery = "INSERT INTO Attendance " +
-	                        "(enrollment_id, date, status, reason, approval_status, approved_by, approval_date) " +
-	                        "VALUES (?, ?, 'Absent', NULL, 'Rejected', ?, ?)";
-
-	                PreparedStatement insertStmt = conn.prepareStatement(insertQuery);
-	                insertStmt.setInt(1, enrollmentId);
-	                insertStmt.setDate(2, java.sql.Date.valueOf(attendanceDate));
-	                insertStmt.setInt(3, teacherUserId); // Use user_id
-	                insertStmt.setDate(4, java.sql.Date.valueOf(LocalDate.now()));
-
-	                int rowsInserted = insertStmt.executeUpdate();
-	                System.out.println("Inserted attendance rows: " + rowsInserted);
-
-	                success = rowsInserted > 0;
-	                insertStmt.close();
-
-	            } else {
-	                // Update existing attendance record(s)
-	                while (attendanceRs.next()) {
-	                    int attendanceId = attendanceRs.getInt("attendance_id");
-
-	                    String updateQuery = "UPDATE Attendance " +
-	                            "SET status = 'Absent', reason = NULL, approval_status = 'Rejected', " +
-	                            "approved_by = ?, approval_date = ? " +
-	                            "WHERE attendance_id = ?";
+	            int rowsSaved = upsertDecision(conn, enrollmentId, attendanceDate, "Absent", null,
+	                    "Rejected", teacherUserId); // Use user_id
+	            System.out.println("Saved attendance rows for enrollment " + enrollmentId + " on " + attendanceDate + ": " + rowsSaved);
 
-	                    PreparedStatement updateStmt = conn.prepareStatement(updateQuery);
-	                    updateStmt.setInt(1, teacherUserId); // Use user_id
-	                    updateStmt.setDate(2, java.sql.Date.valueOf(LocalDate.now()));
-	                    updateStmt.setInt(3, attendanceId);
-
-	                    int rowsUpdated = updateStmt.executeUpdate();
-	                    System.out.println("Updated attendance rows: " + rowsUpdated);
-
-	                    success = rowsUpdated > 0;
-	                    updateStmt.close();
-	                }
-	            }
-
-	            attendanceStmt.close();
-	            attendanceRs.close();
+	            success = rowsSaved > 0;
 
 	            // Send notification if success
 	            if (success) {
-	                String getUserIdQuery = "SELECT user_id FROM Students WHERE student_id = ?";
-	                PreparedStatement userStmt = conn.prepareStatement(getUserIdQuery);
-	                userStmt.setInt(1, studentId);
-	                ResultSet userRs = userStmt.executeQuery();
-
-	                if (userRs.next()) {
-	                    int recipientUserId = userRs.getInt("user_id");
+	                if (student != null) {
+	                    int recipientUserId = student.getUserId();
 	                    String message = "Your excuse on " + attendanceDate + " for " + courseName + " has been rejected.";
 	                    String notifyQuery = "INSERT INTO Notifications " +
 	                            "(recipient_user_id, sender_user_id, message, notification_type, date_sent, is_read) " +
@@ -319,8 +210,6 @@ public class TeacherApproval {
 	                    notifyStmt.executeUpdate();
 	                    notifyStmt.close();
 	                }
-	                userRs.close();
-	                userStmt.close();
 	            }
 	        }
 
@@ -337,6 +226,67 @@ public class TeacherApproval {
 	}
 
 
+	/**
+	 * Inserts or updates the attendance row of an enrollment on a date with the teacher's decision,
+	 * using a single MERGE keyed on (enrollment_id, date), and refreshes the enrollment's
+	 * {@link AttendanceCounters} in the same transaction. If the connection is in auto-commit
+	 * mode, the two statements are committed together before returning and the write is passed
+	 * on to {@link AttendanceAnalytics}.
+	 *
+	 * @param conn           The open connection to use.
+	 * @param enrollmentId   The enrollment the attendance row belongs to.
+	 * @param attendanceDate The attendance date.
+	 * @param status         The attendance status to record.
+	 * @param reason         The reason to record, or null to clear it.
+	 * @param approvalStatus The approval status to record.
+	 * @param approvedBy     The user ID of the teacher making the decision.
+	 * @return The number of rows inserted or updated.
+	 * @throws SQLException If the statement fails.
+	 */
+	private static int upsertDecision(Connection conn, int enrollmentId, LocalDate attendanceDate, String status,
+	        String reason, String approvalStatus, int approvedBy) throws SQLException {
+	    String sql = "MERGE INTO Attendance " + DatabaseProfile.current().mergeLockHint() + "AS t " +
+	            "USING (VALUES (?, ?, ?, ?, ?, ?, ?)) " +
+	            "AS s (enrollment_id, date, status, reason, approval_status, approved_by, approval_date) " +
+	            "ON t.enrollment_id = s.enrollment_id AND t.date = s.date " +
+	            "WHEN MATCHED THEN UPDATE SET status = s.status, reason = s.reason, " +
+	            "approval_status = s.approval_status, approved_by = s.approved_by, approval_date = s.approval_date " +
+	            "WHEN NOT MATCHED THEN INSERT " +
+	            "(enrollment_id, date, status, reason, approval_status, approved_by, approval_date) " +
+	            "VALUES (s.enrollment_id, s.date, s.status, s.reason, s.approval_status, s.approved_by, s.approval_date);";
+
+	    boolean autoCommit = conn.getAutoCommit();
+	    conn.setAutoCommit(false);
+	    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+	        AttendanceCounters.lock(conn, enrollmentId);
+
+	        stmt.setInt(1, enrollmentId);
+	        stmt.setDate(2, java.sql.Date.valueOf(attendanceDate));
+	        stmt.setString(3, status);
+	        stmt.setString(4, reason);
+	        stmt.setString(5, approvalStatus);
+	        stmt.setInt(6, approvedBy);
+	        stmt.setDate(7, java.sql.Date.valueOf(LocalDate.now()));
+	        int rows = stmt.executeUpdate();
+
+	        AttendanceCounters.refresh(conn, enrollmentId, attendanceDate);
+	        if (autoCommit) {
+	            conn.commit();
+	            AttendanceAnalytics.recordWrite(enrollmentId, attendanceDate, status);
+	        }
+	        return rows;
+	    } catch (SQLException e) {
+	        if (autoCommit) {
+	            conn.rollback();
+	        }
+	        throw e;
+	    } finally {
+	        if (autoCommit) {
+	            conn.setAutoCommit(true);
+	        }
+	    }
+	}
+
     /**
      * Checks if a user is a student based on their user ID.
      *
@@ -344,28 +294,8 @@ public class TeacherApproval {
      * @return true if the user has a student role, false otherwise.
      */
 	public static boolean isUserStudent(int userId) {
-	    DatabaseConnection db = new DatabaseConnection();
-	    boolean isStudent = false;
-	    try {
-	        db.connectToSQLServer();
-	        Connection conn = db.getConnection();
-
-	        String sql = "SELECT role FROM Users WHERE user_id = ?";
-	        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-	            stmt.setInt(1, userId);
-	            try (ResultSet rs = stmt.executeQuery()) {
-	                if (rs.next()) {
-	                    String role = rs.getString("role");
-	                    isStudent = role.equalsIgnoreCase("student");
-	                }
-	            }
-	        }
-	    } catch (SQLException e) {
-	        e.printStackTrace();
-	    } finally {
-	        db.closeConnection();
-	    }
-	    return isStudent;
+	    UserIdentityCache.UserIdentity user = UserIdentityCache.get(userId);
+	    return user != null && user.getRole() != null && user.getRole().equalsIgnoreCase("student");
 	}
 
     /**
@@ -375,29 +305,8 @@ public class TeacherApproval {
      * @return The student ID if found; -1 otherwise.
      */
 	public static int getStudentIdByUserId(int userId) {
-	    int studentId = -1;
-	    DatabaseConnection db = new DatabaseConnection();
-
-	    try {
-	        db.connectToSQLServer();
-	        Connection conn = db.getConnection();
-
-	        String sql = "SELECT student_id FROM Students WHERE user_id = ?";
-	        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-	            stmt.setInt(1, userId);
-	            try (ResultSet rs = stmt.executeQuery()) {
-	                if (rs.next()) {
-	                    studentId = rs.getInt("student_id");
-	                }
-	            }
-	        }
-	    } catch (SQLException e) {
-	        e.printStackTrace();
-	    } finally {
-	        db.closeConnection();
-	    }
-
-	    return studentId;
+	    UserIdentityCache.UserIdentity user = UserIdentityCache.get(userId);
+	    return user != null && user.getStudentId() != null ? user.getStudentId() : -1;
 	}
 	
     /**
@@ -407,28 +316,8 @@ public class TeacherApproval {
      * @return the teacher ID, or -1 if not found
      */
 	public static int getTeacherIdByUserId(int userId) {
-	    int teacherId = -1;
-	    DatabaseConnection db = new DatabaseConnection();
-
-	    try {
-	        db.connectToSQLServer();
-	        Connection conn = db.getConnection();
-
-	        String sql = "SELECT teacher_id FROM Teachers WHERE user_id = ?";
-	        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-	            stmt.setInt(1, userId);
-	            try (ResultSet rs = stmt.executeQuery()) {
-	                if (rs.next()) {
-	                    teacherId = rs.getInt("teacher_id");
-	                }
-	            }
-	        }
-	    } catch (SQLException e) {
-	        e.printStackTrace();
-	    } finally {
-	        db.closeConnection();
-	    }
-	    return teacherId;
+	    UserIdentityCache.UserIdentity user = UserIdentityCache.get(userId);
+	    return user != null && user.getTeacherId() != null ? user.getTeacherId() : -1;
 	}
 
 }
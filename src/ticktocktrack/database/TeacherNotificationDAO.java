@@ -26,24 +26,8 @@ public class TeacherNotificationDAO {
      * @return the role of the user as a lowercase string; defaults to "user"
      */
 	public static String getUserRoleByUserId(int userId) {
-	    String role = "user"; // default role if unknown
-	    String sql = "SELECT role FROM Users WHERE user_id = ?";  // adjust table/column as needed
-	    DatabaseConnection dbConn = new DatabaseConnection();
-	    try {
-	        dbConn.connectToSQLServer();
-	        try (Connection conn = dbConn.getConnection();
-	             PreparedStatement ps = conn.prepareStatement(sql)) {
-	            ps.setInt(1, userId);
-	            try (ResultSet rs = ps.executeQuery()) {
-	                if (rs.next()) {
-	                    role = rs.getString("role").toLowerCase();
-	                }
-	            }
-	        }
-	    } catch (SQLException e) {
-	        System.err.println("Error retrieving role for user_id " + userId + ": " + e.getMessage());
-	    }
-	    return role;
+	    UserIdentityCache.UserIdentity user = UserIdentityCache.get(userId);
+	    return user != null && user.getRole() != null ? user.getRole().toLowerCase() : "user"; // default role if unknown
 	}
 
     /**
@@ -133,21 +117,8 @@ public class TeacherNotificationDAO {
      * @return the associated user ID, or -1 if none found
      */
     public static int getUserIdByTeacherId(int teacherId) {
-        String sql = "SELECT user_id FROM Teachers WHERE teacher_id = ?";
-        DatabaseConnection dbConn = new DatabaseConnection();
-        try {
-            dbConn.connectToSQLServer();
-            try (Connection conn = dbConn.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
-                ps.setInt(1, teacherId);
-                try (ResultSet rs = ps.executeQuery()) {
-                    if (rs.next()) return rs.getInt("user_id");
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error retrieving user_id for teacher_id " + teacherId + ": " + e.getMessage());
-        }
-        return -1;
+        UserIdentityCache.UserIdentity teacher = UserIdentityCache.getByTeacherId(teacherId);
+        return teacher != null ? teacher.getUserId() : -1;
     }
     
     /**
@@ -182,93 +153,27 @@ public class TeacherNotificationDAO {
      * @return a string of the format "role FullName"
      */
     private static String getSenderFullNameAndRole(int userId, String role) {
-        String table;
-        switch (role.toLowerCase()) {
-            case "teacher": table = "Teachers"; break;
-            case "student": table = "Students"; break;
-            case "admin":   table = "Admins";   break;
-            default:        table = "Users";    break;
-        }
-        String sql = table.equals("Users")
-                   ? "SELECT username FROM Users WHERE user_id = ?"
-                   : String.format("SELECT first_name, last_name FROM %s WHERE user_id = ?", table);
-
-        DatabaseConnection dbConn = new DatabaseConnection();
-        String name = "";
-        try {
-            dbConn.connectToSQLServer();
-            try (Connection conn = dbConn.getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql)) {
-                ps.setInt(1, userId);
-                try (ResultSet rs = ps.executeQuery()) {
-                    if (rs.next()) {
-                        name = table.equals("Users")
-                             ? rs.getString("username")
-                             : rs.getString("first_name") + " " + rs.getString("last_name");
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error fetching sender name: " + e.getMessage());
-        }
+        UserIdentityCache.UserIdentity sender = UserIdentityCache.get(userId);
+        String name = sender != null ? sender.getFullName() : "";
         return role + " " + name;
     }
 
     /**
-     * Retrieves a paginated list of notifications for a specific user, ordered by the date sent in descending order.
+     * Retrieves the next page of notifications for a user, newest first, continuing after a cursor.
+     * Pages are located by seeking on (date_sent, notification_id), so each page costs the same
+     * however far the user has scrolled.
      *
-     * @param userId The user ID for whom notifications are retrieved.
-     * @param offset The number of rows to skip before starting to fetch the notifications.
-     * @param limit The maximum number of notifications to retrieve.
+     * @param userId              The user ID for whom notifications are retrieved.
+     * @param afterDateSent       The date sent of the last notification already loaded, or null for the first page.
+     * @param afterNotificationId The ID of the last notification already loaded; ignored for the first page.
+     * @param limit               The maximum number of notifications to retrieve.
      * @return A list of Notification objects for the user.
+     * @see StudentNotificationDAO#getNotificationsForUserAfter(int, LocalDateTime, int, int)
      */
-
-    public static List<Notification> getNotificationsForUser(int userId, int offset, int limit) {
-        List<Notification> notifications = new ArrayList<>();
-        String sql = "SELECT notification_id, message, notification_type, date_sent, sender_user_id "
-                   + "FROM Notifications WHERE recipient_user_id = ? "
-                   + "ORDER BY date_sent DESC "
-                   + "OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
-
-        DatabaseConnection dbConn = new DatabaseConnection();
-
-        try {
-            dbConn.connectToSQLServer();
-
-            try (Connection conn = dbConn.getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-                stmt.setInt(1, userId);
-                stmt.setInt(2, offset);
-                stmt.setInt(3, limit);
-
-                try (ResultSet rs = stmt.executeQuery()) {
-                    while (rs.next()) {
-                        int id = rs.getInt("notification_id");
-                        String message = rs.getString("message");
-                        String status = rs.getString("notification_type");
-                        LocalDateTime dateSent = rs.getTimestamp("date_sent").toLocalDateTime();
-                        int senderUserId = rs.getInt("sender_user_id");
-
-                        // Create the Notification object
-                        Notification notification = new Notification(message, dateSent, status, senderUserId);
-
-                        // Set the notification ID
-                        notification.setNotificationId(id);
-
-                        // Add the notification to the list
-                        notifications.add(notification);
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("ERROR: Failed to retrieve notifications for userId = " + userId
-                              + " � " + e.getMessage());
-        } finally {
-            dbConn.closeConnection();
-        }
-
-        return notifications;
+    public static List<Notification> getNotificationsForUserAfter(int userId, LocalDateTime afterDateSent,
+            int afterNotificationId, int limit) {
+        // Teacher and student feeds read the same table, so share the query
+        return StudentNotificationDAO.getNotificationsForUserAfter(userId, afterDateSent, afterNotificationId, limit);
     }
 
     /**
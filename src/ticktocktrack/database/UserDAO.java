@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import javafx.scene.control.TableView;
+import ticktocktrack.logic.UserQuery;
 import ticktocktrack.logic.UsersModel;
 
 /**
@@ -13,8 +14,6 @@ import ticktocktrack.logic.UsersModel;
  */
 public class UserDAO {
 
-    private static DatabaseConnection dbConnection = new DatabaseConnection();
-
     /**
      * Retrieves a list of all admins along with their user details.
      * 
@@ -27,6 +26,7 @@ public class UserDAO {
                 "FROM Admins a " +
                 "JOIN Users u ON a.user_id = u.user_id";
 
+        DatabaseConnection dbConnection = new DatabaseConnection();
         try {
             dbConnection.connectToSQLServer();
             Connection conn = dbConnection.getConnection();
@@ -66,6 +66,7 @@ public class UserDAO {
                 "FROM Teachers t " +
                 "JOIN Users u ON t.user_id = u.user_id";
 
+        DatabaseConnection dbConnection = new DatabaseConnection();
         try {
             dbConnection.connectToSQLServer();
             Connection conn = dbConnection.getConnection();
@@ -107,6 +108,7 @@ public class UserDAO {
                 "FROM Students s " +
                 "JOIN Users u ON s.user_id = u.user_id";
 
+        DatabaseConnection dbConnection = new DatabaseConnection();
         try {
             dbConnection.connectToSQLServer();
             Connection conn = dbConnection.getConnection();
@@ -132,6 +134,7 @@ public class UserDAO {
         } catch (SQLException e) {
             e.printStackTrace();
         } finally {
+            dbConnection.closeConnection();
         }
 
         return list;
@@ -157,6 +160,7 @@ public class UserDAO {
                 "WHERE u.username <> 'headadmin'";
 
 
+        DatabaseConnection dbConnection = new DatabaseConnection();
         try {
             dbConnection.connectToSQLServer();
             Connection conn = dbConnection.getConnection();
@@ -215,6 +219,7 @@ public class UserDAO {
                 "JOIN Users u ON t.user_id = u.user_id " +
                 "LEFT JOIN Admins ca ON u.created_by_admin_id = ca.admin_id";
 
+        DatabaseConnection dbConnection = new DatabaseConnection();
         try {
             dbConnection.connectToSQLServer();
             Connection conn = dbConnection.getConnection();
@@ -275,6 +280,7 @@ public class UserDAO {
                 "JOIN Users u ON s.user_id = u.user_id " +
                 "LEFT JOIN Admins ca ON u.created_by_admin_id = ca.admin_id";
 
+        DatabaseConnection dbConnection = new DatabaseConnection();
         try {
             dbConnection.connectToSQLServer();
             Connection conn = dbConnection.getConnection();
@@ -319,6 +325,196 @@ public class UserDAO {
         return list;
     }
 
+    /** Most search matches the paged queries look up by id; broader searches use LIKE. */
+    static final int MAX_INDEXED_MATCHES = 500;
+
+    /**
+     * Retrieves one page of the user directory, filtered and ordered by the database.
+     * Paging is by keyset: pass the last user of the previous page as {@code after} and
+     * the next page starts right behind it, so deep pages cost the same as the first one.
+     * Search text is matched through the {@link UserSearch} index once it is loaded.
+     *
+     * @param query the role, year level, program and search filters, and the order
+     * @param after the last user of the previous page, or null for the first page
+     * @param limit the maximum number of users to return
+     * @return List of UsersModel objects with the same details as {@link #manageStudents()}.
+     */
+    public static List<UsersModel> findUsers(UserQuery query, UsersModel after, int limit) {
+        List<UsersModel> list = new ArrayList<>();
+        String sortColumn = sortColumn(query.getSort());
+        String direction = query.isDescending() ? "DESC" : "ASC";
+        String seek = query.isDescending() ? "<" : ">";
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT u.user_id, u.username, u.email, u.role, u.date_created, " +
+                "a.admin_id, t.teacher_id, s.student_id, " +
+                "COALESCE(s.first_name, t.first_name, a.first_name) AS first_name, " +
+                "s.middle_name, " +
+                "COALESCE(s.last_name, t.last_name, a.last_name) AS last_name, " +
+                "s.year_level, s.program, s.section, " +
+                "ca.first_name AS created_by_first_name, " +
+                "ca.last_name AS created_by_last_name " +
+                "FROM Users u " +
+                "LEFT JOIN Admins a ON a.user_id = u.user_id " +
+                "LEFT JOIN Teachers t ON t.user_id = u.user_id " +
+                "LEFT JOIN Students s ON s.user_id = u.user_id " +
+                "LEFT JOIN Admins ca ON u.created_by_admin_id = ca.admin_id " +
+                "WHERE 1 = 1 ");
+        List<Object> params = new ArrayList<>();
+
+        if (query.getRole() != null) {
+            sql.append("AND u.role = ? ");
+            params.add(query.getRole());
+        }
+        if (query.isExcludeHeadAdmin()) {
+            sql.append("AND u.username <> 'headadmin' ");
+        }
+        if (query.getYearLevel() != null) {
+            sql.append("AND s.year_level = ? ");
+            params.add(query.getYearLevel());
+        }
+        if (query.getProgram() != null) {
+            sql.append("AND s.program = ? ");
+            params.add(query.getProgram());
+        }
+        int[] matches = query.getSearch() == null ? null
+                : UserSearch.matching(query.getSearch(), MAX_INDEXED_MATCHES);
+        if (matches != null) {
+            if (matches.length == 0) {
+                return list;
+            }
+            // The ids come from the search index, so they are written into the statement
+            sql.append("AND u.user_id IN (");
+            for (int i = 0; i < matches.length; i++) {
+                sql.append(i == 0 ? "" : ", ").append(matches[i]);
+            }
+            sql.append(") ");
+        } else if (query.getSearch() != null) {
+            String pattern = "%" + escapeLike(query.getSearch()) + "%";
+            sql.append("AND (u.username LIKE ? ESCAPE '!' OR u.email LIKE ? ESCAPE '!' " +
+                    "OR s.first_name LIKE ? ESCAPE '!' OR s.last_name LIKE ? ESCAPE '!' " +
+                    "OR t.first_name LIKE ? ESCAPE '!' OR t.last_name LIKE ? ESCAPE '!' " +
+                    "OR a.first_name LIKE ? ESCAPE '!' OR a.last_name LIKE ? ESCAPE '!') ");
+            for (int i = 0; i < 8; i++) {
+                params.add(pattern);
+            }
+        }
+        if (after != null) {
+            if (sortColumn == null) {
+                sql.append("AND u.user_id ").append(seek).append(" ? ");
+            } else {
+                String afterValue = sortValue(query.getSort(), after);
+                sql.append("AND (").append(sortColumn).append(' ').append(seek).append(" ? OR (")
+                   .append(sortColumn).append(" = ? AND u.user_id ").append(seek).append(" ?)) ");
+                params.add(afterValue);
+                params.add(afterValue);
+            }
+            params.add(after.getUserId());
+        }
+
+        sql.append("ORDER BY ");
+        if (sortColumn != null) {
+            sql.append(sortColumn).append(' ').append(direction).append(", ");
+        }
+        sql.append("u.user_id ").append(direction).append(' ');
+        sql.append("OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY");
+        params.add(limit);
+
+        DatabaseConnection dbConnection = new DatabaseConnection();
+        try {
+            dbConnection.connectToSQLServer();
+            Connection conn = dbConnection.getConnection();
+            try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+                for (int i = 0; i < params.size(); i++) {
+                    ps.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String createdByName = null;
+                        String createdByFirstName = rs.getString("created_by_first_name");
+                        String createdByLastName = rs.getString("created_by_last_name");
+                        if (createdByFirstName != null || createdByLastName != null) {
+                            createdByName = (createdByFirstName != null ? createdByFirstName : "") +
+                                            (createdByLastName != null ? " " + createdByLastName : "");
+                        }
+
+                        UsersModel user = new UsersModel(
+                            rs.getInt("user_id"),
+                            rs.getString("username"),
+                            rs.getString("email"),
+                            rs.getString("role")
+                        );
+
+                        int adminId = rs.getInt("admin_id");
+                        if (!rs.wasNull()) {
+                            user.setAdminId(adminId);
+                        }
+                        int teacherId = rs.getInt("teacher_id");
+                        if (!rs.wasNull()) {
+                            user.setTeacherId(teacherId);
+                        }
+                        int studentId = rs.getInt("student_id");
+                        if (!rs.wasNull()) {
+                            user.setStudentId(studentId);
+                        }
+                        user.setFirstName(rs.getString("first_name"));
+                        user.setMiddleName(rs.getString("middle_name"));
+                        user.setLastName(rs.getString("last_name"));
+                        user.setYearLevel(rs.getString("year_level"));
+                        user.setProgram(rs.getString("program"));
+                        user.setSection(rs.getString("section"));
+                        user.setCreatedByName(createdByName);
+                        user.setDateCreated(rs.getString("date_created"));
+
+                        list.add(user);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            dbConnection.closeConnection();
+        }
+
+        return list;
+    }
+
+    /**
+     * Escapes the LIKE wildcards in user text, for a pattern declared with {@code ESCAPE '!'}.
+     *
+     * @param text the text to match literally
+     * @return the escaped text
+     */
+    static String escapeLike(String text) {
+        return text.replace("!", "!!").replace("%", "!%").replace("_", "!_").replace("[", "![");
+    }
+
+    /**
+     * Returns the expression {@link #findUsers} orders by, or null when ordering by user ID alone.
+     * Names are coalesced to an empty string so that every row has a value to seek past.
+     */
+    private static String sortColumn(UserQuery.Sort sort) {
+        return switch (sort) {
+            case USERNAME -> "u.username";
+            case EMAIL -> "u.email";
+            case FIRST_NAME -> "COALESCE(s.first_name, t.first_name, a.first_name, '')";
+            case LAST_NAME -> "COALESCE(s.last_name, t.last_name, a.last_name, '')";
+            default -> null;
+        };
+    }
+
+    /** Returns the value of the sort column for a user returned by {@link #findUsers}. */
+    private static String sortValue(UserQuery.Sort sort, UsersModel user) {
+        String value = switch (sort) {
+            case USERNAME -> user.getUsername();
+            case EMAIL -> user.getEmail();
+            case FIRST_NAME -> user.getFirstName();
+            case LAST_NAME -> user.getLastName();
+            default -> null;
+        };
+        return value != null ? value : "";
+    }
+
     /**
      * Deletes a user by their user ID, including cleaning up all related data such as:
      * - Nullifying created_by_admin_id references to this user
@@ -355,6 +551,7 @@ public class UserDAO {
         String deleteStudent = "DELETE FROM Students WHERE user_id = ?";
         String deleteUser = "DELETE FROM Users WHERE user_id = ?";
 
+        DatabaseConnection dbConnection = new DatabaseConnection();
         try {
             dbConnection.connectToSQLServer();
             Connection conn = dbConnection.getConnection();
@@ -406,6 +603,8 @@ public class UserDAO {
                 int affected = psDeleteUser.executeUpdate();
 
                 conn.commit(); // Commit transaction
+                UserIdentityCache.invalidate(userId);
+                UserSearch.removeUser(userId);
                 return affected > 0;
             } catch (SQLException e) {
                 conn.rollback();
@@ -435,6 +634,7 @@ public class UserDAO {
         String updateTeacherSQL = "UPDATE Teachers SET first_name = ?, last_name = ? WHERE user_id = ?";
         String updateAdminSQL = "UPDATE Admins SET first_name = ?, last_name = ? WHERE user_id = ?";
 
+        DatabaseConnection dbConnection = new DatabaseConnection();
         try {
             dbConnection.connectToSQLServer();
             Connection conn = dbConnection.getConnection();
@@ -478,6 +678,9 @@ public class UserDAO {
                 }
 
                 conn.commit(); // Commit all changes
+                UserIdentityCache.invalidate(user.getUserId());
+                UserSearch.recordUser(user.getUserId(), user.getUsername(), user.getEmail(),
+                        user.getFirstName(), user.getLastName());
                 return true;
             } catch (SQLException e) {
                 conn.rollback();
@@ -0,0 +1,371 @@
+package ticktocktrack.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A shared, bounded cache of who a user is: username, role, display name, profile
+ * picture path and, where applicable, student or teacher ID.
+ * <p>
+ * Notification rendering and sending look these up for every row; with the cache a
+ * warm page of notifications needs no extra queries, and a cold page needs one.
+ * Entries expire after {@code ttlSeconds} so changes made by other clients are picked
+ * up, and the least recently used entries are dropped beyond {@code maxSize}. Settings
+ * are read from system properties, for example
+ * {@code -Dticktocktrack.cache.identity.ttlSeconds=300}.
+ * </p>
+ * Code that changes a user's name, role or profile picture must call
+ * {@link #invalidate(int)} afterwards.
+ */
+public class UserIdentityCache {
+
+    private static final String PROPERTY_PREFIX = "ticktocktrack.cache.identity.";
+
+    private static final int MAX_SIZE = Integer.getInteger(PROPERTY_PREFIX + "maxSize", 1000);
+
+    private static final long TTL_MS = Long.getLong(PROPERTY_PREFIX + "ttlSeconds", 600) * 1000;
+
+    /** SQL Server accepts at most 2100 parameters per statement; stay well below. */
+    private static final int MAX_IN_LIST = 500;
+
+    private static final String SELECT_IDENTITY =
+            "SELECT u.user_id, u.username, u.role, u.profile_path, s.student_id, t.teacher_id, " +
+            "COALESCE(s.first_name, t.first_name, a.first_name) AS first_name, " +
+            "COALESCE(s.last_name, t.last_name, a.last_name) AS last_name " +
+            "FROM Users u " +
+            "LEFT JOIN Students s ON s.user_id = u.user_id " +
+            "LEFT JOIN Teachers t ON t.user_id = u.user_id " +
+            "LEFT JOIN Admins a ON a.user_id = u.user_id ";
+
+    /**
+     * The cached facts about one user.
+     */
+    public static final class UserIdentity {
+        private final int userId;
+        private final String username;
+        private final String role;
+        private final String firstName;
+        private final String lastName;
+        private final String profilePath;
+        private final Integer studentId;
+        private final Integer teacherId;
+
+        UserIdentity(int userId, String username, String role, String firstName, String lastName,
+                String profilePath, Integer studentId, Integer teacherId) {
+            this.userId = userId;
+            this.username = username;
+            this.role = role;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.profilePath = profilePath;
+            this.studentId = studentId;
+            this.teacherId = teacherId;
+        }
+
+        /** @return the user ID */
+        public int getUserId() {
+            return userId;
+        }
+
+        /** @return the username */
+        public String getUsername() {
+            return username;
+        }
+
+        /** @return the role as stored in the Users table, e.g. "Teacher" */
+        public String getRole() {
+            return role;
+        }
+
+        /** @return the profile picture path, or null if the user has none */
+        public String getProfilePath() {
+            return profilePath;
+        }
+
+        /** @return the student ID, or null if the user is not a student */
+        public Integer getStudentId() {
+            return studentId;
+        }
+
+        /** @return the teacher ID, or null if the user is not a teacher */
+        public Integer getTeacherId() {
+            return teacherId;
+        }
+
+        /**
+         * Returns the name shown to other users: first and last name from the role table
+         * for students, teachers and admins, otherwise the username.
+         *
+         * @return the display name
+         */
+        public String getFullName() {
+            if (role != null && (role.equalsIgnoreCase("student") || role.equalsIgnoreCase("teacher")
+                    || role.equalsIgnoreCase("admin"))) {
+                return firstName + " " + lastName;
+            }
+            return username;
+        }
+    }
+
+    private static final class Entry {
+        final UserIdentity identity;
+        final long loadedAt;
+
+        Entry(UserIdentity identity) {
+            this.identity = identity;
+            this.loadedAt = System.currentTimeMillis();
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() - loadedAt > TTL_MS;
+        }
+    }
+
+    private static final Object LOCK = new Object();
+
+    /** Entries by user ID in access order, so the eldest is the least recently used. */
+    private static final LinkedHashMap<Integer, Entry> BY_USER_ID = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+            if (size() > MAX_SIZE) {
+                unindex(eldest.getValue().identity);
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private static final Map<Integer, Integer> USER_ID_BY_STUDENT_ID = new HashMap<>();
+    private static final Map<Integer, Integer> USER_ID_BY_TEACHER_ID = new HashMap<>();
+
+    /**
+     * Bumped on every invalidation, so a load that was already running when a user changed
+     * does not put the old values back into the cache.
+     */
+    private static long generation = 0;
+
+    private UserIdentityCache() {
+        // Static helper
+    }
+
+    /**
+     * Returns the identity of a user, loading it on a miss.
+     *
+     * @param userId the user ID
+     * @return the identity, or null if no such user exists or it could not be loaded
+     */
+    public static UserIdentity get(int userId) {
+        UserIdentity cached = lookup(userId);
+        if (cached != null) {
+            return cached;
+        }
+        return load("WHERE u.user_id = ?", userId);
+    }
+
+    /**
+     * Returns the identity of the user behind a student ID, loading it on a miss.
+     *
+     * @param studentId the student ID
+     * @return the identity, or null if no such student exists or it could not be loaded
+     */
+    public static UserIdentity getByStudentId(int studentId) {
+        Integer userId;
+        synchronized (LOCK) {
+            userId = USER_ID_BY_STUDENT_ID.get(studentId);
+        }
+        UserIdentity cached = userId != null ? lookup(userId) : null;
+        if (cached != null) {
+            return cached;
+        }
+        return load("WHERE s.student_id = ?", studentId);
+    }
+
+    /**
+     * Returns the identity of the user behind a teacher ID, loading it on a miss.
+     *
+     * @param teacherId the teacher ID
+     * @return the identity, or null if no such teacher exists or it could not be loaded
+     */
+    public static UserIdentity getByTeacherId(int teacherId) {
+        Integer userId;
+        synchronized (LOCK) {
+            userId = USER_ID_BY_TEACHER_ID.get(teacherId);
+        }
+        UserIdentity cached = userId != null ? lookup(userId) : null;
+        if (cached != null) {
+            return cached;
+        }
+        return load("WHERE t.teacher_id = ?", teacherId);
+    }
+
+    /**
+     * Returns the identities of several users, loading every miss with a single query.
+     * Used to warm the cache for a page of notifications before it is rendered.
+     *
+     * @param userIds the user IDs
+     * @return the identities found, keyed by user ID
+     */
+    public static Map<Integer, UserIdentity> getAll(Collection<Integer> userIds) {
+        Map<Integer, UserIdentity> found = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer userId : new LinkedHashSet<>(userIds)) {
+            UserIdentity cached = lookup(userId);
+            if (cached != null) {
+                found.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        for (int from = 0; from < missing.size(); from += MAX_IN_LIST) {
+            List<Integer> chunk = missing.subList(from, Math.min(from + MAX_IN_LIST, missing.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            for (UserIdentity identity : query("WHERE u.user_id IN (" + placeholders + ")", chunk)) {
+                found.put(identity.getUserId(), identity);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Drops a user's cached identity so the next lookup reads it again.
+     *
+     * @param userId the user whose details changed
+     */
+    public static void invalidate(int userId) {
+        synchronized (LOCK) {
+            generation++;
+            Entry removed = BY_USER_ID.remove(userId);
+            if (removed != null) {
+                unindex(removed.identity);
+            }
+        }
+    }
+
+    /**
+     * Drops every cached identity.
+     */
+    public static void invalidateAll() {
+        synchronized (LOCK) {
+            generation++;
+            BY_USER_ID.clear();
+            USER_ID_BY_STUDENT_ID.clear();
+            USER_ID_BY_TEACHER_ID.clear();
+        }
+    }
+
+    private static UserIdentity lookup(int userId) {
+        synchronized (LOCK) {
+            Entry entry = BY_USER_ID.get(userId);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired()) {
+                BY_USER_ID.remove(userId);
+                unindex(entry.identity);
+                return null;
+            }
+            return entry.identity;
+        }
+    }
+
+    private static UserIdentity load(String where, int key) {
+        List<UserIdentity> loaded = query(where, List.of(key));
+        return loaded.isEmpty() ? null : loaded.get(0);
+    }
+
+    /**
+     * Runs the identity query with the given filter and caches every row it returns.
+     * Queries run outside the lock so a slow database never blocks cache hits.
+     */
+    private static List<UserIdentity> query(String where, List<Integer> keys) {
+        List<UserIdentity> loaded = new ArrayList<>();
+        long startGeneration;
+        synchronized (LOCK) {
+            startGeneration = generation;
+        }
+
+        DatabaseConnection dbConn = new DatabaseConnection();
+        try {
+            dbConn.connectToSQLServer();
+            try (Connection conn = dbConn.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(SELECT_IDENTITY + where)) {
+                for (int i = 0; i < keys.size(); i++) {
+                    ps.setInt(i + 1, keys.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        int studentId = rs.getInt("student_id");
+                        boolean isStudent = !rs.wasNull();
+                        int teacherId = rs.getInt("teacher_id");
+                        boolean isTeacher = !rs.wasNull();
+
+                        loaded.add(new UserIdentity(
+                                rs.getInt("user_id"),
+                                rs.getString("username"),
+                                rs.getString("role"),
+                                rs.getString("first_name"),
+                                rs.getString("last_name"),
+                                rs.getString("profile_path"),
+                                isStudent ? studentId : null,
+                                isTeacher ? teacherId : null));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading user identities: " + e.getMessage());
+        } finally {
+            dbConn.closeConnection();
+        }
+
+        synchronized (LOCK) {
+            if (generation != startGeneration) {
+                return loaded; // a user changed while loading; serve the result without caching it
+            }
+            for (UserIdentity identity : loaded) {
+                Entry previous = BY_USER_ID.put(identity.getUserId(), new Entry(identity));
+                if (previous != null) {
+                    unindex(previous.identity);
+                }
+                if (identity.getStudentId() != null) {
+                    USER_ID_BY_STUDENT_ID.put(identity.getStudentId(), identity.getUserId());
+                }
+                if (identity.getTeacherId() != null) {
+                    USER_ID_BY_TEACHER_ID.put(identity.getTeacherId(), identity.getUserId());
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /** Removes the secondary keys of an identity; callers hold {@link #LOCK}. */
+    private static void unindex(UserIdentity identity) {
+        if (identity.getStudentId() != null) {
+            USER_ID_BY_STUDENT_ID.remove(identity.getStudentId(), identity.getUserId());
+        }
+        if (identity.getTeacherId() != null) {
+            USER_ID_BY_TEACHER_ID.remove(identity.getTeacherId(), identity.getUserId());
+        }
+    }
+
+    /**
+     * Returns how many identities are currently cached.
+     *
+     * @return the number of cached identities
+     */
+    public static int size() {
+        synchronized (LOCK) {
+            return BY_USER_ID.size();
+        }
+    }
+}
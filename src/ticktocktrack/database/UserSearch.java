@@ -0,0 +1,157 @@
+package ticktocktrack.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import ticktocktrack.logic.UserSearchIndex;
+
+/**
+ * Holds the application's {@link UserSearchIndex}: the searchable fields of every user,
+ * loaded once from the database and kept up to date by the account changes made in this
+ * process.
+ * <p>
+ * The index is loaded in the background the first time {@link #matching(String, int)} is
+ * called; until it is ready callers get null and should search with their query instead.
+ * Changes made by other clients are picked up when the index is reloaded after
+ * {@code ttlSeconds}, in the background, while the old index keeps serving searches.
+ * Settings are read from system properties, for example
+ * {@code -Dticktocktrack.search.ttlSeconds=300}; set {@code ticktocktrack.search.enabled=false}
+ * to never load it.
+ * </p>
+ * Code that creates or edits a user must call {@link #recordUser} after committing, code
+ * that deletes one must call {@link #removeUser(int)}, and code that changes users in bulk
+ * must call {@link #invalidate()}.
+ */
+public class UserSearch {
+
+    private static final String SELECT_USERS =
+            "SELECT u.user_id, u.username, u.email, " +
+            "COALESCE(s.first_name, t.first_name, a.first_name) AS first_name, " +
+            "COALESCE(s.last_name, t.last_name, a.last_name) AS last_name " +
+            "FROM Users u " +
+            "LEFT JOIN Students s ON s.user_id = u.user_id " +
+            "LEFT JOIN Teachers t ON t.user_id = u.user_id " +
+            "LEFT JOIN Admins a ON a.user_id = u.user_id";
+
+    private static final BackgroundCache<UserSearchIndex> CACHE =
+            new BackgroundCache<>("ticktocktrack.search.", "the user search index", UserSearch::load);
+
+    private UserSearch() {
+        // Static helper
+    }
+
+    /**
+     * Returns the users whose username, email, first name or last name contains the text,
+     * starting a background load if the index is not loaded yet or has expired.
+     *
+     * @param text       the text typed in a search box
+     * @param maxResults the most user ids the caller can use
+     * @return the matching user ids in ascending order, or null if the index is not loaded
+     *         or more than {@code maxResults} users match
+     */
+    public static int[] matching(String text, int maxResults) {
+        UserSearchIndex loaded = getIfLoaded();
+        return loaded != null ? loaded.search(text, maxResults) : null;
+    }
+
+    /**
+     * Returns the loaded index, starting a background load if there is none yet or the
+     * loaded one has expired.
+     *
+     * @return the index, or null if it is disabled or not loaded yet
+     */
+    public static UserSearchIndex getIfLoaded() {
+        return CACHE.getIfLoaded();
+    }
+
+    /**
+     * Applies a committed user creation or edit to the loaded index.
+     *
+     * @param userId    the user that was saved
+     * @param username  the username
+     * @param email     the email address
+     * @param firstName the first name, or null
+     * @param lastName  the last name, or null
+     */
+    public static void recordUser(int userId, String username, String email, String firstName, String lastName) {
+        CACHE.apply(loaded -> {
+            loaded.put(userId, username, email, firstName, lastName);
+            return true;
+        });
+    }
+
+    /**
+     * Applies a committed user deletion to the loaded index.
+     *
+     * @param userId the user that was deleted
+     */
+    public static void removeUser(int userId) {
+        CACHE.apply(loaded -> {
+            loaded.remove(userId);
+            return true;
+        });
+    }
+
+    /**
+     * Drops the loaded index and any load in progress, so the next use loads it again.
+     */
+    public static void invalidate() {
+        CACHE.invalidate();
+    }
+
+    /**
+     * Reads every user into a new index.
+     *
+     * @return the loaded index
+     * @throws SQLException if the query fails
+     */
+    static UserSearchIndex load() throws SQLException {
+        DatabaseConnection dbConn = new DatabaseConnection();
+        try {
+            dbConn.connectToSQLServer();
+            Connection conn = dbConn.getConnection();
+            UserSearchIndex loaded = new UserSearchIndex();
+            try (PreparedStatement ps = conn.prepareStatement(SELECT_USERS)) {
+                ps.setFetchSize(BackgroundCache.FETCH_SIZE);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        loaded.put(rs.getInt("user_id"), rs.getString("username"), rs.getString("email"),
+                                rs.getString("first_name"), rs.getString("last_name"));
+                    }
+                }
+            }
+            return loaded;
+        } finally {
+            dbConn.closeConnection();
+        }
+    }
+
+    /**
+     * Loads the index, prints its size, and times a search for each argument.
+     *
+     * @param args texts to search for
+     */
+    public static void main(String[] args) {
+        try {
+            long start = System.nanoTime();
+            UserSearchIndex loaded = load();
+            long loadMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("Indexed " + loaded.size() + " users in " + loadMillis + " ms, about "
+                    + loaded.estimatedBytes() / 1024 + " KiB.");
+
+            for (String text : args) {
+                start = System.nanoTime();
+                int[] found = loaded.search(text, Integer.MAX_VALUE);
+                long micros = (System.nanoTime() - start) / 1_000;
+                System.out.println("'" + text + "': " + found.length + " users (" + micros + " us)");
+            }
+            System.exit(0);
+        } catch (SQLException e) {
+            System.err.println("Error loading the user search index: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package ticktocktrack.gui;
 
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
@@ -31,7 +30,7 @@ public class AdminAttendanceReportsCenterPanel {
 
         // Shadow image
         String shadowPath = AdminAttendanceReportsCenterPanel.class.getResource("/resources/SHADOW.png").toExternalForm();
-        ImageView shadowView = new ImageView(new Image(shadowPath));
+        ImageView shadowView = new ImageView(ImageCache.get(shadowPath));
         shadowView.setFitWidth(1300);
         shadowView.setFitHeight(250);
         shadowView.setLayoutX(0);
@@ -1,5 +1,14 @@
 package ticktocktrack.gui;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.layout.Pane;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -8,6 +17,10 @@ import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.scene.paint.Color;
 import javafx.scene.Cursor;
+import javafx.stage.FileChooser;
+import ticktocktrack.database.AsyncDatabase;
+import ticktocktrack.database.DatabaseRegistrationManager;
+import ticktocktrack.database.StudentImport;
 
 /**
  * Represents the center panel UI for the admin dashboard section where new users (Faculty and Students) can be created.
@@ -36,7 +49,7 @@ public class AdminCreateUsersCenterPanel {
 
         // Shadow Image
         String shadowPath = AdminCreateUsersCenterPanel.class.getResource("/resources/SHADOW.png").toExternalForm();
-        ImageView shadowView = new ImageView(new Image(shadowPath));
+        ImageView shadowView = new ImageView(ImageCache.get(shadowPath));
         shadowView.setFitWidth(1300);
         shadowView.setFitHeight(250);
         shadowView.setLayoutX(0);
@@ -90,12 +103,70 @@ public class AdminCreateUsersCenterPanel {
             centerPanel.getChildren().add(studentRegistration);
         });
 
+        // Bulk import of a CSV file of students
+        Button importButton = new Button("Import Students from CSV");
+        importButton.setFont(Font.font("Poppins", FontWeight.BOLD, 14));
+        importButton.setStyle("-fx-background-color: #02383E; -fx-text-fill: white; -fx-background-radius: 10;");
+        importButton.setPrefSize(325, 40);
+        importButton.setLayoutX(600);
+        importButton.setLayoutY(480);
+        importButton.setOnAction(event -> importStudents(importButton));
+
         // Add all elements
-        centerPanel.getChildren().addAll(shadowView, createUsersTitle, facultyPane, studentPane);
+        centerPanel.getChildren().addAll(shadowView, createUsersTitle, facultyPane, studentPane, importButton);
 
         return centerPanel;
     }
 
+    /**
+     * Asks for a CSV file of students and imports it in the background. Rows that could
+     * not be imported are written next to the file as {@code <name>-errors.csv}.
+     *
+     * @param importButton the button that started the import, disabled while it runs
+     */
+    private static void importStudents(Button importButton) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Select Students CSV");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        File csvFile = fileChooser.showOpenDialog(importButton.getScene().getWindow());
+        if (csvFile == null) {
+            return;
+        }
+        Path reportFile = csvFile.toPath().resolveSibling(csvFile.getName().replaceFirst("(\\.csv)?$", "-errors.csv"));
+
+        importButton.setDisable(true);
+        importButton.setText("Importing...");
+        CompletableFuture<StudentImport.Result> result = AsyncDatabase.supply(() -> {
+            int adminId;
+            try (Connection conn = DatabaseRegistrationManager.getConnection()) {
+                adminId = DatabaseRegistrationManager.getCurrentAdminId(conn);
+            }
+            try {
+                return StudentImport.importFile(csvFile.toPath(), reportFile, adminId);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        FxAsync.apply(result, imported -> {
+            importButton.setDisable(false);
+            importButton.setText("Import Students from CSV");
+            Alert alert = new Alert(imported.getFailed() == 0 ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING);
+            alert.setTitle("Import Students");
+            alert.setHeaderText(imported.getImported() + " students imported");
+            alert.setContentText(imported.getFailed() == 0 ? "Every row was imported."
+                    : imported.getFailed() + " rows could not be imported. See " + reportFile + " for the reasons.");
+            alert.showAndWait();
+        }, error -> {
+            importButton.setDisable(false);
+            importButton.setText("Import Students from CSV");
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Import Students");
+            alert.setHeaderText("Import failed");
+            alert.setContentText(error instanceof UncheckedIOException ? error.getCause().getMessage() : error.getMessage());
+            alert.showAndWait();
+        });
+    }
+
     /**
      * Creates a user selection pane with an image and label, styled with hover effects.
      *
@@ -116,7 +187,7 @@ public class AdminCreateUsersCenterPanel {
                      + "-fx-border-radius: 20px; "
                      + "-fx-background-radius: 20px;");
 
-        ImageView imageView = new ImageView(new Image(AdminCreateUsersCenterPanel.class.getResource(imagePath).toExternalForm()));
+        ImageView imageView = new ImageView(ImageCache.get(AdminCreateUsersCenterPanel.class.getResource(imagePath).toExternalForm()));
         imageView.setFitWidth(225);
         imageView.setFitHeight(225);
         imageView.setLayoutX(50);
@@ -274,7 +274,7 @@ public class AdminDashboardCenterPanel {
             System.err.println("ERROR: Image resource not found: " + resourcePath);
             return new ImageView(); // return empty to prevent crash
         }
-        ImageView imageView = new ImageView(new Image(resourceUrl.toExternalForm()));
+        ImageView imageView = new ImageView(ImageCache.get(resourceUrl.toExternalForm()));
         imageView.setFitWidth(width);
         imageView.setFitHeight(height);
         imageView.setLayoutX(x);
@@ -94,7 +94,7 @@ public class AdminDashboardPage extends Application {
        
         // Logo
         String logoPath = getClass().getResource("/resources/TTT_logo.png").toExternalForm();
-        ImageView logoView = new ImageView(new Image(logoPath));
+        ImageView logoView = new ImageView(ImageCache.get(logoPath));
         logoView.setFitWidth(85);
         logoView.setFitHeight(85);
         logoView.setLayoutX(17);
@@ -111,7 +111,7 @@ public class AdminDashboardPage extends Application {
         String userIconPath = getClass().getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm();
 
         Image profileImage = UserIconUpdate.getCurrentUserProfileImage();
-        Image userImage = profileImage != null ? profileImage : new Image(userIconPath);
+        Image userImage = profileImage != null ? profileImage : ImageCache.get(userIconPath);
 
         userIcon = new ImageView(userImage);
         userIcon.setFitWidth(67);
@@ -172,7 +172,7 @@ public class AdminDashboardPage extends Application {
 
         // Dashboard icon
         String dashboardIconPath = getClass().getResource("/resources/Dashboard_icon.png").toExternalForm();
-        ImageView dashboardIcon = new ImageView(new Image(dashboardIconPath));
+        ImageView dashboardIcon = new ImageView(ImageCache.get(dashboardIconPath));
         dashboardIcon.setFitWidth(35);
         dashboardIcon.setFitHeight(35);
         dashboardIcon.setLayoutX(46);
@@ -213,7 +213,7 @@ public class AdminDashboardPage extends Application {
 
         // Line under dashboard
         String line1Path = getClass().getResource("/resources/Line1.png").toExternalForm();
-        ImageView line1 = new ImageView(new Image(line1Path));
+        ImageView line1 = new ImageView(ImageCache.get(line1Path));
         line1.setFitWidth(180);
         line1.setFitHeight(2);
         line1.setLayoutX(30);
@@ -221,7 +221,7 @@ public class AdminDashboardPage extends Application {
      
         // Add Icon
         String addIconPath = getClass().getResource("/resources/Admin_Dashboard/Admin_add_icon.png").toExternalForm();
-        ImageView addIcon = new ImageView(new Image(addIconPath));
+        ImageView addIcon = new ImageView(ImageCache.get(addIconPath));
         addIcon.setFitWidth(31);
         addIcon.setFitHeight(31);
         addIcon.setLayoutX(46);
@@ -257,7 +257,7 @@ public class AdminDashboardPage extends Application {
         
      // View All icon image
         String viewAllPath = getClass().getResource("/resources/Admin_Dashboard/Admin_view_all_icon.png").toExternalForm();
-        ImageView viewAllIcon = new ImageView(new Image(viewAllPath));
+        ImageView viewAllIcon = new ImageView(ImageCache.get(viewAllPath));
         viewAllIcon.setFitWidth(42);
         viewAllIcon.setFitHeight(42);
         viewAllIcon.setLayoutX(46); // x position
@@ -295,7 +295,7 @@ public class AdminDashboardPage extends Application {
         
         // Line 2 image
         String line2Path = getClass().getResource("/resources/Line2.png").toExternalForm();
-        ImageView line2 = new ImageView(new Image(line2Path));
+        ImageView line2 = new ImageView(ImageCache.get(line2Path));
         line2.setFitWidth(180);  // width of line 2
         line2.setFitHeight(0);   // height of line 2 (0 for a thin line)
         line2.setLayoutX(30); // x position
@@ -305,7 +305,7 @@ public class AdminDashboardPage extends Application {
 
         // Hammer wrench icon image
         String hammerWrenchPath = getClass().getResource("/resources/Admin_Dashboard/Admin_hammer_wrench_icon.png").toExternalForm();
-        ImageView hammerWrenchIcon = new ImageView(new Image(hammerWrenchPath));
+        ImageView hammerWrenchIcon = new ImageView(ImageCache.get(hammerWrenchPath));
         hammerWrenchIcon.setFitWidth(34);
         hammerWrenchIcon.setFitHeight(34);
         hammerWrenchIcon.setLayoutX(46); // x position
@@ -370,7 +370,7 @@ public class AdminDashboardPage extends Application {
 	            userIcon.setImage(profileImage);
 	        } else {
 	            String defaultIconPath = getClass().getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm();
-	            userIcon.setImage(new Image(defaultIconPath));
+	            userIcon.setImage(ImageCache.get(defaultIconPath));
 	        }
 	    }
  
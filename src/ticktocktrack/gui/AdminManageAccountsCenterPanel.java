@@ -3,12 +3,9 @@ package ticktocktrack.gui;
 import java.util.Optional;
 
 import javafx.beans.property.ReadOnlyObjectWrapper;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
@@ -18,6 +15,7 @@ import javafx.scene.control.Button;
 import javafx.scene.control.TableCell;
 import javafx.scene.layout.HBox;
 import ticktocktrack.database.UserDAO;
+import ticktocktrack.logic.UserQuery;
 import ticktocktrack.logic.UsersModel;
 
 /**
@@ -28,6 +26,9 @@ import ticktocktrack.logic.UsersModel;
  */
 public class AdminManageAccountsCenterPanel {
 
+    /** Number of users fetched per page as the table is scrolled. */
+    private static final int PAGE_SIZE = 100;
+
     /**
      * Creates and returns the main pane for managing accounts.
      * 
@@ -41,7 +42,7 @@ public class AdminManageAccountsCenterPanel {
 
         // Shadow background
         String shadowPath = AdminManageAccountsCenterPanel.class.getResource("/resources/SHADOW.png").toExternalForm();
-        ImageView shadowView = new ImageView(new Image(shadowPath));
+        ImageView shadowView = new ImageView(ImageCache.get(shadowPath));
         shadowView.setFitWidth(1300);
         shadowView.setFitHeight(250);
         shadowView.setLayoutY(-115);
@@ -62,7 +63,7 @@ public class AdminManageAccountsCenterPanel {
 
         // Search icon
         String searchIconPath = AdminViewAllUsersCenterPanel.class.getResource("/resources/search_icon.png").toExternalForm();
-        ImageView searchIcon = new ImageView(new Image(searchIconPath));
+        ImageView searchIcon = new ImageView(ImageCache.get(searchIconPath));
         searchIcon.setFitWidth(20);
         searchIcon.setFitHeight(20);
         StackPane.setAlignment(searchIcon, Pos.CENTER_LEFT);
@@ -143,83 +144,29 @@ public class AdminManageAccountsCenterPanel {
         String cssPath = AdminManageAccountsCenterPanel.class.getResource("/resources/css/table-style.css").toExternalForm();
         tableView.getStylesheets().add(cssPath);
 
-        // Fetch user data
-        ObservableList<UsersModel> adminsList = FXCollections.observableArrayList(UserDAO.manageAdmins());
-        ObservableList<UsersModel> teachersList = FXCollections.observableArrayList(UserDAO.manageTeachers());
-        ObservableList<UsersModel> studentsList = FXCollections.observableArrayList(UserDAO.manageStudents());
-
-        ObservableList<UsersModel> allUsersList = FXCollections.observableArrayList();
-        allUsersList.addAll(adminsList);
-        allUsersList.addAll(teachersList);
-        allUsersList.addAll(studentsList);
+        // Users are fetched a page at a time, filtered and sorted by the database
+        PagedTableLoader<UsersModel> loader = new PagedTableLoader<>(tableView, PAGE_SIZE, () -> {
+            UserQuery query = AdminViewAllUsersCenterPanel.buildUserQuery(tableView, roleSwitcher.getValue(),
+                    yearLevelFilter.getValue(), programFilter.getValue(), searchField.getText());
+            query.setExcludeHeadAdmin(true);
+            return (after, limit) -> UserDAO.findUsers(query, after, limit);
+        });
+        loader.sortOnServer();
 
         updateTableColumns(tableView, "All Users");
-        tableView.setItems(allUsersList);
-
-        
-
-        // Filter logic
-        java.util.function.Function<String, ObservableList<UsersModel>> filterUsers = searchText -> {
-            String lowerSearch = searchText.toLowerCase();
-            String currentRole = roleSwitcher.getValue();
-            ObservableList<UsersModel> sourceList = switch (currentRole) {
-                case "Admin" -> adminsList;
-                case "Teacher" -> teachersList;
-                case "Student" -> studentsList;
-                default -> allUsersList;
-            };
-
-            boolean filterByYear = currentRole.equals("Student") && !yearLevelFilter.getValue().equals("All Year Level");
-            boolean filterByProgram = currentRole.equals("Student") && !programFilter.getValue().equals("All Programs");
-
-            ObservableList<UsersModel> filtered = FXCollections.observableArrayList();
-
-            for (UsersModel user : sourceList) {
-                boolean matchesSearch = (user.getUsername() != null && user.getUsername().toLowerCase().contains(lowerSearch)) ||
-                        (user.getEmail() != null && user.getEmail().toLowerCase().contains(lowerSearch)) ||
-                        (user.getFirstName() != null && user.getFirstName().toLowerCase().contains(lowerSearch)) ||
-                        (user.getLastName() != null && user.getLastName().toLowerCase().contains(lowerSearch));
-
-                boolean matchesYear = !filterByYear || (user.getYearLevel() != null && user.getYearLevel().equalsIgnoreCase(yearLevelFilter.getValue()));
-                boolean matchesProgram = !filterByProgram || (user.getProgram() != null && user.getProgram().equalsIgnoreCase(programFilter.getValue()));
-
-                if (matchesSearch && matchesYear && matchesProgram) {
-                    filtered.add(user);
-                }
-            }
-
-            return filtered;
-        };
+        loader.reload();
 
         // Event listeners
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> tableView.setItems(filterUsers.apply(newVal)));
-        yearLevelFilter.setOnAction(e -> tableView.setItems(filterUsers.apply(searchField.getText())));
-        programFilter.setOnAction(e -> tableView.setItems(filterUsers.apply(searchField.getText())));
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> loader.reloadLater());
+        yearLevelFilter.setOnAction(e -> loader.reload());
+        programFilter.setOnAction(e -> loader.reload());
         roleSwitcher.setOnAction(e -> {
             String role = roleSwitcher.getValue();
             updateTableColumns(tableView, role);
-            switch (role) {
-                case "Admin" -> {
-                    tableView.setItems(adminsList);
-                    yearLevelFilter.setVisible(false);
-                    programFilter.setVisible(false);
-                }
-                case "Teacher" -> {
-                    tableView.setItems(teachersList);
-                    yearLevelFilter.setVisible(false);
-                    programFilter.setVisible(false);
-                }
-                case "Student" -> {
-                    tableView.setItems(filterUsers.apply(searchField.getText()));
-                    yearLevelFilter.setVisible(true);
-                    programFilter.setVisible(true);
-                }
-                default -> {
-                    tableView.setItems(allUsersList);
-                    yearLevelFilter.setVisible(false);
-                    programFilter.setVisible(false);
-                }
-            }
+            boolean student = role.equals("Student");
+            yearLevelFilter.setVisible(student);
+            programFilter.setVisible(student);
+            loader.reload();
         });
 
         centerPanel.getChildren().addAll(
@@ -267,29 +214,36 @@ public class AdminManageAccountsCenterPanel {
         TableColumn<UsersModel, Integer> idCol = new TableColumn<>("ID");
         idCol.setCellValueFactory(new PropertyValueFactory<>("userId"));
         idCol.setPrefWidth(50);
+        idCol.setUserData(UserQuery.Sort.USER_ID);
 
         TableColumn<UsersModel, String> usernameCol = new TableColumn<>("Username");
         usernameCol.setCellValueFactory(new PropertyValueFactory<>("username"));
         usernameCol.setPrefWidth(150);
+        usernameCol.setUserData(UserQuery.Sort.USERNAME);
 
         TableColumn<UsersModel, String> firstNameCol = new TableColumn<>("First Name");
         firstNameCol.setCellValueFactory(new PropertyValueFactory<>("firstName"));
         firstNameCol.setPrefWidth(150);
+        firstNameCol.setUserData(UserQuery.Sort.FIRST_NAME);
 
         TableColumn<UsersModel, String> lastNameCol = new TableColumn<>("Last Name");
         lastNameCol.setCellValueFactory(new PropertyValueFactory<>("lastName"));
         lastNameCol.setPrefWidth(150);
+        lastNameCol.setUserData(UserQuery.Sort.LAST_NAME);
 
         TableColumn<UsersModel, String> createdByCol = new TableColumn<>("Created By");
         createdByCol.setCellValueFactory(new PropertyValueFactory<>("createdByName"));
         createdByCol.setPrefWidth(150);
+        createdByCol.setSortable(false);
 
         TableColumn<UsersModel, String> dateCreatedCol = new TableColumn<>("Date Created");
         dateCreatedCol.setCellValueFactory(new PropertyValueFactory<>("dateCreated"));
         dateCreatedCol.setPrefWidth(150);
+        dateCreatedCol.setSortable(false);
 
         TableColumn<UsersModel, UsersModel> manageCol = new TableColumn<>("Manage");
         manageCol.setPrefWidth(140); // Adjusted column width
+        manageCol.setSortable(false);
         manageCol.setCellValueFactory(param -> new ReadOnlyObjectWrapper<>(param.getValue()));
 
         manageCol.setCellFactory(col -> new TableCell<UsersModel, UsersModel>() {
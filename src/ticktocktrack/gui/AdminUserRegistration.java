@@ -20,7 +20,6 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.paint.Color;
 import ticktocktrack.logic.UserRegistration;
-import javafx.scene.image.Image;
 
 /**
  * Class responsible for creating the Admin User Registration UI components.
@@ -188,7 +187,7 @@ public class AdminUserRegistration {
 
         String imageUrl = AdminUserRegistration.class.getResource("/resources/EyeIcon.png").toExternalForm();
 
-        ImageView eyeIcon = new ImageView(new Image(imageUrl));
+        ImageView eyeIcon = new ImageView(ImageCache.get(imageUrl));
 
         eyeIcon.setFitWidth(24);
         eyeIcon.setFitHeight(24);
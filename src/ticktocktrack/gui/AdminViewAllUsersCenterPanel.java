@@ -3,12 +3,9 @@ package ticktocktrack.gui;
 import java.util.Map;
 
 import javafx.application.Platform;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
@@ -16,6 +13,7 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.TextAlignment;
 import ticktocktrack.database.UserDAO;
+import ticktocktrack.logic.UserQuery;
 import ticktocktrack.logic.UsersModel;
 
 /**
@@ -23,6 +21,9 @@ import ticktocktrack.logic.UsersModel;
  */
 public class AdminViewAllUsersCenterPanel {
 
+    /** Number of users fetched per page as the table is scrolled. */
+    private static final int PAGE_SIZE = 100;
+
     /**
      * Creates and returns the main pane displaying all users for the given admin.
      * The pane includes styling and a shadow image at the top.
@@ -37,7 +38,7 @@ public class AdminViewAllUsersCenterPanel {
 
         // Shadow image
         String shadowPath = AdminViewAllUsersCenterPanel.class.getResource("/resources/SHADOW.png").toExternalForm();
-        ImageView shadowView = new ImageView(new Image(shadowPath));
+        ImageView shadowView = new ImageView(ImageCache.get(shadowPath));
         shadowView.setFitWidth(1300);
         shadowView.setFitHeight(250);
         shadowView.setLayoutX(0);
@@ -59,7 +60,7 @@ public class AdminViewAllUsersCenterPanel {
 
         // Search icon
         String searchIconPath = AdminViewAllUsersCenterPanel.class.getResource("/resources/search_icon.png").toExternalForm();
-        ImageView searchIcon = new ImageView(new Image(searchIconPath));
+        ImageView searchIcon = new ImageView(ImageCache.get(searchIconPath));
         searchIcon.setFitWidth(20);
         searchIcon.setFitHeight(20);
         StackPane.setAlignment(searchIcon, Pos.CENTER_LEFT);
@@ -188,119 +189,27 @@ public class AdminViewAllUsersCenterPanel {
         
       
 
-        final var adminsList = FXCollections.observableArrayList(UserDAO.getAdmins());
-        final var teachersList = FXCollections.observableArrayList(UserDAO.getTeachers());
-        final var studentsList = FXCollections.observableArrayList(UserDAO.getStudents());
-
-        final ObservableList<UsersModel> allUsersList = FXCollections.observableArrayList();
-        allUsersList.addAll(adminsList);
-        allUsersList.addAll(teachersList);
-        allUsersList.addAll(studentsList);
+        // Users are fetched a page at a time, filtered and sorted by the database
+        PagedTableLoader<UsersModel> loader = new PagedTableLoader<>(tableView, PAGE_SIZE, () -> {
+            UserQuery query = buildUserQuery(tableView, roleSwitcher.getValue(), yearLevelFilter.getValue(),
+                    programFilter.getValue(), searchField.getText());
+            return (after, limit) -> UserDAO.findUsers(query, after, limit);
+        });
+        loader.sortOnServer();
 
         updateTableColumns(tableView, "All Users");
-        tableView.setItems(allUsersList);  // Now this works
-
-      
-        // Filter function to search user list by the search text
-        java.util.function.Function<String, javafx.collections.ObservableList<UsersModel>> filterUsers = searchText -> {
-            String lowerSearch = searchText.toLowerCase();
-            String currentRole = roleSwitcher.getValue();
-
-            javafx.collections.ObservableList<UsersModel> sourceList;
-            switch (currentRole) {
-            case "All Users" -> sourceList = allUsersList;
-            case "Teacher" -> sourceList = teachersList;
-            case "Student" -> sourceList = studentsList;
-            case "Admin" -> sourceList = adminsList;
-            default -> sourceList = FXCollections.observableArrayList();
-        }
-
-
-            String selectedYear = yearLevelFilter.getValue();
-            boolean filterByYear = currentRole.equals("Student") && selectedYear != null && !selectedYear.equals("All Year Level");
-            
-            String selectedProgram = programFilter.getValue();
-            boolean filterByProgram = selectedProgram != null && !selectedProgram.equals("All Programs");
-
-            javafx.collections.ObservableList<UsersModel> filtered = FXCollections.observableArrayList();
-
-            for (UsersModel user : sourceList) {
-                boolean matchesSearch = 
-                    (user.getUsername() != null && user.getUsername().toLowerCase().contains(lowerSearch)) ||
-                    (user.getEmail() != null && user.getEmail().toLowerCase().contains(lowerSearch)) ||
-                    (user.getFirstName() != null && user.getFirstName().toLowerCase().contains(lowerSearch)) ||
-                    (user.getLastName() != null && user.getLastName().toLowerCase().contains(lowerSearch)) ||
-                    (user.getMiddleName() != null && user.getMiddleName().toLowerCase().contains(lowerSearch)) ||
-                    (user.getProgram() != null && user.getProgram().toLowerCase().contains(lowerSearch)) ||
-                    (user.getSection() != null && user.getSection().toLowerCase().contains(lowerSearch)) ||
-                    (user.getYearLevel() != null && user.getYearLevel().toLowerCase().contains(lowerSearch));
+        loader.reload();
 
-                boolean matchesYear = !filterByYear || 
-                    (user.getYearLevel() != null && user.getYearLevel().equalsIgnoreCase(selectedYear));
-                
-                boolean matchesProgram = !filterByProgram ||
-                	    (user.getProgram() != null && user.getProgram().equalsIgnoreCase(selectedProgram));
+        // Search field listener; the query runs once the user stops typing
+        searchField.textProperty().addListener((obs, oldText, newText) -> loader.reloadLater());
 
-
-                if (matchesSearch && matchesYear && matchesProgram) {
-                    filtered.add(user);
-                }
-
-            }
-
-            return filtered;
-        };
-
-
-     // Search field listener to filter table data
-        searchField.textProperty().addListener((obs, oldText, newText) -> {
-            tableView.setItems(filterUsers.apply(newText));
-        });
-
-        // Year level filter listener
-        yearLevelFilter.setOnAction(e -> {
-            tableView.setItems(filterUsers.apply(searchField.getText()));
-        });
-        
-        programFilter.setOnAction(e -> {
-            tableView.setItems(filterUsers.apply(searchField.getText()));
-        });
+        // Year level and program filter listeners
+        yearLevelFilter.setOnAction(e -> loader.reload());
+        programFilter.setOnAction(e -> loader.reload());
 
         roleSwitcher.setOnAction(e -> {
             String role = roleSwitcher.getValue();
             updateTableColumns(tableView, role);
-            switch (role) {
-            case "All Users" -> {
-                updateTableColumns(tableView, "All Users");
-                tableView.setItems(allUsersList);
-                yearLevelFilter.setVisible(false);
-                programFilter.setVisible(false);  // Hide program filter too
-            }
-            case "Admin" -> {
-                updateTableColumns(tableView, "Admin");
-                tableView.setItems(adminsList);
-                yearLevelFilter.setVisible(false);
-                programFilter.setVisible(false);
-            }
-            case "Teacher" -> {
-                updateTableColumns(tableView, "Teacher");
-                tableView.setItems(teachersList);
-                yearLevelFilter.setVisible(false);
-                programFilter.setVisible(false);
-            }
-            case "Student" -> {
-                updateTableColumns(tableView, "Student");
-                tableView.setItems(filterUsers.apply(searchField.getText()));
-                yearLevelFilter.setVisible(true);
-                programFilter.setVisible(true);  // <-- ADD THIS LINE
-            }
-            default -> {
-                yearLevelFilter.setVisible(false);
-                yearLevelFilter.setValue("All Year Level");
-                programFilter.setVisible(false);
-                programFilter.setValue("All Programs");
-            }
-            }
 
             Map<String, String> roleTitles = Map.of(
                 "Admin", "Admin Users",
@@ -310,12 +219,14 @@ public class AdminViewAllUsersCenterPanel {
             roleTitleLabel.setText(roleTitles.getOrDefault(role, "All Users"));
             searchField.clear(); // Clear search when switching role
 
-            if (!role.equals("Student")) {
-                yearLevelFilter.setVisible(false);
+            boolean student = role.equals("Student");
+            yearLevelFilter.setVisible(student);
+            programFilter.setVisible(student);
+            if (!student) {
                 yearLevelFilter.setValue("All Year Level");
-                programFilter.setVisible(false);
                 programFilter.setValue("All Programs");
             }
+            loader.reload();
         });
 
 
@@ -329,6 +240,43 @@ public class AdminViewAllUsersCenterPanel {
         return centerPanel;
     }
 
+    /**
+     * Builds the user directory query for the role switcher, filters, search text and
+     * the column the table is sorted by. Reads the table, so call it on the JavaFX
+     * Application Thread.
+     *
+     * @param table     the user table; its first sorted column gives the order
+     * @param role      the selected role, e.g. "All Users" or "Student"
+     * @param yearLevel the selected year level, applied to students only
+     * @param program   the selected program, applied to students only
+     * @param search    the text typed in the search field
+     * @return the query to pass to {@link UserDAO#findUsers}
+     */
+    static UserQuery buildUserQuery(TableView<UsersModel> table, String role, String yearLevel,
+            String program, String search) {
+        UserQuery query = new UserQuery();
+        if (role != null && !role.equals("All Users")) {
+            query.setRole(role);
+        }
+        if ("Student".equals(role)) {
+            if (yearLevel != null && !yearLevel.equals("All Year Level")) {
+                query.setYearLevel(yearLevel);
+            }
+            if (program != null && !program.equals("All Programs")) {
+                query.setProgram(program);
+            }
+        }
+        query.setSearch(search);
+        if (!table.getSortOrder().isEmpty()) {
+            TableColumn<UsersModel, ?> column = table.getSortOrder().get(0);
+            if (column.getUserData() instanceof UserQuery.Sort sort) {
+                query.setSort(sort);
+                query.setDescending(column.getSortType() == TableColumn.SortType.DESCENDING);
+            }
+        }
+        return query;
+    }
+
     /**
      * Updates the columns of the given TableView based on the specified user role.
      * Clears existing columns and sets new ones relevant to the role.
@@ -347,15 +295,19 @@ public class AdminViewAllUsersCenterPanel {
 
     	    TableColumn<UsersModel, Integer> idCol = new TableColumn<>("User ID");
     	    idCol.setCellValueFactory(new PropertyValueFactory<>("userId"));
+    	    idCol.setUserData(UserQuery.Sort.USER_ID);
 
     	    TableColumn<UsersModel, String> usernameCol = new TableColumn<>("Username");
     	    usernameCol.setCellValueFactory(new PropertyValueFactory<>("username"));
+    	    usernameCol.setUserData(UserQuery.Sort.USERNAME);
 
     	    TableColumn<UsersModel, String> emailCol = new TableColumn<>("Email");
     	    emailCol.setCellValueFactory(new PropertyValueFactory<>("email"));
+    	    emailCol.setUserData(UserQuery.Sort.EMAIL);
 
     	    TableColumn<UsersModel, String> roleCol = new TableColumn<>("Role");
     	    roleCol.setCellValueFactory(new PropertyValueFactory<>("role"));
+    	    roleCol.setSortable(false);
 
     	    table.getColumns().addAll(idCol, usernameCol, emailCol, roleCol);
     	    return;
@@ -364,40 +316,49 @@ public class AdminViewAllUsersCenterPanel {
         TableColumn<UsersModel, Integer> idCol = new TableColumn<>("ID");
         idCol.setCellValueFactory(new PropertyValueFactory<>("userId"));
         idCol.setPrefWidth(30);
+        idCol.setUserData(UserQuery.Sort.USER_ID);
 
         TableColumn<UsersModel, String> usernameCol = new TableColumn<>("Username");
         usernameCol.setCellValueFactory(new PropertyValueFactory<>("username"));
         usernameCol.setPrefWidth(120);
+        usernameCol.setUserData(UserQuery.Sort.USERNAME);
 
         TableColumn<UsersModel, String> emailCol = new TableColumn<>("Email");
         emailCol.setCellValueFactory(new PropertyValueFactory<>("email"));
         emailCol.setPrefWidth(180);
+        emailCol.setUserData(UserQuery.Sort.EMAIL);
 
         TableColumn<UsersModel, String> firstNameCol = new TableColumn<>("First Name");
         firstNameCol.setCellValueFactory(new PropertyValueFactory<>("firstName"));
         firstNameCol.setPrefWidth(120);
+        firstNameCol.setUserData(UserQuery.Sort.FIRST_NAME);
 
         TableColumn<UsersModel, String> lastNameCol = new TableColumn<>("Last Name");
         lastNameCol.setCellValueFactory(new PropertyValueFactory<>("lastName"));
         lastNameCol.setPrefWidth(120);
+        lastNameCol.setUserData(UserQuery.Sort.LAST_NAME);
 
 
         if (role.equals("Student")) {
             TableColumn<UsersModel, String> middleNameCol = new TableColumn<>("Middle Name");
             middleNameCol.setCellValueFactory(new PropertyValueFactory<>("middleName"));
             middleNameCol.setPrefWidth(100);
+            middleNameCol.setSortable(false);
 
             TableColumn<UsersModel, String> yearCol = new TableColumn<>("Year");
             yearCol.setCellValueFactory(new PropertyValueFactory<>("yearLevel"));
             yearCol.setPrefWidth(50);
+            yearCol.setSortable(false);
 
             TableColumn<UsersModel, String> programCol = new TableColumn<>("Program");
             programCol.setCellValueFactory(new PropertyValueFactory<>("program"));
             programCol.setPrefWidth(220);
+            programCol.setSortable(false);
 
             TableColumn<UsersModel, String> sectionCol = new TableColumn<>("Section");
             sectionCol.setCellValueFactory(new PropertyValueFactory<>("section"));
             sectionCol.setPrefWidth(50);
+            sectionCol.setSortable(false);
 
             // Add columns in new order swapping First Name and Last Name
             table.getColumns().addAll(
@@ -63,7 +63,7 @@ public class AttendanceStatusPanel {
         String imagePath = getImagePathForStatus(attendanceStatus);
         ImageView statusImageView = null;
         if (imagePath != null) {
-            Image image = new Image(AttendanceStatusPanel.class.getResource(imagePath).toExternalForm(), 70, 70, true, true);
+            Image image = ImageCache.get(AttendanceStatusPanel.class.getResource(imagePath).toExternalForm(), 70, 70);
             statusImageView = new ImageView(image);
             statusImageView.setSmooth(true);
         }
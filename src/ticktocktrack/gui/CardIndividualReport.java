@@ -9,7 +9,6 @@ import javafx.scene.chart.PieChart;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Separator;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
@@ -85,18 +84,9 @@ public class CardIndividualReport {
         HBox profileHeader = new HBox(10);
         profileHeader.setAlignment(Pos.CENTER_LEFT);
 
-        ImageView userIcon;
-        if (fullStudent.getProfilePath() != null && !fullStudent.getProfilePath().isEmpty()) {
-            try {
-                Image profileImage = new Image(fullStudent.getProfilePath(), true);
-                userIcon = new ImageView(profileImage);
-            } catch (Exception e) {
-                System.err.println("Failed to load profile image: " + e.getMessage());
-                userIcon = new ImageView(new Image(CardIndividualReport.class.getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm()));
-            }
-        } else {
-            userIcon = new ImageView(new Image(CardIndividualReport.class.getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm()));
-        }
+        ImageView userIcon = new ImageView();
+        ImageCache.loadInto(userIcon, fullStudent.getProfilePath(), 90, 90,
+                ImageCache.get(CardIndividualReport.class.getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm()));
         userIcon.setFitWidth(90);
         userIcon.setFitHeight(90);
         Circle clip = new Circle(45, 45, 45);
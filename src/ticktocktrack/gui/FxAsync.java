@@ -0,0 +1,117 @@
+package ticktocktrack.gui;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableView;
+import javafx.scene.text.Text;
+
+/**
+ * Applies the results of background database calls to the user interface.
+ * <p>
+ * Results from {@link ticktocktrack.database.AsyncDatabase} arrive on a background
+ * thread; the helpers here run the callbacks on the JavaFX Application Thread and show
+ * a loading placeholder on the affected control until the data is there.
+ * </p>
+ */
+public final class FxAsync {
+
+    /** Runs tasks on the JavaFX Application Thread. */
+    private static final Executor FX_THREAD = Platform::runLater;
+
+    /** Table property holding the placeholder to restore once a load has finished. */
+    private static final String ORIGINAL_PLACEHOLDER = "ticktocktrack.originalPlaceholder";
+
+    private FxAsync() {
+        // Static helper
+    }
+
+    /**
+     * Calls {@code onSuccess} with the result on the JavaFX Application Thread.
+     * Failures are logged to standard error.
+     * <p>
+     * Cancelling the returned future before the result arrives drops the result, which
+     * is how callers discard a stale load when the user has already changed selection.
+     * </p>
+     *
+     * @param <T>       the type of the result
+     * @param source    the background call
+     * @param onSuccess applies the result to the interface
+     * @return a future completed once the result has been applied
+     */
+    public static <T> CompletableFuture<Void> apply(CompletableFuture<T> source, Consumer<? super T> onSuccess) {
+        return apply(source, onSuccess, null);
+    }
+
+    /**
+     * Calls {@code onSuccess} or {@code onError} on the JavaFX Application Thread.
+     *
+     * @param <T>       the type of the result
+     * @param source    the background call
+     * @param onSuccess applies the result to the interface
+     * @param onError   reacts to a failure, or null to only log it
+     * @return a future completed once the result or failure has been handled
+     */
+    public static <T> CompletableFuture<Void> apply(CompletableFuture<T> source, Consumer<? super T> onSuccess,
+            Consumer<Throwable> onError) {
+        return source.handleAsync((value, error) -> {
+            if (error == null) {
+                onSuccess.accept(value);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                System.err.println("Background database call failed: " + cause.getMessage());
+                cause.printStackTrace();
+                if (onError != null) {
+                    onError.accept(cause);
+                }
+            }
+            return null;
+        }, FX_THREAD);
+    }
+
+    /**
+     * Shows a loading placeholder on a table until the background call has been applied,
+     * then restores the table's own placeholder, or shows an error placeholder if the call failed.
+     * The table only shows its placeholder while it has no items, so callers that reload
+     * an existing table should clear it first.
+     *
+     * @param <T>       the type of the result
+     * @param table     the table being filled
+     * @param source    the background call
+     * @param onSuccess applies the result to the table
+     * @return a future completed once the result has been applied
+     */
+    public static <T> CompletableFuture<Void> loadTable(TableView<?> table, CompletableFuture<T> source,
+            Consumer<? super T> onSuccess) {
+        table.getProperties().putIfAbsent(ORIGINAL_PLACEHOLDER, table.getPlaceholder());
+        table.setPlaceholder(new Label("Loading..."));
+        // A cancelled load runs neither branch; the load that superseded it owns the placeholder
+        return apply(source, value -> {
+            table.setPlaceholder((Node) table.getProperties().get(ORIGINAL_PLACEHOLDER));
+            onSuccess.accept(value);
+        }, error -> table.setPlaceholder(new Label("Could not load data.")));
+    }
+
+    /**
+     * Shows a loading placeholder in a text node until the background call completes,
+     * then shows the formatted result.
+     *
+     * @param <T>       the type of the result
+     * @param text      the text node to fill
+     * @param source    the background call
+     * @param formatter turns the result into the text to show
+     * @return a future completed once the text has been set
+     */
+    public static <T> CompletableFuture<Void> loadText(Text text, CompletableFuture<T> source,
+            Function<? super T, String> formatter) {
+        text.setText("...");
+        return apply(source, value -> text.setText(formatter.apply(value)), error -> text.setText("--"));
+    }
+}
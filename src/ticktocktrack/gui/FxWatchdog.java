@@ -0,0 +1,246 @@
+package ticktocktrack.gui;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.application.Platform;
+
+/**
+ * Detects when the JavaFX Application Thread is blocked, for example by a DAO call made
+ * from an event handler, and reports which call froze the screen.
+ * <p>
+ * A background thread posts a heartbeat to the FX thread every few milliseconds. When a
+ * heartbeat has waited longer than the threshold, the watchdog takes the FX thread's
+ * stack and attributes the freeze to the DAO method on it and the screen code that
+ * called it. Freezes with the same attribution are aggregated, so the report ranks the
+ * worst UI freezes over a whole session.
+ * </p>
+ * Settings are read from system properties:
+ * <ul>
+ *   <li>{@code ticktocktrack.fx.watchdog}: {@code off} (default), {@code dev} to also print
+ *       every freeze with its stack trace to standard error, or {@code prod} to only aggregate</li>
+ *   <li>{@code ticktocktrack.fx.watchdog.thresholdMs}: how long the thread must be blocked
+ *       to count as a freeze, default 200</li>
+ *   <li>{@code ticktocktrack.fx.watchdog.reportFile}: file the ranked report is written to
+ *       when the application exits, default {@code fx-freezes.txt}</li>
+ * </ul>
+ */
+public final class FxWatchdog {
+
+    private static final String PROPERTY_PREFIX = "ticktocktrack.fx.watchdog";
+
+    /** Stack frames in these packages are the DAO call a freeze is attributed to. */
+    private static final String DATABASE_PACKAGE = "ticktocktrack.database.";
+    private static final String GUI_PACKAGE = "ticktocktrack.gui.";
+
+    private static final Map<String, FreezeStats> FREEZES = new ConcurrentHashMap<>();
+
+    private static volatile boolean started;
+    private static boolean verbose;
+    private static long thresholdNanos;
+    private static Thread fxThread;
+
+    /** When the heartbeat in flight was posted, or 0 if none is. */
+    private static volatile long heartbeatPostedAt;
+
+    /** The stack captured while the heartbeat in flight was overdue. */
+    private static volatile StackTraceElement[] pending;
+
+    private FxWatchdog() {
+        // Static helper
+    }
+
+    /**
+     * Starts the watchdog if {@code ticktocktrack.fx.watchdog} is {@code dev} or {@code prod}.
+     * Must be called on the JavaFX Application Thread; later calls do nothing.
+     */
+    public static synchronized void startIfEnabled() {
+        String mode = System.getProperty(PROPERTY_PREFIX, "off").trim().toLowerCase(Locale.ROOT);
+        if (started || mode.equals("off")) {
+            return;
+        }
+        if (!Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("The watchdog must be started on the JavaFX Application Thread");
+        }
+        verbose = mode.equals("dev");
+        thresholdNanos = Long.getLong(PROPERTY_PREFIX + ".thresholdMs", 200L) * 1_000_000L;
+        fxThread = Thread.currentThread();
+        started = true;
+
+        Thread watcher = new Thread(FxWatchdog::watch, "ticktocktrack-fx-watchdog");
+        watcher.setDaemon(true);
+        watcher.start();
+
+        String reportFile = System.getProperty(PROPERTY_PREFIX + ".reportFile", "fx-freezes.txt");
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> writeReport(Paths.get(reportFile)),
+                "ticktocktrack-fx-watchdog-report"));
+        System.out.println("FX watchdog started (" + mode + ", threshold " + thresholdNanos / 1_000_000 + " ms).");
+    }
+
+    /**
+     * Formats the freezes seen so far, most total blocked time first, each with the
+     * stack of its longest occurrence.
+     *
+     * @return the report
+     */
+    public static String report() {
+        List<Map.Entry<String, FreezeStats>> ranked = new ArrayList<>(FREEZES.entrySet());
+        ranked.sort(Comparator.comparingLong((Map.Entry<String, FreezeStats> e) -> e.getValue().totalNanos).reversed());
+
+        StringBuilder sb = new StringBuilder();
+        String nl = System.lineSeparator();
+        sb.append("# UI freezes longer than ").append(thresholdNanos / 1_000_000).append(" ms, until ")
+          .append(LocalDateTime.now()).append(nl);
+        sb.append(String.format(Locale.ROOT, "%4s %8s %10s %10s %10s  %s%n",
+                "Rank", "Freezes", "Total ms", "Mean ms", "Max ms", "Attributed to"));
+        int rank = 1;
+        for (Map.Entry<String, FreezeStats> entry : ranked) {
+            FreezeStats stats = entry.getValue();
+            synchronized (stats) {
+                sb.append(String.format(Locale.ROOT, "%4d %8d %10d %10d %10d  %s%n", rank++, stats.count,
+                        stats.totalNanos / 1_000_000, stats.totalNanos / 1_000_000 / Math.max(1, stats.count),
+                        stats.maxNanos / 1_000_000, entry.getKey()));
+            }
+        }
+        for (Map.Entry<String, FreezeStats> entry : ranked) {
+            sb.append(nl).append("## ").append(entry.getKey()).append(nl);
+            for (StackTraceElement frame : entry.getValue().worstStack) {
+                sb.append("    at ").append(frame).append(nl);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void writeReport(Path file) {
+        if (FREEZES.isEmpty()) {
+            return;
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.print(report());
+        } catch (IOException e) {
+            System.err.println("Failed to write the UI freeze report to " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs on the watchdog thread: keeps one heartbeat in flight and samples the FX
+     * thread's stack while a heartbeat is overdue.
+     */
+    private static void watch() {
+        long pollMillis = Math.max(5, thresholdNanos / 1_000_000 / 4);
+        StackTraceElement[] blockedStack = null;
+        while (true) {
+            long postedAt = heartbeatPostedAt;
+            long now = System.nanoTime();
+            if (postedAt == 0) {
+                blockedStack = null;
+                pending = null;
+                heartbeatPostedAt = now;
+                Platform.runLater(() -> heartbeat(now));
+            } else if (now - postedAt > thresholdNanos) {
+                // Keep the first stack that shows a DAO call; otherwise the latest one
+                StackTraceElement[] stack = fxThread.getStackTrace();
+                if (blockedStack == null || (daoFrame(blockedStack) == null && stack.length > 0)) {
+                    blockedStack = stack;
+                }
+                pending = blockedStack;
+            }
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs on the FX thread when a heartbeat gets through, and records a freeze if it
+     * waited too long.
+     */
+    private static void heartbeat(long postedAt) {
+        long waited = System.nanoTime() - postedAt;
+        StackTraceElement[] stack = pending;
+        pending = null;
+        heartbeatPostedAt = 0;
+        if (waited <= thresholdNanos || stack == null) {
+            return;
+        }
+
+        String attribution = attribute(stack);
+        FREEZES.computeIfAbsent(attribution, k -> new FreezeStats()).add(waited, stack);
+        if (verbose) {
+            System.err.println("UI thread blocked for " + waited / 1_000_000 + " ms in " + attribution);
+            for (StackTraceElement frame : stack) {
+                System.err.println("    at " + frame);
+            }
+        }
+    }
+
+    /**
+     * Names a freeze after the DAO method on the stack and the screen code that called it.
+     */
+    private static String attribute(StackTraceElement[] stack) {
+        StackTraceElement dao = daoFrame(stack);
+        StackTraceElement screen = null;
+        for (StackTraceElement frame : stack) {
+            if (frame.getClassName().startsWith(GUI_PACKAGE)) {
+                screen = frame;
+                break;
+            }
+        }
+        String where = screen != null ? describe(screen) : (stack.length > 0 ? describe(stack[0]) : "unknown");
+        return dao != null ? describe(dao) + " from " + where : "(no DAO call) in " + where;
+    }
+
+    /**
+     * Returns the outermost data-layer frame below the screen code, which is the DAO
+     * method the screen called.
+     */
+    private static StackTraceElement daoFrame(StackTraceElement[] stack) {
+        StackTraceElement dao = null;
+        for (StackTraceElement frame : stack) {
+            if (frame.getClassName().startsWith(GUI_PACKAGE)) {
+                break;
+            }
+            if (frame.getClassName().startsWith(DATABASE_PACKAGE)) {
+                dao = frame;
+            }
+        }
+        return dao;
+    }
+
+    private static String describe(StackTraceElement frame) {
+        String className = frame.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+    }
+
+    /**
+     * The aggregated freezes with one attribution.
+     */
+    private static final class FreezeStats {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private StackTraceElement[] worstStack = new StackTraceElement[0];
+
+        synchronized void add(long nanos, StackTraceElement[] stack) {
+            count++;
+            totalNanos += nanos;
+            if (nanos > maxNanos) {
+                maxNanos = nanos;
+                worstStack = stack;
+            }
+        }
+    }
+}
@@ -44,11 +44,14 @@ public class HomePage extends Application {
      */
     @Override
     public void start(Stage primaryStage) {
+        // Watch for UI freezes if enabled with -Dticktocktrack.fx.watchdog
+        FxWatchdog.startIfEnabled();
+
         // Path to your image
         String homePagePath = getClass().getResource("/resources/HOMEPAGE.jpg").toExternalForm();
 
         // Create the image and ImageView
-        Image backgroundImage = new Image(homePagePath);
+        Image backgroundImage = ImageCache.get(homePagePath);
         ImageView imageView = new ImageView(backgroundImage);
         imageView.setPreserveRatio(false); // Allow full stretch
 
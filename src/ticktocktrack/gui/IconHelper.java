@@ -12,7 +12,7 @@ public class IconHelper {
      * The application icon image loaded from the resources folder.
      * This icon is shared and reused for all stages.
      */
-    private static final Image icon = new Image(IconHelper.class.getResourceAsStream("/resources/SystemIcon.png"));
+    private static final Image icon = ImageCache.get(IconHelper.class.getResource("/resources/SystemIcon.png").toExternalForm());
 
     /**
      * Applies the application icon to the specified JavaFX stage.
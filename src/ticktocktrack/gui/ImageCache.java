@@ -0,0 +1,206 @@
+package ticktocktrack.gui;
+
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+/**
+ * Shares decoded images between panels.
+ * <p>
+ * Panels are rebuilt every time the user switches tabs, and without the cache each
+ * rebuild decoded the same shadows, backgrounds and icons again. Images are keyed by
+ * URL and requested size, so a 50x50 notification icon and a 90x90 report picture of
+ * the same file are separate entries. The least recently used entries are dropped
+ * beyond {@code maxEntries}, and every entry is held through a soft reference so the
+ * garbage collector can reclaim them when memory runs low. The limit can be set with
+ * {@code -Dticktocktrack.cache.images.maxEntries=256}.
+ * </p>
+ * Images bundled under {@code /resources} are small and decoded on first use with
+ * {@link #get(String)}. Profile pictures come from arbitrary files chosen by users and
+ * are decoded in the background with {@link #loadInto}, which shows a placeholder
+ * until the picture is ready.
+ */
+public final class ImageCache {
+
+    private static final int MAX_ENTRIES = Integer.getInteger("ticktocktrack.cache.images.maxEntries", 128);
+
+    /** Image view property holding the key of the image the view is waiting for. */
+    private static final String PENDING_KEY = "ticktocktrack.pendingImage";
+
+    /** Entries in access order, so the eldest is the least recently used. */
+    private static final LinkedHashMap<String, SoftReference<Image>> CACHE = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SoftReference<Image>> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private ImageCache() {
+        // Static helper
+    }
+
+    /**
+     * Returns the image at the given URL at its natural size, decoding it on first use.
+     *
+     * @param url the image URL, for example from {@code getResource(...).toExternalForm()}
+     * @return the shared image; check {@link Image#isError()} if the URL may be invalid
+     */
+    public static Image get(String url) {
+        return get(url, 0, 0);
+    }
+
+    /**
+     * Returns the image at the given URL scaled to fit the requested size with its
+     * aspect ratio preserved, decoding it on first use.
+     *
+     * @param url    the image URL
+     * @param width  the width to fit, or 0 for the natural width
+     * @param height the height to fit, or 0 for the natural height
+     * @return the shared image; check {@link Image#isError()} if the URL may be invalid
+     */
+    public static Image get(String url, double width, double height) {
+        String key = key(url, width, height);
+        Image cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Image image = new Image(url, width, height, true, true);
+        if (!image.isError()) {
+            store(key, image);
+        }
+        return image;
+    }
+
+    /**
+     * Shows {@code placeholder} in the view and replaces it with the image at the given
+     * URL once that has been decoded in the background. If the image cannot be loaded the
+     * placeholder stays. Must be called on the JavaFX Application Thread.
+     * <p>
+     * If the view is given another image before this one is ready, the stale image is
+     * not applied when it arrives.
+     * </p>
+     *
+     * @param view        the view to fill
+     * @param url         the image URL, or null or empty to show only the placeholder
+     * @param width       the width to fit, or 0 for the natural width
+     * @param height      the height to fit, or 0 for the natural height
+     * @param placeholder the image shown until the real one is ready
+     */
+    public static void loadInto(ImageView view, String url, double width, double height, Image placeholder) {
+        view.getProperties().remove(PENDING_KEY);
+        if (url == null || url.isEmpty()) {
+            view.setImage(placeholder);
+            return;
+        }
+
+        String key = key(url, width, height);
+        Image image = lookup(key);
+        if (image == null) {
+            try {
+                image = new Image(url, width, height, true, true, true);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Invalid image URL: " + url);
+                view.setImage(placeholder);
+                return;
+            }
+            store(key, image);
+        }
+
+        if (image.isError()) {
+            evict(key, image);
+            view.setImage(placeholder);
+            return;
+        }
+        if (image.getProgress() >= 1) {
+            view.setImage(image);
+            return;
+        }
+
+        view.setImage(placeholder);
+        view.getProperties().put(PENDING_KEY, key);
+        Image loading = image;
+        InvalidationListener onDone = new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                if (!loading.isError() && loading.getProgress() < 1) {
+                    return;
+                }
+                loading.progressProperty().removeListener(this);
+                loading.errorProperty().removeListener(this);
+
+                if (loading.isError()) {
+                    System.err.println("Failed to load image: " + url);
+                    evict(key, loading);
+                }
+                if (key.equals(view.getProperties().get(PENDING_KEY))) {
+                    view.getProperties().remove(PENDING_KEY);
+                    view.setImage(loading.isError() ? placeholder : loading);
+                }
+            }
+        };
+        image.progressProperty().addListener(onDone);
+        image.errorProperty().addListener(onDone);
+    }
+
+    /**
+     * Drops every cached size of the image at the given URL, for example after a user
+     * saved a new picture under the same file name.
+     *
+     * @param url the image URL
+     */
+    public static void invalidate(String url) {
+        String prefix = url + "|";
+        synchronized (CACHE) {
+            CACHE.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    /**
+     * Drops every cached image.
+     */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    private static String key(String url, double width, double height) {
+        return url + "|" + width + "x" + height;
+    }
+
+    private static Image lookup(String key) {
+        synchronized (CACHE) {
+            SoftReference<Image> ref = CACHE.get(key);
+            if (ref == null) {
+                return null;
+            }
+            Image image = ref.get();
+            if (image == null) {
+                CACHE.remove(key); // reclaimed by the garbage collector
+            }
+            return image;
+        }
+    }
+
+    private static void store(String key, Image image) {
+        synchronized (CACHE) {
+            CACHE.put(key, new SoftReference<>(image));
+        }
+    }
+
+    /** Removes an entry only if it still holds the given image. */
+    private static void evict(String key, Image image) {
+        synchronized (CACHE) {
+            SoftReference<Image> ref = CACHE.get(key);
+            if (ref != null && ref.get() == image) {
+                CACHE.remove(key);
+            }
+        }
+    }
+}
@@ -42,7 +42,7 @@ public class LoginPage extends Application {
         String LoginPagePath = getClass().getResource("/resources/LOGIN.png").toExternalForm();
 
         // Create the image and ImageView
-        Image backgroundImage = new Image(LoginPagePath);
+        Image backgroundImage = ImageCache.get(LoginPagePath);
         ImageView imageView = new ImageView(backgroundImage);
 
         // Set the size of the image (scale it to fit 1300x750)
@@ -85,7 +85,7 @@ public class LoginPage extends Application {
         passwordTextField.textProperty().bindBidirectional(passwordField.textProperty());
 
         // 4. Eye icon toggle
-        ImageView passwordLogo = new ImageView(new Image(getClass().getResourceAsStream("/resources/EyeIcon.png")));
+        ImageView passwordLogo = new ImageView(ImageCache.get(getClass().getResource("/resources/EyeIcon.png").toExternalForm()));
         passwordLogo.setFitWidth(30);
         passwordLogo.setFitHeight(27);
         passwordLogo.setPreserveRatio(true);
@@ -0,0 +1,185 @@
+package ticktocktrack.gui;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javafx.animation.PauseTransition;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.util.Duration;
+import ticktocktrack.database.AsyncDatabase;
+
+/**
+ * Fills a table one page at a time from a keyset-paged query, loading the next page in
+ * the background when the user scrolls near the bottom.
+ * <p>
+ * The table only holds the rows scrolled through so far. Filters and sorting are applied
+ * by the query, so changing them calls {@link #reload()}, or {@link #reloadLater()} from a
+ * search field so that a query runs once the user stops typing rather than per keystroke.
+ * </p>
+ * Pages are fetched on a background thread, which must not read JavaFX controls. The
+ * query is therefore built on the JavaFX Application Thread at every reload, from the
+ * filter values and sort order of that moment, and the pages until the next reload are
+ * fetched with it:
+ * <pre>
+ * new PagedTableLoader&lt;&gt;(table, 100, () -&gt; {
+ *     String search = searchField.getText();
+ *     return (after, limit) -&gt; UserDAO.findUsers(..., after, limit);
+ * });
+ * </pre>
+ *
+ * @param <T> the type of the table rows
+ */
+public final class PagedTableLoader<T> {
+
+    /**
+     * Fetches one page of rows.
+     *
+     * @param <T> the type of the rows
+     */
+    @FunctionalInterface
+    public interface PageQuery<T> {
+
+        /**
+         * Returns the rows that follow {@code after} in the query's order.
+         *
+         * @param after the last row of the previous page, or null for the first page
+         * @param limit the maximum number of rows to return
+         * @return the rows; fewer than {@code limit} means there are no more
+         * @throws SQLException if the query fails
+         */
+        List<T> fetch(T after, int limit) throws SQLException;
+    }
+
+    /** How far down the table has to be scrolled before the next page is loaded. */
+    private static final double LOAD_NEXT_AT = 0.75;
+
+    /** How long typing has to pause before {@link #reloadLater()} reloads. */
+    private static final Duration RELOAD_DELAY = Duration.millis(250);
+
+    private final TableView<T> table;
+    private final int pageSize;
+    private final Supplier<PageQuery<T>> queryBuilder;
+    private final ObservableList<T> rows = FXCollections.observableArrayList();
+    private final PauseTransition reloadDelay = new PauseTransition(RELOAD_DELAY);
+
+    private PageQuery<T> query;
+    private CompletableFuture<Void> pageInFlight;
+    private boolean loadingPage = false;
+    private boolean allRowsLoaded = false;
+    private String appliedSortOrder = "";
+
+    /**
+     * Sets the table's items to the paged rows. Call {@link #reload()} to load the first page.
+     *
+     * @param table        the table to fill
+     * @param pageSize     the number of rows fetched per page
+     * @param queryBuilder called on the JavaFX Application Thread at every reload; reads the
+     *                     controls and returns a query over the values read, which fetches
+     *                     pages on a background thread
+     */
+    public PagedTableLoader(TableView<T> table, int pageSize, Supplier<PageQuery<T>> queryBuilder) {
+        this.table = table;
+        this.pageSize = pageSize;
+        this.queryBuilder = queryBuilder;
+        table.setItems(rows);
+        reloadDelay.setOnFinished(e -> reload());
+
+        // The scroll bar belongs to the table's skin, which exists once the table is shown
+        table.skinProperty().addListener((obs, oldSkin, newSkin) -> watchScrollBar());
+        if (table.getSkin() != null) {
+            watchScrollBar();
+        }
+    }
+
+    /**
+     * Makes the table's column headers sort through the query instead of in memory. The
+     * query should read {@link TableView#getSortOrder()}; columns it cannot order by
+     * should be made unsortable.
+     */
+    public void sortOnServer() {
+        table.setSortPolicy(t -> {
+            String sortOrder = describeSortOrder();
+            if (!sortOrder.equals(appliedSortOrder)) {
+                appliedSortOrder = sortOrder;
+                reload();
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Drops the loaded rows and any page still loading, builds the query again from the
+     * current filters and sort order, and loads the first page.
+     */
+    public void reload() {
+        reloadDelay.stop();
+        if (pageInFlight != null) {
+            pageInFlight.cancel(false);
+        }
+        query = queryBuilder.get();
+        rows.clear();
+        loadingPage = false;
+        allRowsLoaded = false;
+        loadNextPage();
+    }
+
+    /**
+     * Reloads once no further call has been made for a short while.
+     */
+    public void reloadLater() {
+        reloadDelay.playFromStart();
+    }
+
+    /**
+     * Loads the page after the last loaded row, unless one is loading or all are loaded.
+     */
+    public void loadNextPage() {
+        if (loadingPage || allRowsLoaded || query == null) {
+            return;
+        }
+        loadingPage = true;
+        PageQuery<T> pageQuery = query;
+        T after = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        CompletableFuture<List<T>> page = AsyncDatabase.supply(() -> pageQuery.fetch(after, pageSize));
+        Consumer<List<T>> addPage = loaded -> {
+            loadingPage = false;
+            rows.addAll(loaded);
+            if (loaded.size() < pageSize) {
+                allRowsLoaded = true; // a short page is the last one
+            }
+        };
+        pageInFlight = rows.isEmpty()
+                ? FxAsync.loadTable(table, page, addPage)
+                : FxAsync.apply(page, addPage, error -> loadingPage = false);
+    }
+
+    private void watchScrollBar() {
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                bar.valueProperty().addListener((obs, oldVal, newVal) -> {
+                    if (newVal.doubleValue() >= bar.getMax() * LOAD_NEXT_AT) {
+                        loadNextPage();
+                    }
+                });
+                return;
+            }
+        }
+    }
+
+    private String describeSortOrder() {
+        StringBuilder sb = new StringBuilder();
+        for (TableColumn<T, ?> column : table.getSortOrder()) {
+            sb.append(System.identityHashCode(column)).append(column.getSortType()).append(';');
+        }
+        return sb.toString();
+    }
+}
@@ -5,7 +5,6 @@ import javafx.geometry.*;
 import javafx.scene.Node;
 import javafx.scene.chart.PieChart;
 import javafx.scene.control.ScrollPane;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
@@ -93,7 +92,7 @@ public class StudentAttendanceStatusCenterPanel {
         headerBox.setAlignment(Pos.CENTER_LEFT);
         headerBox.setStyle("-fx-background-color: #6D00B5; -fx-background-radius: 12 12 0 0;");
 
-        ImageView shadow = new ImageView(new Image(StudentAttendanceStatusCenterPanel.class
+        ImageView shadow = new ImageView(ImageCache.get(StudentAttendanceStatusCenterPanel.class
                 .getResource("/resources/SHADOW.png").toExternalForm()));
         shadow.setFitWidth(1300);
         shadow.setFitHeight(100);
@@ -159,7 +158,7 @@ public class StudentAttendanceStatusCenterPanel {
 
         AttendanceStats stats = DatabaseStatusAttendance.getAttendanceStats(studentId, subject);
 
-        ImageView icon = new ImageView(new Image(SUBJECT_ICON));
+        ImageView icon = new ImageView(ImageCache.get(SUBJECT_ICON));
         icon.setFitWidth(48);
         icon.setFitHeight(48);
         icon.setSmooth(true);
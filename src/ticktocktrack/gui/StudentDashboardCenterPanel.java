@@ -3,7 +3,6 @@ package ticktocktrack.gui;
 import javafx.geometry.Insets;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.effect.DropShadow;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundFill;
@@ -49,7 +48,7 @@ public class StudentDashboardCenterPanel {
 
         // Shadow image
         String shadowPath = StudentDashboardCenterPanel.class.getResource("/resources/SHADOW.png").toExternalForm();
-        ImageView shadowView = new ImageView(new Image(shadowPath));
+        ImageView shadowView = new ImageView(ImageCache.get(shadowPath));
         shadowView.setFitWidth(1300);
         shadowView.setFitHeight(250);
         shadowView.setLayoutX(0);
@@ -57,7 +56,7 @@ public class StudentDashboardCenterPanel {
 
         // Load Student Background image
         String studentBgPath = StudentDashboardCenterPanel.class.getResource("/resources/Student_Dashboard/Student_bg.png").toExternalForm();
-        ImageView studentBgView = new ImageView(new Image(studentBgPath));
+        ImageView studentBgView = new ImageView(ImageCache.get(studentBgPath));
         studentBgView.setFitWidth(1000);
         studentBgView.setFitHeight(210);
         studentBgView.setLayoutX(20);
@@ -65,7 +64,7 @@ public class StudentDashboardCenterPanel {
 
         // Load Student Avatar image
         String studentAvatarPath = StudentDashboardCenterPanel.class.getResource("/resources/Student_Dashboard/Student_avatar.png").toExternalForm();
-        ImageView studentAvatarView = new ImageView(new Image(studentAvatarPath));
+        ImageView studentAvatarView = new ImageView(ImageCache.get(studentAvatarPath));
         studentAvatarView.setFitWidth(440);
         studentAvatarView.setFitHeight(285);
         studentAvatarView.setLayoutX(595);
@@ -73,7 +72,7 @@ public class StudentDashboardCenterPanel {
 
         // Load Student Effects image
         String studentEffectsPath = StudentDashboardCenterPanel.class.getResource("/resources/Student_Dashboard/Student_effects.png").toExternalForm();
-        ImageView studentEffectsView = new ImageView(new Image(studentEffectsPath));
+        ImageView studentEffectsView = new ImageView(ImageCache.get(studentEffectsPath));
         studentEffectsView.setFitWidth(500);
         studentEffectsView.setFitHeight(285);
         studentEffectsView.setLayoutX(560);
@@ -108,7 +108,7 @@ public class StudentDashboardPage extends Application {
 
         // Logo
         String logoPath = getClass().getResource("/resources/TTT_logo.png").toExternalForm();
-        ImageView logoView = new ImageView(new Image(logoPath));
+        ImageView logoView = new ImageView(ImageCache.get(logoPath));
         logoView.setFitWidth(85);
         logoView.setFitHeight(85);
         logoView.setLayoutX(17);
@@ -139,7 +139,7 @@ public class StudentDashboardPage extends Application {
 
         // Try getting updated profile image (if available)
         Image profileImage = UserIconUpdate.getCurrentUserProfileImage();
-        Image userImage = profileImage != null ? profileImage : new Image(userIconPath);
+        Image userImage = profileImage != null ? profileImage : ImageCache.get(userIconPath);
 
         // Create and configure ImageView
         userIcon = new ImageView(userImage);
@@ -199,7 +199,7 @@ public class StudentDashboardPage extends Application {
 
         // Dashboard icon
         String dashboardIconPath = getClass().getResource("/resources/Dashboard_icon.png").toExternalForm();
-        ImageView dashboardIcon = new ImageView(new Image(dashboardIconPath));
+        ImageView dashboardIcon = new ImageView(ImageCache.get(dashboardIconPath));
         dashboardIcon.setFitWidth(35);
         dashboardIcon.setFitHeight(35);
         dashboardIcon.setLayoutX(46);
@@ -234,7 +234,7 @@ public class StudentDashboardPage extends Application {
 
         // Line under dashboard
         String line1Path = getClass().getResource("/resources/Line1.png").toExternalForm();
-        ImageView line1 = new ImageView(new Image(line1Path));
+        ImageView line1 = new ImageView(ImageCache.get(line1Path));
         line1.setFitWidth(180);
         line1.setFitHeight(2);
         line1.setLayoutX(30);
@@ -242,7 +242,7 @@ public class StudentDashboardPage extends Application {
 
         // Add "View My Attendance" Icon
         String viewAttendanceIconPath = getClass().getResource("/resources/Student_Dashboard/Student_view_attendance_icon.png").toExternalForm();
-        ImageView viewAttendanceIcon = new ImageView(new Image(viewAttendanceIconPath));
+        ImageView viewAttendanceIcon = new ImageView(ImageCache.get(viewAttendanceIconPath));
         viewAttendanceIcon.setFitWidth(35);
         viewAttendanceIcon.setFitHeight(35);
         viewAttendanceIcon.setLayoutX(46);
@@ -275,7 +275,7 @@ public class StudentDashboardPage extends Application {
 
         // Line 2 image
         String line2Path = getClass().getResource("/resources/Line2.png").toExternalForm();
-        ImageView line2 = new ImageView(new Image(line2Path));
+        ImageView line2 = new ImageView(ImageCache.get(line2Path));
         line2.setFitWidth(180);
         line2.setFitHeight(0);
         line2.setLayoutX(30);
@@ -283,7 +283,7 @@ public class StudentDashboardPage extends Application {
 
         // Attendance Status icon image
         String attendanceStatusPath = getClass().getResource("/resources/Student_Dashboard/Student_attendance_status_icon.png").toExternalForm();
-        ImageView attendanceStatusIcon = new ImageView(new Image(attendanceStatusPath));
+        ImageView attendanceStatusIcon = new ImageView(ImageCache.get(attendanceStatusPath));
         attendanceStatusIcon.setFitWidth(35);
         attendanceStatusIcon.setFitHeight(35);
         attendanceStatusIcon.setLayoutX(46);
@@ -316,7 +316,7 @@ public class StudentDashboardPage extends Application {
 
         // Line 3 image
         String line3Path = getClass().getResource("/resources/Line3.png").toExternalForm();
-        ImageView line3 = new ImageView(new Image(line3Path));
+        ImageView line3 = new ImageView(ImageCache.get(line3Path));
         line3.setFitWidth(180);
         line3.setFitHeight(0);
         line3.setLayoutX(30);
@@ -324,7 +324,7 @@ public class StudentDashboardPage extends Application {
 
         // Submit Excuse icon image
         String submitExcuseIconPath = getClass().getResource("/resources/Student_Dashboard/Student_excuse_letter_icon.png").toExternalForm();
-        ImageView submitExcuseIcon = new ImageView(new Image(submitExcuseIconPath));
+        ImageView submitExcuseIcon = new ImageView(ImageCache.get(submitExcuseIconPath));
         submitExcuseIcon.setFitWidth(35);
         submitExcuseIcon.setFitHeight(35);
         submitExcuseIcon.setLayoutX(46);
@@ -359,7 +359,7 @@ public class StudentDashboardPage extends Application {
         
         //student Individual report
         String studentIndividualReportIconPath = getClass().getResource("/resources/Teacher_Dashboard/Teacher_report_icon.png").toExternalForm();
-        ImageView studentIndividualReportIcon = new ImageView(new Image(studentIndividualReportIconPath));
+        ImageView studentIndividualReportIcon = new ImageView(ImageCache.get(studentIndividualReportIconPath));
         studentIndividualReportIcon.setFitWidth(35);   // width
         studentIndividualReportIcon.setFitHeight(35);  // height
         studentIndividualReportIcon.setLayoutX(46);    // x position
@@ -421,7 +421,7 @@ public class StudentDashboardPage extends Application {
             userIcon.setImage(profileImage);
         } else {
             String defaultIconPath = getClass().getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm();
-            userIcon.setImage(new Image(defaultIconPath));
+            userIcon.setImage(ImageCache.get(defaultIconPath));
         }
     }
 
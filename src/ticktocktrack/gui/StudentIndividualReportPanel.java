@@ -9,7 +9,6 @@ import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
 import javafx.animation.TranslateTransition;
 import javafx.scene.layout.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.text.*;
@@ -50,7 +49,7 @@ public class StudentIndividualReportPanel {
         centerPanel.setStyle("-fx-background-color: #EEF5F9; -fx-border-color: #cccccc; -fx-border-width: 1px;");
 
         String shadowPath = StudentIndividualReportPanel.class.getResource("/resources/SHADOW.png").toExternalForm();
-        ImageView shadowView = new ImageView(new Image(shadowPath));
+        ImageView shadowView = new ImageView(ImageCache.get(shadowPath));
         shadowView.setFitWidth(1300);
         shadowView.setFitHeight(250);
         shadowView.setLayoutX(0);
@@ -103,17 +102,9 @@ public class StudentIndividualReportPanel {
             );
 
             String profilePath = s.getProfilePath();
-            ImageView userIcon;
-            if (profilePath != null && !profilePath.trim().isEmpty()) {
-                try {
-                    Image profileImage = new Image(profilePath, true);
-                    userIcon = new ImageView(profileImage);
-                } catch (Exception e1) {
-                    userIcon = new ImageView(new Image(CardIndividualReport.class.getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm()));
-                }
-            } else {
-                userIcon = new ImageView(new Image(CardIndividualReport.class.getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm()));
-            }
+            ImageView userIcon = new ImageView();
+            ImageCache.loadInto(userIcon, profilePath != null ? profilePath.trim() : null, 60, 60,
+                    ImageCache.get(CardIndividualReport.class.getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm()));
 
             userIcon.setFitWidth(60);
             userIcon.setFitHeight(60);
@@ -158,16 +149,9 @@ public class StudentIndividualReportPanel {
                     classCard.setCursor(javafx.scene.Cursor.HAND);
 
                     HBox top = new HBox(10);
-                    ImageView teacherIcon;
-                    if (!teacherProfile.isEmpty()) {
-                        try {
-                            teacherIcon = new ImageView(new Image(teacherProfile, true));
-                        } catch (Exception e) {
-                            teacherIcon = new ImageView(new Image(StudentIndividualReportPanel.class.getResource("/resources/teacher_icon.png").toExternalForm()));
-                        }
-                    } else {
-                        teacherIcon = new ImageView(new Image(StudentIndividualReportPanel.class.getResource("/resources/teacher_icon.png").toExternalForm()));
-                    }
+                    ImageView teacherIcon = new ImageView();
+                    ImageCache.loadInto(teacherIcon, teacherProfile, 36, 36,
+                            ImageCache.get(StudentIndividualReportPanel.class.getResource("/resources/teacher_icon.png").toExternalForm()));
                     teacherIcon.setFitWidth(36);
                     teacherIcon.setFitHeight(36);
                     teacherIcon.setPreserveRatio(true);
@@ -280,7 +264,7 @@ public class StudentIndividualReportPanel {
     private static VBox buildStatBox(String iconPath, String label, int count, String colorHex) {
         ImageView icon;
         try {
-            icon = new ImageView(new Image(StudentIndividualReportPanel.class.getResource(iconPath).toExternalForm()));
+            icon = new ImageView(ImageCache.get(StudentIndividualReportPanel.class.getResource(iconPath).toExternalForm()));
         } catch (Exception e) {
             icon = new ImageView();
         }
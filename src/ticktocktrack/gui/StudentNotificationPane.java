@@ -16,6 +16,7 @@ package ticktocktrack.gui;
 	import javafx.collections.ObservableList;
 	import javafx.scene.text.TextAlignment;
 	
+	import ticktocktrack.database.AsyncDatabase;
 	import ticktocktrack.database.StudentNotificationDAO;
 	import ticktocktrack.logic.Notification;
 	import ticktocktrack.logic.UsersModel;
@@ -27,6 +28,7 @@ package ticktocktrack.gui;
 	import javafx.util.Duration;
 	import java.time.format.DateTimeFormatter;
 	import java.util.List;
+	import java.util.concurrent.CompletableFuture;
 	import java.util.function.Consumer;
 	import javafx.scene.control.ContextMenu;
 	import javafx.scene.control.MenuItem;
@@ -42,14 +44,23 @@ package ticktocktrack.gui;
 	public class StudentNotificationPane {
 
 	    /** Number of notifications to load each time (pagination size). */
-	    private final int PAGE_SIZE = 3;
+	    private final int PAGE_SIZE = 20;
 
-	    /** Count of how many notifications have been loaded so far. */
-	    private int loadedNotificationCount = 0;
+	    /** Date sent of the last notification loaded so far; null until the first page is loaded. */
+	    private LocalDateTime cursorDateSent = null;
+
+	    /** ID of the last notification loaded so far, breaking ties on the date sent. */
+	    private int cursorNotificationId = 0;
+
+	    /** The next page, fetched in the background as soon as the current page is shown. */
+	    private CompletableFuture<List<Notification>> prefetchedPage = null;
 
 	    /** Flag to indicate whether all notifications have been loaded. */
 	    private boolean allNotificationsLoaded = false;
 
+	    /** Flag to indicate that a page of notifications is being fetched in the background. */
+	    private boolean loadingNotifications = false;
+
 	    /** Reference to the parent student dashboard page. */
 	    private StudentDashboardPage dashboardPage;
 
@@ -113,7 +124,7 @@ package ticktocktrack.gui;
 	        );
 	        
 	        scrollPane.vvalueProperty().addListener((obs, oldVal, newVal) -> {
-	            if (newVal.doubleValue() >= 0.9) { // Adjust threshold if needed
+	            if (newVal.doubleValue() >= 0.75) { // near bottom; the next page is usually prefetched already
 	                loadNotificationsFromDatabase();
 	            }
 	        });
@@ -129,7 +140,7 @@ package ticktocktrack.gui;
 	        notificationPopup.getContent().add(notificationHolder);
 	        // Setup icon
 	        String notificationIconPath = getClass().getResource("/resources/Student_Dashboard/Student_notification_icon.png").toExternalForm();
-	        notificationIcon = new ImageView(new Image(notificationIconPath));
+	        notificationIcon = new ImageView(ImageCache.get(notificationIconPath));
 	        notificationIcon.setFitWidth(30);
 	        notificationIcon.setFitHeight(30);
 	        notificationIcon.setPreserveRatio(true);
@@ -152,30 +163,60 @@ package ticktocktrack.gui;
 	    }
 	
 	    /**
-	     * Loads a batch of notifications from the database for the current user.
-	     * Uses pagination to load notifications in chunks defined by PAGE_SIZE.
-	     * If all notifications have already been loaded, this method returns immediately.
+	     * Loads the next batch of notifications from the database for the current user.
+	     * Pages of PAGE_SIZE are located by seeking past the last notification loaded, and the
+	     * following page is prefetched in the background as soon as one is shown.
+	     * If all notifications have already been loaded, or a page is still loading, this method returns immediately.
 	     */
 	    private void loadNotificationsFromDatabase() {
-	        if (allNotificationsLoaded) return; // no more to load
+	        if (allNotificationsLoaded || loadingNotifications) return; // no more to load, or a page is on its way
 	        
-	        System.out.println("DEBUG: Loading notifications for userId = " + userId + ", offset = " + loadedNotificationCount);
-	        List<Notification> dbNotifications = StudentNotificationDAO.getNotificationsForUser(userId, loadedNotificationCount, PAGE_SIZE);
+	        System.out.println("DEBUG: Loading notifications for userId = " + userId + ", after = " + cursorDateSent + " #" + cursorNotificationId);
+	        loadingNotifications = true;
+	        CompletableFuture<List<Notification>> page = prefetchedPage != null
+	                ? prefetchedPage
+	                : fetchPage(cursorDateSent, cursorNotificationId);
+	        prefetchedPage = null;
 
-	        if (dbNotifications != null && !dbNotifications.isEmpty()) {
-	            for (Notification n : dbNotifications) {
-	                System.out.println("DEBUG: Notification loaded -> [Message: " + n.getMessage() +
-	                        ", Type: " + n.getStatus() + ", Date: " + n.getDateSent() + "]");
-	            }
-	            notifications.addAll(dbNotifications);
-	            loadedNotificationCount += dbNotifications.size();
-	            for (Notification notification : dbNotifications) {
-	                addNotificationToHolder(notification);
+	        FxAsync.apply(page, dbNotifications -> {
+	            loadingNotifications = false;
+
+	            if (dbNotifications != null && !dbNotifications.isEmpty()) {
+	                for (Notification n : dbNotifications) {
+	                    System.out.println("DEBUG: Notification loaded -> [Message: " + n.getMessage() +
+	                            ", Type: " + n.getStatus() + ", Date: " + n.getDateSent() + "]");
+	                }
+	                notifications.addAll(dbNotifications);
+	                for (Notification notification : dbNotifications) {
+	                    addNotificationToHolder(notification);
+	                }
+
+	                Notification last = dbNotifications.get(dbNotifications.size() - 1);
+	                cursorDateSent = last.getDateSent();
+	                cursorNotificationId = last.getNotificationId();
+
+	                if (dbNotifications.size() < PAGE_SIZE) {
+	                    allNotificationsLoaded = true; // a short page is the last one
+	                } else {
+	                    prefetchedPage = fetchPage(cursorDateSent, cursorNotificationId);
+	                }
+	            } else {
+	                System.out.println("DEBUG: No more notifications returned from DAO");
+	                allNotificationsLoaded = true;
 	            }
-	        } else {
-	            System.out.println("DEBUG: No more notifications returned from DAO");
-	            allNotificationsLoaded = true;
-	        }
+	        }, error -> loadingNotifications = false);
+	    }
+
+	    /**
+	     * Starts fetching the page of notifications that follows the given cursor.
+	     *
+	     * @param afterDateSent       date sent of the last notification already loaded, or null for the first page
+	     * @param afterNotificationId ID of the last notification already loaded
+	     * @return the page being fetched
+	     */
+	    private CompletableFuture<List<Notification>> fetchPage(LocalDateTime afterDateSent, int afterNotificationId) {
+	        return AsyncDatabase.supply(() ->
+	                StudentNotificationDAO.getNotificationsForUserAfter(userId, afterDateSent, afterNotificationId, PAGE_SIZE));
 	    }
 
 	
@@ -205,21 +246,9 @@ package ticktocktrack.gui;
 	        // Try to get the sender's profile path from the database
 	        String profilePath = StudentNotificationDAO.getUserProfilePath(senderUserId);
 	
-	        ImageView iconView;
-	        if (profilePath != null && !profilePath.isEmpty()) {
-	            try {
-	                // If profilePath is a URL or file path, load it
-	                Image img = new Image(profilePath, 50, 50, true, true);
-	                iconView = new ImageView(img);
-	            } catch (Exception e) {
-	                // If loading fails, fallback to default icon
-	                System.err.println("Failed to load profile image: " + e.getMessage());
-	                iconView = getDefaultIcon();
-	            }
-	        } else {
-	            // If no profilePath, use default icon
-	            iconView = getDefaultIcon();
-	        }
+	        // Show the default icon until the sender's picture has been decoded
+	        ImageView iconView = new ImageView();
+	        ImageCache.loadInto(iconView, profilePath, 50, 50, getDefaultIcon().getImage());
 	
 	        iconView.setFitWidth(50);
 	        iconView.setFitHeight(50);
@@ -271,7 +300,7 @@ package ticktocktrack.gui;
 	     */
 	    private ImageView getDefaultIcon() {
 	        String iconPath = getClass().getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm();
-	        return new ImageView(new Image(iconPath, 50, 50, true, true));
+	        return new ImageView(ImageCache.get(iconPath, 50, 50));
 	    }
 	    
 	    /**
@@ -294,7 +323,7 @@ package ticktocktrack.gui;
 	        }
 	        ImageView btnIcon;
 	        if (btnImagePath != null) {
-	            btnIcon = new ImageView(new Image(btnImagePath, 30, 30, true, true));
+	            btnIcon = new ImageView(ImageCache.get(btnImagePath, 30, 30));
 	        } else {
 	            // fallback to a default icon or just a blank button
 	            btnIcon = new ImageView();
@@ -58,7 +58,7 @@ public class StudentSubmitExcuseCenterPanel {
         // Shadow background
         String shadowPath = StudentSubmitExcuseCenterPanel.class
             .getResource("/resources/SHADOW.png").toExternalForm();
-        ImageView shadowView = new ImageView(new Image(shadowPath));
+        ImageView shadowView = new ImageView(ImageCache.get(shadowPath));
         shadowView.setFitWidth(1300);
         shadowView.setFitHeight(250);
         shadowView.setLayoutX(0);
@@ -343,8 +343,8 @@ public class StudentSubmitExcuseCenterPanel {
             int row = i / 3, col = i % 3;
             double x = startX + col * gapX, y = startY + row * gapY;
 
-            Image icon = new Image(StudentSubmitExcuseCenterPanel.class
-                .getResourceAsStream(imagePaths[i]));
+            Image icon = ImageCache.get(StudentSubmitExcuseCenterPanel.class
+                .getResource(imagePaths[i]).toExternalForm());
             ImageView iconView = new ImageView(icon);
             iconView.setFitWidth(65);
             iconView.setFitHeight(65);
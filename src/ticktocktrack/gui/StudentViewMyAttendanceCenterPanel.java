@@ -9,7 +9,6 @@ import javafx.scene.Cursor;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.effect.DropShadow;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
@@ -141,7 +140,7 @@ public class StudentViewMyAttendanceCenterPanel {
 
         // Shadow image at the top
         String shadowPath = StudentViewMyAttendanceCenterPanel.class.getResource("/resources/SHADOW.png").toExternalForm();
-        ImageView shadowView = new ImageView(new Image(shadowPath));
+        ImageView shadowView = new ImageView(ImageCache.get(shadowPath));
         shadowView.setFitWidth(1300);
         shadowView.setFitHeight(250);
         shadowView.setLayoutX(0);
@@ -201,23 +200,10 @@ public class StudentViewMyAttendanceCenterPanel {
         classLabel.setTextFill(Color.web("#202124"));
 
         // Load profile image or default icon
-        Image userImage;
-        try {
-            if (!profilePath.isEmpty()) {
-                // Assuming profilePath is a valid URL or a file path accessible by your app
-                userImage = new Image(profilePath, 70, 70, true, true);
-                if (userImage.isError()) {
-                    throw new IllegalArgumentException("Image loading error");
-                }
-            } else {
-                throw new IllegalArgumentException("Empty profile path");
-            }
-        } catch (Exception e) {
-            // fallback to default icon if loading fails
-            userImage = new Image(StudentViewMyAttendanceCenterPanel.class.getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm(), 70, 70, true, true);
-        }
-
-        ImageView userIcon = new ImageView(userImage);
+        // Default icon until the teacher's picture has been decoded
+        ImageView userIcon = new ImageView();
+        ImageCache.loadInto(userIcon, profilePath, 70, 70,
+                ImageCache.get(StudentViewMyAttendanceCenterPanel.class.getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm(), 70, 70));
         userIcon.setFitWidth(70);
         userIcon.setFitHeight(70);
         userIcon.setPreserveRatio(true);
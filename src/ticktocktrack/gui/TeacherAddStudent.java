@@ -2,14 +2,10 @@ package ticktocktrack.gui;
 
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 
 import javafx.beans.binding.Bindings;
-import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -19,12 +15,15 @@ import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
 import javafx.scene.control.SelectionMode;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
 
+import ticktocktrack.database.AsyncDatabase;
+import ticktocktrack.database.DatabaseEnrollment;
 import ticktocktrack.database.DatabaseViewClassList;
 import ticktocktrack.logic.Student;
 
@@ -41,8 +40,8 @@ public class TeacherAddStudent {
 
     /**
      * Displays a dialog for the teacher to select and add students to a class.
+     * The students not yet in the class are loaded a page at a time as the list is scrolled.
      *
-     * @param allStudents the list of all students available for selection
      * @param courseName the name of the course to which students will be added
      * @param section the section of the course
      * @param program the program the course belongs to
@@ -50,10 +49,7 @@ public class TeacherAddStudent {
      * @param teacherId the unique identifier of the teacher performing the action
      * @return true if students were successfully added, false otherwise or if the dialog was cancelled
      */
-    public static boolean showAddStudentSelectionDialog(List<Student> allStudents, String courseName, String section, String program, int classId, int teacherId) {
-        final int finalTeacherId = teacherId;
-        
-         
+    public static boolean showAddStudentSelectionDialog(String courseName, String section, String program, int classId, int teacherId) {
         Stage dialog = new Stage();
         dialog.setTitle("Enroll Students in: " + courseName);
 
@@ -70,19 +66,8 @@ public class TeacherAddStudent {
         ListView<Student> selectedListView = new ListView<>();
         selectedListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         selectedListView.setPrefHeight(150);
-       
-     
-       
-       
-        VBox studentsVBox = new VBox(10);
-        studentsVBox.setPadding(new Insets(10));
-        studentsVBox.setStyle("-fx-border-color: #ccc; -fx-border-width: 1;");
-
-
-        Set<Integer> enrolledStudentIdsOriginal = DatabaseViewClassList.getEnrolledStudentIds(classId);
-        Set<Integer> enrolledStudentIds = (enrolledStudentIdsOriginal == null) ? new HashSet<>() : new HashSet<>(enrolledStudentIdsOriginal);
-       
-     // Now the cell factory, capturing enrolledStudentIds and studentsVBox (make them effectively final)
+
+
         selectedListView.setCellFactory(listView -> new javafx.scene.control.ListCell<Student>() {
             private final HBox content;
             private final Text nameText;
@@ -97,9 +82,6 @@ public class TeacherAddStudent {
                     Student s = getItem();
                     if (s != null) {
                         selectedListView.getItems().remove(s);
-                        // Refresh the student rows to reflect deselection
-                        List<Student> filtered = filterStudents(allStudents, section, program, yearLevelComboBox.getValue(), enrolledStudentIds);
-                        populateStudentRows(filtered, studentsVBox, selectedListView);
                     }
                 });
 
@@ -127,28 +109,25 @@ public class TeacherAddStudent {
                 }
             }
         });
-        List<Student> filteredStudents = filterStudents(allStudents, section, program, "All", enrolledStudentIds);
-        populateStudentRows(filteredStudents, studentsVBox, selectedListView);
+
+
+        // Students not in the class, filtered and paged by the database
+        UnenrolledStudentTable studentTable = new UnenrolledStudentTable(classId, program, section, selectedListView);
 
 
         Boolean[] enrollmentOccurred = new Boolean[] {false}; // ✅ FIXED: Mutable boolean wrapper
         Button filterBtn = new Button("Filter");
-        filterBtn.setOnAction(e -> {
-            String selectedYear = yearLevelComboBox.getValue();
-            List<Student> filtered = filterStudents(allStudents, section, program, selectedYear, enrolledStudentIds);
-            populateStudentRows(filtered, studentsVBox, selectedListView);
-        });
+        filterBtn.setOnAction(e -> studentTable.setYearLevel(yearLevelComboBox.getValue()));
 
 
-        Button enrollBtn = new Button("Enroll Selected");
-        enrollBtn.disableProperty().bind(Bindings.isEmpty(selectedListView.getItems()));
+        // Search runs once typing pauses, off the FX thread
+        TextField searchField = new TextField();
+        searchField.setPromptText("Search by name, username or email...");
+        searchField.textProperty().addListener((obs, oldText, newText) -> studentTable.setSearch(newText));
 
 
-       
-        final String finalCourseName = courseName;
-        final String finalSection = section;
-        final String finalProgram = program;
-       
+        Button enrollBtn = new Button("Enroll Selected");
+        enrollBtn.disableProperty().bind(Bindings.isEmpty(selectedListView.getItems()));
 
 
         enrollBtn.setOnAction(e -> {
@@ -164,27 +143,59 @@ public class TeacherAddStudent {
 
             alert.showAndWait().ifPresent(response -> {
                 if (response == javafx.scene.control.ButtonType.OK) {
-                    boolean success = DatabaseViewClassList.enrollStudents(classId, selectedStudents);
-                    if (success) {
-                        enrollmentOccurred[0] = true;
-                        for (Student s : selectedStudents) {
-                            enrolledStudentIds.add(s.getStudentId());
+                    layout.setDisable(true);
+                    FxAsync.apply(AsyncDatabase.supply(() -> DatabaseViewClassList.enrollStudents(classId, selectedStudents)), success -> {
+                        layout.setDisable(false);
+                        if (!success) {
+                            showEnrollmentFailed();
+                            return;
                         }
+                        enrollmentOccurred[0] = true;
                         selectedListView.getItems().clear();
+                        studentTable.reload();
 
 
-                        List<Student> filtered = filterStudents(allStudents, finalSection, finalProgram, yearLevelComboBox.getValue(), enrolledStudentIds);
-                        populateStudentRows(filtered, studentsVBox, selectedListView);
+                        TeacherViewClassStudents.refreshStudentTable(courseName, section, program, teacherId);
+                    }, error -> {
+                        layout.setDisable(false);
+                        showEnrollmentFailed();
+                    });
+                }
+            });
+        });
 
 
-                        TeacherViewClassStudents.refreshStudentTable(courseName, section, program, teacherId);
+        // Enrolls every unenrolled student of the class's program and section, in the chosen year level, at once
+        Button enrollSectionBtn = new Button("Enroll Whole Section");
+        enrollSectionBtn.setOnAction(e -> {
+            String selectedYear = yearLevelComboBox.getValue();
+            String yearLevel = "All".equals(selectedYear) ? null : selectedYear;
 
-                     
+            Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+            alert.setTitle("Confirm Enrollment");
+            alert.setHeaderText("You are about to enroll every " + (yearLevel == null ? "" : yearLevel + " ")
+                    + "student of " + program + " section " + section);
+            alert.setContentText("Do you want to proceed?");
 
+            alert.showAndWait().ifPresent(response -> {
+                if (response == javafx.scene.control.ButtonType.OK) {
+                    layout.setDisable(true);
+                    FxAsync.apply(AsyncDatabase.supply(() -> DatabaseEnrollment.enrollCohort(classId, program, section, yearLevel)), enrolled -> {
+                        layout.setDisable(false);
+                        if (enrolled == null) {
+                            showEnrollmentFailed();
+                            return;
+                        }
+                        enrollmentOccurred[0] = true;
+                        selectedListView.getItems().removeIf(s -> enrolled.contains(s.getStudentId()));
+                        studentTable.reload();
 
-                    } else {
-                        System.err.println("Enrollment failed!");
-                    }
+                        TeacherViewClassStudents.refreshStudentTable(courseName, section, program, teacherId);
+                        new Alert(Alert.AlertType.INFORMATION, "Enrolled " + enrolled.size() + " student(s).").showAndWait();
+                    }, error -> {
+                        layout.setDisable(false);
+                        showEnrollmentFailed();
+                    });
                 }
             });
         });
@@ -194,14 +205,15 @@ public class TeacherAddStudent {
             new Label("Filter by Year Level:"),
             yearLevelComboBox,
             filterBtn,
-            studentsVBox,
+            searchField,
+            studentTable.getTable(),
             new Label("Students to Enroll:"),
             selectedListView,
-            enrollBtn
+            new HBox(10, enrollBtn, enrollSectionBtn)
         );
 
 
-        Scene scene = new Scene(layout, 500, 650);
+        Scene scene = new Scene(layout, 500, 720);
         dialog.setScene(scene);
         dialog.showAndWait();
 
@@ -209,83 +221,14 @@ public class TeacherAddStudent {
         return enrollmentOccurred[0]; // ✅ Will return true if enrollment succeeded
     }
 
-
-
-
     /**
-     * Filters the list of students based on section, program, year level, 
-     * and excludes those whose IDs are already in the enrolledIds set.
-     *
-     * @param students the list of students to filter
-     * @param section the section filter; "All" means no filtering by section
-     * @param program the program filter; "All" means no filtering by program
-     * @param yearLevel the year level filter; "All" means no filtering by year level
-     * @param enrolledIds the set of student IDs that are already enrolled and should be excluded
-     * @return a filtered list of students matching the criteria and not enrolled
+     * Tells the teacher that the students could not be enrolled.
      */
-    private static List<Student> filterStudents(List<Student> students, String section, String program, String yearLevel, Set<Integer> enrolledIds) {
-        return students.stream()
-            .filter(s -> !enrolledIds.contains(s.getStudentId()))
-            .filter(s -> program.equals("All") || s.getProgram().equalsIgnoreCase(program))
-            .filter(s -> section.equals("All") || s.getSection().equalsIgnoreCase(section))
-            .filter(s -> yearLevel.equals("All") || s.getYearLevel().equalsIgnoreCase(yearLevel))
-            .collect(Collectors.toList());
+    static void showEnrollmentFailed() {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Enrollment Failed");
+        alert.setHeaderText("The students could not be enrolled");
+        alert.setContentText("Please try again. If the problem continues, check the database connection.");
+        alert.showAndWait();
     }
-
-    /**
-     * Populates the given VBox container with rows representing each student in the list,
-     * and connects the ListView showing selected students to support interaction.
-     *
-     * @param students the list of students to display as rows
-     * @param container the VBox container where student rows will be added
-     * @param selectedListView the ListView of selected students to update on interactions
-     */
-    private static void populateStudentRows(List<Student> students, VBox container, ListView<Student> selectedListView) {
-        container.getChildren().clear();
-        for (Student student : students) {
-            HBox row = new HBox(10);
-            row.setAlignment(Pos.CENTER_LEFT);
-
-
-            String display = student.getFullName() + " [" + student.getUsername() + "] | Year: " + student.getYearLevel() + " | Section: " + student.getSection();
-            Text info = new Text(display);
-            info.setWrappingWidth(400);
-
-
-            Button toggleBtn = new Button();
-            updateToggleButtonLabel(toggleBtn, selectedListView.getItems().contains(student));
-            toggleBtn.setStyle("-fx-background-color: #0097A7; -fx-text-fill: white;");
-
-
-            toggleBtn.setOnAction(e -> {
-                if (selectedListView.getItems().contains(student)) {
-                    selectedListView.getItems().remove(student);
-                } else {
-                    selectedListView.getItems().add(student);
-                }
-                updateToggleButtonLabel(toggleBtn, selectedListView.getItems().contains(student));
-            });
-
-
-            row.getChildren().addAll(toggleBtn, info);
-            container.getChildren().add(row);
-        }
-    }
-
-    /**
-     * Updates the visual label and style of a toggle button based on its selection state.
-     *
-     * @param btn the Button to update
-     * @param isSelected true if the button is selected; false otherwise
-     */
-    private static void updateToggleButtonLabel(Button btn, boolean isSelected) {
-        btn.setText(isSelected ? "-" : "+");
-    }
-
-
-
-
 }
-
-
-
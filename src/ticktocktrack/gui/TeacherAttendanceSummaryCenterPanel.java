@@ -5,7 +5,6 @@ import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.effect.DropShadow;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
@@ -13,12 +12,14 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
+import ticktocktrack.database.AsyncDatabase;
 import ticktocktrack.database.DatabaseAttendanceSummary;
 import ticktocktrack.database.DatabaseAttendance;
 import ticktocktrack.logic.Student;
+import ticktocktrack.logic.AttendanceStats;
 import ticktocktrack.logic.CourseInfo;
 
-import java.util.List;
+import java.util.Map;
 
 /**
  * This class provides the user interface panel for displaying a teacher's attendance summary.
@@ -96,7 +97,7 @@ public class TeacherAttendanceSummaryCenterPanel {
         headerPane.setPrefHeight(135);
 
         // Shadow image under the header for visual depth effect
-        ImageView shadow = new ImageView(new Image(TeacherAttendanceSummaryCenterPanel.class
+        ImageView shadow = new ImageView(ImageCache.get(TeacherAttendanceSummaryCenterPanel.class
                 .getResource("/resources/SHADOW.png").toExternalForm()));
         shadow.setFitWidth(1300);
         shadow.setFitHeight(250);
@@ -160,7 +161,7 @@ public class TeacherAttendanceSummaryCenterPanel {
      * @return a VBox representing the styled subject card UI component
      */
     private static VBox createSubjectCard(String name, int idx, StackPane content, int teacherId) {
-        ImageView icon = new ImageView(new Image(SUBJECT_ICON));
+        ImageView icon = new ImageView(ImageCache.get(SUBJECT_ICON));
         icon.setFitWidth(80);
         icon.setFitHeight(80);
 
@@ -222,7 +223,7 @@ public class TeacherAttendanceSummaryCenterPanel {
         BorderPane detail = new BorderPane();
 
         Pane left = new Pane();
-        ImageView bg = new ImageView(new Image(DASHBOARD_BG));
+        ImageView bg = new ImageView(ImageCache.get(DASHBOARD_BG));
         bg.setPreserveRatio(true);
         bg.setFitWidth(370);
         bg.setFitHeight(370);
@@ -232,7 +233,7 @@ public class TeacherAttendanceSummaryCenterPanel {
 
         Pane centerPane = new Pane();
 
-        ImageView subjectIcon = new ImageView(new Image(SUBJECT_ICON));
+        ImageView subjectIcon = new ImageView(ImageCache.get(SUBJECT_ICON));
         subjectIcon.setFitWidth(26);
         subjectIcon.setFitHeight(26);
 
@@ -251,31 +252,27 @@ public class TeacherAttendanceSummaryCenterPanel {
         String section = parts[1].trim();
         String program = parts[2].trim();
 
-        List<Student> enrolledStudents = DatabaseAttendanceSummary.getStudentsEnrolledForTeacher(courseName, section, program, teacherId);
-
-        for (Student s : enrolledStudents) {
-            String fullName = s.getLastName() + ", " + s.getFirstName();
-            if (s.getMiddleName() != null && !s.getMiddleName().isEmpty()) {
-                fullName += " " + s.getMiddleName();
-            }
-
-            int present = DatabaseAttendanceSummary.countPresent(s.getStudentId(), courseName, section, program, teacherId);
-            int absent = DatabaseAttendanceSummary.countAbsences(s.getStudentId(), courseName, section, program, teacherId);
-            int excused = DatabaseAttendanceSummary.countExcused(s.getStudentId(), courseName, section, program, teacherId);
-            int late = DatabaseAttendanceSummary.countLate(s.getStudentId(), courseName, section, program, teacherId);
-
-            String status;
-            if (absent <= 2) { 
-                status = "Good";
-            } else if (absent == 3) {
-                status = "Warning";
-            } else {
-                status = "Critical";
-            }
-
-
-            table.getItems().add(new AttendanceRecord(fullName, status, present, absent, excused, late));
-        }
+        FxAsync.loadTable(table,
+                AsyncDatabase.supply(() -> DatabaseAttendanceSummary.getClassAttendanceStats(courseName, section, program, teacherId)),
+                classStats -> {
+                    for (Map.Entry<Student, AttendanceStats> entry : classStats.entrySet()) {
+                        Student s = entry.getKey();
+                        String fullName = s.getLastName() + ", " + s.getFirstName();
+                        if (s.getMiddleName() != null && !s.getMiddleName().isEmpty()) {
+                            fullName += " " + s.getMiddleName();
+                        }
+
+                        AttendanceStats counts = entry.getValue();
+                        int present = counts.present;
+                        int absent = counts.absent;
+                        int excused = counts.excused;
+                        int late = counts.late;
+
+                        String status = counts.getStanding();
+
+                        table.getItems().add(new AttendanceRecord(fullName, status, present, absent, excused, late));
+                    }
+                });
 
         table.setPrefSize(545, 400);
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
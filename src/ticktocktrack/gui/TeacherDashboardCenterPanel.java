@@ -3,7 +3,6 @@ package ticktocktrack.gui;
 import javafx.geometry.Insets;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.effect.DropShadow;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
@@ -17,6 +16,7 @@ import java.time.format.DateTimeFormatter;
 
 import ticktocktrack.logic.Session;
 import ticktocktrack.logic.UsersModel;
+import ticktocktrack.database.AsyncDatabase;
 import ticktocktrack.database.DatabaseDashboard;
 
 /**
@@ -41,21 +41,21 @@ public class TeacherDashboardCenterPanel {
         centerPanel.setStyle("-fx-background-color: white; -fx-border-color: #cccccc; -fx-border-width: 1px;");
 
         // Shadow
-        ImageView shadowView = new ImageView(new Image(
+        ImageView shadowView = new ImageView(ImageCache.get(
                 TeacherDashboardCenterPanel.class.getResource("/resources/SHADOW.png").toExternalForm()));
         shadowView.setFitWidth(1300);
         shadowView.setFitHeight(250);
         shadowView.setLayoutY(-115);
 
         // Backgrounds and effects
-        ImageView teacherBgView = new ImageView(new Image(
+        ImageView teacherBgView = new ImageView(ImageCache.get(
                 TeacherDashboardCenterPanel.class.getResource("/resources/Teacher_Dashboard/Teacher_bg.png").toExternalForm()));
         teacherBgView.setFitWidth(1000);
         teacherBgView.setFitHeight(210);
         teacherBgView.setLayoutX(20);
         teacherBgView.setLayoutY(50);
 
-        ImageView teacherEffectsView = new ImageView(new Image(
+        ImageView teacherEffectsView = new ImageView(ImageCache.get(
                 TeacherDashboardCenterPanel.class.getResource("/resources/Teacher_Dashboard/Teacher_effects.png").toExternalForm()));
         teacherEffectsView.setFitWidth(490);
         teacherEffectsView.setFitHeight(275);
@@ -83,8 +83,6 @@ public class TeacherDashboardCenterPanel {
 
         // Metrics
         int teacherId = (currentUser != null && currentUser.getTeacherId() != null) ? currentUser.getTeacherId() : -1;
-        int totalClasses = DatabaseDashboard.getTotalClassesByTeacher(teacherId);
-        int totalStudents = DatabaseDashboard.getTotalUniqueStudentsByTeacher(teacherId);
         
         Text attendanceTitle = new Text("QUICK PEEK");
         attendanceTitle.setFont(Font.font("Poppins", FontWeight.BOLD, 17));
@@ -98,7 +96,7 @@ public class TeacherDashboardCenterPanel {
         classLabel.setLayoutX(150);
         classLabel.setLayoutY(390);
 
-        Text classValue = new Text(String.valueOf(totalClasses));
+        Text classValue = new Text();
         classValue.setFont(Font.font("Poppins", FontWeight.BOLD, 45));
         classValue.setFill(Color.web("#FF9800"));
         classValue.setLayoutX(165);
@@ -110,12 +108,16 @@ public class TeacherDashboardCenterPanel {
         studentLabel.setLayoutX(325);
         studentLabel.setLayoutY(390);
 
-        Text studentValue = new Text(String.valueOf(totalStudents));
+        Text studentValue = new Text();
         studentValue.setFont(Font.font("Poppins", FontWeight.BOLD, 45));
         studentValue.setFill(Color.web("#FF9800"));
         studentValue.setLayoutX(365);
         studentValue.setLayoutY(480);
 
+        // Counts are fetched off the FX thread and filled in when they arrive
+        FxAsync.loadText(classValue, AsyncDatabase.supply(() -> DatabaseDashboard.getTotalClassesByTeacher(teacherId)), String::valueOf);
+        FxAsync.loadText(studentValue, AsyncDatabase.supply(() -> DatabaseDashboard.getTotalUniqueStudentsByTeacher(teacherId)), String::valueOf);
+
         // Vertical Divider (unused in layout due to negative X)
         Line verticalLine = new Line(285, 360, 285, 500);
         verticalLine.setStroke(Color.web("#34BCCE"));
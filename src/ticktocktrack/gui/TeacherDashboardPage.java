@@ -93,7 +93,7 @@ public class TeacherDashboardPage extends Application {
        
         // Logo
         String logoPath = getClass().getResource("/resources/TTT_logo.png").toExternalForm();
-        ImageView logoView = new ImageView(new Image(logoPath));
+        ImageView logoView = new ImageView(ImageCache.get(logoPath));
         logoView.setFitWidth(85);
         logoView.setFitHeight(85);
         logoView.setLayoutX(17);
@@ -127,7 +127,7 @@ public class TeacherDashboardPage extends Application {
      // --- User Icon Setup ---
         String userIconPath = getClass().getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm();
         Image profileImage = UserIconUpdate.getCurrentUserProfileImage();
-        Image userImage = profileImage != null ? profileImage : new Image(userIconPath);
+        Image userImage = profileImage != null ? profileImage : ImageCache.get(userIconPath);
 
         userIcon = new ImageView(userImage);
         userIcon.setFitWidth(67);
@@ -186,7 +186,7 @@ public class TeacherDashboardPage extends Application {
 
         // Dashboard icon
         String dashboardIconPath = getClass().getResource("/resources/Dashboard_icon.png").toExternalForm();
-        ImageView dashboardIcon = new ImageView(new Image(dashboardIconPath));
+        ImageView dashboardIcon = new ImageView(ImageCache.get(dashboardIconPath));
         dashboardIcon.setFitWidth(35);
         dashboardIcon.setFitHeight(35);
         dashboardIcon.setLayoutX(46);
@@ -227,7 +227,7 @@ public class TeacherDashboardPage extends Application {
 
         // Line under dashboard
         String line1Path = getClass().getResource("/resources/Line1.png").toExternalForm();
-        ImageView line1 = new ImageView(new Image(line1Path));
+        ImageView line1 = new ImageView(ImageCache.get(line1Path));
         line1.setFitWidth(195);
         line1.setFitHeight(2);
         line1.setLayoutX(30);
@@ -235,7 +235,7 @@ public class TeacherDashboardPage extends Application {
      
      // Calendar Icon
         String calendarIconPath = getClass().getResource("/resources/Teacher_Dashboard/Teacher_calendar_icon.png").toExternalForm();
-        ImageView calendarIcon = new ImageView(new Image(calendarIconPath));
+        ImageView calendarIcon = new ImageView(ImageCache.get(calendarIconPath));
         calendarIcon.setFitWidth(33); // Set width for the calendar icon
         calendarIcon.setFitHeight(33); // Set height for the calendar icon
         calendarIcon.setLayoutX(46); // x position
@@ -273,7 +273,7 @@ public class TeacherDashboardPage extends Application {
         
      // Line 2 image
         String line2Path = getClass().getResource("/resources/Line2.png").toExternalForm();
-        ImageView line2 = new ImageView(new Image(line2Path));
+        ImageView line2 = new ImageView(ImageCache.get(line2Path));
         line2.setFitWidth(195);  // width of line 2
         line2.setFitHeight(0);   // height of line 2 (0 for a thin line)
         line2.setLayoutX(30); // x position
@@ -281,7 +281,7 @@ public class TeacherDashboardPage extends Application {
         
      // View Class List icon image
         String viewAllPath = getClass().getResource("/resources/Teacher_Dashboard/Teacher_view_all_icon.png").toExternalForm();
-        ImageView viewAllIcon = new ImageView(new Image(viewAllPath));
+        ImageView viewAllIcon = new ImageView(ImageCache.get(viewAllPath));
         viewAllIcon.setFitWidth(35);
         viewAllIcon.setFitHeight(35);
         viewAllIcon.setLayoutX(46); // x position
@@ -319,7 +319,7 @@ public class TeacherDashboardPage extends Application {
         
      // Add Course icon image
         String addCourseIconPath = getClass().getResource("/resources/Teacher_Dashboard/Teacher_add_course_icon.png").toExternalForm();
-        ImageView addCourseIcon = new ImageView(new Image(addCourseIconPath));
+        ImageView addCourseIcon = new ImageView(ImageCache.get(addCourseIconPath));
         addCourseIcon.setFitWidth(31); // Set width
         addCourseIcon.setFitHeight(31); // Set height
         addCourseIcon.setLayoutX(47); // x position (adjust if needed)
@@ -357,7 +357,7 @@ public class TeacherDashboardPage extends Application {
         
      // Line 3 image
         String line3Path = getClass().getResource("/resources/Line3.png").toExternalForm();
-        ImageView line3 = new ImageView(new Image(line3Path));
+        ImageView line3 = new ImageView(ImageCache.get(line3Path));
         line3.setFitWidth(195);  // width of line 3
         line3.setFitHeight(0);   // height of line 3 (0 for a thin line)
         line3.setLayoutX(30);    // x position (adjust if needed)
@@ -365,7 +365,7 @@ public class TeacherDashboardPage extends Application {
         
      // Attendance icon image
         String attendanceIconPath = getClass().getResource("/resources/Teacher_Dashboard/Teacher_summary_icon.png").toExternalForm();
-        ImageView attendanceIcon = new ImageView(new Image(attendanceIconPath));
+        ImageView attendanceIcon = new ImageView(ImageCache.get(attendanceIconPath));
         attendanceIcon.setFitWidth(35);   // width
         attendanceIcon.setFitHeight(35);  // height
         attendanceIcon.setLayoutX(46);    // x position
@@ -402,7 +402,7 @@ public class TeacherDashboardPage extends Application {
         
      // Individual Reports icon image
         String individualReportsIconPath = getClass().getResource("/resources/Teacher_Dashboard/Teacher_report_icon.png").toExternalForm();
-        ImageView individualReportsIcon = new ImageView(new Image(individualReportsIconPath));
+        ImageView individualReportsIcon = new ImageView(ImageCache.get(individualReportsIconPath));
         individualReportsIcon.setFitWidth(35);   // width
         individualReportsIcon.setFitHeight(35);  // height
         individualReportsIcon.setLayoutX(46);    // x position
@@ -473,7 +473,7 @@ public class TeacherDashboardPage extends Application {
             userIcon.setImage(profileImage);
         } else {
             String defaultIconPath = getClass().getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm();
-            userIcon.setImage(new Image(defaultIconPath));
+            userIcon.setImage(ImageCache.get(defaultIconPath));
         }
     }
 
@@ -7,7 +7,6 @@ import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
 import javafx.animation.TranslateTransition;
 import javafx.scene.layout.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.text.*;
@@ -47,14 +46,14 @@ public class TeacherIndividualReportsCenterPanel {
 
         // Background shadow 
         String shadowPath = TeacherIndividualReportsCenterPanel.class.getResource("/resources/SHADOW.png").toExternalForm();
-        ImageView shadowView = new ImageView(new Image(shadowPath));
+        ImageView shadowView = new ImageView(ImageCache.get(shadowPath));
         shadowView.setFitWidth(1300);
         shadowView.setFitHeight(250);
         shadowView.setLayoutX(0);
         shadowView.setLayoutY(-115);
         
         String reportImagePath = TeacherIndividualReportsCenterPanel.class.getResource("/resources/Teacher_Dashboard/Teacher_Report_Image.png").toExternalForm();
-        ImageView reportImageView = new ImageView(new Image(reportImagePath));
+        ImageView reportImageView = new ImageView(ImageCache.get(reportImagePath));
         reportImageView.setFitWidth(450);  // Adjust width
         reportImageView.setFitHeight(450);
         reportImageView.setPreserveRatio(true);
@@ -316,19 +315,9 @@ public class TeacherIndividualReportsCenterPanel {
                     studentCard.setCursor(Cursor.HAND);
 
                     String profilePath = s.getProfilePath();
-                    ImageView userIcon;
-
-                    if (profilePath != null && !profilePath.trim().isEmpty()) {
-                        try {
-                            Image profileImage = new Image(profilePath, true);
-                            userIcon = new ImageView(profileImage);
-                        } catch (Exception e1) {
-                            System.err.println("Failed to load profile image: " + e1.getMessage());
-                            userIcon = new ImageView(new Image(CardIndividualReport.class.getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm()));
-                        }
-                    } else {
-                        userIcon = new ImageView(new Image(CardIndividualReport.class.getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm()));
-                    }
+                    ImageView userIcon = new ImageView();
+                    ImageCache.loadInto(userIcon, profilePath != null ? profilePath.trim() : null, 40, 40,
+                            ImageCache.get(CardIndividualReport.class.getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm()));
 
                     userIcon.setFitWidth(40);
                     userIcon.setFitHeight(40);
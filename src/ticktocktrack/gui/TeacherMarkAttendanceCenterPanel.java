@@ -13,10 +13,10 @@ import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.ComboBoxTableCell;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.util.Duration;
+import ticktocktrack.database.AsyncDatabase;
 import ticktocktrack.database.DatabaseAttendance;
 import ticktocktrack.database.DatabaseViewClassList;
 import ticktocktrack.logic.CourseInfo;
@@ -24,10 +24,9 @@ import ticktocktrack.logic.Session;
 import ticktocktrack.logic.Student;
 import ticktocktrack.logic.UsersModel;
 
-import ticktocktrack.database.StudentNotificationDAO;
-
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@code TeacherMarkAttendanceCenterPanel} class is responsible for creating
@@ -58,6 +57,11 @@ public class TeacherMarkAttendanceCenterPanel {
      */
     private static String lastSelectedProgram = null;
 
+    /**
+     * The roster load still in flight, cancelled when the selection changes before it completes.
+     */
+    private static CompletableFuture<Void> pendingStudentLoad = null;
+
     /**
      * Creates and returns a {@code BorderPane} that serves as the main user interface
      * for marking attendance. The panel includes sections for course, section, and
@@ -77,7 +81,7 @@ public class TeacherMarkAttendanceCenterPanel {
         try {
             String shadowPath = TeacherMarkAttendanceCenterPanel.class
                     .getResource("/resources/SHADOW.png").toExternalForm();
-            ImageView shadowView = new ImageView(new Image(shadowPath));
+            ImageView shadowView = new ImageView(ImageCache.get(shadowPath));
             shadowView.setFitWidth(1300);
             shadowView.setFitHeight(250);
             shadowView.setLayoutY(-115);
@@ -416,7 +420,7 @@ public class TeacherMarkAttendanceCenterPanel {
 
     /**
      * Loads students enrolled in a specific course, program, and section into the provided list.
-     * Updates each student's attendance status for the current day.
+     * Each student's attendance status and reason for the current day are loaded with the roster.
      *
      * @param course    The name of the course for which to load students.
      * @param program   The program name used for filtering students.
@@ -424,21 +428,17 @@ public class TeacherMarkAttendanceCenterPanel {
      * @param students  The {@code ObservableList} to populate with the loaded student data.
      */
     private static void loadStudents(String course, String program, String section, ObservableList<Student> students) {
-        students.clear();
-        List<Student> loadedStudents = DatabaseAttendance.getStudentsEnrolled(course, program, section);
         String today = java.time.LocalDate.now().toString();
 
-        for (Student s : loadedStudents) {
-            s.setDate(today);
-
-            // Get attendance status for today
-            String attendanceStatus = DatabaseAttendance.getAttendanceStatus(
-                s.getStudentId(), course, program, section, today
-            );
-
-            s.setStatus(attendanceStatus); // Set actual or "Pending"
-            students.add(s);
+        if (pendingStudentLoad != null) {
+            pendingStudentLoad.cancel(false); // drop the result of an outdated selection
         }
+        students.clear();
+
+        // Roster and today's status/reason come back from one query, off the FX thread
+        pendingStudentLoad = FxAsync.apply(
+                AsyncDatabase.supply(() -> DatabaseAttendance.getStudentsEnrolledWithAttendance(course, program, section, today)),
+                students::setAll);
     }
 
     /**
@@ -476,67 +476,22 @@ public class TeacherMarkAttendanceCenterPanel {
         String sectionFromSection = parts[0].trim();  // e.g. "1"
         String programFromSection = parts[1].trim();  // e.g. "BSIT – BS in Information Technology"
 
-        try {
-            for (Student student : students) {
-                String studentProgram = student.getProgram() != null && !student.getProgram().isEmpty()
-                                        ? student.getProgram()
-                                        : programFromSection;
-
-                String studentSection = student.getSection() != null && !student.getSection().isEmpty()
-                                        ? student.getSection()
-                                        : sectionFromSection;
-
-                if (studentProgram.isEmpty() || studentSection.isEmpty()) {
-                    System.err.println("Skipping student " + student.getStudentId() + " due to missing program or section");
-                    continue;
-                }
-
-                int studentId = student.getStudentId();
-                
-                String date = student.getDate();
-                String status = student.getStatus();
-
-                int attendanceId = DatabaseAttendance.saveAttendance(
-                    studentId,
-                    date,
-                    status,
-                    student.getReason(),
-                    studentProgram,
-                    course,
-                    studentSection
-                );
-
-                DatabaseAttendance.saveAttendance(
-                    studentId,
-                    student.getDate(),
-                    student.getStatus(),
-                    student.getReason(),
-                    studentProgram,
-                    course,
-                    studentSection
-                    
-                );
-                DatabaseAttendance.updateStudentAttendance(
-                	    student.getStudentId(),
-                	    student.getDate(),
-                	    student.getStatus(),
-                	    studentProgram,
-                	    course,
-                	    studentSection
-                	);
-
-                StudentNotificationDAO.sendAttendanceNotification(studentId, status, attendanceId, LocalDate.parse(date), course);
-
-
-            }
-
-            Alert alert = new Alert(Alert.AlertType.INFORMATION, "Attendance saved successfully.");
-            alert.showAndWait();
-        } catch (Exception e) {
-            e.printStackTrace();
-            Alert alert = new Alert(Alert.AlertType.ERROR, "Failed to save attendance: " + e.getMessage());
-            alert.showAndWait();
-        }
+        String date = !students.isEmpty() && students.get(0).getDate() != null && !students.get(0).getDate().isEmpty()
+                      ? students.get(0).getDate()
+                      : LocalDate.now().toString();
+        List<Student> roster = new ArrayList<>(students);
+
+        // Saves every row and its notification in one transaction, off the FX thread
+        FxAsync.apply(
+                AsyncDatabase.supply(() -> DatabaseAttendance.saveRoster(course, programFromSection, sectionFromSection, date, roster)),
+                saved -> {
+                    Alert alert = new Alert(Alert.AlertType.INFORMATION, "Attendance saved successfully.");
+                    alert.showAndWait();
+                },
+                e -> {
+                    Alert alert = new Alert(Alert.AlertType.ERROR, "Failed to save attendance: " + e.getMessage());
+                    alert.showAndWait();
+                });
     }
 
 
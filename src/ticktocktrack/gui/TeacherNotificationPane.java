@@ -8,13 +8,13 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.*;
 import javafx.scene.shape.Circle;
 import javafx.scene.text.TextAlignment;
 import javafx.stage.Popup;
+import ticktocktrack.database.AsyncDatabase;
 import ticktocktrack.database.StudentNotificationDAO;
 import ticktocktrack.database.TeacherApproval;
 import ticktocktrack.database.TeacherNotificationDAO;
@@ -31,6 +31,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -73,18 +74,35 @@ public class TeacherNotificationPane {
     /**
      * The number of notifications to load per page when fetching notifications.
      */
-    private static final int PAGE_SIZE = 3;
+    private static final int PAGE_SIZE = 20;
 
     /**
-     * Offset tracking how many notifications have been loaded so far.
+     * Date sent of the last notification loaded so far; the next page starts after it.
+     * Null until the first page has been loaded.
      */
-    private int notificationsOffset = 0;
+    private LocalDateTime cursorDateSent = null;
+
+    /**
+     * ID of the last notification loaded so far, breaking ties on {@link #cursorDateSent}.
+     */
+    private int cursorNotificationId = 0;
+
+    /**
+     * The next page, fetched in the background as soon as the current page is shown
+     * so that scrolling to the bottom usually finds it already loaded.
+     */
+    private CompletableFuture<List<Notification>> prefetchedPage = null;
 
     /**
      * Flag indicating whether all notifications have been loaded from the database.
      */
     private boolean allNotificationsLoaded = false;
 
+    /**
+     * Flag indicating that a page of notifications is being fetched in the background.
+     */
+    private boolean loadingNotifications = false;
+
     /**
      * Gets the user ID of the sender of the notification.
      * 
@@ -134,7 +152,7 @@ public class TeacherNotificationPane {
         );
         
         scrollPane.vvalueProperty().addListener((obs, oldVal, newVal) -> {
-            if (newVal.doubleValue() >= 0.9) {  // near bottom
+            if (newVal.doubleValue() >= 0.75) {  // near bottom; the next page is usually prefetched already
             	loadNotificationsFromDatabase();
 
             }
@@ -146,7 +164,7 @@ public class TeacherNotificationPane {
        
 
         String iconPath = getClass().getResource("/resources/Teacher_Dashboard/Teacher_notification_icon.png").toExternalForm();
-        notificationIcon = new ImageView(new Image(iconPath));
+        notificationIcon = new ImageView(ImageCache.get(iconPath));
         notificationIcon.setFitWidth(30);
         notificationIcon.setFitHeight(30);
         notificationIcon.setPreserveRatio(true);
@@ -167,28 +185,59 @@ public class TeacherNotificationPane {
     }
 
     /**
-     * Loads notifications for the current user from the database in pages.
-     * If all notifications have already been loaded, this method returns immediately.
+     * Loads the next page of notifications for the current user, seeking past the last one loaded.
+     * The page is fetched in the background; if all notifications have already been loaded,
+     * or a page is still loading, this method returns immediately.
      * Newly loaded notifications are added to the internal list and UI.
      */
     private void loadNotificationsFromDatabase() {
-        if (allNotificationsLoaded) {
-            return; // no more notifications to load
+        if (allNotificationsLoaded || loadingNotifications) {
+            return; // no more notifications to load, or a page is already on its way
         }
 
-        List<Notification> dbNotes = TeacherNotificationDAO.getNotificationsForUser(userId, notificationsOffset, PAGE_SIZE);
+        loadingNotifications = true;
+        CompletableFuture<List<Notification>> page = prefetchedPage != null
+                ? prefetchedPage
+                : fetchPage(cursorDateSent, cursorNotificationId);
+        prefetchedPage = null;
+
+        FxAsync.apply(page, dbNotes -> {
+            loadingNotifications = false;
+
+            if (dbNotes == null || dbNotes.isEmpty()) {
+                allNotificationsLoaded = true; // no more data
+                return;
+            }
 
-        if (dbNotes == null || dbNotes.isEmpty()) {
-            allNotificationsLoaded = true; // no more data
-        } else {
             notifications.addAll(dbNotes);
-            notificationsOffset += dbNotes.size();
 
             // Add newly loaded notifications to UI:
             for (Notification n : dbNotes) {
                 addNotificationToHolder(n);
             }
-        }
+
+            Notification last = dbNotes.get(dbNotes.size() - 1);
+            cursorDateSent = last.getDateSent();
+            cursorNotificationId = last.getNotificationId();
+
+            if (dbNotes.size() < PAGE_SIZE) {
+                allNotificationsLoaded = true; // a short page is the last one
+            } else {
+                prefetchedPage = fetchPage(cursorDateSent, cursorNotificationId);
+            }
+        }, error -> loadingNotifications = false);
+    }
+
+    /**
+     * Starts fetching the page of notifications that follows the given cursor.
+     *
+     * @param afterDateSent       date sent of the last notification already loaded, or null for the first page
+     * @param afterNotificationId ID of the last notification already loaded
+     * @return the page being fetched
+     */
+    private CompletableFuture<List<Notification>> fetchPage(LocalDateTime afterDateSent, int afterNotificationId) {
+        return AsyncDatabase.supply(() ->
+                TeacherNotificationDAO.getNotificationsForUserAfter(userId, afterDateSent, afterNotificationId, PAGE_SIZE));
     }
 
     /**
@@ -216,21 +265,9 @@ public class TeacherNotificationPane {
         // Try to get the sender's profile path from the database
         String profilePath = StudentNotificationDAO.getUserProfilePath(senderUserId);
 
-        ImageView iconView;
-        if (profilePath != null && !profilePath.isEmpty()) {
-            try {
-                // If profilePath is a URL or file path, load it
-                Image img = new Image(profilePath, 50, 50, true, true);
-                iconView = new ImageView(img);
-            } catch (Exception e) {
-                // If loading fails, fallback to default icon
-                System.err.println("Failed to load profile image: " + e.getMessage());
-                iconView = getDefaultIcon();
-            }
-        } else {
-            // If no profilePath, use default icon
-            iconView = getDefaultIcon();
-        }
+        // Show the default icon until the sender's picture has been decoded
+        ImageView iconView = new ImageView();
+        ImageCache.loadInto(iconView, profilePath, 50, 50, getDefaultIcon().getImage());
 
         // Make the icon circular
         Circle clip = new Circle(25, 25, 25);
@@ -275,7 +312,7 @@ public class TeacherNotificationPane {
      */
     private ImageView getDefaultIcon() {
         String iconPath = getClass().getResource("/resources/Admin_Dashboard/Admin_user_icon.png").toExternalForm();
-        return new ImageView(new Image(iconPath, 50, 50, true, true));
+        return new ImageView(ImageCache.get(iconPath, 50, 50));
     }
     
     /**
@@ -288,7 +325,7 @@ public class TeacherNotificationPane {
     private void addHoverEffect(HBox box, int notificationId) {
         // Create the button with the image, but don't add it yet
     	String btnImagePath = getClass().getResource("/resources/others_button.png").toExternalForm();
-        ImageView btnIcon = new ImageView(new Image(btnImagePath, 30, 30, true, true));
+        ImageView btnIcon = new ImageView(ImageCache.get(btnImagePath, 30, 30));
         Button hoverButton = new Button();
         hoverButton.setGraphic(btnIcon);
         hoverButton.setStyle("-fx-background-color: transparent; -fx-cursor: hand;");
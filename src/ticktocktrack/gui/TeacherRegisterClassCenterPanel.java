@@ -1,6 +1,5 @@
 package ticktocktrack.gui;
 
-import java.util.List;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Alert;
@@ -18,7 +17,6 @@ import javafx.scene.layout.VBox;
 import ticktocktrack.database.DatabaseRegisterClass;
 import ticktocktrack.logic.RegisterClass;
 import ticktocktrack.logic.Session;
-import ticktocktrack.logic.Student;
 import ticktocktrack.logic.UsersModel;
 
 /**
@@ -111,9 +109,8 @@ public class TeacherRegisterClassCenterPanel {
                     int classId = DatabaseRegisterClass.getClassId(courseName, teacherId, section, program);
 
                     if (classId != -1) {
-                        List<Student> students = DatabaseRegisterClass.getUnenrolledStudents(classId);
                         TeacherEnrollmentStudent.showStudentSelectionDialog(
-                            students, courseName, section, classId, program
+                            courseName, section, classId, program
                         );
                     } else {
                         RegisterClass.showAlert(Alert.AlertType.ERROR, "Error", "Failed to retrieve class ID.");
@@ -13,6 +13,7 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
+import ticktocktrack.database.AsyncDatabase;
 import ticktocktrack.database.DatabaseViewClassList;
 import ticktocktrack.logic.Student;
 import ticktocktrack.logic.ViewClassList;
@@ -103,7 +104,7 @@ public class TeacherViewClassStudents {
         centerPanel.setStyle("-fx-background-color: #F0F8FF; -fx-border-color: transparent;");
 
         String shadowPath = TeacherViewClassStudents.class.getResource("/resources/SHADOW.png").toExternalForm();
-        ImageView shadowView = new ImageView(new Image(shadowPath));
+        ImageView shadowView = new ImageView(ImageCache.get(shadowPath));
         shadowView.setFitWidth(1300);
         shadowView.setFitHeight(250);
         shadowView.setLayoutY(-115);
@@ -172,20 +173,14 @@ public class TeacherViewClassStudents {
                 System.err.println("Invalid class ID for course/section/program/teacher");
                 return;
             }
-            List<Student> students = DatabaseViewClassList.getUnenrolledStudentsWithEnrollmentId(classId);
-            if (students == null) {
-                System.err.println("Failed to fetch unenrolled students for class ID: " + classId);
-                return;
-            }
-            // Corrected parameter order here:
-            boolean success = TeacherAddStudent.showAddStudentSelectionDialog(students, courseName, section, program, classId, teacherId);
+            boolean success = TeacherAddStudent.showAddStudentSelectionDialog(courseName, section, program, classId, teacherId);
 
             if (success) {
                 refreshStudentTable(courseName, section, program, teacherId);
             }
         });
 
-        Image trashImage = new Image("/resources/trashbin_icon.png");
+        Image trashImage = ImageCache.get("/resources/trashbin_icon.png");
         ImageView trashIcon = new ImageView(trashImage);
         trashIcon.setFitWidth(24);
         trashIcon.setFitHeight(24);
@@ -202,7 +197,8 @@ public class TeacherViewClassStudents {
             Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
             confirmAlert.setTitle("Confirm Delete");
             confirmAlert.setHeaderText("Unenroll Selected Students");
-            confirmAlert.setContentText("Are you sure you want to unenroll the selected students from this class?");
+            confirmAlert.setContentText("Are you sure you want to unenroll the selected students from this class? "
+                    + "Their attendance records for this class will also be deleted.");
 
             confirmAlert.showAndWait().ifPresent(response -> {
                 if (response == ButtonType.OK) {
@@ -211,14 +207,27 @@ public class TeacherViewClassStudents {
                             .map(Map.Entry::getKey)
                             .collect(Collectors.toList());
 
-                    // Un-enroll students from Enrollments table
-                    DatabaseViewClassList.unenrollStudentsFromClass(toUnenroll, courseName, section, program, teacherId);
-
-                    studentData.removeAll(toUnenroll);
-                    toUnenroll.forEach(selectedMap::remove);
-                    trashButton.setVisible(false);
-
-                    refreshStudentTable(courseName, section, program, teacherId);
+                    // Un-enroll students from Enrollments table, off the FX thread
+                    trashButton.setDisable(true);
+                    FxAsync.apply(AsyncDatabase.supply(() -> DatabaseViewClassList.unenrollStudentsFromClass(toUnenroll, courseName, section, program, teacherId)), unenrolled -> {
+                        trashButton.setDisable(false);
+                        if (unenrolled == null) {
+                            new Alert(Alert.AlertType.ERROR, "The students could not be unenrolled.").showAndWait();
+                            return;
+                        }
+
+                        List<Student> removed = toUnenroll.stream()
+                                .filter(s -> unenrolled.contains(s.getStudentId()))
+                                .collect(Collectors.toList());
+                        studentData.removeAll(removed);
+                        removed.forEach(selectedMap::remove);
+                        trashButton.setVisible(false);
+
+                        refreshStudentTable(courseName, section, program, teacherId);
+                    }, error -> {
+                        trashButton.setDisable(false);
+                        new Alert(Alert.AlertType.ERROR, "The students could not be unenrolled.").showAndWait();
+                    });
                 }
             });
         });
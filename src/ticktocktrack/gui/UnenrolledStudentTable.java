@@ -0,0 +1,176 @@
+package ticktocktrack.gui;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.ListChangeListener;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.util.Callback;
+import ticktocktrack.database.DatabaseViewClassList;
+import ticktocktrack.logic.Student;
+
+/**
+ * A table of the students not yet enrolled in a class, for the enroll-students dialogs.
+ * <p>
+ * Students are fetched from the database a page at a time as the table is scrolled, so
+ * opening a dialog does not load the whole student body. Each row has a button that adds
+ * the student to, or removes it from, the dialog's list of selected students.
+ * </p>
+ */
+public final class UnenrolledStudentTable {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final TableView<Student> table = new TableView<>();
+    private final ListView<Student> selectedListView;
+    private final PagedTableLoader<Student> loader;
+
+    private String yearLevel;
+    private String search;
+
+    /**
+     * Creates the table and loads its first page.
+     *
+     * @param classId          the class the students are enrolled in
+     * @param program          the program of the students to list, or "All"
+     * @param section          the section of the students to list, or "All"
+     * @param selectedListView the list of selected students that the row buttons add to
+     */
+    public UnenrolledStudentTable(int classId, String program, String section, ListView<Student> selectedListView) {
+        this.selectedListView = selectedListView;
+        String programFilter = anyIfAll(program);
+        String sectionFilter = anyIfAll(section);
+
+        TableColumn<Student, Student> selectCol = new TableColumn<>("");
+        selectCol.setCellValueFactory(cell -> new SimpleObjectProperty<>(cell.getValue()));
+        selectCol.setCellFactory(toggleButtonCell());
+        selectCol.setPrefWidth(45);
+
+        TableColumn<Student, String> nameCol = new TableColumn<>("Name");
+        nameCol.setCellValueFactory(cell -> new SimpleStringProperty(cell.getValue().getFullName()));
+        nameCol.setPrefWidth(170);
+
+        TableColumn<Student, String> usernameCol = new TableColumn<>("Username");
+        usernameCol.setCellValueFactory(cell -> new SimpleStringProperty(cell.getValue().getUsername()));
+        usernameCol.setPrefWidth(110);
+
+        TableColumn<Student, String> yearCol = new TableColumn<>("Year");
+        yearCol.setCellValueFactory(cell -> new SimpleStringProperty(cell.getValue().getYearLevel()));
+        yearCol.setPrefWidth(70);
+
+        TableColumn<Student, String> sectionCol = new TableColumn<>("Section");
+        sectionCol.setCellValueFactory(cell -> new SimpleStringProperty(cell.getValue().getSection()));
+        sectionCol.setPrefWidth(60);
+
+        // Rows come back in student ID order; sorting would only reorder the loaded pages
+        List<TableColumn<Student, ?>> columns = Arrays.asList(selectCol, nameCol, usernameCol, yearCol, sectionCol);
+        for (TableColumn<Student, ?> column : columns) {
+            column.setSortable(false);
+        }
+        table.getColumns().addAll(columns);
+        table.setPlaceholder(new Label("No students to enroll."));
+        table.setPrefHeight(300);
+
+        // Keep the row buttons in step when students are removed from the selected list
+        selectedListView.getItems().addListener((ListChangeListener<Student>) change -> table.refresh());
+
+        loader = new PagedTableLoader<>(table, PAGE_SIZE, () -> {
+            String yearLevelFilter = yearLevel;
+            String searchText = search;
+            return (after, limit) -> DatabaseViewClassList.findUnenrolledStudents(classId, programFilter, sectionFilter,
+                    yearLevelFilter, searchText, after, limit);
+        });
+        loader.reload();
+    }
+
+    /**
+     * Returns the table, to add to the dialog's layout.
+     *
+     * @return the table
+     */
+    public TableView<Student> getTable() {
+        return table;
+    }
+
+    /**
+     * Lists only the students of a year level, and reloads.
+     *
+     * @param yearLevel the year level, or "All"
+     */
+    public void setYearLevel(String yearLevel) {
+        this.yearLevel = anyIfAll(yearLevel);
+        loader.reload();
+    }
+
+    /**
+     * Lists only the students matching the search text, once typing pauses.
+     *
+     * @param search the search box text
+     */
+    public void setSearch(String search) {
+        this.search = search;
+        loader.reloadLater();
+    }
+
+    /**
+     * Loads the table again, for example after the selected students were enrolled.
+     */
+    public void reload() {
+        loader.reload();
+    }
+
+    /**
+     * Checks whether a student is in a list of selected students. Rows are loaded again on
+     * every reload, so students are compared by ID rather than by instance.
+     *
+     * @param selectedListView the list of selected students
+     * @param student the student to look for
+     * @return true if the list holds a student with the same ID
+     */
+    static boolean containsStudent(ListView<Student> selectedListView, Student student) {
+        return selectedListView.getItems().stream().anyMatch(s -> s.getStudentId() == student.getStudentId());
+    }
+
+    private Callback<TableColumn<Student, Student>, TableCell<Student, Student>> toggleButtonCell() {
+        return column -> new TableCell<Student, Student>() {
+            private final Button toggleBtn = new Button();
+
+            {
+                toggleBtn.setStyle("-fx-background-color: #0097A7; -fx-text-fill: white;");
+                toggleBtn.setOnAction(e -> {
+                    Student student = getItem();
+                    if (student == null) {
+                        return;
+                    }
+                    if (containsStudent(selectedListView, student)) {
+                        selectedListView.getItems().removeIf(s -> s.getStudentId() == student.getStudentId());
+                    } else {
+                        selectedListView.getItems().add(student);
+                    }
+                });
+            }
+
+            @Override
+            protected void updateItem(Student student, boolean empty) {
+                super.updateItem(student, empty);
+                if (empty || student == null) {
+                    setGraphic(null);
+                } else {
+                    toggleBtn.setText(containsStudent(selectedListView, student) ? "-" : "+");
+                    setGraphic(toggleBtn);
+                }
+            }
+        };
+    }
+
+    private static String anyIfAll(String value) {
+        return value == null || value.trim().isEmpty() || value.equals("All") ? null : value;
+    }
+}
@@ -85,7 +85,7 @@ public class UserProfile extends Application {
         imageView.setPreserveRatio(true);
         if (user != null && user.getProfilePath() != null) {
             try {
-                Image image = new Image(user.getProfilePath());
+                Image image = ImageCache.get(user.getProfilePath());
                 imageView.setImage(image);
             } catch (Exception e) {
                 System.out.println("Failed to load profile image: " + e.getMessage());
@@ -151,6 +151,7 @@ public class UserProfile extends Application {
             if (selectedFile != null && user != null) {
                 String absolutePath = selectedFile.toURI().toString();
                 user.setProfilePath(absolutePath);
+                ImageCache.invalidate(absolutePath); // the file may have changed under the same name
 
                 DatabaseUserProfile.updateProfilePath(user.getUserId(), absolutePath);
 
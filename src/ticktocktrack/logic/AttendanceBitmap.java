@@ -0,0 +1,524 @@
+package ticktocktrack.logic;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory copy of the attendance history, compact enough to hold a whole institution,
+ * for analytics that would otherwise count Attendance rows in the database.
+ * <p>
+ * Each enrollment keeps one 3-bit status code per calendar day since {@link #getOrigin()},
+ * stored bit-sliced: three {@code long} words cover 64 days, one word per bit of the code.
+ * Counting a status over a date range is then a handful of bitwise operations and a
+ * {@link Long#bitCount(long)} per 64 days, and nothing is boxed. Enrollments are found
+ * through an {@link IntIntMap} from enrollment id to slot.
+ * </p>
+ * The bitmap is safe to read and update from several threads. It is filled and kept up to
+ * date by {@code ticktocktrack.database.AttendanceAnalytics}.
+ */
+public class AttendanceBitmap {
+
+    /** No attendance was recorded on the day. */
+    public static final int NONE = 0;
+    public static final int PRESENT = 1;
+    public static final int ABSENT = 2;
+    public static final int LATE = 3;
+    public static final int EXCUSED = 4;
+    public static final int PENDING = 5;
+    /** A status this class does not know; counted as recorded but never as attended. */
+    public static final int OTHER = 6;
+
+    private static final int CODES = 7;
+    private static final int PLANES = 3;
+
+    private final LocalDate origin;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** The slot of each enrollment id. */
+    private final IntIntMap slotOfEnrollment = new IntIntMap();
+
+    /** Per slot: the status planes, interleaved as words[3 * w + plane]. */
+    private long[][] words = new long[32][];
+    private int[] classIds = new int[32];
+    private int[] studentIds = new int[32];
+    private int size;
+
+    /**
+     * Creates an empty bitmap whose day 0 is the given date.
+     *
+     * @param origin the earliest date the bitmap can hold
+     */
+    public AttendanceBitmap(LocalDate origin) {
+        this.origin = origin;
+    }
+
+    /**
+     * Returns the status code stored for an attendance status.
+     *
+     * @param status the status as stored in the Attendance table, e.g. Present
+     * @return the code, {@link #OTHER} for unknown statuses or {@link #NONE} for null
+     */
+    public static int codeOf(String status) {
+        if (status == null) {
+            return NONE;
+        }
+        switch (status) {
+            case "Present":
+                return PRESENT;
+            case "Absent":
+                return ABSENT;
+            case "Late":
+                return LATE;
+            case "Excused":
+                return EXCUSED;
+            case "Pending":
+                return PENDING;
+            default:
+                return OTHER;
+        }
+    }
+
+    /**
+     * Returns the first date the bitmap can hold.
+     *
+     * @return the origin date
+     */
+    public LocalDate getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Registers an enrollment, or updates its class and student if already registered.
+     *
+     * @param enrollmentId the enrollment id, greater than zero
+     * @param classId      the class the enrollment belongs to
+     * @param studentId    the enrolled student
+     */
+    public void addEnrollment(int enrollmentId, int classId, int studentId) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotFor(enrollmentId, true);
+            classIds[slot] = classId;
+            studentIds[slot] = studentId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns whether an enrollment is registered.
+     *
+     * @param enrollmentId the enrollment id
+     * @return true if the enrollment was added
+     */
+    public boolean hasEnrollment(int enrollmentId) {
+        lock.readLock().lock();
+        try {
+            return slotFor(enrollmentId, false) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records the attendance status of an enrollment on a date, replacing any earlier status.
+     *
+     * @param enrollmentId the enrollment id
+     * @param date         the attendance date
+     * @param status       the status as stored in the Attendance table
+     * @return false if the enrollment is not registered or the date is before the origin,
+     *         in which case nothing is recorded
+     */
+    public boolean set(int enrollmentId, LocalDate date, String status) {
+        long day = ChronoUnit.DAYS.between(origin, date);
+        if (day < 0 || day > Integer.MAX_VALUE - 64) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = slotFor(enrollmentId, false);
+            if (slot < 0) {
+                return false;
+            }
+            int d = (int) day;
+            long[] w = words[slot];
+            int needed = ((d >>> 6) + 1) * PLANES;
+            if (w == null || w.length < needed) {
+                int length = w == null ? needed : Math.max(needed, w.length + w.length / 2 / PLANES * PLANES);
+                w = w == null ? new long[length] : Arrays.copyOf(w, length);
+                words[slot] = w;
+            }
+            int code = codeOf(status);
+            int base = (d >>> 6) * PLANES;
+            long bit = 1L << (d & 63);
+            for (int plane = 0; plane < PLANES; plane++) {
+                if ((code & (1 << plane)) != 0) {
+                    w[base + plane] |= bit;
+                } else {
+                    w[base + plane] &= ~bit;
+                }
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the status code of an enrollment on a date.
+     *
+     * @param enrollmentId the enrollment id
+     * @param date         the attendance date
+     * @return the status code, or {@link #NONE} if nothing is recorded
+     */
+    public int statusOn(int enrollmentId, LocalDate date) {
+        long day = ChronoUnit.DAYS.between(origin, date);
+        lock.readLock().lock();
+        try {
+            int slot = slotFor(enrollmentId, false);
+            if (slot < 0 || day < 0 || day >= days(slot)) {
+                return NONE;
+            }
+            return code(words[slot], (int) day);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the days of each status of an enrollment between two dates, inclusive.
+     *
+     * @param enrollmentId the enrollment id
+     * @param from         the first date, or null for the origin
+     * @param to           the last date, or null for the latest recorded day
+     * @return the number of days per status code, indexed by code; index {@link #NONE} is 0
+     */
+    public int[] counts(int enrollmentId, LocalDate from, LocalDate to) {
+        int[] counts = new int[CODES];
+        lock.readLock().lock();
+        try {
+            int slot = slotFor(enrollmentId, false);
+            if (slot < 0 || words[slot] == null) {
+                return counts;
+            }
+            long first = from == null ? 0 : Math.max(0, ChronoUnit.DAYS.between(origin, from));
+            long last = to == null ? days(slot) - 1 : Math.min(days(slot) - 1, ChronoUnit.DAYS.between(origin, to));
+            if (first > last) {
+                return counts;
+            }
+            long[] w = words[slot];
+            int firstWord = (int) (first >>> 6);
+            int lastWord = (int) (last >>> 6);
+            for (int i = firstWord; i <= lastWord; i++) {
+                long mask = -1L;
+                if (i == firstWord) {
+                    mask &= -1L << (first & 63);
+                }
+                if (i == lastWord) {
+                    mask &= -1L >>> (63 - (last & 63));
+                }
+                long b0 = w[i * PLANES];
+                long b1 = w[i * PLANES + 1];
+                long b2 = w[i * PLANES + 2];
+                long recorded = (b0 | b1 | b2) & mask;
+                if (recorded == 0) {
+                    continue;
+                }
+                for (int code = 1; code < CODES; code++) {
+                    long match = recorded
+                            & ((code & 1) != 0 ? b0 : ~b0)
+                            & ((code & 2) != 0 ? b1 : ~b1)
+                            & ((code & 4) != 0 ? b2 : ~b2);
+                    counts[code] += Long.bitCount(match);
+                }
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the attendance counts of an enrollment between two dates, inclusive.
+     *
+     * @param enrollmentId the enrollment id
+     * @param from         the first date, or null for the origin
+     * @param to           the last date, or null for the latest recorded day
+     * @return the counts of Present, Absent, Late and Excused days
+     */
+    public AttendanceStats stats(int enrollmentId, LocalDate from, LocalDate to) {
+        int[] counts = counts(enrollmentId, from, to);
+        return new AttendanceStats(counts[PRESENT], counts[ABSENT], counts[LATE], counts[EXCUSED]);
+    }
+
+    /**
+     * Returns the attendance counts of an enrollment over its whole history.
+     *
+     * @param enrollmentId the enrollment id
+     * @return the counts of Present, Absent, Late and Excused days
+     */
+    public AttendanceStats stats(int enrollmentId) {
+        return stats(enrollmentId, null, null);
+    }
+
+    /**
+     * Returns the share of recorded days between two dates on which the student attended,
+     * that is, was Present or Late.
+     *
+     * @param enrollmentId the enrollment id
+     * @param from         the first date, or null for the origin
+     * @param to           the last date, or null for the latest recorded day
+     * @return the attendance rate between 0 and 1, or NaN if no day was recorded
+     */
+    public double attendanceRate(int enrollmentId, LocalDate from, LocalDate to) {
+        int[] counts = counts(enrollmentId, from, to);
+        int recorded = 0;
+        for (int code = 1; code < CODES; code++) {
+            recorded += counts[code];
+        }
+        return recorded == 0 ? Double.NaN : (double) (counts[PRESENT] + counts[LATE]) / recorded;
+    }
+
+    /**
+     * Returns the longest run of recorded days with one status. Days without a record, such
+     * as weekends, neither extend nor break a run.
+     *
+     * @param enrollmentId the enrollment id
+     * @param code         the status code, e.g. {@link #ABSENT}
+     * @return the length of the longest run
+     */
+    public int longestStreak(int enrollmentId, int code) {
+        lock.readLock().lock();
+        try {
+            int slot = slotFor(enrollmentId, false);
+            if (slot < 0 || words[slot] == null) {
+                return 0;
+            }
+            long[] w = words[slot];
+            int longest = 0;
+            int current = 0;
+            for (int d = 0, days = days(slot); d < days; d++) {
+                int c = code(w, d);
+                if (c == NONE) {
+                    continue;
+                }
+                current = c == code ? current + 1 : 0;
+                longest = Math.max(longest, current);
+            }
+            return longest;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the run of recorded days with one status that ends on the latest recorded day,
+     * for example how many classes in a row a student has currently missed.
+     *
+     * @param enrollmentId the enrollment id
+     * @param code         the status code, e.g. {@link #ABSENT}
+     * @return the length of the current run, 0 if the latest recorded day has another status
+     */
+    public int currentStreak(int enrollmentId, int code) {
+        lock.readLock().lock();
+        try {
+            int slot = slotFor(enrollmentId, false);
+            if (slot < 0 || words[slot] == null) {
+                return 0;
+            }
+            long[] w = words[slot];
+            int current = 0;
+            for (int d = days(slot) - 1; d >= 0; d--) {
+                int c = code(w, d);
+                if (c == NONE) {
+                    continue;
+                }
+                if (c != code) {
+                    break;
+                }
+                current++;
+            }
+            return current;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the status code of every day between two dates, inclusive.
+     *
+     * @param enrollmentId the enrollment id
+     * @param from         the first date
+     * @param to           the last date
+     * @return one status code per day, {@link #NONE} where nothing is recorded
+     */
+    public byte[] slice(int enrollmentId, LocalDate from, LocalDate to) {
+        long first = ChronoUnit.DAYS.between(origin, from);
+        long last = ChronoUnit.DAYS.between(origin, to);
+        if (last < first) {
+            return new byte[0];
+        }
+        byte[] codes = new byte[(int) (last - first + 1)];
+        lock.readLock().lock();
+        try {
+            int slot = slotFor(enrollmentId, false);
+            if (slot < 0 || words[slot] == null) {
+                return codes;
+            }
+            long end = Math.min(last, days(slot) - 1);
+            for (long d = Math.max(0, first); d <= end; d++) {
+                codes[(int) (d - first)] = (byte) code(words[slot], (int) d);
+            }
+            return codes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the enrollments of the whole institution by standing, as classified by
+     * {@link AttendanceStats#getStanding()}.
+     *
+     * @param classId the class to count, or 0 for every class
+     * @return the number of Good, Warning and Critical enrollments, in that order
+     */
+    public int[] standingSummary(int classId) {
+        int[] summary = new int[3];
+        int[] ids;
+        lock.readLock().lock();
+        try {
+            int[] matching = new int[size];
+            int[] n = new int[1];
+            slotOfEnrollment.forEach((enrollmentId, slot) -> {
+                if (classId == 0 || classIds[slot] == classId) {
+                    matching[n[0]++] = enrollmentId;
+                }
+            });
+            ids = Arrays.copyOf(matching, n[0]);
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (int id : ids) {
+            switch (stats(id).getStanding()) {
+                case AttendanceStats.GOOD:
+                    summary[0]++;
+                    break;
+                case AttendanceStats.WARNING:
+                    summary[1]++;
+                    break;
+                default:
+                    summary[2]++;
+                    break;
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Returns the class an enrollment belongs to.
+     *
+     * @param enrollmentId the enrollment id
+     * @return the class id, or -1 if the enrollment is not registered
+     */
+    public int classOf(int enrollmentId) {
+        lock.readLock().lock();
+        try {
+            int slot = slotFor(enrollmentId, false);
+            return slot < 0 ? -1 : classIds[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the student of an enrollment.
+     *
+     * @param enrollmentId the enrollment id
+     * @return the student id, or -1 if the enrollment is not registered
+     */
+    public int studentOf(int enrollmentId) {
+        lock.readLock().lock();
+        try {
+            int slot = slotFor(enrollmentId, false);
+            return slot < 0 ? -1 : studentIds[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of registered enrollments.
+     *
+     * @return the number of enrollments
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the heap used by the bitmap's arrays.
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = slotOfEnrollment.estimatedBytes() + 4L * (classIds.length + studentIds.length)
+                    + 8L * words.length;
+            for (int slot = 0; slot < size; slot++) {
+                if (words[slot] != null) {
+                    bytes += 16 + 8L * words[slot].length;
+                }
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns the number of days a slot's words can hold; callers hold the lock. */
+    private int days(int slot) {
+        long[] w = words[slot];
+        return w == null ? 0 : w.length / PLANES * 64;
+    }
+
+    private static int code(long[] w, int day) {
+        int base = (day >>> 6) * PLANES;
+        int shift = day & 63;
+        return (int) ((w[base] >>> shift) & 1)
+                | (int) ((w[base + 1] >>> shift) & 1) << 1
+                | (int) ((w[base + 2] >>> shift) & 1) << 2;
+    }
+
+    /**
+     * Finds the slot of an enrollment, adding one if {@code create} is set. Callers hold
+     * the write lock when creating and at least the read lock otherwise.
+     */
+    private int slotFor(int enrollmentId, boolean create) {
+        if (enrollmentId <= 0) {
+            if (create) {
+                throw new IllegalArgumentException("Enrollment ids must be positive: " + enrollmentId);
+            }
+            return -1;
+        }
+        int slot = slotOfEnrollment.get(enrollmentId, -1);
+        if (slot >= 0 || !create) {
+            return slot;
+        }
+        if (size == words.length) {
+            int capacity = words.length * 2;
+            words = Arrays.copyOf(words, capacity);
+            classIds = Arrays.copyOf(classIds, capacity);
+            studentIds = Arrays.copyOf(studentIds, capacity);
+        }
+        slotOfEnrollment.put(enrollmentId, size);
+        return size++;
+    }
+}
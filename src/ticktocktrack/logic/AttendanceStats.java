@@ -6,6 +6,15 @@ package ticktocktrack.logic;
  * late, and excused.
  */
 public class AttendanceStats {
+
+    /** Standing of a student with at most two absences. */
+    public static final String GOOD = "Good";
+
+    /** Standing of a student with exactly three absences. */
+    public static final String WARNING = "Warning";
+
+    /** Standing of a student with more than three absences. */
+    public static final String CRITICAL = "Critical";
 	
     /**
      * The number of times an individual was present.
@@ -41,4 +50,19 @@ public class AttendanceStats {
         this.late = late;
         this.excused = excused;
     }
+
+    /**
+     * Classifies these counts by the number of absences: {@link #GOOD} for at most two,
+     * {@link #WARNING} for three and {@link #CRITICAL} for more.
+     *
+     * @return the standing
+     */
+    public String getStanding() {
+        if (absent <= 2) {
+            return GOOD;
+        } else if (absent == 3) {
+            return WARNING;
+        }
+        return CRITICAL;
+    }
 }
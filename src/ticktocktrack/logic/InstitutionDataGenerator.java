@@ -0,0 +1,559 @@
+package ticktocktrack.logic;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import ticktocktrack.database.AttendanceCounters;
+import ticktocktrack.database.BulkInserter;
+import ticktocktrack.database.DatabaseConnection;
+import ticktocktrack.database.DatabaseRegistrationManager;
+import ticktocktrack.database.SchemaMigrator;
+import ticktocktrack.database.UserIdentityCache;
+import ticktocktrack.database.UserSearch;
+
+/**
+ * Fills the database with a synthetic institution for scale testing.
+ * <p>
+ * The defaults describe a large school at the end of a term: 50,000 students,
+ * 2,000 teachers, 8,000 classes, 10 million attendance rows and 5 million
+ * notifications. The same options and seed always produce the same rows. Every
+ * account's password is {@code password}.
+ * </p>
+ * <p>
+ * The data is skewed the way real data is: programs and class sizes differ, most
+ * students are nearly always present while a few are often absent or late, excuses are
+ * mostly approved, and notifications cluster around the students who miss class.
+ * </p>
+ * Usage, for example against the embedded profile:
+ * <pre>
+ * java -Dticktocktrack.db.profile=embedded ticktocktrack.logic.InstitutionDataGenerator \
+ *      --students 5000 --teachers 200 --classes 800 --attendance 1000000 --notifications 500000 --seed 7
+ * </pre>
+ * The generator refuses to write into a database that already has users unless
+ * {@code --clear} is given, which deletes all existing rows first.
+ */
+public class InstitutionDataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+        "Juan", "Maria", "Jose", "Ana", "Mark", "Angel", "John", "Princess", "Christian", "Nicole",
+        "Paolo", "Andrea", "Miguel", "Camille", "Carlo", "Bea", "Rafael", "Patricia", "Joshua", "Kristine",
+        "Gabriel", "Sofia", "Daniel", "Isabel", "Adrian", "Trisha", "Kevin", "Jasmine", "Ryan", "Aira"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Santos", "Reyes", "Cruz", "Bautista", "Ocampo", "Garcia", "Mendoza", "Torres", "Castillo", "Flores",
+        "Villanueva", "Ramos", "Aquino", "Navarro", "Salazar", "Domingo", "Dela Cruz", "Gonzales", "Lopez", "Rivera",
+        "Fernandez", "Morales", "Castro", "Pascual", "Manalo", "Soriano", "Valdez", "Jimenez", "Perez", "Tolentino"
+    };
+
+    /** Programs with the relative size of their student body. */
+    private static final String[] PROGRAMS = { "BSIT", "BSCS", "BSIS", "BSEMC", "BSA", "BSN" };
+    private static final int[] PROGRAM_WEIGHTS = { 30, 20, 15, 10, 15, 10 };
+
+    private static final String[] COURSES = {
+        "Programming 1", "Programming 2", "Data Structures", "Algorithms", "Database Systems", "Networking 1",
+        "Networking 2", "Operating Systems", "Web Development", "Mobile Development", "Software Engineering",
+        "Discrete Mathematics", "Calculus", "Statistics", "Physics", "Technical Writing", "Ethics",
+        "Information Assurance", "Systems Analysis", "Human Computer Interaction", "Accounting 1", "Accounting 2",
+        "Anatomy", "Physical Education", "Purposive Communication", "Readings in History", "Art Appreciation",
+        "Science and Society", "Entrepreneurship", "Capstone Project"
+    };
+
+    private static final String[] ABSENCE_REASONS = {
+        "Medical appointment", "Fever", "Family emergency", "Transportation problem", "School activity", ""
+    };
+
+    private final Options options;
+    private final Random random;
+    private final String passwordHash = DatabaseRegistrationManager.hashPassword("password");
+
+    /** Program index of each student, in student_id order. */
+    private final List<Integer> studentPrograms = new ArrayList<>();
+
+    /** Percent chance that each student, in student_id order, misses a given class. */
+    private int[] studentAbsenceRates = new int[0];
+
+    private InstitutionDataGenerator(Options options) {
+        this.options = options;
+        this.random = new Random(options.seed);
+    }
+
+    /**
+     * Generates the data described by the command-line options.
+     *
+     * @param args options as {@code --name value} pairs; see the class documentation
+     */
+    public static void main(String[] args) {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Options: --students N --teachers N --classes N --attendance N "
+                    + "--notifications N --seed N [--clear]");
+            System.exit(2);
+            return;
+        }
+
+        try {
+            new InstitutionDataGenerator(options).generate();
+            System.exit(0);
+        } catch (SQLException e) {
+            System.err.println("Generating data failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Writes the whole institution, table by table. Pending schema migrations are applied
+     * first, so the counter tables rebuilt at the end exist on a fresh database.
+     *
+     * @throws SQLException if a statement fails
+     */
+    public void generate() throws SQLException {
+        long start = System.currentTimeMillis();
+        SchemaMigrator.migrate();
+        try (Connection conn = DatabaseConnection.getPooledConnection()) {
+            if (hasUsers(conn)) {
+                if (!options.clear) {
+                    throw new SQLException("The database already has users; pass --clear to delete all rows first.");
+                }
+                clear(conn);
+            }
+
+            List<Integer> teacherIds = insertPeople(conn, "teacher", "Teacher", options.teachers);
+            List<Integer> studentIds = insertPeople(conn, "student", "Student", options.students);
+            List<int[]> classes = insertClasses(conn, teacherIds);
+            List<int[]> enrollments = insertEnrollments(conn, studentIds, classes);
+            insertAttendance(conn, enrollments, teacherUserIds(conn));
+            insertNotifications(conn, enrollments, teacherUserIds(conn));
+        }
+        // Attendance was bulk inserted, bypassing the per-enrollment counters
+        AttendanceCounters.rebuild();
+        UserIdentityCache.invalidateAll();
+        UserSearch.invalidate();
+        System.out.println("Generated institution in " + (System.currentTimeMillis() - start) / 1000 + " s");
+    }
+
+    /**
+     * Inserts users and their Students or Teachers rows.
+     *
+     * @return the new student or teacher IDs, in insertion order
+     */
+    private List<Integer> insertPeople(Connection conn, String prefix, String role, int count) throws SQLException {
+        Progress progress = new Progress(role + " users", count);
+        Timestamp created = Timestamp.valueOf(options.termStart.minusWeeks(2).atTime(9, 0));
+        try (BulkInserter users = new BulkInserter(conn,
+                "INSERT INTO Users (username, email, password_hash, role, date_created) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < count; i++) {
+                String username = String.format("%s%06d", prefix, i + 1);
+                users.add(username, username + "@ticktocktrack.test", passwordHash, role, created);
+                progress.step(users.getRowCount());
+            }
+        }
+        progress.done();
+
+        String like = prefix + "%";
+        try (Statement stmt = conn.createStatement()) {
+            if (role.equals("Teacher")) {
+                try (BulkInserter teachers = new BulkInserter(conn,
+                        "INSERT INTO Teachers (user_id, first_name, last_name) VALUES (?, ?, ?)");
+                     ResultSet rs = stmt.executeQuery(
+                        "SELECT user_id FROM Users WHERE role = 'Teacher' AND username LIKE '" + like + "' ORDER BY user_id")) {
+                    while (rs.next()) {
+                        teachers.add(rs.getInt(1), pick(FIRST_NAMES), pick(LAST_NAMES));
+                    }
+                }
+                return loadIds(conn, "SELECT teacher_id FROM Teachers ORDER BY teacher_id");
+            }
+
+            try (BulkInserter students = new BulkInserter(conn,
+                    "INSERT INTO Students (user_id, last_name, first_name, middle_name, year_level, section, program) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)");
+                 ResultSet rs = stmt.executeQuery(
+                    "SELECT user_id FROM Users WHERE role = 'Student' AND username LIKE '" + like + "' ORDER BY user_id")) {
+                while (rs.next()) {
+                    int yearLevel = 1 + random.nextInt(4);
+                    int program = weighted(PROGRAM_WEIGHTS);
+                    studentPrograms.add(program);
+                    students.add(rs.getInt(1), pick(LAST_NAMES), pick(FIRST_NAMES), pick(LAST_NAMES),
+                            yearLevel + yearSuffix(yearLevel) + " Year",
+                            String.valueOf((char) ('A' + random.nextInt(5))),
+                            PROGRAMS[program]);
+                }
+            }
+        }
+        return loadIds(conn, "SELECT student_id FROM Students ORDER BY student_id");
+    }
+
+    /**
+     * Inserts classes. Course, program and section are unique together, which is how
+     * the attendance screens look a class up. Teachers get uneven loads: a few teach
+     * many classes.
+     *
+     * @return {class_id, program index} for each class
+     */
+    private List<int[]> insertClasses(Connection conn, List<Integer> teacherIds) throws SQLException {
+        Progress progress = new Progress("classes", options.classes);
+        List<Integer> programIndexes = new ArrayList<>();
+        try (BulkInserter classes = new BulkInserter(conn,
+                "INSERT INTO Classes (teacher_id, course_name, section, program) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < options.classes; i++) {
+                int course = i % COURSES.length;
+                int program = (i / COURSES.length) % PROGRAMS.length;
+                int section = i / (COURSES.length * PROGRAMS.length) + 1;
+                // Squaring a uniform draw favours the first teachers, giving them heavier loads
+                double skew = random.nextDouble();
+                int teacher = (int) (skew * skew * teacherIds.size());
+                classes.add(teacherIds.get(teacher), COURSES[course], String.valueOf(section), PROGRAMS[program]);
+                programIndexes.add(program);
+                progress.step(classes.getRowCount());
+            }
+        }
+        progress.done();
+
+        List<Integer> classIds = loadIds(conn, "SELECT class_id FROM Classes ORDER BY class_id");
+        List<int[]> classes = new ArrayList<>();
+        for (int i = 0; i < classIds.size(); i++) {
+            classes.add(new int[] { classIds.get(i), programIndexes.get(i) });
+        }
+        return classes;
+    }
+
+    /**
+     * Enrolls every student in 4 to 7 classes, mostly of their own program.
+     *
+     * @return {enrollment_id, student_id, absence rate in percent} for each enrollment
+     */
+    private List<int[]> insertEnrollments(Connection conn, List<Integer> studentIds, List<int[]> classes)
+            throws SQLException {
+        List<List<Integer>> classesByProgram = new ArrayList<>();
+        for (int p = 0; p < PROGRAMS.length; p++) {
+            classesByProgram.add(new ArrayList<>());
+        }
+        for (int[] c : classes) {
+            classesByProgram.get(c[1]).add(c[0]);
+        }
+
+        Progress progress = new Progress("enrollments", studentIds.size() * 11L / 2);
+        try (BulkInserter enrollments = new BulkInserter(conn,
+                "INSERT INTO Enrollments (student_id, class_id) VALUES (?, ?)")) {
+            for (int s = 0; s < studentIds.size(); s++) {
+                int studentId = studentIds.get(s);
+                int program = studentPrograms.get(s);
+                int count = 4 + random.nextInt(4);
+                List<Integer> chosen = new ArrayList<>();
+                for (int k = 0; k < count && chosen.size() < classes.size(); k++) {
+                    List<Integer> pool = random.nextInt(10) < 8 && !classesByProgram.get(program).isEmpty()
+                            ? classesByProgram.get(program) : null;
+                    int classId = pool != null ? pool.get(random.nextInt(pool.size()))
+                                               : classes.get(random.nextInt(classes.size()))[0];
+                    if (!chosen.contains(classId)) {
+                        chosen.add(classId);
+                        enrollments.add(studentId, classId);
+                    }
+                }
+                progress.step(enrollments.getRowCount());
+            }
+        }
+        progress.done();
+
+        // Most students are nearly always there; a long tail misses a lot of class
+        studentAbsenceRates = new int[studentIds.size()];
+        int[] absenceRate = new int[studentIds.isEmpty() ? 0 : studentIds.get(studentIds.size() - 1) + 1];
+        for (int s = 0; s < studentIds.size(); s++) {
+            double draw = random.nextDouble();
+            studentAbsenceRates[s] = (int) Math.round(2 + draw * draw * draw * 40);
+            absenceRate[studentIds.get(s)] = studentAbsenceRates[s];
+        }
+
+        List<int[]> rows = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT enrollment_id, student_id FROM Enrollments ORDER BY enrollment_id")) {
+            while (rs.next()) {
+                int studentId = rs.getInt(2);
+                rows.add(new int[] { rs.getInt(1), studentId, absenceRate[studentId] });
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Spreads the requested number of attendance rows over the enrollments, one row per
+     * school day from the start of the term. When the rows do not divide evenly, the first
+     * enrollments get one more day, so exactly {@code --attendance} rows are written.
+     */
+    private void insertAttendance(Connection conn, List<int[]> enrollments, List<Integer> approvers)
+            throws SQLException {
+        if (enrollments.isEmpty()) {
+            return;
+        }
+        int days = (int) (options.attendance / enrollments.size());
+        long extraDays = options.attendance % enrollments.size();
+        List<LocalDate> schoolDays = schoolDays(termDays(enrollments.size()));
+        Progress progress = new Progress("attendance rows", options.attendance);
+
+        try (BulkInserter attendance = new BulkInserter(conn,
+                "INSERT INTO Attendance (enrollment_id, date, status, reason, approval_status, approved_by, approval_date) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int e = 0; e < enrollments.size(); e++) {
+                int[] enrollment = enrollments.get(e);
+                int absenceRate = enrollment[2];
+                for (LocalDate day : schoolDays.subList(0, e < extraDays ? days + 1 : days)) {
+                    int roll = random.nextInt(100);
+                    java.sql.Date date = java.sql.Date.valueOf(day);
+                    if (roll < absenceRate / 2) {
+                        attendance.add(enrollment[0], date, "Absent", pick(ABSENCE_REASONS), "Pending", null, null);
+                    } else if (roll < absenceRate) {
+                        // Excuses are mostly approved a day or two later
+                        boolean approved = random.nextInt(10) < 8;
+                        attendance.add(enrollment[0], date, approved ? "Excused" : "Absent", pick(ABSENCE_REASONS),
+                                approved ? "Approved" : "Rejected", approvers.get(random.nextInt(approvers.size())),
+                                java.sql.Date.valueOf(day.plusDays(1 + random.nextInt(2))));
+                    } else if (roll < absenceRate + 6) {
+                        attendance.add(enrollment[0], date, "Late", "", "Pending", null, null);
+                    } else {
+                        attendance.add(enrollment[0], date, "Present", "", "Pending", null, null);
+                    }
+                    progress.step(attendance.getRowCount());
+                }
+            }
+        }
+        progress.done();
+    }
+
+    /**
+     * Returns the number of school days the attendance spans: the most days any one
+     * enrollment gets when {@code --attendance} rows are spread over the enrollments.
+     */
+    private int termDays(int enrollmentCount) {
+        return (int) Math.max(1, (options.attendance + enrollmentCount - 1) / enrollmentCount);
+    }
+
+    /**
+     * Inserts notifications from teachers to students. Students who miss more class get
+     * more of them, and several share a timestamp, as when a whole roster is saved at once.
+     */
+    private void insertNotifications(Connection conn, List<int[]> enrollments, List<Integer> senders)
+            throws SQLException {
+        if (enrollments.isEmpty() || senders.isEmpty()) {
+            return;
+        }
+        List<Integer> recipients = loadIds(conn, "SELECT user_id FROM Students ORDER BY student_id");
+        int[] cumulative = new int[recipients.size()];
+        int total = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            total += i < studentAbsenceRates.length ? studentAbsenceRates[i] : 1;
+            cumulative[i] = total;
+        }
+
+        Progress progress = new Progress("notifications", options.notifications);
+        LocalDateTime termStart = options.termStart.atTime(7, 30);
+        long termMinutes = Math.max(1, schoolDays(termDays(enrollments.size())).size()) * 24L * 60;
+        try (BulkInserter notifications = new BulkInserter(conn,
+                "INSERT INTO Notifications (sender_user_id, recipient_user_id, message, notification_type, date_sent, is_read) " +
+                "VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (long i = 0; i < options.notifications; i++) {
+                int recipient = recipients.get(lowerBound(cumulative, 1 + random.nextInt(total)));
+                String course = pick(COURSES);
+                int kind = random.nextInt(10);
+                String message;
+                String type;
+                if (kind < 6) {
+                    message = "You have been marked Absent in " + course + ".";
+                    type = "Attendance";
+                } else if (kind < 8) {
+                    message = "You have been marked Late in " + course + ".";
+                    type = "Attendance";
+                } else {
+                    message = "Your excuse for " + course + " has been approved.";
+                    type = "Excuse";
+                }
+                // Round to the quarter hour so notifications sent together share a timestamp
+                long minute = random.nextLong(termMinutes) / 15 * 15;
+                notifications.add(senders.get(random.nextInt(senders.size())), recipient, message, type,
+                        Timestamp.valueOf(termStart.plusMinutes(minute)), random.nextInt(10) < 7);
+                progress.step(notifications.getRowCount());
+            }
+        }
+        progress.done();
+    }
+
+    private List<LocalDate> schoolDays(int count) {
+        List<LocalDate> days = new ArrayList<>();
+        LocalDate day = options.termStart;
+        while (days.size() < count) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                days.add(day);
+            }
+            day = day.plusDays(1);
+        }
+        return days;
+    }
+
+    private static List<Integer> teacherUserIds(Connection conn) throws SQLException {
+        return loadIds(conn, "SELECT user_id FROM Teachers ORDER BY teacher_id");
+    }
+
+    private static boolean hasUsers(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM Users")) {
+            return rs.next() && rs.getInt(1) > 0;
+        }
+    }
+
+    private static void clear(Connection conn) throws SQLException {
+        System.out.println("Deleting existing rows...");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM Attendance");
+            stmt.executeUpdate("DELETE FROM Notifications");
+            stmt.executeUpdate("DELETE FROM Enrollments");
+            stmt.executeUpdate("DELETE FROM Classes");
+            stmt.executeUpdate("DELETE FROM Students");
+            stmt.executeUpdate("DELETE FROM Teachers");
+            stmt.executeUpdate("UPDATE Users SET created_by_admin_id = NULL");
+            stmt.executeUpdate("DELETE FROM Admins");
+            stmt.executeUpdate("DELETE FROM Users");
+        }
+    }
+
+    private static List<Integer> loadIds(Connection conn, String sql) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private int weighted(int[] weights) {
+        int total = 0;
+        for (int w : weights) {
+            total += w;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static String yearSuffix(int yearLevel) {
+        switch (yearLevel) {
+            case 1: return "st";
+            case 2: return "nd";
+            case 3: return "rd";
+            default: return "th";
+        }
+    }
+
+    /** Returns the first index whose cumulative weight is at least {@code value}. */
+    private static int lowerBound(int[] cumulative, int value) {
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Prints progress about every tenth of a table, and the insert rate at the end.
+     */
+    private static final class Progress {
+        private final String what;
+        private final long expected;
+        private final long start = System.currentTimeMillis();
+        private long nextReport;
+        private long done;
+
+        Progress(String what, long expected) {
+            this.what = what;
+            this.expected = expected;
+            this.nextReport = Math.max(1, expected / 10);
+        }
+
+        void step(long done) {
+            this.done = done;
+            if (done >= nextReport) {
+                System.out.printf("  %s: %,d of %,d%n", what, done, expected);
+                nextReport += Math.max(1, expected / 10);
+            }
+        }
+
+        void done() {
+            long millis = Math.max(1, System.currentTimeMillis() - start);
+            System.out.printf("Inserted %,d %s in %,d ms (%,d rows/s)%n", done, what, millis, done * 1000 / millis);
+        }
+    }
+
+    /**
+     * Command-line options.
+     */
+    private static final class Options {
+        int students = 50_000;
+        int teachers = 2_000;
+        int classes = 8_000;
+        long attendance = 10_000_000L;
+        long notifications = 5_000_000L;
+        long seed = 42;
+        boolean clear;
+        LocalDate termStart = LocalDate.of(2025, 1, 6);
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String name = args[i];
+                if (name.equals("--clear")) {
+                    options.clear = true;
+                    continue;
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + name);
+                }
+                String value = args[++i];
+                try {
+                    switch (name) {
+                        case "--students": options.students = Integer.parseInt(value); break;
+                        case "--teachers": options.teachers = Integer.parseInt(value); break;
+                        case "--classes": options.classes = Integer.parseInt(value); break;
+                        case "--attendance": options.attendance = Long.parseLong(value); break;
+                        case "--notifications": options.notifications = Long.parseLong(value); break;
+                        case "--seed": options.seed = Long.parseLong(value); break;
+                        case "--term-start": options.termStart = LocalDate.parse(value); break;
+                        default: throw new IllegalArgumentException("Unknown option " + name);
+                    }
+                } catch (NumberFormatException | java.time.format.DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid value for " + name + ": " + value);
+                }
+            }
+            if (options.teachers < 1 || options.classes < 1 || options.students < 0) {
+                throw new IllegalArgumentException("At least one teacher and one class are needed");
+            }
+            return options;
+        }
+    }
+}
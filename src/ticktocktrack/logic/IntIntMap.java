@@ -0,0 +1,125 @@
+package ticktocktrack.logic;
+
+/**
+ * A map from positive {@code int} keys to {@code int} values, stored in a primitive
+ * open-addressing table so lookups neither box nor allocate. Key 0 marks an empty cell.
+ * <p>
+ * The map is not thread-safe; {@link AttendanceBitmap} and {@link UserSearchIndex} guard
+ * it with their own locks.
+ * </p>
+ */
+final class IntIntMap {
+
+    private int[] keys = new int[64];
+    private int[] values = new int[64];
+    private int size;
+
+    /** Receives the entries of a map. */
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(int key, int value);
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key     the key
+     * @param missing the value to return if the key is not in the map
+     * @return the value, or {@code missing}
+     */
+    int get(int key, int missing) {
+        if (key <= 0) {
+            return missing;
+        }
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            if (keys[i] == 0) {
+                return missing;
+            }
+        }
+    }
+
+    /**
+     * Sets the value of a key, adding the key if it is not in the map.
+     *
+     * @param key   the key, greater than zero
+     * @param value the value
+     */
+    void put(int key, int value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Keys must be positive: " + key);
+        }
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            if (keys[i] == 0) {
+                keys[i] = key;
+                values[i] = value;
+                if (++size * 2 > keys.length) {
+                    rehash();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Passes every entry to the consumer, in no particular order.
+     *
+     * @param consumer receives each key and its value
+     */
+    void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of keys in the map.
+     *
+     * @return the key count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Estimates the heap used by the table.
+     *
+     * @return the size of the table's arrays in bytes
+     */
+    long estimatedBytes() {
+        return 8L * keys.length;
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                int i = mix(oldKeys[j]) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -9,6 +9,12 @@ import ticktocktrack.gui.HomePage;
 public class Session {
     private static UsersModel currentUser;
 
+    /**
+     * A user that overrides {@link #currentUser} on one thread, so that headless tools can
+     * act as several users at once.
+     */
+    private static final ThreadLocal<UsersModel> threadUser = new ThreadLocal<>();
+
     /**
      * Sets the current logged-in user.
      * @param user The user to set as current session user.
@@ -22,7 +28,25 @@ public class Session {
      * @return The current user, or null if no user is logged in.
      */
     public static UsersModel getCurrentUser() {
-        return currentUser;
+        UsersModel user = threadUser.get();
+        return user != null ? user : currentUser;
+    }
+
+    /**
+     * Makes the calling thread act as the given user until {@link #clearThreadUser()} is
+     * called, without changing the session of the rest of the application. Used by the
+     * load tests to simulate many teachers at once.
+     * @param user The user the calling thread acts as.
+     */
+    public static void setThreadUser(UsersModel user) {
+        threadUser.set(user);
+    }
+
+    /**
+     * Ends the override set by {@link #setThreadUser(UsersModel)} on the calling thread.
+     */
+    public static void clearThreadUser() {
+        threadUser.remove();
     }
 
     /**
@@ -68,6 +92,7 @@ public class Session {
      * @return The user ID of the current user or -1 if no user is logged in.
      */
     public static int getSenderUserId() {
-        return currentUser != null ? currentUser.getUserId() : -1;
+        UsersModel user = getCurrentUser();
+        return user != null ? user.getUserId() : -1;
     }
 }
@@ -2,6 +2,7 @@ package ticktocktrack.logic;
 
 import javafx.scene.image.Image;
 import ticktocktrack.database.DatabaseUserProfile;
+import ticktocktrack.gui.ImageCache;
 
 /**
  * Utility class to update and retrieve the user's profile image.
@@ -32,8 +33,9 @@ public class UserIconUpdate {
         }
 
         try {
-            // Load image from profile path (assuming it's a valid URI)
-            return new Image(profilePath);
+            // Load image from profile path (assuming it's a valid URI); decoded once per path
+            Image image = ImageCache.get(profilePath);
+            return image.isError() ? null : image;
         } catch (Exception e) {
             System.err.println("Failed to load profile image from path: " + profilePath);
             e.printStackTrace();
@@ -0,0 +1,111 @@
+package ticktocktrack.logic;
+
+/**
+ * Describes which users to list in the admin account screens and in what order.
+ * <p>
+ * The filters are applied by the database, so a screen only ever holds the page of
+ * users it shows. A null or blank filter matches every user.
+ * </p>
+ */
+public class UserQuery {
+
+    /** The orders the user directory can be listed in. Ties are broken by user ID. */
+    public enum Sort {
+        USER_ID, USERNAME, EMAIL, FIRST_NAME, LAST_NAME
+    }
+
+    /** Role to list, e.g. Admin, Teacher or Student; null for all roles. */
+    private String role;
+
+    /** Student year level to list; null for all year levels. */
+    private String yearLevel;
+
+    /** Student program to list; null for all programs. */
+    private String program;
+
+    /** Text the username, email, first name or last name must contain. */
+    private String search;
+
+    /** Column the users are ordered by. */
+    private Sort sort = Sort.USER_ID;
+
+    /** Whether the users are listed in descending order. */
+    private boolean descending;
+
+    /** Whether the built-in headadmin account is left out. */
+    private boolean excludeHeadAdmin;
+
+    /** @return the role to list, or null for all roles */
+    public String getRole() {
+        return role;
+    }
+
+    /** @param role the role to list, or null for all roles */
+    public void setRole(String role) {
+        this.role = blankToNull(role);
+    }
+
+    /** @return the year level to list, or null for all year levels */
+    public String getYearLevel() {
+        return yearLevel;
+    }
+
+    /** @param yearLevel the year level to list, or null for all year levels */
+    public void setYearLevel(String yearLevel) {
+        this.yearLevel = blankToNull(yearLevel);
+    }
+
+    /** @return the program to list, or null for all programs */
+    public String getProgram() {
+        return program;
+    }
+
+    /** @param program the program to list, or null for all programs */
+    public void setProgram(String program) {
+        this.program = blankToNull(program);
+    }
+
+    /** @return the text to search for, or null to not search */
+    public String getSearch() {
+        return search;
+    }
+
+    /** @param search the text to search for, or null to not search */
+    public void setSearch(String search) {
+        this.search = search == null ? null : blankToNull(search.trim());
+    }
+
+    /** @return the column the users are ordered by */
+    public Sort getSort() {
+        return sort;
+    }
+
+    /** @param sort the column to order the users by; null orders by user ID */
+    public void setSort(Sort sort) {
+        this.sort = sort == null ? Sort.USER_ID : sort;
+    }
+
+    /** @return true if the users are listed in descending order */
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /** @param descending true to list the users in descending order */
+    public void setDescending(boolean descending) {
+        this.descending = descending;
+    }
+
+    /** @return true if the headadmin account is left out */
+    public boolean isExcludeHeadAdmin() {
+        return excludeHeadAdmin;
+    }
+
+    /** @param excludeHeadAdmin true to leave the headadmin account out */
+    public void setExcludeHeadAdmin(boolean excludeHeadAdmin) {
+        this.excludeHeadAdmin = excludeHeadAdmin;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,315 @@
+package ticktocktrack.logic;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory trigram index over the searchable fields of every user: username, email,
+ * first name and last name. It answers "which users contain this text" without scanning
+ * them all, which is what the account search boxes ask on every key press.
+ * <p>
+ * Every user is stored in a slot holding its lower-cased fields. For each three-character
+ * sequence (trigram) the index keeps a posting list: a sorted {@code int[]} of the slots
+ * whose fields contain it. A search intersects the posting lists of the query's trigrams,
+ * smallest first, and checks the few remaining candidates with {@link String#contains}.
+ * Queries shorter than three characters have no trigram and scan the slots instead, which
+ * is cheap because such queries match many users and stop at the result limit.
+ * </p>
+ * Updating a user moves it to a new slot and leaves the old one dead; dead slots are
+ * skipped by searches and dropped once they outnumber the live ones. The index is safe to
+ * read and update from several threads. It is filled and kept up to date by
+ * {@code ticktocktrack.database.UserSearch}.
+ */
+public class UserSearchIndex {
+
+    /** Separates the fields of a slot, so no match or trigram spans two fields. */
+    private static final char FIELD_SEPARATOR = '\n';
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** The slot of each user id; slot -1 marks a removed user. */
+    private final IntIntMap slotOfUser = new IntIntMap();
+
+    /** Per slot: the user id and its lower-cased fields, or null once the slot is dead. */
+    private int[] userIds = new int[32];
+    private String[] texts = new String[32];
+    private int slots;
+    private int liveSlots;
+
+    /** Posting list per trigram, keyed by the three characters packed into a long. */
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /** A growable sorted list of slots. */
+    private static final class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            // Slots are handed out in increasing order, so appending keeps the list sorted
+            if (size > 0 && slots[size - 1] == slot) {
+                return;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+
+    /**
+     * Adds a user, or replaces the fields of one already in the index.
+     *
+     * @param userId    the user id, greater than zero
+     * @param username  the username
+     * @param email     the email address
+     * @param firstName the first name, or null
+     * @param lastName  the last name, or null
+     */
+    public void put(int userId, String username, String email, String firstName, String lastName) {
+        if (userId <= 0) {
+            throw new IllegalArgumentException("User ids must be positive: " + userId);
+        }
+        String text = normalize(username) + FIELD_SEPARATOR + normalize(email) + FIELD_SEPARATOR
+                + normalize(firstName) + FIELD_SEPARATOR + normalize(lastName);
+        lock.writeLock().lock();
+        try {
+            int slot = slotOfUser.get(userId, -1);
+            if (slot >= 0) {
+                killSlot(slot);
+            }
+            slotOfUser.put(userId, addSlot(userId, text));
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a user from the index. Removing a user that is not there does nothing.
+     *
+     * @param userId the user id
+     */
+    public void remove(int userId) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOfUser.get(userId, -1);
+            if (slot >= 0) {
+                killSlot(slot);
+                slotOfUser.put(userId, -1);
+                compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the users whose username, email, first name or last name contains the text,
+     * ignoring case.
+     *
+     * @param text       the text to look for; leading and trailing spaces are ignored
+     * @param maxResults the most user ids the caller can use
+     * @return the matching user ids in ascending order, or null if more than
+     *         {@code maxResults} users match
+     */
+    public int[] search(String text, int maxResults) {
+        String query = normalize(text).trim();
+        lock.readLock().lock();
+        try {
+            int[] found = new int[Math.min(16, Math.max(1, maxResults))];
+            int count = 0;
+            if (query.length() < 3) {
+                for (int slot = 0; slot < slots; slot++) {
+                    if (texts[slot] != null && texts[slot].contains(query)) {
+                        if (count == maxResults) {
+                            return null;
+                        }
+                        found = append(found, count++, userIds[slot]);
+                    }
+                }
+            } else {
+                Postings[] lists = postingsOf(query);
+                if (lists != null) {
+                    // Walk the shortest list, seeking each slot in the longer ones
+                    int[] positions = new int[lists.length];
+                    Postings shortest = lists[0];
+                    candidates:
+                    for (int i = 0; i < shortest.size; i++) {
+                        int slot = shortest.slots[i];
+                        for (int l = 1; l < lists.length; l++) {
+                            positions[l] = seek(lists[l].slots, positions[l], lists[l].size, slot);
+                            if (positions[l] == lists[l].size) {
+                                break candidates;
+                            }
+                            if (lists[l].slots[positions[l]] != slot) {
+                                continue candidates;
+                            }
+                        }
+                        if (texts[slot] != null && texts[slot].contains(query)) {
+                            if (count == maxResults) {
+                                return null;
+                            }
+                            found = append(found, count++, userIds[slot]);
+                        }
+                    }
+                }
+            }
+            int[] result = Arrays.copyOf(found, count);
+            Arrays.sort(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of users in the index.
+     *
+     * @return the user count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveSlots;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the heap used by the index, for sizing and diagnostics.
+     *
+     * @return the approximate number of bytes held
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = slotOfUser.estimatedBytes() + userIds.length * 4L + texts.length * 8L;
+            for (int slot = 0; slot < slots; slot++) {
+                if (texts[slot] != null) {
+                    bytes += 40 + texts[slot].length();
+                }
+            }
+            for (Postings list : postings.values()) {
+                bytes += 80 + list.slots.length * 4L;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the distinct posting lists of the query's trigrams, shortest first.
+     *
+     * @return the lists, or null if some trigram is in no slot
+     */
+    private Postings[] postingsOf(String query) {
+        Postings[] lists = new Postings[query.length() - 2];
+        int listCount = 0;
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            Postings list = postings.get(trigram(query, i));
+            if (list == null) {
+                return null;
+            }
+            boolean seen = false;
+            for (int j = 0; j < listCount && !seen; j++) {
+                seen = lists[j] == list;
+            }
+            if (!seen) {
+                lists[listCount++] = list;
+            }
+        }
+        lists = Arrays.copyOf(lists, listCount);
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        return lists;
+    }
+
+    /**
+     * Returns the first index from {@code from} whose slot is at least {@code target},
+     * galloping ahead so that a short list is intersected with a long one in few steps.
+     */
+    private static int seek(int[] list, int from, int size, int target) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < size && list[high] < target) {
+            low = high + 1;
+            high += step;
+            step *= 2;
+        }
+        high = Math.min(high, size);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (list[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Stores the text in a new slot and adds the slot to its trigrams' posting lists. */
+    private int addSlot(int userId, String text) {
+        if (slots == texts.length) {
+            userIds = Arrays.copyOf(userIds, slots * 2);
+            texts = Arrays.copyOf(texts, slots * 2);
+        }
+        int slot = slots++;
+        userIds[slot] = userId;
+        texts[slot] = text;
+        liveSlots++;
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            if (text.charAt(i) != FIELD_SEPARATOR && text.charAt(i + 1) != FIELD_SEPARATOR
+                    && text.charAt(i + 2) != FIELD_SEPARATOR) {
+                postings.computeIfAbsent(trigram(text, i), k -> new Postings()).add(slot);
+            }
+        }
+        return slot;
+    }
+
+    private void killSlot(int slot) {
+        texts[slot] = null;
+        liveSlots--;
+    }
+
+    /** Rebuilds the slots and posting lists without the dead slots once they are the majority. */
+    private void compactIfSparse() {
+        if (slots < 1024 || liveSlots * 2 > slots) {
+            return;
+        }
+        int[] oldUserIds = userIds;
+        String[] oldTexts = texts;
+        int oldSlots = slots;
+        userIds = new int[Math.max(32, liveSlots * 2)];
+        texts = new String[userIds.length];
+        slots = 0;
+        liveSlots = 0;
+        postings.clear();
+        for (int slot = 0; slot < oldSlots; slot++) {
+            if (oldTexts[slot] != null) {
+                slotOfUser.put(oldUserIds[slot], addSlot(oldUserIds[slot], oldTexts[slot]));
+            }
+        }
+    }
+
+    private static long trigram(String text, int at) {
+        return ((long) text.charAt(at) << 32) | ((long) text.charAt(at + 1) << 16) | text.charAt(at + 2);
+    }
+
+    private static int[] append(int[] array, int index, int value) {
+        if (index == array.length) {
+            array = Arrays.copyOf(array, array.length * 2);
+        }
+        array[index] = value;
+        return array;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}